@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.benchmarks.commandhandling;
+
+import org.axonframework.benchmarks.support.InMemoryEventStore;
+import org.axonframework.benchmarks.support.StubAggregate;
+import org.axonframework.commandhandling.CommandBus;
+import org.axonframework.commandhandling.CommandHandler;
+import org.axonframework.commandhandling.CommandMessage;
+import org.axonframework.commandhandling.GenericCommandMessage;
+import org.axonframework.commandhandling.SimpleCommandBus;
+import org.axonframework.commandhandling.annotation.TargetAggregateIdentifier;
+import org.axonframework.commandhandling.callbacks.FutureCallback;
+import org.axonframework.commandhandling.disruptor.DisruptorCommandBus;
+import org.axonframework.eventhandling.SimpleEventBus;
+import org.axonframework.eventsourcing.EventSourcingRepository;
+import org.axonframework.eventsourcing.GenericAggregateFactory;
+import org.axonframework.repository.Repository;
+import org.axonframework.unitofwork.UnitOfWork;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of dispatching commands that load an event sourced aggregate and apply an event to it. Each
+ * dispatch waits for the command to be handled, so that the complete round trip is measured.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class CommandBusBenchmark {
+
+    private static final int AGGREGATE_COUNT = 100;
+
+    @Param({"simple", "disruptor"})
+    private String commandBusType;
+
+    private CommandBus commandBus;
+    private String[] aggregateIdentifiers;
+    private int counter;
+
+    @Setup
+    public void setUp() {
+        InMemoryEventStore eventStore = new InMemoryEventStore(true);
+        SimpleEventBus eventBus = new SimpleEventBus();
+        aggregateIdentifiers = new String[AGGREGATE_COUNT];
+        for (int i = 0; i < AGGREGATE_COUNT; i++) {
+            aggregateIdentifiers[i] = "aggregate-" + i;
+            eventStore.prepareStream(aggregateIdentifiers[i], 1);
+        }
+        StubCommandHandler commandHandler = new StubCommandHandler();
+        if ("disruptor".equals(commandBusType)) {
+            DisruptorCommandBus disruptorCommandBus = new DisruptorCommandBus(eventStore, eventBus);
+            commandHandler.repository = disruptorCommandBus.createRepository(
+                    new GenericAggregateFactory<StubAggregate>(StubAggregate.class));
+            commandBus = disruptorCommandBus;
+        } else {
+            EventSourcingRepository<StubAggregate> repository =
+                    new EventSourcingRepository<StubAggregate>(StubAggregate.class, eventStore);
+            repository.setEventBus(eventBus);
+            commandHandler.repository = repository;
+            commandBus = new SimpleCommandBus();
+        }
+        commandBus.subscribe(StubCommand.class.getName(), commandHandler);
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (commandBus instanceof DisruptorCommandBus) {
+            ((DisruptorCommandBus) commandBus).stop();
+        }
+    }
+
+    @Benchmark
+    public Object dispatch() throws Exception {
+        String aggregateIdentifier = aggregateIdentifiers[counter++ % AGGREGATE_COUNT];
+        FutureCallback<Object> callback = new FutureCallback<Object>();
+        commandBus.dispatch(new GenericCommandMessage<StubCommand>(new StubCommand(aggregateIdentifier)), callback);
+        return callback.get();
+    }
+
+    /**
+     * Command instructing an aggregate to apply an event.
+     */
+    public static class StubCommand {
+
+        @TargetAggregateIdentifier
+        private final String aggregateIdentifier;
+
+        public StubCommand(String aggregateIdentifier) {
+            this.aggregateIdentifier = aggregateIdentifier;
+        }
+
+        public String getAggregateIdentifier() {
+            return aggregateIdentifier;
+        }
+    }
+
+    private static class StubCommandHandler implements CommandHandler<StubCommand> {
+
+        private Repository<StubAggregate> repository;
+
+        @Override
+        public Object handle(CommandMessage<StubCommand> commandMessage, UnitOfWork unitOfWork) throws Throwable {
+            repository.load(commandMessage.getPayload().getAggregateIdentifier()).doSomething();
+            return null;
+        }
+    }
+}
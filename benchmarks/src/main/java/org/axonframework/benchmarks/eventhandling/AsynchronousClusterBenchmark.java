@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.benchmarks.eventhandling;
+
+import org.axonframework.benchmarks.support.StubEvent;
+import org.axonframework.domain.EventMessage;
+import org.axonframework.domain.GenericDomainEventMessage;
+import org.axonframework.eventhandling.EventListener;
+import org.axonframework.eventhandling.async.AsynchronousCluster;
+import org.axonframework.eventhandling.async.FullConcurrencyPolicy;
+import org.axonframework.eventhandling.async.SequencingPolicy;
+import org.axonframework.eventhandling.async.SequentialPerAggregatePolicy;
+import org.axonframework.eventhandling.async.SequentialPolicy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of the AsynchronousCluster, for each of the sequencing policies provided by the framework.
+ * Each invocation publishes a number of events, spread over a number of aggregates, and waits for all of them to be
+ * handled.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class AsynchronousClusterBenchmark {
+
+    private static final int EVENTS_PER_INVOCATION = 1000;
+    private static final int AGGREGATE_COUNT = 50;
+
+    @Param({"sequential", "sequentialPerAggregate", "fullConcurrency"})
+    private String sequencingPolicy;
+
+    @Param({"1", "50"})
+    private int batchSize;
+
+    private ExecutorService executor;
+    private AsynchronousCluster cluster;
+    private EventMessage[] events;
+    private volatile CountDownLatch handledEvents;
+
+    @Setup
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        cluster = new AsynchronousCluster("benchmark", executor, createSequencingPolicy());
+        cluster.setBatchSize(batchSize);
+        cluster.subscribe(new EventListener() {
+            @Override
+            public void handle(EventMessage event) {
+                handledEvents.countDown();
+            }
+        });
+        events = new EventMessage[EVENTS_PER_INVOCATION];
+        for (int i = 0; i < EVENTS_PER_INVOCATION; i++) {
+            String aggregateIdentifier = "aggregate-" + (i % AGGREGATE_COUNT);
+            events[i] = new GenericDomainEventMessage<StubEvent>(aggregateIdentifier, i / AGGREGATE_COUNT,
+                                                                 new StubEvent(aggregateIdentifier, i));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS_PER_INVOCATION)
+    public void publish() throws InterruptedException {
+        handledEvents = new CountDownLatch(EVENTS_PER_INVOCATION);
+        for (EventMessage event : events) {
+            cluster.publish(event);
+        }
+        handledEvents.await();
+    }
+
+    private SequencingPolicy<? super EventMessage<?>> createSequencingPolicy() {
+        if ("sequential".equals(sequencingPolicy)) {
+            return new SequentialPolicy();
+        } else if ("sequentialPerAggregate".equals(sequencingPolicy)) {
+            return new SequentialPerAggregatePolicy();
+        }
+        return new FullConcurrencyPolicy();
+    }
+}
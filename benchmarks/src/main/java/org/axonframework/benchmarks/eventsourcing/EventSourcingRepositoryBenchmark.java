@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.benchmarks.eventsourcing;
+
+import org.axonframework.benchmarks.support.InMemoryEventStore;
+import org.axonframework.benchmarks.support.StubAggregate;
+import org.axonframework.eventhandling.SimpleEventBus;
+import org.axonframework.eventsourcing.EventSourcingRepository;
+import org.axonframework.unitofwork.DefaultUnitOfWork;
+import org.axonframework.unitofwork.UnitOfWork;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time it takes the EventSourcingRepository to load an aggregate, for different lengths of the
+ * aggregate's event stream. Events are read from memory, so the numbers exclude the cost of the Event Store.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class EventSourcingRepositoryBenchmark {
+
+    private static final String AGGREGATE_IDENTIFIER = "aggregate";
+
+    @Param({"1", "10", "100", "1000"})
+    private int streamLength;
+
+    private EventSourcingRepository<StubAggregate> repository;
+
+    @Setup
+    public void setUp() {
+        InMemoryEventStore eventStore = new InMemoryEventStore(false);
+        eventStore.prepareStream(AGGREGATE_IDENTIFIER, streamLength);
+        repository = new EventSourcingRepository<StubAggregate>(StubAggregate.class, eventStore);
+        repository.setEventBus(new SimpleEventBus());
+    }
+
+    @Benchmark
+    public long load() {
+        UnitOfWork unitOfWork = DefaultUnitOfWork.startAndGet();
+        try {
+            return repository.load(AGGREGATE_IDENTIFIER).getHandledEvents();
+        } finally {
+            unitOfWork.rollback();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.benchmarks.eventstore;
+
+import org.axonframework.benchmarks.support.StubEvent;
+import org.axonframework.domain.DomainEventMessage;
+import org.axonframework.domain.GenericDomainEventMessage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utility methods used by the Event Store benchmarks.
+ *
+ * @author agent
+ */
+final class EventStoreBenchmarkUtils {
+
+    /**
+     * The type identifier of the aggregate used in the Event Store benchmarks.
+     */
+    static final String AGGREGATE_TYPE = "StubAggregate";
+
+    private EventStoreBenchmarkUtils() {
+    }
+
+    /**
+     * Creates <code>streamLength</code> events for the aggregate with given <code>aggregateIdentifier</code>.
+     *
+     * @param aggregateIdentifier The identifier of the aggregate
+     * @param streamLength        The number of events to create
+     * @return a list of events with sequence numbers starting at 0
+     */
+    static List<DomainEventMessage> createEvents(String aggregateIdentifier, int streamLength) {
+        List<DomainEventMessage> events = new ArrayList<DomainEventMessage>(streamLength);
+        for (int i = 0; i < streamLength; i++) {
+            events.add(new GenericDomainEventMessage<StubEvent>(aggregateIdentifier, i,
+                                                                new StubEvent(aggregateIdentifier, i)));
+        }
+        return events;
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.benchmarks.eventstore;
+
+import org.axonframework.domain.DomainEventStream;
+import org.axonframework.domain.SimpleDomainEventStream;
+import org.axonframework.eventstore.jdbc.DefaultEventEntryStore;
+import org.axonframework.eventstore.jdbc.GenericEventSqlSchema;
+import org.axonframework.eventstore.jdbc.JdbcEventStore;
+import org.hsqldb.jdbc.JDBCDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import static org.axonframework.benchmarks.eventstore.EventStoreBenchmarkUtils.AGGREGATE_TYPE;
+import static org.axonframework.benchmarks.eventstore.EventStoreBenchmarkUtils.createEvents;
+
+/**
+ * Measures the time it takes the JdbcEventStore to append and read event streams of different lengths, using an
+ * embedded HSQLDB database.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class JdbcEventStoreBenchmark {
+
+    private static final String READ_AGGREGATE_IDENTIFIER = "read-aggregate";
+
+    @Param({"1", "10", "100"})
+    private int streamLength;
+
+    private JDBCDataSource dataSource;
+    private JdbcEventStore eventStore;
+    private long appendCounter;
+
+    @Setup
+    public void setUp() throws SQLException {
+        dataSource = new JDBCDataSource();
+        dataSource.setUrl("jdbc:hsqldb:mem:jdbc_benchmark");
+        DefaultEventEntryStore eventEntryStore = new DefaultEventEntryStore(dataSource, new GenericEventSqlSchema());
+        eventEntryStore.createSchema();
+        eventStore = new JdbcEventStore(eventEntryStore);
+        eventStore.appendEvents(AGGREGATE_TYPE, new SimpleDomainEventStream(
+                createEvents(READ_AGGREGATE_IDENTIFIER, streamLength)));
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        Connection connection = dataSource.getConnection();
+        try {
+            connection.createStatement().execute("SHUTDOWN");
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Benchmark
+    public void append() {
+        eventStore.appendEvents(AGGREGATE_TYPE, new SimpleDomainEventStream(
+                createEvents("append-" + appendCounter++, streamLength)));
+    }
+
+    @Benchmark
+    public int read() {
+        DomainEventStream eventStream = eventStore.readEvents(AGGREGATE_TYPE, READ_AGGREGATE_IDENTIFIER);
+        int count = 0;
+        while (eventStream.hasNext()) {
+            eventStream.next();
+            count++;
+        }
+        return count;
+    }
+}
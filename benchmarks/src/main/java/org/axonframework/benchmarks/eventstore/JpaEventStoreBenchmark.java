@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.benchmarks.eventstore;
+
+import org.axonframework.common.jpa.SimpleEntityManagerProvider;
+import org.axonframework.domain.DomainEventStream;
+import org.axonframework.domain.SimpleDomainEventStream;
+import org.axonframework.eventstore.jpa.JpaEventStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
+import static org.axonframework.benchmarks.eventstore.EventStoreBenchmarkUtils.AGGREGATE_TYPE;
+import static org.axonframework.benchmarks.eventstore.EventStoreBenchmarkUtils.createEvents;
+
+/**
+ * Measures the time it takes the JpaEventStore to append and read event streams of different lengths, using
+ * Hibernate on an embedded HSQLDB database. The persistence context is cleared after each operation, to prevent it
+ * from growing during the benchmark.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class JpaEventStoreBenchmark {
+
+    private static final String READ_AGGREGATE_IDENTIFIER = "read-aggregate";
+
+    @Param({"1", "10", "100"})
+    private int streamLength;
+
+    private EntityManagerFactory entityManagerFactory;
+    private EntityManager entityManager;
+    private JpaEventStore eventStore;
+    private long appendCounter;
+
+    @Setup
+    public void setUp() {
+        entityManagerFactory = Persistence.createEntityManagerFactory("benchmarks");
+        entityManager = entityManagerFactory.createEntityManager();
+        eventStore = new JpaEventStore(new SimpleEntityManagerProvider(entityManager));
+        append(READ_AGGREGATE_IDENTIFIER);
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManager.close();
+        entityManagerFactory.close();
+    }
+
+    @Benchmark
+    public void append() {
+        append("append-" + appendCounter++);
+    }
+
+    @Benchmark
+    public int read() {
+        try {
+            DomainEventStream eventStream = eventStore.readEvents(AGGREGATE_TYPE, READ_AGGREGATE_IDENTIFIER);
+            int count = 0;
+            while (eventStream.hasNext()) {
+                eventStream.next();
+                count++;
+            }
+            return count;
+        } finally {
+            entityManager.clear();
+        }
+    }
+
+    private void append(String aggregateIdentifier) {
+        entityManager.getTransaction().begin();
+        try {
+            eventStore.appendEvents(AGGREGATE_TYPE, new SimpleDomainEventStream(
+                    createEvents(aggregateIdentifier, streamLength)));
+            entityManager.getTransaction().commit();
+        } finally {
+            if (entityManager.getTransaction().isActive()) {
+                entityManager.getTransaction().rollback();
+            }
+            entityManager.clear();
+        }
+    }
+}
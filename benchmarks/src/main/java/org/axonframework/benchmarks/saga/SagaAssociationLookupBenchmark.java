@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.benchmarks.saga;
+
+import org.axonframework.saga.AssociationValue;
+import org.axonframework.saga.repository.AssociationValueMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time it takes to find the sagas associated with a given association value, for different numbers of
+ * sagas. Each saga has a unique association value, as well as one it shares with a number of other sagas.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SagaAssociationLookupBenchmark {
+
+    private static final String SAGA_TYPE = "StubSaga";
+    private static final int SAGAS_PER_GROUP = 10;
+
+    @Param({"1000", "100000"})
+    private int sagaCount;
+
+    private AssociationValueMap associationValueMap;
+    private AssociationValue[] uniqueAssociationValues;
+    private AssociationValue[] sharedAssociationValues;
+    private int counter;
+
+    @Setup
+    public void setUp() {
+        associationValueMap = new AssociationValueMap();
+        uniqueAssociationValues = new AssociationValue[sagaCount];
+        sharedAssociationValues = new AssociationValue[sagaCount / SAGAS_PER_GROUP];
+        for (int i = 0; i < sharedAssociationValues.length; i++) {
+            sharedAssociationValues[i] = new AssociationValue("groupId", "group-" + i);
+        }
+        for (int i = 0; i < sagaCount; i++) {
+            String sagaIdentifier = "saga-" + i;
+            uniqueAssociationValues[i] = new AssociationValue("orderId", "order-" + i);
+            associationValueMap.add(uniqueAssociationValues[i], SAGA_TYPE, sagaIdentifier);
+            associationValueMap.add(sharedAssociationValues[i / SAGAS_PER_GROUP], SAGA_TYPE, sagaIdentifier);
+        }
+    }
+
+    @Benchmark
+    public Set<String> findByUniqueValue() {
+        return associationValueMap.findSagas(SAGA_TYPE, uniqueAssociationValues[counter++ % sagaCount]);
+    }
+
+    @Benchmark
+    public Set<String> findBySharedValue() {
+        return associationValueMap.findSagas(SAGA_TYPE,
+                                             sharedAssociationValues[counter++ % sharedAssociationValues.length]);
+    }
+
+    @Benchmark
+    public Set<String> findUnknownValue() {
+        return associationValueMap.findSagas(SAGA_TYPE, new AssociationValue("orderId", "unknown"));
+    }
+}
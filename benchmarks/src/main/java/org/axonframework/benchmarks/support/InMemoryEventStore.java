@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.benchmarks.support;
+
+import org.axonframework.domain.DomainEventMessage;
+import org.axonframework.domain.DomainEventStream;
+import org.axonframework.domain.GenericDomainEventMessage;
+import org.axonframework.domain.SimpleDomainEventStream;
+import org.axonframework.eventstore.EventStore;
+import org.axonframework.eventstore.EventStreamNotFoundException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Event Store that keeps events in memory. To prevent the cost of loading an aggregate from growing while a benchmark
+ * runs, it can be configured to only retain the last event of each aggregate, which then acts as a snapshot.
+ * <p/>
+ * When retaining all events, the stream of an aggregate must not be appended to while it is being read.
+ *
+ * @author agent
+ */
+public class InMemoryEventStore implements EventStore {
+
+    private final ConcurrentMap<String, List<DomainEventMessage>> events =
+            new ConcurrentHashMap<String, List<DomainEventMessage>>();
+    private final boolean retainLastEventOnly;
+
+    /**
+     * Initializes an Event Store that retains either all events, or only the last event of each aggregate.
+     *
+     * @param retainLastEventOnly whether to only retain the last event of each aggregate
+     */
+    public InMemoryEventStore(boolean retainLastEventOnly) {
+        this.retainLastEventOnly = retainLastEventOnly;
+    }
+
+    /**
+     * Stores a stream of <code>streamLength</code> events for the aggregate with given <code>identifier</code>.
+     *
+     * @param identifier   The identifier of the aggregate
+     * @param streamLength The number of events to store
+     */
+    public void prepareStream(String identifier, int streamLength) {
+        List<DomainEventMessage> stream = new ArrayList<DomainEventMessage>(streamLength);
+        for (int i = 0; i < streamLength; i++) {
+            stream.add(new GenericDomainEventMessage<StubEvent>(identifier, i, new StubEvent(identifier, i)));
+        }
+        events.put(identifier, stream);
+    }
+
+    @Override
+    public void appendEvents(String type, DomainEventStream eventStream) {
+        while (eventStream.hasNext()) {
+            DomainEventMessage event = eventStream.next();
+            String key = event.getAggregateIdentifier().toString();
+            List<DomainEventMessage> stream = events.get(key);
+            if (stream == null || retainLastEventOnly) {
+                // replace the list, rather than modifying it, as it may be read concurrently
+                List<DomainEventMessage> newStream = new ArrayList<DomainEventMessage>();
+                newStream.add(event);
+                events.put(key, newStream);
+            } else {
+                stream.add(event);
+            }
+        }
+    }
+
+    @Override
+    public DomainEventStream readEvents(String type, Object identifier) {
+        List<DomainEventMessage> stream = events.get(identifier.toString());
+        if (stream == null) {
+            throw new EventStreamNotFoundException(type, identifier);
+        }
+        return new SimpleDomainEventStream(stream);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.benchmarks.support;
+
+import org.axonframework.domain.DomainEventMessage;
+import org.axonframework.eventsourcing.AbstractEventSourcedAggregateRoot;
+import org.axonframework.eventsourcing.EventSourcedEntity;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Minimal event sourced aggregate used by the benchmarks. It keeps track of the number of events applied to it.
+ *
+ * @author agent
+ */
+public class StubAggregate extends AbstractEventSourcedAggregateRoot {
+
+    private static final long serialVersionUID = -1380296183545765335L;
+
+    private String identifier;
+    private long handledEvents;
+
+    /**
+     * Initializes an empty aggregate, to be initialized by applying historic events.
+     */
+    public StubAggregate() {
+    }
+
+    /**
+     * Initializes an aggregate with given <code>identifier</code>, applying a {@link StubEvent}.
+     *
+     * @param identifier The identifier of the aggregate
+     */
+    public StubAggregate(String identifier) {
+        this.identifier = identifier;
+        apply(new StubEvent(identifier, 0));
+    }
+
+    /**
+     * Applies a new {@link StubEvent} to this aggregate.
+     */
+    public void doSomething() {
+        apply(new StubEvent(identifier, handledEvents));
+    }
+
+    /**
+     * Returns the number of events applied to this aggregate.
+     *
+     * @return the number of events applied to this aggregate
+     */
+    public long getHandledEvents() {
+        return handledEvents;
+    }
+
+    @Override
+    public Object getIdentifier() {
+        return identifier;
+    }
+
+    @Override
+    protected void handle(DomainEventMessage event) {
+        identifier = (String) event.getAggregateIdentifier();
+        handledEvents++;
+    }
+
+    @Override
+    protected Collection<EventSourcedEntity> getChildEntities() {
+        return Collections.emptyList();
+    }
+}
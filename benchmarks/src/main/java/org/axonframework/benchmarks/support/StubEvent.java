@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.benchmarks.support;
+
+import java.io.Serializable;
+
+/**
+ * Event used by the benchmarks. It contains a few fields of different types to give serializers some work to do.
+ *
+ * @author agent
+ */
+public class StubEvent implements Serializable {
+
+    private static final long serialVersionUID = 3405719862834573424L;
+
+    private String aggregateIdentifier;
+    private long counter;
+    private String description;
+
+    /**
+     * Constructor used by serializers. Do not use directly.
+     */
+    public StubEvent() {
+    }
+
+    /**
+     * Initializes an event for the aggregate with given <code>aggregateIdentifier</code>.
+     *
+     * @param aggregateIdentifier The identifier of the aggregate
+     * @param counter             A number to include in the event
+     */
+    public StubEvent(String aggregateIdentifier, long counter) {
+        this.aggregateIdentifier = aggregateIdentifier;
+        this.counter = counter;
+        this.description = "Event " + counter + " of aggregate " + aggregateIdentifier;
+    }
+
+    public String getAggregateIdentifier() {
+        return aggregateIdentifier;
+    }
+
+    public void setAggregateIdentifier(String aggregateIdentifier) {
+        this.aggregateIdentifier = aggregateIdentifier;
+    }
+
+    public long getCounter() {
+        return counter;
+    }
+
+    public void setCounter(long counter) {
+        this.counter = counter;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+}
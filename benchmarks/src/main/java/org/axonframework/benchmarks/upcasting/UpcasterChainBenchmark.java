@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.benchmarks.upcasting;
+
+import org.axonframework.domain.MetaData;
+import org.axonframework.serializer.SerializedObject;
+import org.axonframework.serializer.SerializedType;
+import org.axonframework.serializer.SimpleSerializedObject;
+import org.axonframework.serializer.SimpleSerializedType;
+import org.axonframework.upcasting.AbstractSingleEntryUpcaster;
+import org.axonframework.upcasting.SimpleUpcasterChain;
+import org.axonframework.upcasting.Upcaster;
+import org.axonframework.upcasting.UpcasterChain;
+import org.axonframework.upcasting.UpcastingContext;
+import org.joda.time.DateTime;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the overhead of upcasting a serialized object through an upcaster chain, for chains of different lengths.
+ * Each upcaster in the chain increases the revision of one specific event type. The <code>matchingUpcasters</code>
+ * parameter defines how many of the upcasters apply to the upcast object, the others apply to other event types.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class UpcasterChainBenchmark {
+
+    private static final String EVENT_TYPE = "org.axonframework.benchmarks.StubEvent";
+
+    @Param({"1", "10", "50"})
+    private int upcasterCount;
+
+    @Param({"0", "1", "all"})
+    private String matchingUpcasters;
+
+    private UpcasterChain upcasterChain;
+    private SerializedObject<byte[]> serializedObject;
+    private UpcastingContext upcastingContext;
+
+    @Setup
+    public void setUp() {
+        int matching = "all".equals(matchingUpcasters) ? upcasterCount : Integer.parseInt(matchingUpcasters);
+        List<Upcaster> upcasters = new ArrayList<Upcaster>(upcasterCount);
+        for (int i = 0; i < upcasterCount; i++) {
+            String type = i < matching ? EVENT_TYPE : EVENT_TYPE + i;
+            upcasters.add(new RevisionIncreasingUpcaster(type, i));
+        }
+        upcasterChain = new SimpleUpcasterChain(upcasters);
+        serializedObject = new SimpleSerializedObject<byte[]>("<event/>".getBytes(), byte[].class, EVENT_TYPE, "0");
+        upcastingContext = new StubUpcastingContext();
+    }
+
+    @Benchmark
+    public List<SerializedObject> upcast() {
+        return upcasterChain.upcast(serializedObject, upcastingContext);
+    }
+
+    private static class RevisionIncreasingUpcaster extends AbstractSingleEntryUpcaster<byte[]> {
+
+        private final String type;
+        private final String revision;
+        private final String newRevision;
+
+        public RevisionIncreasingUpcaster(String type, int revision) {
+            this.type = type;
+            this.revision = String.valueOf(revision);
+            this.newRevision = String.valueOf(revision + 1);
+        }
+
+        @Override
+        public boolean canUpcast(SerializedType serializedType) {
+            return type.equals(serializedType.getName()) && revision.equals(serializedType.getRevision());
+        }
+
+        @Override
+        public Class<byte[]> expectedRepresentationType() {
+            return byte[].class;
+        }
+
+        @Override
+        protected byte[] doUpcast(SerializedObject<byte[]> intermediateRepresentation, UpcastingContext context) {
+            return intermediateRepresentation.getData();
+        }
+
+        @Override
+        protected SerializedType doUpcast(SerializedType serializedType) {
+            return new SimpleSerializedType(serializedType.getName(), newRevision);
+        }
+    }
+
+    private static class StubUpcastingContext implements UpcastingContext {
+
+        private final DateTime timestamp = new DateTime();
+
+        @Override
+        public String getMessageIdentifier() {
+            return "message";
+        }
+
+        @Override
+        public Object getAggregateIdentifier() {
+            return "aggregate";
+        }
+
+        @Override
+        public Long getSequenceNumber() {
+            return 0L;
+        }
+
+        @Override
+        public DateTime getTimestamp() {
+            return timestamp;
+        }
+
+        @Override
+        public MetaData getMetaData() {
+            return MetaData.emptyInstance();
+        }
+    }
+}
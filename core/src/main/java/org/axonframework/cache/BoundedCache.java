@@ -0,0 +1,690 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.cache;
+
+import org.axonframework.common.Assert;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded, concurrent in-memory Cache implementation, suitable for caching aggregates and sagas in the {@link
+ * org.axonframework.eventsourcing.CachingEventSourcingRepository}, the {@link
+ * org.axonframework.saga.repository.CachingSagaRepository} and the {@link
+ * org.axonframework.commandhandling.disruptor.DisruptorCommandBus}. Values are held by reference, without any
+ * copying or serialization.
+ * <p/>
+ * The cache is bounded by either the number of entries, or by the total weight of the entries, as defined by a
+ * {@link Weigher}. When the bound is exceeded, entries are evicted using the W-TinyLFU policy: new entries enter a
+ * small LRU admission window. Entries leaving the window compete with the least recently used entries of the main
+ * space, which is a segmented LRU, for a place in the cache. The entry that has been accessed most frequently in the
+ * recent past, as estimated by a compact frequency sketch, wins. Optionally, entries expire when they haven't been
+ * accessed for a configured amount of time (see {@link #setExpireAfterAccess(long, java.util.concurrent.TimeUnit)}).
+ * <p/>
+ * Reads do not acquire any locks. Accesses are recorded in a buffer, which is applied to the eviction policy in
+ * batches, by the thread that manages to acquire the eviction lock. When the buffer is full, accesses are not
+ * recorded, which only affects the accuracy of the eviction policy. Writes are applied to the eviction policy
+ * immediately, meaning the bounds are respected when a write operation returns.
+ * <p/>
+ * Entries removed to respect the bounds of the cache, as well as expired entries, are reported to {@link
+ * EntryListener EntryListeners} as expired. Note that listeners are invoked in the thread performing the operation
+ * that caused the notification.
+ * <p/>
+ * Statistics about the use of this cache are available through {@link #getStatistics()}. These may be registered
+ * with the {@link org.axonframework.monitoring.MonitorRegistry} to expose them through JMX.
+ *
+ * @author agent
+ * @since 2.4
+ */
+public class BoundedCache implements Cache {
+
+    private static final int READ_BUFFER_DRAIN_THRESHOLD = 32;
+    private static final int READ_BUFFER_MAX_SIZE = 1024;
+    private static final int UNLINKED = -1;
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+
+    private final ConcurrentMap<Object, Node> entries = new ConcurrentHashMap<Object, Node>();
+    private final Queue<Node> readBuffer = new ConcurrentLinkedQueue<Node>();
+    private final AtomicInteger readBufferSize = new AtomicInteger();
+    private final Queue<Runnable> writeBuffer = new ConcurrentLinkedQueue<Runnable>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final Set<EntryListener> listeners = new CopyOnWriteArraySet<EntryListener>();
+    private final CacheStatistics statistics = new CacheStatistics();
+    private final ThreadLocal<Miss> lastMiss = new ThreadLocal<Miss>();
+    private final Weigher weigher;
+    private final long maximumWeight;
+    private final long maximumWindowWeight;
+    private final long maximumProtectedWeight;
+
+    // the fields below are guarded by the eviction lock
+    private final FrequencySketch sketch;
+    private final AccessOrderQueue window = new AccessOrderQueue();
+    private final AccessOrderQueue probation = new AccessOrderQueue();
+    private final AccessOrderQueue protectedSpace = new AccessOrderQueue();
+    private long windowWeight;
+    private long protectedWeight;
+    private long totalWeight;
+
+    private volatile long expireAfterAccessNanos;
+
+    /**
+     * Initializes a cache that holds at most <code>maximumSize</code> entries.
+     *
+     * @param maximumSize The maximum number of entries in the cache
+     */
+    public BoundedCache(int maximumSize) {
+        this(maximumSize, null);
+    }
+
+    /**
+     * Initializes a cache of which the total weight of the entries does not exceed <code>maximumWeight</code>. The
+     * weight of each entry is determined by given <code>weigher</code> when the entry is stored in the cache. When
+     * the <code>weigher</code> is <code>null</code>, each entry has a weight of 1.
+     *
+     * @param maximumWeight The maximum total weight of the entries in the cache
+     * @param weigher       The weigher determining the weight of each entry, or <code>null</code>
+     */
+    public BoundedCache(long maximumWeight, Weigher weigher) {
+        Assert.isTrue(maximumWeight > 0, "maximumWeight must be a positive number");
+        this.maximumWeight = maximumWeight;
+        this.weigher = weigher;
+        this.maximumWindowWeight = Math.max(1, maximumWeight / 100);
+        this.maximumProtectedWeight = (maximumWeight - maximumWindowWeight) * 4 / 5;
+        this.sketch = new FrequencySketch(maximumWeight);
+    }
+
+    /**
+     * Sets the time after which entries expire when they have not been read or written. A value of 0 (the default)
+     * means entries do not expire. This value should be set before entries are stored in the cache.
+     *
+     * @param duration The time after which entries that haven't been accessed expire
+     * @param unit     The unit of the given <code>duration</code>
+     */
+    public void setExpireAfterAccess(long duration, TimeUnit unit) {
+        Assert.isTrue(duration >= 0, "duration may not be negative");
+        this.expireAfterAccessNanos = unit.toNanos(duration);
+    }
+
+    /**
+     * Returns the statistics of this cache.
+     *
+     * @return the statistics of this cache
+     */
+    public CacheStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Returns the number of entries in the cache. This number may include entries that have expired, but have not
+     * been removed yet.
+     *
+     * @return the number of entries in the cache
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public void registerCacheEntryListener(EntryListener entryListener) {
+        listeners.add(entryListener);
+    }
+
+    @Override
+    public void unregisterCacheEntryListener(EntryListener entryListener) {
+        listeners.remove(entryListener);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <K, V> V get(K key) {
+        final Node node = entries.get(key);
+        final long now = currentTime();
+        if (node == null || isExpired(node, now)) {
+            statistics.recordMiss();
+            lastMiss.set(new Miss(key, System.nanoTime()));
+            return null;
+        }
+        if (now != 0) {
+            node.accessTime = now;
+        }
+        final V value = (V) node.value;
+        statistics.recordHit();
+        recordRead(node);
+        for (EntryListener listener : listeners) {
+            listener.onEntryRead(key, value);
+        }
+        return value;
+    }
+
+    @Override
+    public <K, V> void put(K key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Null values not supported");
+        }
+        recordLoad(key);
+        final Node node = new Node(key, value, weigh(key, value), currentTime());
+        while (true) {
+            final Node existing = entries.putIfAbsent(key, node);
+            if (existing == null) {
+                writeBuffer.add(new AddTask(node));
+                notifyRemovals(performMaintenance(true));
+                for (EntryListener listener : listeners) {
+                    listener.onEntryCreated(key, value);
+                }
+                return;
+            }
+            // the existing node is never modified, as it may have been evicted or expired concurrently
+            if (entries.replace(key, existing, node)) {
+                existing.retired = true;
+                final boolean replacedExpired = isExpired(existing, node.accessTime);
+                if (replacedExpired) {
+                    statistics.recordExpiration();
+                }
+                writeBuffer.add(new ReplaceTask(existing, node));
+                List<Object> removedKeys = performMaintenance(true);
+                if (replacedExpired) {
+                    for (EntryListener listener : listeners) {
+                        listener.onEntryExpired(key);
+                    }
+                }
+                notifyRemovals(removedKeys);
+                for (EntryListener listener : listeners) {
+                    if (replacedExpired) {
+                        listener.onEntryCreated(key, value);
+                    } else {
+                        listener.onEntryUpdated(key, value);
+                    }
+                }
+                return;
+            }
+            // the existing node was removed in the meantime. Try again.
+        }
+    }
+
+    @Override
+    public <K, V> boolean putIfAbsent(K key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Null values not supported");
+        }
+        recordLoad(key);
+        final Node node = new Node(key, value, weigh(key, value), currentTime());
+        final Node existing = entries.putIfAbsent(key, node);
+        boolean replacedExpired = false;
+        if (existing != null) {
+            if (!isExpired(existing, node.accessTime) || !entries.replace(key, existing, node)) {
+                return false;
+            }
+            existing.retired = true;
+            writeBuffer.add(new RemoveTask(existing));
+            statistics.recordExpiration();
+            replacedExpired = true;
+        }
+        writeBuffer.add(new AddTask(node));
+        List<Object> removedKeys = performMaintenance(true);
+        if (replacedExpired) {
+            for (EntryListener listener : listeners) {
+                listener.onEntryExpired(key);
+            }
+        }
+        notifyRemovals(removedKeys);
+        for (EntryListener listener : listeners) {
+            listener.onEntryCreated(key, value);
+        }
+        return true;
+    }
+
+    @Override
+    public <K> boolean remove(K key) {
+        final Node node = entries.remove(key);
+        if (node == null) {
+            return false;
+        }
+        node.retired = true;
+        writeBuffer.add(new RemoveTask(node));
+        notifyRemovals(performMaintenance(true));
+        for (EntryListener listener : listeners) {
+            listener.onEntryRemoved(key);
+        }
+        return true;
+    }
+
+    @Override
+    public <K> boolean containsKey(K key) {
+        final Node node = entries.get(key);
+        return node != null && !isExpired(node, currentTime());
+    }
+
+    /**
+     * Applies all pending reads and writes to the eviction policy, and removes expired entries.
+     */
+    public void cleanUp() {
+        notifyRemovals(performMaintenance(true));
+    }
+
+    private long currentTime() {
+        return expireAfterAccessNanos > 0 ? System.nanoTime() : 0L;
+    }
+
+    private boolean isExpired(Node node, long now) {
+        final long expiry = expireAfterAccessNanos;
+        return expiry > 0 && now - node.accessTime > expiry;
+    }
+
+    private int weigh(Object key, Object value) {
+        if (weigher == null) {
+            return 1;
+        }
+        int weight = weigher.weigh(key, value);
+        Assert.isTrue(weight >= 0, "Weigher returned a negative weight");
+        return weight;
+    }
+
+    private void recordRead(Node node) {
+        if (readBufferSize.incrementAndGet() > READ_BUFFER_MAX_SIZE) {
+            // the buffer is full. Losing this access only affects the accuracy of the eviction policy
+            readBufferSize.decrementAndGet();
+        } else {
+            readBuffer.add(node);
+        }
+        if (readBufferSize.get() >= READ_BUFFER_DRAIN_THRESHOLD) {
+            notifyRemovals(performMaintenance(false));
+        }
+    }
+
+    private void recordLoad(Object key) {
+        final Miss miss = lastMiss.get();
+        if (miss != null) {
+            lastMiss.remove();
+            if (miss.key.equals(key)) {
+                statistics.recordLoad(System.nanoTime() - miss.time);
+            }
+        }
+    }
+
+    private List<Object> performMaintenance(boolean waitForLock) {
+        if (waitForLock) {
+            evictionLock.lock();
+        } else if (!evictionLock.tryLock()) {
+            return Collections.emptyList();
+        }
+        try {
+            List<Object> removedKeys = new ArrayList<Object>();
+            drainReadBuffer();
+            drainWriteBuffer();
+            expireEntries(removedKeys);
+            evictEntries(removedKeys);
+            return removedKeys;
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private void notifyRemovals(List<Object> removedKeys) {
+        for (Object key : removedKeys) {
+            for (EntryListener listener : listeners) {
+                listener.onEntryExpired(key);
+            }
+        }
+    }
+
+    private void drainReadBuffer() {
+        Node node;
+        while ((node = readBuffer.poll()) != null) {
+            readBufferSize.decrementAndGet();
+            onAccess(node);
+        }
+    }
+
+    private void drainWriteBuffer() {
+        Runnable task;
+        while ((task = writeBuffer.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private void onAccess(Node node) {
+        if (node.queue == UNLINKED) {
+            return;
+        }
+        sketch.increment(node.key);
+        switch (node.queue) {
+            case WINDOW:
+                window.moveToLast(node);
+                break;
+            case PROBATION:
+                probation.remove(node);
+                protectedSpace.addLast(node);
+                node.queue = PROTECTED;
+                protectedWeight += node.appliedWeight;
+                demoteProtectedOverflow();
+                break;
+            default:
+                protectedSpace.moveToLast(node);
+        }
+    }
+
+    private void demoteProtectedOverflow() {
+        while (protectedWeight > maximumProtectedWeight && !protectedSpace.isEmpty()) {
+            Node demoted = protectedSpace.first();
+            protectedSpace.remove(demoted);
+            probation.addLast(demoted);
+            demoted.queue = PROBATION;
+            protectedWeight -= demoted.appliedWeight;
+        }
+    }
+
+    private void expireEntries(List<Object> removedKeys) {
+        if (expireAfterAccessNanos <= 0) {
+            return;
+        }
+        final long now = System.nanoTime();
+        expireEntries(window, now, removedKeys);
+        expireEntries(probation, now, removedKeys);
+        expireEntries(protectedSpace, now, removedKeys);
+    }
+
+    private void expireEntries(AccessOrderQueue queue, long now, List<Object> removedKeys) {
+        while (!queue.isEmpty() && isExpired(queue.first(), now)) {
+            Node node = queue.first();
+            unlink(node);
+            if (entries.remove(node.key, node)) {
+                statistics.recordExpiration();
+                removedKeys.add(node.key);
+            }
+            node.retired = true;
+        }
+    }
+
+    private void evictEntries(List<Object> removedKeys) {
+        while (windowWeight > maximumWindowWeight && !window.isEmpty()) {
+            Node node = window.first();
+            window.remove(node);
+            probation.addLast(node);
+            node.queue = PROBATION;
+            windowWeight -= node.appliedWeight;
+        }
+        while (totalWeight > maximumWeight) {
+            Node victim = selectVictim();
+            unlink(victim);
+            if (entries.remove(victim.key, victim)) {
+                statistics.recordEviction();
+                removedKeys.add(victim.key);
+            }
+            victim.retired = true;
+        }
+    }
+
+    private Node selectVictim() {
+        if (probation.isEmpty()) {
+            return protectedSpace.isEmpty() ? window.first() : protectedSpace.first();
+        }
+        // the candidate is the entry that most recently entered the probation space, competing with the least
+        // recently used entry for a place in the cache
+        Node victim = probation.first();
+        Node candidate = probation.last();
+        if (candidate == victim) {
+            return victim;
+        }
+        return sketch.frequency(candidate.key) > sketch.frequency(victim.key) ? victim : candidate;
+    }
+
+    private void link(Node node) {
+        node.appliedWeight = node.weight;
+        window.addLast(node);
+        node.queue = WINDOW;
+        windowWeight += node.appliedWeight;
+        totalWeight += node.appliedWeight;
+        sketch.increment(node.key);
+    }
+
+    private void unlink(Node node) {
+        switch (node.queue) {
+            case UNLINKED:
+                return;
+            case WINDOW:
+                window.remove(node);
+                windowWeight -= node.appliedWeight;
+                break;
+            case PROBATION:
+                probation.remove(node);
+                break;
+            default:
+                protectedSpace.remove(node);
+                protectedWeight -= node.appliedWeight;
+        }
+        totalWeight -= node.appliedWeight;
+        node.queue = UNLINKED;
+    }
+
+    private AccessOrderQueue queueOf(Node node) {
+        switch (node.queue) {
+            case WINDOW:
+                return window;
+            case PROBATION:
+                return probation;
+            default:
+                return protectedSpace;
+        }
+    }
+
+    private void reweigh(Node node) {
+        int delta = node.weight - node.appliedWeight;
+        node.appliedWeight = node.weight;
+        totalWeight += delta;
+        if (node.queue == WINDOW) {
+            windowWeight += delta;
+        } else if (node.queue == PROTECTED) {
+            protectedWeight += delta;
+        }
+    }
+
+    /**
+     * Interface describing a component that determines the weight of entries in a {@link BoundedCache}.
+     */
+    public interface Weigher {
+
+        /**
+         * Returns the weight of the entry with given <code>key</code> and <code>value</code>. The weight must not be
+         * negative.
+         *
+         * @param key   The key of the entry
+         * @param value The value of the entry
+         * @return the weight of the entry
+         */
+        int weigh(Object key, Object value);
+    }
+
+    private final class AddTask implements Runnable {
+
+        private final Node node;
+
+        private AddTask(Node node) {
+            this.node = node;
+        }
+
+        @Override
+        public void run() {
+            // the entry may have been removed before this task was processed
+            if (!node.retired && node.queue == UNLINKED) {
+                link(node);
+            }
+        }
+    }
+
+    private final class ReplaceTask implements Runnable {
+
+        private final Node node;
+        private final Node replacement;
+
+        private ReplaceTask(Node node, Node replacement) {
+            this.node = node;
+            this.replacement = replacement;
+        }
+
+        @Override
+        public void run() {
+            if (replacement.retired) {
+                // the replacement itself has been replaced or removed before this task was processed
+                unlink(node);
+                return;
+            }
+            if (node.queue == UNLINKED) {
+                // the replaced node was evicted, or its AddTask hasn't been processed yet
+                link(replacement);
+                return;
+            }
+            // the replacement takes over the position of the replaced node in the eviction policy
+            queueOf(node).replace(node, replacement);
+            replacement.queue = node.queue;
+            replacement.appliedWeight = node.appliedWeight;
+            node.queue = UNLINKED;
+            reweigh(replacement);
+            onAccess(replacement);
+        }
+    }
+
+    private final class RemoveTask implements Runnable {
+
+        private final Node node;
+
+        private RemoveTask(Node node) {
+            this.node = node;
+        }
+
+        @Override
+        public void run() {
+            unlink(node);
+        }
+    }
+
+    private static final class Node {
+
+        private final Object key;
+        private final Object value;
+        private final int weight;
+        private volatile long accessTime;
+        private volatile boolean retired;
+
+        // the fields below are guarded by the eviction lock
+        private int appliedWeight;
+        private int queue = UNLINKED;
+        private Node previous;
+        private Node next;
+
+        private Node(Object key, Object value, int weight, long accessTime) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+            this.accessTime = accessTime;
+        }
+    }
+
+    /**
+     * Doubly linked list of nodes, ordered from least to most recently accessed.
+     */
+    private static final class AccessOrderQueue {
+
+        private Node first;
+        private Node last;
+
+        private boolean isEmpty() {
+            return first == null;
+        }
+
+        private Node first() {
+            return first;
+        }
+
+        private Node last() {
+            return last;
+        }
+
+        private void addLast(Node node) {
+            node.previous = last;
+            node.next = null;
+            if (last == null) {
+                first = node;
+            } else {
+                last.next = node;
+            }
+            last = node;
+        }
+
+        private void remove(Node node) {
+            if (node.previous == null) {
+                first = node.next;
+            } else {
+                node.previous.next = node.next;
+            }
+            if (node.next == null) {
+                last = node.previous;
+            } else {
+                node.next.previous = node.previous;
+            }
+            node.previous = null;
+            node.next = null;
+        }
+
+        private void replace(Node node, Node replacement) {
+            replacement.previous = node.previous;
+            replacement.next = node.next;
+            if (node.previous == null) {
+                first = replacement;
+            } else {
+                node.previous.next = replacement;
+            }
+            if (node.next == null) {
+                last = replacement;
+            } else {
+                node.next.previous = replacement;
+            }
+            node.previous = null;
+            node.next = null;
+        }
+
+        private void moveToLast(Node node) {
+            if (node != last) {
+                remove(node);
+                addLast(node);
+            }
+        }
+    }
+
+    private static final class Miss {
+
+        private final Object key;
+        private final long time;
+
+        private Miss(Object key, long time) {
+            this.key = key;
+            this.time = time;
+        }
+    }
+}
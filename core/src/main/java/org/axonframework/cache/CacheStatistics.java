@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Statistics of a {@link BoundedCache}, counting hits, misses, evictions, expirations and the time spent loading
+ * values after a cache miss.
+ *
+ * @author agent
+ * @since 2.4
+ */
+public class CacheStatistics implements CacheStatisticsMXBean {
+
+    private static final double NANOS_PER_MILLI = 1000000D;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+    private final AtomicLong expirationCount = new AtomicLong();
+    private final AtomicLong loadCount = new AtomicLong();
+    private final AtomicLong totalLoadTime = new AtomicLong();
+
+    @Override
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    @Override
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    @Override
+    public double getHitRate() {
+        long hits = hitCount.get();
+        long requests = hits + missCount.get();
+        return requests == 0 ? 1D : (double) hits / requests;
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    @Override
+    public long getExpirationCount() {
+        return expirationCount.get();
+    }
+
+    @Override
+    public long getLoadCount() {
+        return loadCount.get();
+    }
+
+    @Override
+    public double getAverageLoadPenaltyMillis() {
+        long loads = loadCount.get();
+        return loads == 0 ? 0D : totalLoadTime.get() / NANOS_PER_MILLI / loads;
+    }
+
+    @Override
+    public void reset() {
+        hitCount.set(0);
+        missCount.set(0);
+        evictionCount.set(0);
+        expirationCount.set(0);
+        loadCount.set(0);
+        totalLoadTime.set(0);
+    }
+
+    /**
+     * Records a lookup that found a value.
+     */
+    void recordHit() {
+        hitCount.incrementAndGet();
+    }
+
+    /**
+     * Records a lookup that didn't find a value.
+     */
+    void recordMiss() {
+        missCount.incrementAndGet();
+    }
+
+    /**
+     * Records the eviction of an entry.
+     */
+    void recordEviction() {
+        evictionCount.incrementAndGet();
+    }
+
+    /**
+     * Records the expiration of an entry.
+     */
+    void recordExpiration() {
+        expirationCount.incrementAndGet();
+    }
+
+    /**
+     * Records that it took <code>nanos</code> nanoseconds to load a value after a cache miss.
+     *
+     * @param nanos The time it took to load the value
+     */
+    void recordLoad(long nanos) {
+        loadCount.incrementAndGet();
+        totalLoadTime.addAndGet(nanos);
+    }
+}
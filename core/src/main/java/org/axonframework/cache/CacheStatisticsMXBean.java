@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.cache;
+
+/**
+ * Management interface for the statistics of a {@link BoundedCache}.
+ *
+ * @author agent
+ * @since 2.4
+ */
+public interface CacheStatisticsMXBean {
+
+    /**
+     * Returns the number of lookups that found a value in the cache.
+     *
+     * @return the number of cache hits
+     */
+    long getHitCount();
+
+    /**
+     * Returns the number of lookups that did not find a value in the cache.
+     *
+     * @return the number of cache misses
+     */
+    long getMissCount();
+
+    /**
+     * Returns the ratio of lookups that found a value in the cache, between 0 and 1. If no lookups have been
+     * performed, 1 is returned.
+     *
+     * @return the ratio of lookups that found a value in the cache
+     */
+    double getHitRate();
+
+    /**
+     * Returns the number of entries removed from the cache to keep its size within bounds.
+     *
+     * @return the number of evicted entries
+     */
+    long getEvictionCount();
+
+    /**
+     * Returns the number of entries removed from the cache because they had not been accessed for too long.
+     *
+     * @return the number of expired entries
+     */
+    long getExpirationCount();
+
+    /**
+     * Returns the number of times a value was put in the cache by a thread that had just missed that value.
+     *
+     * @return the number of values loaded after a cache miss
+     */
+    long getLoadCount();
+
+    /**
+     * Returns the average time, in milliseconds, between a cache miss and the moment the same thread put the missing
+     * value in the cache. This is the time it took the caller to load the value elsewhere.
+     *
+     * @return the average load penalty in milliseconds
+     */
+    double getAverageLoadPenaltyMillis();
+
+    /**
+     * Resets all counters to 0.
+     */
+    void reset();
+}
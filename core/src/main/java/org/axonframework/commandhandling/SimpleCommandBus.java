@@ -17,6 +17,7 @@
 package org.axonframework.commandhandling;
 
 import org.axonframework.commandhandling.callbacks.LoggingCallback;
+import org.axonframework.monitoring.LatencyStatistics;
 import org.axonframework.monitoring.MonitorRegistry;
 import org.axonframework.unitofwork.DefaultUnitOfWorkFactory;
 import org.axonframework.unitofwork.TransactionManager;
@@ -40,6 +41,8 @@ import static java.lang.String.format;
  * security (authorization), sla monitoring, etc.
  * <p/>
  * This class can be monitored as the implementation of the <code>StatisticsProvider</code> interface indicates.
+ * Additionally, the dispatch latency of each command name is registered with the {@link MonitorRegistry} as
+ * {@link LatencyStatistics}.
  *
  * @author Allard Buijze
  * @author Martin Tilma
@@ -52,6 +55,7 @@ public class SimpleCommandBus implements CommandBus {
     private final ConcurrentMap<String, CommandHandler<?>> subscriptions =
             new ConcurrentHashMap<String, CommandHandler<?>>();
     private final SimpleCommandBusStatistics statistics = new SimpleCommandBusStatistics();
+    private final LatencyStatistics dispatchLatency = new LatencyStatistics();
     private volatile Iterable<? extends CommandHandlerInterceptor> handlerInterceptors = Collections.emptyList();
     private volatile Iterable<? extends CommandDispatchInterceptor> dispatchInterceptors = Collections.emptyList();
     private UnitOfWorkFactory unitOfWorkFactory = new DefaultUnitOfWorkFactory();
@@ -62,6 +66,7 @@ public class SimpleCommandBus implements CommandBus {
      */
     public SimpleCommandBus() {
         MonitorRegistry.registerMonitoringBean(statistics, SimpleCommandBus.class);
+        MonitorRegistry.registerMonitoringBean(dispatchLatency, SimpleCommandBus.class, "DispatchLatency");
     }
 
     @SuppressWarnings({"ThrowableResultOfMethodCallIgnored"})
@@ -119,23 +124,29 @@ public class SimpleCommandBus implements CommandBus {
     private Object doDispatch(CommandMessage<?> command, CommandHandler commandHandler) throws Throwable {
         logger.debug("Dispatching command [{}]", command.getCommandName());
         statistics.recordReceivedCommand();
-        UnitOfWork unitOfWork = unitOfWorkFactory.createUnitOfWork();
-        InterceptorChain chain = new DefaultInterceptorChain(command, unitOfWork, commandHandler, handlerInterceptors);
-
-        Object returnValue;
+        long startTime = System.nanoTime();
         try {
-            returnValue = chain.proceed();
-        } catch (Throwable throwable) {
-            if (rollbackConfiguration.rollBackOn(throwable)) {
-                unitOfWork.rollback(throwable);
-            } else {
-                unitOfWork.commit();
+            UnitOfWork unitOfWork = unitOfWorkFactory.createUnitOfWork();
+            InterceptorChain chain = new DefaultInterceptorChain(command, unitOfWork, commandHandler,
+                                                                 handlerInterceptors);
+
+            Object returnValue;
+            try {
+                returnValue = chain.proceed();
+            } catch (Throwable throwable) {
+                if (rollbackConfiguration.rollBackOn(throwable)) {
+                    unitOfWork.rollback(throwable);
+                } else {
+                    unitOfWork.commit();
+                }
+                throw throwable;
             }
-            throw throwable;
-        }
 
-        unitOfWork.commit();
-        return returnValue;
+            unitOfWork.commit();
+            return returnValue;
+        } finally {
+            dispatchLatency.recordLatency(command.getCommandName(), System.nanoTime() - startTime);
+        }
     }
 
     /**
@@ -34,8 +34,6 @@ import org.axonframework.unitofwork.CurrentUnitOfWork;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Map;
-import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -50,25 +48,53 @@ public class CommandHandlerInvoker implements EventHandler<CommandHandlingEntry>
 
     private static final Logger logger = LoggerFactory.getLogger(CommandHandlerInvoker.class);
     private static final ThreadLocal<CommandHandlerInvoker> CURRENT_INVOKER = new ThreadLocal<CommandHandlerInvoker>();
-    private static final Object PLACEHOLDER_VALUE = new Object();
 
     private final ConcurrentMap<String, DisruptorRepository> repositories = new ConcurrentHashMap<String, DisruptorRepository>();
     private final Cache cache;
     private final int segmentId;
     private final EventStore eventStore;
+    private final int firstLevelCacheMaxSize;
+    private final boolean firstLevelCacheSoftReferences;
 
     /**
      * Create an aggregate invoker instance that uses the given <code>eventStore</code> and <code>cache</code> to
-     * retrieve aggregate instances.
+     * retrieve aggregate instances. The first level cache of this invoker is unbounded and holds aggregates using
+     * weak references.
      *
      * @param eventStore The event store providing access to events to reconstruct aggregates
      * @param cache      The cache temporarily storing aggregate instances
      * @param segmentId  The id of the segment this invoker should handle
      */
     public CommandHandlerInvoker(EventStore eventStore, Cache cache, int segmentId) {
+        this(eventStore, cache, segmentId, 0, false);
+    }
+
+    /**
+     * Create an aggregate invoker instance that uses the given <code>eventStore</code> and <code>cache</code> to
+     * retrieve aggregate instances. The first level cache, which holds the aggregates recently used by this invoker,
+     * holds at most <code>firstLevelCacheMaxSize</code> aggregates per aggregate type, evicting the least recently
+     * used ones first. A <code>firstLevelCacheMaxSize</code> of 0 indicates an unbounded first level cache.
+     * <p/>
+     * Note that the first level cache must be able to hold at least as many aggregates as there are commands in
+     * progress. Aggregates that are evicted while their changes are still being stored would otherwise need to be
+     * reloaded from the Event Store before the new events are available.
+     *
+     * @param eventStore                    The event store providing access to events to reconstruct aggregates
+     * @param cache                         The cache temporarily storing aggregate instances
+     * @param segmentId                     The id of the segment this invoker should handle
+     * @param firstLevelCacheMaxSize        The maximum number of aggregates per type in the first level cache, or 0
+     *                                      for an unbounded cache
+     * @param firstLevelCacheSoftReferences Whether the first level cache should hold aggregates using soft references
+     *                                      instead of weak references
+     */
+    public CommandHandlerInvoker(EventStore eventStore, Cache cache, int segmentId, int firstLevelCacheMaxSize,
+                                 boolean firstLevelCacheSoftReferences) {
+        Assert.isTrue(firstLevelCacheMaxSize >= 0, "The first level cache size may not be negative");
         this.eventStore = eventStore;
         this.cache = cache;
         this.segmentId = segmentId;
+        this.firstLevelCacheMaxSize = firstLevelCacheMaxSize;
+        this.firstLevelCacheSoftReferences = firstLevelCacheSoftReferences;
     }
 
     /**
@@ -122,7 +148,8 @@ public class CommandHandlerInvoker implements EventHandler<CommandHandlingEntry>
         String typeIdentifier = aggregateFactory.getTypeIdentifier();
         if (!repositories.containsKey(typeIdentifier)) {
             DisruptorRepository<T> repository = new DisruptorRepository<T>(aggregateFactory, cache, eventStore,
-                                                                           decorator);
+                                                                           decorator, new FirstLevelCache<T>(
+                    firstLevelCacheMaxSize, firstLevelCacheSoftReferences));
             repositories.putIfAbsent(typeIdentifier, repository);
         }
         return repositories.get(typeIdentifier);
@@ -135,6 +162,57 @@ public class CommandHandlerInvoker implements EventHandler<CommandHandlingEntry>
         cache.remove(aggregateIdentifier);
     }
 
+    /**
+     * Returns the id of the segment this invoker handles.
+     *
+     * @return the id of the segment this invoker handles
+     */
+    public int getSegmentId() {
+        return segmentId;
+    }
+
+    /**
+     * Returns the number of times an aggregate was found in the first level cache of this invoker. This method may
+     * be called from any thread.
+     *
+     * @return the number of first level cache hits
+     */
+    public long getFirstLevelCacheHitCount() {
+        long total = 0;
+        for (DisruptorRepository repository : repositories.values()) {
+            total += repository.firstLevelCache.getHitCount();
+        }
+        return total;
+    }
+
+    /**
+     * Returns the number of times an aggregate was not found in the first level cache of this invoker. This method
+     * may be called from any thread.
+     *
+     * @return the number of first level cache misses
+     */
+    public long getFirstLevelCacheMissCount() {
+        long total = 0;
+        for (DisruptorRepository repository : repositories.values()) {
+            total += repository.firstLevelCache.getMissCount();
+        }
+        return total;
+    }
+
+    /**
+     * Returns the number of aggregates evicted from the first level cache of this invoker, either because the size
+     * limit was reached, or because the aggregate was garbage collected. This method may be called from any thread.
+     *
+     * @return the number of first level cache evictions
+     */
+    public long getFirstLevelCacheEvictionCount() {
+        long total = 0;
+        for (DisruptorRepository repository : repositories.values()) {
+            total += repository.firstLevelCache.getEvictionCount();
+        }
+        return total;
+    }
+
     @Override
     public void onStart() {
         CURRENT_INVOKER.set(this);
@@ -155,13 +233,14 @@ public class CommandHandlerInvoker implements EventHandler<CommandHandlingEntry>
         private final EventStore eventStore;
         private final EventStreamDecorator decorator;
         private final AggregateFactory<T> aggregateFactory;
-        private final Map<T, Object> firstLevelCache = new WeakHashMap<T, Object>();
+        private final FirstLevelCache<T> firstLevelCache;
         private final String typeIdentifier;
         private final Cache cache;
 
         private DisruptorRepository(AggregateFactory<T> aggregateFactory, Cache cache, EventStore eventStore,
-                                    EventStreamDecorator decorator) {
+                                    EventStreamDecorator decorator, FirstLevelCache<T> firstLevelCache) {
             this.aggregateFactory = aggregateFactory;
+            this.firstLevelCache = firstLevelCache;
             this.cache = cache;
             this.eventStore = eventStore;
             this.decorator = decorator;
@@ -181,17 +260,14 @@ public class CommandHandlerInvoker implements EventHandler<CommandHandlingEntry>
 
         @Override
         public T load(Object aggregateIdentifier) {
-            T aggregateRoot = null;
-            for (T cachedAggregate : firstLevelCache.keySet()) {
-                if (aggregateIdentifier.equals(cachedAggregate.getIdentifier())) {
-                    logger.debug("Aggregate {} found in first level cache", aggregateIdentifier);
-                    aggregateRoot = cachedAggregate;
-                }
-            }
-            if (aggregateRoot == null) {
+            T aggregateRoot = firstLevelCache.get(aggregateIdentifier);
+            if (aggregateRoot != null) {
+                logger.debug("Aggregate {} found in first level cache", aggregateIdentifier);
+            } else {
                 Object cachedItem = cache.get(aggregateIdentifier);
                 if (cachedItem != null && aggregateFactory.getAggregateType().isInstance(cachedItem)) {
                     aggregateRoot = aggregateFactory.getAggregateType().cast(cachedItem);
+                    firstLevelCache.put(aggregateIdentifier, aggregateRoot);
                 }
             }
             if (aggregateRoot == null) {
@@ -217,8 +293,10 @@ public class CommandHandlerInvoker implements EventHandler<CommandHandlingEntry>
                 } finally {
                     IOUtils.closeQuietlyIfCloseable(events);
                 }
-                firstLevelCache.put(aggregateRoot, PLACEHOLDER_VALUE);
-                cache.put(aggregateIdentifier, aggregateRoot);
+                if (aggregateRoot != null) {
+                    firstLevelCache.put(aggregateIdentifier, aggregateRoot);
+                    cache.put(aggregateIdentifier, aggregateRoot);
+                }
             }
             if (aggregateRoot != null) {
                 DisruptorUnitOfWork unitOfWork = (DisruptorUnitOfWork) CurrentUnitOfWork.get();
@@ -235,18 +313,14 @@ public class CommandHandlerInvoker implements EventHandler<CommandHandlingEntry>
             unitOfWork.setEventStreamDecorator(decorator);
             unitOfWork.setAggregateType(typeIdentifier);
             unitOfWork.registerAggregate(aggregate, null, null);
-            firstLevelCache.put(aggregate, PLACEHOLDER_VALUE);
+            firstLevelCache.put(aggregate.getIdentifier(), aggregate);
             cache.put(aggregate.getIdentifier(), aggregate);
         }
 
         private void removeFromCache(Object aggregateIdentifier) {
-            for (T cachedAggregate : firstLevelCache.keySet()) {
-                if (aggregateIdentifier.equals(cachedAggregate.getIdentifier())) {
-                    firstLevelCache.remove(cachedAggregate);
-                    logger.debug("Aggregate {} removed from first level cache for recovery purposes.",
-                                 aggregateIdentifier);
-                    return;
-                }
+            if (firstLevelCache.remove(aggregateIdentifier)) {
+                logger.debug("Aggregate {} removed from first level cache for recovery purposes.",
+                             aggregateIdentifier);
             }
         }
     }
@@ -35,6 +35,8 @@ import org.axonframework.eventsourcing.AggregateFactory;
 import org.axonframework.eventsourcing.EventSourcedAggregateRoot;
 import org.axonframework.eventsourcing.EventStreamDecorator;
 import org.axonframework.eventstore.EventStore;
+import org.axonframework.monitoring.LatencyStatistics;
+import org.axonframework.monitoring.MonitorRegistry;
 import org.axonframework.repository.Repository;
 import org.axonframework.serializer.Serializer;
 import org.axonframework.unitofwork.TransactionManager;
@@ -100,6 +102,12 @@ import java.util.concurrent.Executors;
  * implementation used {@link java.util.UUID#randomUUID()} to generated identifier for Events. The poor performance of
  * this method severely impacts overall performance of the DisruptorCommandBus. A better performing alternative is, for
  * example, <a href="http://johannburkard.de/software/uuid/" target="_blank"><code>com.eaio.uuid.UUID</code></a>
+ * <p/>
+ * <em>Monitoring</em>
+ * <p/>
+ * The occupancy of the ring buffer and the use of the first level caches ({@link DisruptorCommandBusStatistics}), and
+ * the time between dispatching a command and the invocation of its callback, per command name ({@link
+ * LatencyStatistics}), are registered with the {@link MonitorRegistry}.
  *
  * @author Allard Buijze
  * @since 2.0
@@ -125,6 +133,8 @@ public class DisruptorCommandBus implements CommandBus {
     private final int publisherCount;
     private final int serializerCount;
     private final CommandCallback<Object> failureLoggingCallback = new FailureLoggingCommandCallback();
+    private final DisruptorCommandBusStatistics statistics;
+    private final LatencyStatistics commandLatency = new LatencyStatistics();
 
     /**
      * Initialize the DisruptorCommandBus with given resources, using default configuration settings. Uses a Blocking
@@ -153,6 +163,9 @@ public class DisruptorCommandBus implements CommandBus {
         Assert.notNull(eventStore, "eventStore may not be null");
         Assert.notNull(eventBus, "eventBus may not be null");
         Assert.notNull(configuration, "configuration may not be null");
+        Assert.isTrue(configuration.getFirstLevelCacheMaxSize() == 0
+                              || configuration.getFirstLevelCacheMaxSize() >= configuration.getBufferSize(),
+                      "The first level cache size must be 0 (unbounded) or at least the buffer size");
         Executor executor = configuration.getExecutor();
         if (executor == null) {
             executorService = Executors.newCachedThreadPool(
@@ -193,7 +206,10 @@ public class DisruptorCommandBus implements CommandBus {
         eventHandlerGroup.then(publishers);
 
         coolingDownPeriod = configuration.getCoolingDownPeriod();
+        statistics = new DisruptorCommandBusStatistics(disruptor.getRingBuffer(), commandHandlerInvokers);
         disruptor.start();
+        MonitorRegistry.registerMonitoringBean(statistics, DisruptorCommandBus.class);
+        MonitorRegistry.registerMonitoringBean(commandLatency, DisruptorCommandBus.class, "CommandLatency");
     }
 
     private EventPublisher[] initializePublisherThreads(EventStore eventStore, EventBus eventBus,
@@ -202,7 +218,8 @@ public class DisruptorCommandBus implements CommandBus {
         EventPublisher[] publishers = new EventPublisher[configuration.getPublisherThreadCount()];
         for (int t = 0; t < publishers.length; t++) {
             publishers[t] = new EventPublisher(eventStore, eventBus, executor, transactionManager,
-                                               configuration.getRollbackConfiguration(), t);
+                                               configuration.getRollbackConfiguration(), t,
+                                               configuration.isGroupCommitEnabled());
         }
         return publishers;
     }
@@ -221,10 +238,12 @@ public class DisruptorCommandBus implements CommandBus {
 
     private CommandHandlerInvoker[] initializeInvokerThreads(EventStore eventStore,
                                                              DisruptorConfiguration configuration) {
+        int firstLevelCacheMaxSize = configuration.getFirstLevelCacheMaxSize();
         CommandHandlerInvoker[] invokers;
         invokers = new CommandHandlerInvoker[configuration.getInvokerThreadCount()];
         for (int t = 0; t < invokers.length; t++) {
-            invokers[t] = new CommandHandlerInvoker(eventStore, configuration.getCache(), t);
+            invokers[t] = new CommandHandlerInvoker(eventStore, configuration.getCache(), t, firstLevelCacheMaxSize,
+                                                    configuration.isFirstLevelCacheSoftReferences());
         }
         return invokers;
     }
@@ -241,7 +260,8 @@ public class DisruptorCommandBus implements CommandBus {
         for (CommandDispatchInterceptor interceptor : dispatchInterceptors) {
             commandToDispatch = interceptor.handle(commandToDispatch);
         }
-        doDispatch(commandToDispatch, callback);
+        doDispatch(commandToDispatch, new LatencyRecordingCallback<R>(
+                callback, commandLatency.histogramFor(commandToDispatch.getCommandName())));
     }
 
     /**
@@ -273,6 +293,7 @@ public class DisruptorCommandBus implements CommandBus {
                 }
             }
         }
+        statistics.recordDispatchedCommand();
         long sequence = ringBuffer.next();
         CommandHandlingEntry event = ringBuffer.get(sequence);
         event.reset(command, commandHandlers.get(command.getCommandName()), invokerSegment, publisherSegment,
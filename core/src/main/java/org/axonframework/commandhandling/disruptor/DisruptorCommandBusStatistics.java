@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.commandhandling.disruptor;
+
+import com.lmax.disruptor.RingBuffer;
+import org.axonframework.monitoring.Histogram;
+
+/**
+ * Statistics object providing information about the ring buffer of the {@link DisruptorCommandBus}. The occupancy of
+ * the ring buffer is sampled each time a command is dispatched. A ring buffer that is often (nearly) full indicates
+ * that command handling or event storage cannot keep up with the rate at which commands are dispatched.
+ * <p/>
+ * Additionally, the hits, misses and evictions of the first level cache of each of the invoker threads are reported.
+ * A high number of misses relative to hits may indicate that the first level cache is too small.
+ *
+ * @author agent
+ * @since 2.4
+ */
+public class DisruptorCommandBusStatistics implements DisruptorCommandBusStatisticsMXBean {
+
+    private final RingBuffer<?> ringBuffer;
+    private final CommandHandlerInvoker[] invokers;
+    private final Histogram occupancy = new Histogram();
+
+    /**
+     * Initializes the statistics for the given <code>ringBuffer</code> and the first level caches of the given
+     * <code>invokers</code>.
+     *
+     * @param ringBuffer The ring buffer to provide statistics for
+     * @param invokers   The invokers to provide first level cache statistics for
+     */
+    DisruptorCommandBusStatistics(RingBuffer<?> ringBuffer, CommandHandlerInvoker[] invokers) {
+        this.ringBuffer = ringBuffer;
+        this.invokers = invokers;
+    }
+
+    @Override
+    public int getRingBufferSize() {
+        return ringBuffer.getBufferSize();
+    }
+
+    @Override
+    public long getRingBufferOccupancy() {
+        return ringBuffer.getBufferSize() - ringBuffer.remainingCapacity();
+    }
+
+    @Override
+    public long getDispatchedCommandCount() {
+        return occupancy.getCount();
+    }
+
+    @Override
+    public double getMeanRingBufferOccupancy() {
+        return occupancy.getMean();
+    }
+
+    @Override
+    public long getPercentile99RingBufferOccupancy() {
+        return occupancy.getValueAtPercentile(99);
+    }
+
+    @Override
+    public long getMaxRingBufferOccupancy() {
+        return occupancy.getMaxValue();
+    }
+
+    @Override
+    public long getFirstLevelCacheHitCount() {
+        return sum(getFirstLevelCacheHitCountPerSegment());
+    }
+
+    @Override
+    public long getFirstLevelCacheMissCount() {
+        return sum(getFirstLevelCacheMissCountPerSegment());
+    }
+
+    @Override
+    public long getFirstLevelCacheEvictionCount() {
+        return sum(getFirstLevelCacheEvictionCountPerSegment());
+    }
+
+    @Override
+    public long[] getFirstLevelCacheHitCountPerSegment() {
+        long[] counts = new long[invokers.length];
+        for (CommandHandlerInvoker invoker : invokers) {
+            counts[invoker.getSegmentId()] = invoker.getFirstLevelCacheHitCount();
+        }
+        return counts;
+    }
+
+    @Override
+    public long[] getFirstLevelCacheMissCountPerSegment() {
+        long[] counts = new long[invokers.length];
+        for (CommandHandlerInvoker invoker : invokers) {
+            counts[invoker.getSegmentId()] = invoker.getFirstLevelCacheMissCount();
+        }
+        return counts;
+    }
+
+    @Override
+    public long[] getFirstLevelCacheEvictionCountPerSegment() {
+        long[] counts = new long[invokers.length];
+        for (CommandHandlerInvoker invoker : invokers) {
+            counts[invoker.getSegmentId()] = invoker.getFirstLevelCacheEvictionCount();
+        }
+        return counts;
+    }
+
+    @Override
+    public void resetStatistics() {
+        occupancy.reset();
+    }
+
+    /**
+     * Records the dispatching of a command, sampling the current occupancy of the ring buffer.
+     */
+    void recordDispatchedCommand() {
+        occupancy.recordValue(getRingBufferOccupancy());
+    }
+
+    private static long sum(long[] counts) {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.commandhandling.disruptor;
+
+/**
+ * Management interface of the statistics of the {@link DisruptorCommandBus}, providing information about the
+ * occupancy of its ring buffer and the effectiveness of the first level caches of its invoker threads.
+ *
+ * @author agent
+ * @since 2.4
+ */
+public interface DisruptorCommandBusStatisticsMXBean {
+
+    /**
+     * Returns the number of slots in the ring buffer.
+     *
+     * @return the size of the ring buffer
+     */
+    int getRingBufferSize();
+
+    /**
+     * Returns the number of slots currently occupied by commands that have not been fully processed.
+     *
+     * @return the current occupancy of the ring buffer
+     */
+    long getRingBufferOccupancy();
+
+    /**
+     * Returns the number of commands dispatched since creation or the last reset.
+     *
+     * @return the number of dispatched commands
+     */
+    long getDispatchedCommandCount();
+
+    /**
+     * Returns the mean occupancy of the ring buffer, as observed when commands were dispatched.
+     *
+     * @return the mean occupancy of the ring buffer
+     */
+    double getMeanRingBufferOccupancy();
+
+    /**
+     * Returns the 99th percentile of the occupancy of the ring buffer, as observed when commands were dispatched.
+     *
+     * @return the 99th percentile occupancy of the ring buffer
+     */
+    long getPercentile99RingBufferOccupancy();
+
+    /**
+     * Returns the highest occupancy of the ring buffer, as observed when commands were dispatched.
+     *
+     * @return the highest observed occupancy of the ring buffer
+     */
+    long getMaxRingBufferOccupancy();
+
+    /**
+     * Returns the number of times an aggregate was found in the first level cache of any of the invoker threads,
+     * since the command bus was started.
+     *
+     * @return the number of first level cache hits
+     */
+    long getFirstLevelCacheHitCount();
+
+    /**
+     * Returns the number of times an aggregate was not found in the first level cache of any of the invoker threads,
+     * since the command bus was started.
+     *
+     * @return the number of first level cache misses
+     */
+    long getFirstLevelCacheMissCount();
+
+    /**
+     * Returns the number of aggregates evicted from the first level cache of any of the invoker threads, since the
+     * command bus was started.
+     *
+     * @return the number of first level cache evictions
+     */
+    long getFirstLevelCacheEvictionCount();
+
+    /**
+     * Returns the number of first level cache hits of each invoker thread. The index in the returned array is the
+     * segment handled by the invoker thread.
+     *
+     * @return the number of first level cache hits per segment
+     */
+    long[] getFirstLevelCacheHitCountPerSegment();
+
+    /**
+     * Returns the number of first level cache misses of each invoker thread. The index in the returned array is the
+     * segment handled by the invoker thread.
+     *
+     * @return the number of first level cache misses per segment
+     */
+    long[] getFirstLevelCacheMissCountPerSegment();
+
+    /**
+     * Returns the number of first level cache evictions of each invoker thread. The index in the returned array is
+     * the segment handled by the invoker thread.
+     *
+     * @return the number of first level cache evictions per segment
+     */
+    long[] getFirstLevelCacheEvictionCountPerSegment();
+
+    /**
+     * Resets the dispatched command counter and the observed occupancy statistics. The first level cache counters
+     * are not reset.
+     */
+    void resetStatistics();
+}
@@ -68,6 +68,9 @@ public class DisruptorConfiguration {
     private int serializerThreadCount = 1;
     private Serializer serializer;
     private Class<?> serializedRepresentation = byte[].class;
+    private boolean groupCommitEnabled;
+    private int firstLevelCacheMaxSize;
+    private boolean firstLevelCacheSoftReferences;
 
     /**
      * Initializes a configuration instance with default settings: ring-buffer size: 4096, blocking wait strategy and
@@ -316,7 +319,8 @@ public class DisruptorConfiguration {
      * buffer will be loaded from this cache. If they are not in the cache, a new instance will be constructed using
      * Events from the Event Store.
      * <p/>
-     * By default, no cache is used.
+     * By default, no cache is used. A {@link org.axonframework.cache.BoundedCache} is recommended, as it holds the
+     * aggregate instances without copying them and keeps memory consumption bounded.
      *
      * @param cache The cache to store loaded aggregates in.
      * @return <code>this</code> for method chaining
@@ -505,6 +509,89 @@ public class DisruptorConfiguration {
         return this;
     }
 
+    /**
+     * Indicates whether the events of all commands in a batch taken from the ring buffer are stored in a single
+     * transaction.
+     *
+     * @return <code>true</code> if group commit is enabled, otherwise <code>false</code>
+     * @see #setGroupCommitEnabled(boolean)
+     */
+    public boolean isGroupCommitEnabled() {
+        return groupCommitEnabled;
+    }
+
+    /**
+     * Sets whether the publisher threads should store the events of all commands in a batch taken from the ring
+     * buffer in a single transaction, instead of using a transaction for each command. The events of the batch are
+     * published, and the callbacks invoked, after that transaction has been committed. When the group commit fails,
+     * each of the commands in the batch is committed in its own transaction, so that only aggregates that actually
+     * caused the failure get blacklisted.
+     * <p/>
+     * Group commit requires a {@link #setTransactionManager(org.axonframework.unitofwork.TransactionManager)
+     * TransactionManager} to be configured. Defaults to <code>false</code>.
+     *
+     * @param groupCommitEnabled whether to store the events of all commands in a batch in a single transaction
+     * @return <code>this</code> for method chaining
+     */
+    public DisruptorConfiguration setGroupCommitEnabled(boolean groupCommitEnabled) { //NOSONAR (setter may hide field)
+        this.groupCommitEnabled = groupCommitEnabled;
+        return this;
+    }
+
+    /**
+     * Returns the maximum number of aggregates of each type kept in the first level cache of each invoker thread. A
+     * value of 0 indicates an unbounded first level cache.
+     *
+     * @return the maximum number of aggregates per type in the first level cache, or 0 if unbounded
+     * @see #setFirstLevelCacheMaxSize(int)
+     */
+    public int getFirstLevelCacheMaxSize() {
+        return firstLevelCacheMaxSize;
+    }
+
+    /**
+     * Sets the maximum number of aggregates of each type kept in the first level cache of each invoker thread. When
+     * the limit is reached, the least recently used aggregate is evicted. The first level cache holds aggregates that
+     * are being processed by the command bus, and must therefore be at least as large as the buffer size.
+     * <p/>
+     * Defaults to 0, which means the first level cache is unbounded and relies on garbage collection only.
+     *
+     * @param firstLevelCacheMaxSize The maximum number of aggregates per type in the first level cache, or 0 for an
+     *                               unbounded cache
+     * @return <code>this</code> for method chaining
+     */
+    public DisruptorConfiguration setFirstLevelCacheMaxSize(int firstLevelCacheMaxSize) { //NOSONAR (setter may hide field)
+        this.firstLevelCacheMaxSize = firstLevelCacheMaxSize;
+        return this;
+    }
+
+    /**
+     * Indicates whether the first level cache of each invoker thread holds aggregates using soft references, rather
+     * than weak references.
+     *
+     * @return <code>true</code> if soft references are used, otherwise <code>false</code>
+     * @see #setFirstLevelCacheSoftReferences(boolean)
+     */
+    public boolean isFirstLevelCacheSoftReferences() {
+        return firstLevelCacheSoftReferences;
+    }
+
+    /**
+     * Sets whether the first level cache of each invoker thread should hold aggregates using soft references, rather
+     * than weak references. Soft references keep aggregates available until the JVM needs the memory, which improves
+     * the hit rate when no second level cache is configured.
+     * <p/>
+     * Defaults to <code>false</code> (weak references).
+     *
+     * @param firstLevelCacheSoftReferences whether to use soft references in the first level cache
+     * @return <code>this</code> for method chaining
+     */
+    public DisruptorConfiguration setFirstLevelCacheSoftReferences( //NOSONAR (setter may hide field)
+            boolean firstLevelCacheSoftReferences) {
+        this.firstLevelCacheSoftReferences = firstLevelCacheSoftReferences;
+        return this;
+    }
+
     /**
      * Returns the buffer size to use.
      *
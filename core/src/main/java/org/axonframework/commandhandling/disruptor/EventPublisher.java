@@ -20,8 +20,11 @@ import com.lmax.disruptor.EventHandler;
 import org.axonframework.commandhandling.CommandCallback;
 import org.axonframework.commandhandling.CommandMessage;
 import org.axonframework.commandhandling.RollbackConfiguration;
+import org.axonframework.common.Assert;
+import org.axonframework.domain.DomainEventMessage;
 import org.axonframework.domain.DomainEventStream;
 import org.axonframework.domain.EventMessage;
+import org.axonframework.domain.SimpleDomainEventStream;
 import org.axonframework.eventhandling.EventBus;
 import org.axonframework.eventsourcing.EventSourcedAggregateRoot;
 import org.axonframework.eventstore.EventStore;
@@ -31,7 +34,9 @@ import org.axonframework.unitofwork.TransactionManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -42,6 +47,11 @@ import static java.lang.String.format;
 
 /**
  * Component of the DisruptorCommandBus that stores and publishes events generated by the command's execution.
+ * <p/>
+ * When group commit is enabled, the publisher collects the entries of each batch handed to it by the disruptor, and
+ * stores the events of all these entries in a single transaction. Events are published, and callbacks invoked, after
+ * that transaction has been committed. If the group commit fails, each of the entries is committed in its own
+ * transaction, so that only the aggregates that actually caused the failure are blacklisted.
  *
  * @author Allard Buijze
  * @since 2.0
@@ -58,6 +68,8 @@ public class EventPublisher implements EventHandler<CommandHandlingEntry> {
     private final Set<Object> blackListedAggregates = new HashSet<Object>();
     private final Map<CommandMessage, Object> failedCreateCommands = new WeakHashMap<CommandMessage, Object>();
     private final TransactionManager transactionManager;
+    private final boolean groupCommit;
+    private final List<CommandHandlingEntry> pendingEntries = new ArrayList<CommandHandlingEntry>();
 
     /**
      * Initializes the EventPublisher to publish Events to the given <code>eventStore</code> and <code>eventBus</code>
@@ -74,39 +86,213 @@ public class EventPublisher implements EventHandler<CommandHandlingEntry> {
     public EventPublisher(EventStore eventStore, EventBus eventBus, Executor executor,
                           TransactionManager transactionManager, RollbackConfiguration rollbackConfiguration,
                           int segmentId) {
+        this(eventStore, eventBus, executor, transactionManager, rollbackConfiguration, segmentId, false);
+    }
+
+    /**
+     * Initializes the EventPublisher to publish Events to the given <code>eventStore</code> and <code>eventBus</code>
+     * for aggregate of given <code>aggregateType</code>. When <code>groupCommit</code> is <code>true</code>, the
+     * events of all entries in a batch are stored in a single transaction, which requires a
+     * <code>transactionManager</code> to be provided.
+     *
+     * @param eventStore            The EventStore persisting the generated events
+     * @param eventBus              The EventBus to publish events on
+     * @param executor              The executor which schedules response reporting
+     * @param transactionManager    The transaction manager that manages the transaction around event storage and
+     *                              publication
+     * @param rollbackConfiguration The configuration that indicates which exceptions should result in a UnitOfWork
+     * @param segmentId             The ID of the segment this publisher should handle
+     * @param groupCommit           Whether to store the events of all entries in a batch in a single transaction
+     */
+    public EventPublisher(EventStore eventStore, EventBus eventBus, Executor executor,
+                          TransactionManager transactionManager, RollbackConfiguration rollbackConfiguration,
+                          int segmentId, boolean groupCommit) {
+        Assert.isTrue(!groupCommit || transactionManager != null, "Group commit requires a TransactionManager");
         this.eventStore = eventStore;
         this.eventBus = eventBus;
         this.executor = executor;
         this.transactionManager = transactionManager;
         this.rollbackConfiguration = rollbackConfiguration;
         this.segmentId = segmentId;
+        this.groupCommit = groupCommit;
     }
 
     @SuppressWarnings({"unchecked", "ThrowableResultOfMethodCallIgnored"})
     @Override
     public void onEvent(CommandHandlingEntry entry, long sequence, boolean endOfBatch) throws Exception {
         if (entry.isRecoverEntry()) {
+            // entries preceding the recovery must still see the aggregate as blacklisted
+            processPendingEntries();
             recoverAggregate(entry);
         } else if (entry.getPublisherId() == segmentId) {
             if (entry.getExceptionResult() instanceof AggregateNotFoundException
                     && failedCreateCommands.remove(entry.getCommand()) == null) {
                 // the command failed for the first time
                 reschedule(entry);
+            } else if (groupCommit) {
+                pendingEntries.add(entry);
+            } else {
+                processEntry(entry);
+            }
+        }
+        if (endOfBatch) {
+            processPendingEntries();
+        }
+    }
+
+    private void processEntry(CommandHandlingEntry entry) {
+        DisruptorUnitOfWork unitOfWork = entry.getUnitOfWork();
+        CurrentUnitOfWork.set(unitOfWork);
+        try {
+            EventSourcedAggregateRoot aggregate = unitOfWork.getAggregate();
+            if (aggregate != null && blackListedAggregates.contains(aggregate.getIdentifier())) {
+                rejectExecution(entry, unitOfWork, entry.getAggregateIdentifier());
             } else {
-                DisruptorUnitOfWork unitOfWork = entry.getUnitOfWork();
+                processPublication(entry, unitOfWork, aggregate);
+            }
+        } finally {
+            CurrentUnitOfWork.clear(unitOfWork);
+        }
+    }
+
+    private void processPendingEntries() {
+        if (pendingEntries.isEmpty()) {
+            return;
+        }
+        try {
+            if (pendingEntries.size() == 1) {
+                processEntry(pendingEntries.get(0));
+            } else {
+                processGroupCommit(pendingEntries);
+            }
+        } finally {
+            // the entries may be reused by the ring buffer once the batch has been processed
+            pendingEntries.clear();
+        }
+    }
+
+    private void processGroupCommit(List<CommandHandlingEntry> entries) {
+        List<GroupCommitEntry> group = new ArrayList<GroupCommitEntry>(entries.size());
+        for (CommandHandlingEntry entry : entries) {
+            DisruptorUnitOfWork unitOfWork = entry.getUnitOfWork();
+            CurrentUnitOfWork.set(unitOfWork);
+            try {
+                EventSourcedAggregateRoot aggregate = unitOfWork.getAggregate();
+                if (aggregate != null && blackListedAggregates.contains(aggregate.getIdentifier())) {
+                    rejectExecution(entry, unitOfWork, entry.getAggregateIdentifier());
+                    continue;
+                }
+                invokeInterceptorChain(entry);
+                Throwable exceptionResult = entry.getExceptionResult();
+                if (exceptionResult != null && rollbackConfiguration.rollBackOn(exceptionResult)) {
+                    try {
+                        exceptionResult = performRollback(unitOfWork, entry.getAggregateIdentifier(),
+                                                          exceptionResult);
+                    } finally {
+                        unitOfWork.onCleanup();
+                    }
+                    reportResult(entry, exceptionResult);
+                } else {
+                    unitOfWork.onPrepareCommit();
+                    group.add(new GroupCommitEntry(entry, unitOfWork.getEventsToStore()));
+                }
+            } finally {
+                CurrentUnitOfWork.clear(unitOfWork);
+            }
+        }
+        if (group.isEmpty()) {
+            return;
+        }
+
+        Object transaction = transactionManager.startTransaction();
+        try {
+            storeGroup(group);
+            for (GroupCommitEntry groupEntry : group) {
+                DisruptorUnitOfWork unitOfWork = groupEntry.getUnitOfWork();
                 CurrentUnitOfWork.set(unitOfWork);
                 try {
-                    EventSourcedAggregateRoot aggregate = unitOfWork.getAggregate();
-                    if (aggregate != null && blackListedAggregates.contains(aggregate.getIdentifier())) {
-                        rejectExecution(entry, unitOfWork, entry.getAggregateIdentifier());
-                    } else {
-                        processPublication(entry, unitOfWork, aggregate);
-                    }
+                    unitOfWork.onPrepareTransactionCommit(transaction);
                 } finally {
                     CurrentUnitOfWork.clear(unitOfWork);
                 }
             }
+            transactionManager.commitTransaction(transaction);
+        } catch (Exception e) {
+            logger.warn("Group commit of {} entries failed. Committing each of them individually.", group.size());
+            transactionManager.rollbackTransaction(transaction);
+            for (GroupCommitEntry groupEntry : group) {
+                commitIndividually(groupEntry);
+            }
+            return;
         }
+        for (GroupCommitEntry groupEntry : group) {
+            publishCommitted(groupEntry);
+        }
+    }
+
+    private void storeGroup(List<GroupCommitEntry> group) {
+        Map<String, List<DomainEventMessage>> eventsPerType = new LinkedHashMap<String, List<DomainEventMessage>>();
+        for (GroupCommitEntry groupEntry : group) {
+            String aggregateType = groupEntry.getUnitOfWork().getAggregateType();
+            List<DomainEventMessage> events = eventsPerType.get(aggregateType);
+            if (events == null) {
+                events = new ArrayList<DomainEventMessage>();
+                eventsPerType.put(aggregateType, events);
+            }
+            events.addAll(groupEntry.getEventsToStore());
+        }
+        for (Map.Entry<String, List<DomainEventMessage>> events : eventsPerType.entrySet()) {
+            if (!events.getValue().isEmpty()) {
+                eventStore.appendEvents(events.getKey(), new SimpleDomainEventStream(events.getValue()));
+            }
+        }
+    }
+
+    private void commitIndividually(GroupCommitEntry groupEntry) {
+        CommandHandlingEntry entry = groupEntry.getEntry();
+        DisruptorUnitOfWork unitOfWork = groupEntry.getUnitOfWork();
+        CurrentUnitOfWork.set(unitOfWork);
+        Throwable exceptionResult;
+        try {
+            EventSourcedAggregateRoot aggregate = unitOfWork.getAggregate();
+            if (aggregate != null && blackListedAggregates.contains(aggregate.getIdentifier())) {
+                // an earlier entry in the group corrupted this aggregate's state
+                exceptionResult = new AggregateStateCorruptedException(
+                        aggregate.getIdentifier(),
+                        format("Aggregate %s has been blacklisted and will be ignored until "
+                                       + "its state has been recovered.",
+                               aggregate.getIdentifier()));
+                unitOfWork.onRollback(exceptionResult);
+            } else {
+                exceptionResult = doCommit(unitOfWork, aggregate,
+                                           new SimpleDomainEventStream(groupEntry.getEventsToStore()),
+                                           entry.getExceptionResult());
+            }
+        } finally {
+            unitOfWork.onCleanup();
+            CurrentUnitOfWork.clear(unitOfWork);
+        }
+        reportResult(entry, exceptionResult);
+    }
+
+    private void publishCommitted(GroupCommitEntry groupEntry) {
+        CommandHandlingEntry entry = groupEntry.getEntry();
+        DisruptorUnitOfWork unitOfWork = groupEntry.getUnitOfWork();
+        CurrentUnitOfWork.set(unitOfWork);
+        Throwable exceptionResult = entry.getExceptionResult();
+        try {
+            publish(unitOfWork);
+            unitOfWork.onAfterCommit();
+        } catch (RuntimeException e) {
+            // the events have been stored, so the aggregate's state is consistent with the event store
+            logger.warn("Publication of events of a committed Unit of Work failed.", e);
+            exceptionResult = e;
+            unitOfWork.onRollback(e);
+        } finally {
+            unitOfWork.onCleanup();
+            CurrentUnitOfWork.clear(unitOfWork);
+        }
+        reportResult(entry, exceptionResult);
     }
 
     @SuppressWarnings("unchecked")
@@ -152,6 +338,11 @@ public class EventPublisher implements EventHandler<CommandHandlingEntry> {
         } finally {
             unitOfWork.onCleanup();
         }
+        reportResult(entry, exceptionResult);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void reportResult(CommandHandlingEntry entry, Throwable exceptionResult) {
         if (exceptionResult != null || entry.getCallback().hasDelegate()) {
             executor.execute(new ReportResultTask(entry.getCallback(), entry.getResult(), exceptionResult));
         }
@@ -174,10 +365,15 @@ public class EventPublisher implements EventHandler<CommandHandlingEntry> {
         return exceptionResult;
     }
 
-    @SuppressWarnings("unchecked")
     private Throwable performCommit(DisruptorUnitOfWork unitOfWork, EventSourcedAggregateRoot aggregate,
                                     Throwable exceptionResult) {
         unitOfWork.onPrepareCommit();
+        return doCommit(unitOfWork, aggregate, unitOfWork.getEventsToStore(), exceptionResult);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Throwable doCommit(DisruptorUnitOfWork unitOfWork, EventSourcedAggregateRoot aggregate,
+                               DomainEventStream eventsToStore, Throwable exceptionResult) {
         Object transaction = null;
         try {
             if (exceptionResult != null && rollbackConfiguration.rollBackOn(exceptionResult)) {
@@ -186,7 +382,10 @@ public class EventPublisher implements EventHandler<CommandHandlingEntry> {
                 if (transactionManager != null) {
                     transaction = transactionManager.startTransaction();
                 }
-                storeAndPublish(unitOfWork);
+                if (eventsToStore.hasNext()) {
+                    eventStore.appendEvents(unitOfWork.getAggregateType(), eventsToStore);
+                }
+                publish(unitOfWork);
                 if (transaction != null) {
                     unitOfWork.onPrepareTransactionCommit(transaction);
                     transactionManager.commitTransaction(transaction);
@@ -203,11 +402,7 @@ public class EventPublisher implements EventHandler<CommandHandlingEntry> {
         return exceptionResult;
     }
 
-    private void storeAndPublish(DisruptorUnitOfWork unitOfWork) {
-        DomainEventStream eventsToStore = unitOfWork.getEventsToStore();
-        if (eventsToStore.hasNext()) {
-            eventStore.appendEvents(unitOfWork.getAggregateType(), eventsToStore);
-        }
+    private void publish(DisruptorUnitOfWork unitOfWork) {
         List<EventMessage> eventMessages = unitOfWork.getEventsToPublish();
         EventMessage[] eventsToPublish = eventMessages.toArray(new EventMessage[eventMessages.size()]);
         if (eventBus != null && eventsToPublish.length > 0) {
@@ -249,4 +444,30 @@ public class EventPublisher implements EventHandler<CommandHandlingEntry> {
             }
         }
     }
+
+    private static final class GroupCommitEntry {
+
+        private final CommandHandlingEntry entry;
+        private final List<DomainEventMessage> eventsToStore = new ArrayList<DomainEventMessage>();
+
+        private GroupCommitEntry(CommandHandlingEntry entry, DomainEventStream eventsToStore) {
+            this.entry = entry;
+            // the stream is read once, so it can be stored again if the group commit fails
+            while (eventsToStore.hasNext()) {
+                this.eventsToStore.add(eventsToStore.next());
+            }
+        }
+
+        public CommandHandlingEntry getEntry() {
+            return entry;
+        }
+
+        public DisruptorUnitOfWork getUnitOfWork() {
+            return entry.getUnitOfWork();
+        }
+
+        public List<DomainEventMessage> getEventsToStore() {
+            return eventsToStore;
+        }
+    }
 }
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.commandhandling.disruptor;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Identifier-keyed cache of aggregate instances, used by the CommandHandlerInvoker to find aggregates that are still
+ * being processed by the DisruptorCommandBus. Values are held using weak or soft references, which are removed from
+ * the cache once they have been cleared by the garbage collector.
+ * <p/>
+ * Optionally, the number of entries can be bounded, in which case the least recently used entry is evicted when the
+ * bound is exceeded. To guarantee that aggregates in the ring buffer are never evicted, the bound must be at least the
+ * size of the ring buffer.
+ * <p/>
+ * This cache is not thread safe and must only be modified by the invoker thread owning it. The statistics may be read
+ * from any thread.
+ *
+ * @param <T> The type of aggregate held in this cache
+ * @author agent
+ * @since 2.4
+ */
+final class FirstLevelCache<T> {
+
+    private final ReferenceQueue<T> referenceQueue = new ReferenceQueue<T>();
+    private final Map<Object, KeyedReference<T>> entries;
+    private final boolean softReferences;
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    /**
+     * Initializes a cache holding at most <code>maxSize</code> entries. A <code>maxSize</code> of 0 or less indicates
+     * an unbounded cache.
+     *
+     * @param maxSize        The maximum number of entries in the cache, or 0 for an unbounded cache
+     * @param softReferences Whether to hold values using soft references, rather than weak references
+     */
+    FirstLevelCache(final int maxSize, boolean softReferences) {
+        this.softReferences = softReferences;
+        if (maxSize > 0) {
+            entries = new LinkedHashMap<Object, KeyedReference<T>>(16, 0.75f, true) {
+                private static final long serialVersionUID = -4283225740340433485L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Object, KeyedReference<T>> eldest) {
+                    if (size() > maxSize) {
+                        evictionCount.incrementAndGet();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        } else {
+            entries = new HashMap<Object, KeyedReference<T>>();
+        }
+    }
+
+    /**
+     * Returns the aggregate with given <code>identifier</code>, or <code>null</code> if it is not in the cache.
+     *
+     * @param identifier The identifier of the aggregate
+     * @return the cached aggregate, or <code>null</code> if it is not available
+     */
+    public T get(Object identifier) {
+        expungeStaleEntries();
+        KeyedReference<T> reference = entries.get(identifier);
+        T aggregate = reference == null ? null : reference.get();
+        if (aggregate == null) {
+            missCount.incrementAndGet();
+        } else {
+            hitCount.incrementAndGet();
+        }
+        return aggregate;
+    }
+
+    /**
+     * Stores the given <code>aggregate</code> under given <code>identifier</code>.
+     *
+     * @param identifier The identifier of the aggregate
+     * @param aggregate  The aggregate to store
+     */
+    public void put(Object identifier, T aggregate) {
+        expungeStaleEntries();
+        entries.put(identifier, softReferences
+                ? new SoftKeyedReference<T>(identifier, aggregate, referenceQueue)
+                : new WeakKeyedReference<T>(identifier, aggregate, referenceQueue));
+    }
+
+    /**
+     * Removes the aggregate with given <code>identifier</code> from the cache.
+     *
+     * @param identifier The identifier of the aggregate to remove
+     * @return <code>true</code> if an entry was removed, otherwise <code>false</code>
+     */
+    public boolean remove(Object identifier) {
+        expungeStaleEntries();
+        return entries.remove(identifier) != null;
+    }
+
+    /**
+     * Returns the number of entries in the cache. This includes entries of which the value has been garbage collected
+     * since the last operation on the cache.
+     *
+     * @return the number of entries in the cache
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the number of lookups that found the aggregate in the cache.
+     *
+     * @return the number of cache hits
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Returns the number of lookups that didn't find the aggregate in the cache.
+     *
+     * @return the number of cache misses
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Returns the number of entries removed from the cache because the size bound was exceeded, or because their
+     * value was garbage collected.
+     *
+     * @return the number of evicted entries
+     */
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void expungeStaleEntries() {
+        Reference<? extends T> reference;
+        while ((reference = referenceQueue.poll()) != null) {
+            Object key = ((KeyedReference<T>) reference).getKey();
+            // only remove the entry if it hasn't been replaced in the meantime
+            if (entries.get(key) == reference) {
+                entries.remove(key);
+                evictionCount.incrementAndGet();
+            }
+        }
+    }
+
+    private interface KeyedReference<T> {
+
+        Object getKey();
+
+        T get();
+    }
+
+    private static final class WeakKeyedReference<T> extends WeakReference<T> implements KeyedReference<T> {
+
+        private final Object key;
+
+        private WeakKeyedReference(Object key, T referent, ReferenceQueue<? super T> queue) {
+            super(referent, queue);
+            this.key = key;
+        }
+
+        @Override
+        public Object getKey() {
+            return key;
+        }
+    }
+
+    private static final class SoftKeyedReference<T> extends SoftReference<T> implements KeyedReference<T> {
+
+        private final Object key;
+
+        private SoftKeyedReference(Object key, T referent, ReferenceQueue<? super T> queue) {
+            super(referent, queue);
+            this.key = key;
+        }
+
+        @Override
+        public Object getKey() {
+            return key;
+        }
+    }
+}
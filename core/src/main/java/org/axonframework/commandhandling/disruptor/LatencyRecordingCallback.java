@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.commandhandling.disruptor;
+
+import org.axonframework.commandhandling.CommandCallback;
+import org.axonframework.monitoring.Histogram;
+
+/**
+ * CommandCallback that records the time between its creation and the invocation of the callback, before invoking the
+ * delegate callback.
+ *
+ * @param <R> The type of result expected from the command handler
+ * @author agent
+ * @since 2.4
+ */
+class LatencyRecordingCallback<R> implements CommandCallback<R> {
+
+    private final CommandCallback<R> delegate;
+    private final Histogram histogram;
+    private final long startTime;
+
+    /**
+     * Initializes the callback to record latency in the given <code>histogram</code> and then invoke the given
+     * <code>delegate</code>.
+     *
+     * @param delegate  The callback to invoke with the result of command handling
+     * @param histogram The histogram to record the latency in
+     */
+    public LatencyRecordingCallback(CommandCallback<R> delegate, Histogram histogram) {
+        this.delegate = delegate;
+        this.histogram = histogram;
+        this.startTime = System.nanoTime();
+    }
+
+    @Override
+    public void onSuccess(R result) {
+        histogram.recordValue(System.nanoTime() - startTime);
+        delegate.onSuccess(result);
+    }
+
+    @Override
+    public void onFailure(Throwable cause) {
+        histogram.recordValue(System.nanoTime() - startTime);
+        delegate.onFailure(cause);
+    }
+}
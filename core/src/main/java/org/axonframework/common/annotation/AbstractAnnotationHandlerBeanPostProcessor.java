@@ -140,6 +140,18 @@ public abstract class AbstractAnnotationHandlerBeanPostProcessor<I, T extends I>
      */
     protected abstract Class<I> getAdapterInterface();
 
+    /**
+     * Returns additional interfaces implemented by the adapter that should be exposed on the generated proxy. Calls to
+     * methods declared on these interfaces are forwarded to the adapter. Defaults to none.
+     * <p/>
+     * Note: each of these *must* be an interface.
+     *
+     * @return the additional interfaces implemented by the adapter to expose on the proxy
+     */
+    protected Class<?>[] getAdditionalAdapterInterfaces() {
+        return new Class<?>[0];
+    }
+
     /**
      * Indicates whether an object of the given <code>targetClass</code> should be post processed.
      *
@@ -248,8 +260,12 @@ public abstract class AbstractAnnotationHandlerBeanPostProcessor<I, T extends I>
     private I createAdapterProxy(Object annotatedHandler, final T adapter, final Class<I> adapterInterface,
                                  boolean proxyTargetClass, ClassLoader classLoader) {
         ProxyFactory pf = new ProxyFactory(annotatedHandler);
-        pf.addAdvice(new AdapterIntroductionInterceptor(adapter, adapterInterface));
+        final Class<?>[] additionalInterfaces = getAdditionalAdapterInterfaces();
+        pf.addAdvice(new AdapterIntroductionInterceptor(adapter, adapterInterface, additionalInterfaces));
         pf.addInterface(adapterInterface);
+        for (Class<?> additionalInterface : additionalInterfaces) {
+            pf.addInterface(additionalInterface);
+        }
         pf.addInterface(Subscribable.class);
         pf.setProxyTargetClass(proxyTargetClass);
         pf.setExposeProxy(true);
@@ -344,21 +360,34 @@ public abstract class AbstractAnnotationHandlerBeanPostProcessor<I, T extends I>
 
         private final Object adapter;
         private final Class<?> adapterInterface;
+        private final Class<?>[] additionalInterfaces;
 
-        private AdapterIntroductionInterceptor(Object adapter, Class<?> adapterInterface) {
+        private AdapterIntroductionInterceptor(Object adapter, Class<?> adapterInterface,
+                                               Class<?>[] additionalInterfaces) {
             this.adapter = adapter;
             this.adapterInterface = adapterInterface;
+            this.additionalInterfaces = additionalInterfaces;
         }
 
         @Override
         public boolean implementsInterface(Class<?> intf) {
-            return intf.equals(adapterInterface) || Subscribable.class.equals(intf);
+            return intf.equals(adapterInterface) || Subscribable.class.equals(intf) || isAdditionalInterface(intf);
+        }
+
+        private boolean isAdditionalInterface(Class<?> intf) {
+            for (Class<?> additionalInterface : additionalInterfaces) {
+                if (additionalInterface.equals(intf)) {
+                    return true;
+                }
+            }
+            return false;
         }
 
         @Override
         public Object invoke(MethodInvocation invocation) throws Throwable {
             Class<?> declaringClass = invocation.getMethod().getDeclaringClass();
-            if (declaringClass.equals(adapterInterface) || Subscribable.class.equals(declaringClass)) {
+            if (declaringClass.equals(adapterInterface) || Subscribable.class.equals(declaringClass)
+                    || isAdditionalInterface(declaringClass)) {
                 try {
                     return invocation.getMethod().invoke(adapter, invocation.getArguments());
                 } catch (InvocationTargetException e) {
@@ -370,7 +399,10 @@ public abstract class AbstractAnnotationHandlerBeanPostProcessor<I, T extends I>
 
         @Override
         public Class[] getInterfaces() {
-            return new Class[]{adapterInterface};
+            Class[] interfaces = new Class[additionalInterfaces.length + 1];
+            interfaces[0] = adapterInterface;
+            System.arraycopy(additionalInterfaces, 0, interfaces, 1, additionalInterfaces.length);
+            return interfaces;
         }
     }
 }
@@ -86,6 +86,17 @@ public final class MessageHandlerInvoker {
         return inspector.findHandlerMethod(message);
     }
 
+    /**
+     * Indicates whether the target has a handler that may handle messages with a payload of given
+     * <code>payloadType</code>.
+     *
+     * @param payloadType The concrete type of payload of a message
+     * @return <code>true</code> if a handler may handle such messages, otherwise <code>false</code>
+     */
+    public boolean hasHandlerFor(Class<?> payloadType) {
+        return inspector.hasHandlerFor(payloadType);
+    }
+
     /**
      * Returns the targetType on which handler methods are invoked. This is the runtime type of the object that
      * contains the method that handles the messages (not per se the Class that declares the method).
@@ -16,13 +16,18 @@
 
 package org.axonframework.common.annotation;
 
+import net.sf.cglib.reflect.FastClass;
+import net.sf.cglib.reflect.FastMethod;
 import org.axonframework.common.Assert;
 import org.axonframework.domain.EventMessage;
 import org.axonframework.domain.Message;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.Arrays;
 
 import static java.lang.String.format;
@@ -30,13 +35,21 @@ import static org.axonframework.common.ReflectionUtils.ensureAccessible;
 
 /**
  * Represents a method recognized as a handler by the handler inspector (see {@link MethodMessageHandlerInspector}).
+ * <p/>
+ * When the handler method and its declaring class are public, invocations are done through an accessor class
+ * generated at inspection time, avoiding the overhead of reflective invocation. Other methods, or methods for which
+ * no accessor could be generated, are invoked using reflection.
  *
  * @author Allard Buijze
  * @since 2.0
  */
 public final class MethodMessageHandler extends AbstractMessageHandler {
 
+    private static final Logger logger = LoggerFactory.getLogger(MethodMessageHandler.class);
+    private static final Object[] NO_PARAMETERS = new Object[0];
+
     private final Method method;
+    private final HandlerInvoker invoker;
 
     /**
      * Creates a MethodMessageHandler for the given <code>method</code>, using given <code>explicitPayloadType</code>
@@ -78,11 +91,22 @@ public final class MethodMessageHandler extends AbstractMessageHandler {
         Assert.isTrue(method.getDeclaringClass().isInstance(target),
                       "Given target is not an instance of the method's owner.");
         Assert.notNull(message, "Event may not be null");
-        Object[] parameterValues = new Object[getParameterValueResolvers().length];
+        final ParameterResolver[] resolvers = getParameterValueResolvers();
+        Object[] parameterValues = resolvers.length == 0 ? NO_PARAMETERS : new Object[resolvers.length];
         for (int i = 0; i < parameterValues.length; i++) {
-            parameterValues[i] = getParameterValueResolvers()[i].resolveParameterValue(message);
+            parameterValues[i] = resolvers[i].resolveParameterValue(message);
         }
-        return method.invoke(target, parameterValues);
+        return invoker.invoke(target, parameterValues);
+    }
+
+    /**
+     * Indicates whether this handler invokes its method through a generated accessor, rather than through
+     * reflection.
+     *
+     * @return <code>true</code> if a generated accessor is used, <code>false</code> if reflection is used
+     */
+    public boolean isUsingGeneratedInvoker() {
+        return invoker instanceof FastMethodInvoker;
     }
 
     @Override
@@ -115,6 +139,26 @@ public final class MethodMessageHandler extends AbstractMessageHandler {
     private MethodMessageHandler(Method method, ParameterResolver[] parameterValueResolvers, Class payloadType) {
         super(payloadType, method.getDeclaringClass(), parameterValueResolvers);
         this.method = method;
+        this.invoker = createInvoker(method);
+    }
+
+    private static HandlerInvoker createInvoker(Method method) {
+        final Class<?> declaringClass = method.getDeclaringClass();
+        if (Modifier.isPublic(method.getModifiers()) && Modifier.isPublic(declaringClass.getModifiers())
+                && declaringClass.getClassLoader() != null) {
+            try {
+                FastMethod fastMethod = FastClass.create(declaringClass.getClassLoader(), declaringClass)
+                                                 .getMethod(method);
+                return new FastMethodInvoker(fastMethod);
+            } catch (RuntimeException e) {
+                logger.debug("Unable to generate an accessor for handler method {}. Falling back to reflection.",
+                             method.toGenericString(), e);
+            } catch (LinkageError e) {
+                logger.debug("Unable to generate an accessor for handler method {}. Falling back to reflection.",
+                             method.toGenericString(), e);
+            }
+        }
+        return new ReflectionInvoker(method);
     }
 
     /**
@@ -165,4 +209,38 @@ public final class MethodMessageHandler extends AbstractMessageHandler {
         result = 31 * result + method.hashCode();
         return result;
     }
+
+    private interface HandlerInvoker {
+
+        Object invoke(Object target, Object[] parameters) throws InvocationTargetException, IllegalAccessException;
+    }
+
+    private static final class ReflectionInvoker implements HandlerInvoker {
+
+        private final Method method;
+
+        private ReflectionInvoker(Method method) {
+            this.method = method;
+        }
+
+        @Override
+        public Object invoke(Object target, Object[] parameters)
+                throws InvocationTargetException, IllegalAccessException {
+            return method.invoke(target, parameters);
+        }
+    }
+
+    private static final class FastMethodInvoker implements HandlerInvoker {
+
+        private final FastMethod fastMethod;
+
+        private FastMethodInvoker(FastMethod fastMethod) {
+            this.fastMethod = fastMethod;
+        }
+
+        @Override
+        public Object invoke(Object target, Object[] parameters) throws InvocationTargetException {
+            return fastMethod.invoke(target, parameters);
+        }
+    }
 }
@@ -43,6 +43,8 @@ public final class MethodMessageHandlerInspector {
     private final Class<?> targetType;
     private final List<MethodMessageHandler> handlers = new ArrayList<MethodMessageHandler>();
     private final ParameterResolverFactory parameterResolver;
+    private final ConcurrentMap<Class<?>, List<MethodMessageHandler>> handlersByPayloadType =
+            new ConcurrentHashMap<Class<?>, List<MethodMessageHandler>>();
 
     private static final ConcurrentMap<String, MethodMessageHandlerInspector> INSPECTORS =
             new ConcurrentHashMap<String, MethodMessageHandlerInspector>();
@@ -151,12 +153,16 @@ public final class MethodMessageHandlerInspector {
     /**
      * Returns the handler method that handles objects of the given <code>parameterType</code>. Returns
      * <code>null</code> is no such method is found.
+     * <p/>
+     * The candidate handlers for each concrete payload type are resolved once and cached. Only those candidates are
+     * evaluated against the message, as parameters other than the payload may still influence whether a handler
+     * matches.
      *
      * @param message The message to find a handler for
      * @return the  handler method for the given parameterType
      */
     public MethodMessageHandler findHandlerMethod(final Message message) {
-        for (MethodMessageHandler handler : handlers) {
+        for (MethodMessageHandler handler : candidatesFor(message == null ? null : message.getPayloadType())) {
             if (handler.matches(message)) {
                 return handler;
             }
@@ -164,6 +170,38 @@ public final class MethodMessageHandlerInspector {
         return null;
     }
 
+    /**
+     * Indicates whether any of the handlers may handle messages with a payload of given <code>payloadType</code>.
+     * Note that properties of a message other than its payload type may still prevent a handler from being selected
+     * for it.
+     *
+     * @param payloadType The concrete type of payload of a message
+     * @return <code>true</code> if a handler may handle such messages, otherwise <code>false</code>
+     */
+    public boolean hasHandlerFor(Class<?> payloadType) {
+        return !candidatesFor(payloadType).isEmpty();
+    }
+
+    private List<MethodMessageHandler> candidatesFor(Class<?> payloadType) {
+        if (payloadType == null) {
+            return handlers;
+        }
+        List<MethodMessageHandler> candidates = handlersByPayloadType.get(payloadType);
+        if (candidates == null) {
+            candidates = new ArrayList<MethodMessageHandler>();
+            for (MethodMessageHandler handler : handlers) {
+                if (handler.getPayloadType() == null || handler.getPayloadType().isAssignableFrom(payloadType)) {
+                    candidates.add(handler);
+                }
+            }
+            if (candidates.isEmpty()) {
+                candidates = Collections.emptyList();
+            }
+            handlersByPayloadType.putIfAbsent(payloadType, candidates);
+        }
+        return candidates;
+    }
+
     /**
      * Returns the list of handlers found on target type.
      *
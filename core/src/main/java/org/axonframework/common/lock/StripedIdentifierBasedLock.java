@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.common.lock;
+
+import org.axonframework.common.Assert;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Locking mechanism that maps each identifier onto one of a fixed number of lock stripes. Unlike the {@link
+ * IdentifierBasedLock}, this lock does not allocate or dispose any objects when obtaining or releasing locks, making
+ * it more suitable for scenarios with high lock throughput.
+ * <p/>
+ * Since identifiers share stripes, obtaining a lock may block on a thread holding the lock for a different identifier.
+ * For the same reason, {@link #hasLock(String)} may return <code>true</code> for an identifier for which the current
+ * thread did not obtain a lock, if it shares a stripe with an identifier that is locked by the current thread. The
+ * number of stripes should be large compared to the number of locks held concurrently.
+ * <p/>
+ * The lock is re-entrant, meaning each thread can hold the same lock multiple times. The lock will only be released
+ * for other threads when the lock has been released as many times as it was obtained.
+ * <p/>
+ * Optionally, deadlocks are detected. Threads waiting for a lock register the stripe they wait for, which allows a
+ * waiting thread to follow the chain of lock owners to detect whether it is waiting for itself. Deadlocks are detected
+ * across instances of the StripedIdentifierBasedLock that have deadlock detection enabled. Note that, because of
+ * striping, a deadlock may be detected between threads locking different identifiers.
+ *
+ * @author agent
+ * @since 2.4
+ */
+public class StripedIdentifierBasedLock {
+
+    private static final int DEFAULT_STRIPE_COUNT = 1024;
+    private static final ConcurrentMap<Thread, StripeLock> WAITING_THREADS =
+            new ConcurrentHashMap<Thread, StripeLock>();
+
+    private final StripeLock[] stripes;
+    private final int mask;
+    private final boolean deadlockDetection;
+
+    /**
+     * Creates a new StripedIdentifierBasedLock instance with {@value #DEFAULT_STRIPE_COUNT} stripes and deadlock
+     * detection enabled.
+     */
+    public StripedIdentifierBasedLock() {
+        this(DEFAULT_STRIPE_COUNT, true);
+    }
+
+    /**
+     * Creates a new StripedIdentifierBasedLock instance with at least the given <code>stripeCount</code> stripes. The
+     * actual number of stripes is rounded up to the nearest power of two.
+     *
+     * @param stripeCount       The minimum number of stripes to use
+     * @param deadlockDetection Whether to detect deadlocks while waiting for a lock
+     */
+    public StripedIdentifierBasedLock(int stripeCount, boolean deadlockDetection) {
+        Assert.isTrue(stripeCount > 0 && stripeCount <= (1 << 30), "stripeCount must be between 1 and 2^30");
+        int size = 1;
+        while (size < stripeCount) {
+            size <<= 1;
+        }
+        this.stripes = new StripeLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new StripeLock();
+        }
+        this.mask = size - 1;
+        this.deadlockDetection = deadlockDetection;
+    }
+
+    /**
+     * Indicates whether the current thread holds the lock of the stripe for the given <code>identifier</code>.
+     *
+     * @param identifier The identifier of the lock to verify
+     * @return <code>true</code> if the current thread holds the lock, otherwise <code>false</code>
+     */
+    public boolean hasLock(String identifier) {
+        return stripeFor(identifier).isHeldByCurrentThread();
+    }
+
+    /**
+     * Obtain a lock on the given <code>identifier</code>. This method will block until a lock was successfully
+     * obtained.
+     *
+     * @param identifier the identifier of the lock to obtain.
+     * @throws DeadlockException               if deadlock detection is enabled and waiting for the lock would cause a
+     *                                         deadlock
+     * @throws LockAcquisitionFailedException if the thread was interrupted while waiting for the lock
+     */
+    public void obtainLock(String identifier) {
+        StripeLock lock = stripeFor(identifier);
+        if (lock.tryLock()) {
+            return;
+        }
+        try {
+            if (!deadlockDetection) {
+                lock.lockInterruptibly();
+                return;
+            }
+            Thread currentThread = Thread.currentThread();
+            WAITING_THREADS.put(currentThread, lock);
+            try {
+                do {
+                    checkForDeadlock(currentThread, lock);
+                } while (!lock.tryLock(100, TimeUnit.MILLISECONDS));
+            } finally {
+                WAITING_THREADS.remove(currentThread);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LockAcquisitionFailedException("Thread was interrupted", e);
+        }
+    }
+
+    /**
+     * Release the lock held on the given <code>identifier</code>. If the current thread doesn't hold the lock, an
+     * exception is thrown.
+     *
+     * @param identifier the identifier to release the lock for.
+     * @throws IllegalLockUsageException if the current thread does not hold the lock for this identifier
+     */
+    public void releaseLock(String identifier) {
+        StripeLock lock = stripeFor(identifier);
+        if (!lock.isHeldByCurrentThread()) {
+            throw new IllegalLockUsageException("No lock for this identifier is held by the current thread");
+        }
+        lock.unlock();
+    }
+
+    /**
+     * Returns the number of stripes used by this lock.
+     *
+     * @return the number of stripes
+     */
+    public int getStripeCount() {
+        return stripes.length;
+    }
+
+    private StripeLock stripeFor(String identifier) {
+        int hash = identifier.hashCode();
+        hash ^= (hash >>> 16);
+        return stripes[hash & mask];
+    }
+
+    private static void checkForDeadlock(Thread currentThread, StripeLock lock) {
+        // each waiting thread waits for a single lock, so the wait-for graph reachable from a lock is a chain
+        StripeLock next = lock;
+        int remainingSteps = WAITING_THREADS.size();
+        while (next != null && remainingSteps-- >= 0) {
+            Thread owner = next.owner();
+            if (owner == null) {
+                return;
+            }
+            if (owner == currentThread) {
+                throw new DeadlockException("An imminent deadlock was detected while attempting to acquire a lock");
+            }
+            next = WAITING_THREADS.get(owner);
+        }
+    }
+
+    private static final class StripeLock extends ReentrantLock {
+
+        private static final long serialVersionUID = 6424217962452285543L;
+
+        private Thread owner() {
+            return getOwner();
+        }
+    }
+}
@@ -80,6 +80,9 @@ public class DisruptorCommandBusBeanDefinitionParser extends AbstractBeanDefinit
         VALUE_PROPERTY_MAPPING.put("invoker-threads", "invokerThreadCount");
         VALUE_PROPERTY_MAPPING.put("serializer-threads", "serializerThreadCount");
         VALUE_PROPERTY_MAPPING.put("publisher-threads", "publisherThreadCount");
+        VALUE_PROPERTY_MAPPING.put("group-commit", "groupCommitEnabled");
+        VALUE_PROPERTY_MAPPING.put("first-level-cache-size", "firstLevelCacheMaxSize");
+        VALUE_PROPERTY_MAPPING.put("first-level-cache-soft-references", "firstLevelCacheSoftReferences");
         VALUE_PROPERTY_MAPPING.put("reschedule-commands-on-corrupt-state", "rescheduleCommandsOnCorruptState");
         VALUE_PROPERTY_MAPPING.put("serialized-representation", "serializedRepresentation");
         VALUE_PROPERTY_MAPPING.put("buffer-size", "bufferSize");
@@ -20,6 +20,7 @@ import org.axonframework.repository.LockManager;
 import org.axonframework.repository.NullLockManager;
 import org.axonframework.repository.OptimisticLockManager;
 import org.axonframework.repository.PessimisticLockManager;
+import org.axonframework.repository.StripedLockManager;
 
 /**
  * Enum indicating possible locking strategies for repositories.
@@ -37,6 +38,10 @@ public enum LockingStrategy {
      * Represents the Pessimistic Lock Manager
      */
     PESSIMISTIC(PessimisticLockManager.class),
+    /**
+     * Represents the Striped Lock Manager
+     */
+    STRIPED(StripedLockManager.class),
     /**
      * Represents the Null Lock Manager (no locking)
      */
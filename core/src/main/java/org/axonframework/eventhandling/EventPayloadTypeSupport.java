@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.eventhandling;
+
+/**
+ * Interface indicating that the implementing Event Listener is able to tell in advance whether it has any interest in
+ * events with a given type of payload.
+ * <p/>
+ * Event Buses and Clusters that have payload type routing enabled use this information to avoid invoking listeners
+ * for events they would ignore anyway. Listeners that do not implement this interface always receive all events.
+ *
+ * @author agent
+ * @since 2.4
+ */
+public interface EventPayloadTypeSupport {
+
+    /**
+     * Indicates whether the implementing listener may need to handle events with a payload of given
+     * <code>payloadType</code>. Returning <code>true</code> does not oblige the listener to do anything with such
+     * an event, but returning <code>false</code> means such events may be withheld from it entirely.
+     * <p/>
+     * The outcome of this method must not change for as long as the listener is subscribed.
+     *
+     * @param payloadType The concrete type of payload of an event
+     * @return <code>true</code> if events with given payload type may be relevant, otherwise <code>false</code>
+     */
+    boolean supportsPayloadType(Class<?> payloadType);
+}
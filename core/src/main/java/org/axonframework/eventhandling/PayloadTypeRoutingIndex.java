@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.eventhandling;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Index of the Event Listeners interested in each concrete payload type. Listeners implementing {@link
+ * EventPayloadTypeSupport} only appear in the routes of payload types they support, while all other listeners appear
+ * in every route. Routes preserve the iteration order of the listener collection they are built from.
+ * <p/>
+ * Routes are computed lazily from a live view on the subscribed listeners. The index must be {@link #invalidate()
+ * invalidated} after each change in subscriptions, after which routes are computed again on demand.
+ *
+ * @author agent
+ * @since 2.4
+ */
+final class PayloadTypeRoutingIndex {
+
+    private final Collection<EventListener> listeners;
+    private volatile ConcurrentMap<Class<?>, List<EventListener>> routes =
+            new ConcurrentHashMap<Class<?>, List<EventListener>>();
+
+    /**
+     * Initializes an index for the given <code>listeners</code>. The collection is expected to be a live view on the
+     * subscribed listeners that is safe for concurrent iteration.
+     *
+     * @param listeners The listeners to route events to
+     */
+    PayloadTypeRoutingIndex(Collection<EventListener> listeners) {
+        this.listeners = listeners;
+    }
+
+    /**
+     * Returns the listeners that should receive events with given <code>payloadType</code>, in the order in which
+     * they are iterated in the underlying collection.
+     *
+     * @param payloadType The concrete type of payload of the event to route
+     * @return the listeners to deliver the event to
+     */
+    public Collection<EventListener> listenersFor(Class<?> payloadType) {
+        if (payloadType == null) {
+            return listeners;
+        }
+        // read the map once, so routes computed concurrently with an invalidation end up in the discarded map
+        final ConcurrentMap<Class<?>, List<EventListener>> currentRoutes = routes;
+        List<EventListener> route = currentRoutes.get(payloadType);
+        if (route == null) {
+            route = computeRoute(payloadType);
+            currentRoutes.putIfAbsent(payloadType, route);
+        }
+        return route;
+    }
+
+    /**
+     * Discards all computed routes. Must be invoked after each subscription or unsubscription of a listener.
+     */
+    public void invalidate() {
+        routes = new ConcurrentHashMap<Class<?>, List<EventListener>>();
+    }
+
+    private List<EventListener> computeRoute(Class<?> payloadType) {
+        List<EventListener> route = new ArrayList<EventListener>();
+        for (EventListener listener : listeners) {
+            if (!(listener instanceof EventPayloadTypeSupport)
+                    || ((EventPayloadTypeSupport) listener).supportsPayloadType(payloadType)) {
+                route.add(listener);
+            }
+        }
+        return route.isEmpty() ? Collections.<EventListener>emptyList() : Collections.unmodifiableList(route);
+    }
+}
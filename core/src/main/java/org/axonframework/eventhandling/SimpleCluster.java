@@ -17,23 +17,43 @@
 package org.axonframework.eventhandling;
 
 import org.axonframework.domain.EventMessage;
+import org.axonframework.monitoring.Histogram;
+import org.axonframework.monitoring.LatencyStatistics;
+import org.axonframework.monitoring.MonitorRegistry;
 import org.axonframework.unitofwork.CurrentUnitOfWork;
 import org.axonframework.unitofwork.UnitOfWork;
 import org.axonframework.unitofwork.UnitOfWorkListenerAdapter;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * A simple Cluster implementation that invokes each of the members of a cluster when an Event is published. When an
  * Event Listener raises an exception, publication of the Event is aborted and the exception is propagated. No
  * guarantees are given about the order of invocation of Event Listeners.
+ * <p/>
+ * Optionally, events can be routed based on their payload type (see {@link #setPayloadTypeRoutingEnabled(boolean)}),
+ * in which case listeners implementing {@link EventPayloadTypeSupport} are only invoked for events they support.
+ * <p/>
+ * The time spent handling events is registered with the {@link MonitorRegistry} as two {@link LatencyStatistics}
+ * beans. The first, registered under the name of the cluster, records the time spent publishing events to the cluster
+ * as a whole. The second, registered under the name of the cluster followed by <code>.ListenerLatency</code>, records
+ * the time spent by each type of listener.
  *
  * @author ALlard Buijze
  * @since 1.2
  */
 public class SimpleCluster extends AbstractCluster {
 
+    private final LatencyStatistics handlingLatency = new LatencyStatistics();
+    private final LatencyStatistics listenerLatency = new LatencyStatistics();
+    private final ConcurrentMap<EventListener, Histogram> listenerLatencies =
+            new ConcurrentHashMap<EventListener, Histogram>();
+    private volatile PayloadTypeRoutingIndex routingIndex;
+
     /**
      * Initializes the cluster with given <code>name</code>.
      *
@@ -41,6 +61,7 @@ public class SimpleCluster extends AbstractCluster {
      */
     public SimpleCluster(String name) {
         super(name);
+        registerMonitoringBeans(name);
     }
 
     /**
@@ -54,21 +75,87 @@ public class SimpleCluster extends AbstractCluster {
      */
     public SimpleCluster(String name, OrderResolver orderResolver) {
         super(name, new EventListenerOrderComparator(orderResolver));
+        registerMonitoringBeans(name);
+    }
+
+    private void registerMonitoringBeans(String name) {
+        MonitorRegistry.registerMonitoringBean(handlingLatency, SimpleCluster.class, name);
+        MonitorRegistry.registerMonitoringBean(listenerLatency, SimpleCluster.class, name + ".ListenerLatency");
+    }
+
+    /**
+     * Sets whether events should be routed based on their payload type. When enabled, listeners implementing {@link
+     * EventPayloadTypeSupport} are only invoked for events with a payload type they indicate to support. Other
+     * listeners receive all events. Defaults to <code>false</code>.
+     * <p/>
+     * Enabling routing is worthwhile for clusters with many listeners, each handling only a few types of events.
+     *
+     * @param payloadTypeRoutingEnabled whether to route events based on their payload type
+     */
+    public synchronized void setPayloadTypeRoutingEnabled(boolean payloadTypeRoutingEnabled) {
+        if (!payloadTypeRoutingEnabled) {
+            routingIndex = null;
+        } else if (routingIndex == null) {
+            routingIndex = new PayloadTypeRoutingIndex(getMembers());
+        }
+    }
+
+    @Override
+    public void subscribe(EventListener eventListener) {
+        super.subscribe(eventListener);
+        invalidateRoutes();
+    }
+
+    @Override
+    public void unsubscribe(EventListener eventListener) {
+        super.unsubscribe(eventListener);
+        listenerLatencies.remove(eventListener);
+        invalidateRoutes();
     }
 
     @Override
     public void doPublish(final List<EventMessage> events, final Set<EventListener> eventListeners,
                           final MultiplexingEventProcessingMonitor monitor) {
+        final PayloadTypeRoutingIndex index = routingIndex;
+        long startTime = System.nanoTime();
         try {
             for (EventMessage event : events) {
-                for (EventListener eventListener : eventListeners) {
-                    eventListener.handle(event);
+                final Collection<EventListener> recipients =
+                        index == null ? eventListeners : index.listenersFor(event.getPayloadType());
+                for (EventListener eventListener : recipients) {
+                    long listenerStartTime = System.nanoTime();
+                    try {
+                        eventListener.handle(event);
+                    } finally {
+                        latencyHistogramFor(eventListener).recordValue(System.nanoTime() - listenerStartTime);
+                    }
                 }
             }
             notifyMonitors(events, monitor, null);
         } catch (RuntimeException e) {
             notifyMonitors(events, monitor, e);
             throw e;
+        } finally {
+            handlingLatency.recordLatency(getName(), System.nanoTime() - startTime);
+        }
+    }
+
+    private Histogram latencyHistogramFor(EventListener eventListener) {
+        Histogram histogram = listenerLatencies.get(eventListener);
+        if (histogram == null) {
+            Class<?> listenerType = eventListener instanceof EventListenerProxy
+                    ? ((EventListenerProxy) eventListener).getTargetType()
+                    : eventListener.getClass();
+            histogram = listenerLatency.histogramFor(listenerType.getName());
+            listenerLatencies.put(eventListener, histogram);
+        }
+        return histogram;
+    }
+
+    private void invalidateRoutes() {
+        final PayloadTypeRoutingIndex index = routingIndex;
+        if (index != null) {
+            index.invalidate();
         }
     }
 
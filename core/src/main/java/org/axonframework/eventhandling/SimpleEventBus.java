@@ -21,6 +21,7 @@ import org.axonframework.monitoring.MonitorRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collection;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
 
@@ -29,6 +30,9 @@ import java.util.concurrent.CopyOnWriteArraySet;
  * subscribed listeners.
  * <p/>
  * Listeners are expected to implement asynchronous handling themselves.
+ * <p/>
+ * Optionally, events can be routed based on their payload type (see {@link #setPayloadTypeRoutingEnabled(boolean)}),
+ * in which case listeners implementing {@link EventPayloadTypeSupport} are only invoked for events they support.
  *
  * @author Allard Buijze
  * @since 0.5
@@ -38,6 +42,7 @@ public class SimpleEventBus implements EventBus {
     private static final Logger logger = LoggerFactory.getLogger(SimpleEventBus.class);
     private final Set<EventListener> listeners = new CopyOnWriteArraySet<EventListener>();
     private final SimpleEventBusStatistics statistics = new SimpleEventBusStatistics();
+    private volatile PayloadTypeRoutingIndex routingIndex;
 
     /**
      * Initializes the SimpleEventBus and registers the mbeans for management information.
@@ -53,6 +58,7 @@ public class SimpleEventBus implements EventBus {
     public void unsubscribe(EventListener eventListener) {
         String listenerType = classNameOf(eventListener);
         if (listeners.remove(eventListener)) {
+            invalidateRoutes();
             statistics.recordUnregisteredListener(listenerType);
             logger.debug("EventListener {} unsubscribed successfully", listenerType);
         } else {
@@ -67,6 +73,7 @@ public class SimpleEventBus implements EventBus {
     public void subscribe(EventListener eventListener) {
         String listenerType = classNameOf(eventListener);
         if (listeners.add(eventListener)) {
+            invalidateRoutes();
             statistics.listenerRegistered(listenerType);
             logger.debug("EventListener [{}] subscribed successfully", listenerType);
         } else {
@@ -74,6 +81,21 @@ public class SimpleEventBus implements EventBus {
         }
     }
 
+    /**
+     * Sets whether events should be routed based on their payload type. When enabled, listeners implementing {@link
+     * EventPayloadTypeSupport} are only invoked for events with a payload type they indicate to support. Other
+     * listeners receive all events. Defaults to <code>false</code>.
+     *
+     * @param payloadTypeRoutingEnabled whether to route events based on their payload type
+     */
+    public synchronized void setPayloadTypeRoutingEnabled(boolean payloadTypeRoutingEnabled) {
+        if (!payloadTypeRoutingEnabled) {
+            routingIndex = null;
+        } else if (routingIndex == null) {
+            routingIndex = new PayloadTypeRoutingIndex(listeners);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -81,8 +103,11 @@ public class SimpleEventBus implements EventBus {
     public void publish(EventMessage... events) {
         statistics.recordPublishedEvent();
         if (!listeners.isEmpty()) {
+            final PayloadTypeRoutingIndex index = routingIndex;
             for (EventMessage event : events) {
-                for (EventListener listener : listeners) {
+                final Collection<EventListener> recipients =
+                        index == null ? listeners : index.listenersFor(event.getPayloadType());
+                for (EventListener listener : recipients) {
                     if (logger.isDebugEnabled()) {
                         logger.debug("Dispatching Event [{}] to EventListener [{}]",
                                      event.getPayloadType().getSimpleName(), classNameOf(listener));
@@ -93,6 +118,13 @@ public class SimpleEventBus implements EventBus {
         }
     }
 
+    private void invalidateRoutes() {
+        final PayloadTypeRoutingIndex index = routingIndex;
+        if (index != null) {
+            index.invalidate();
+        }
+    }
+
     private String classNameOf(EventListener eventListener) {
         Class<?> listenerType;
         if (eventListener instanceof EventListenerProxy) {
@@ -23,6 +23,7 @@ import org.axonframework.common.annotation.ParameterResolverFactory;
 import org.axonframework.domain.EventMessage;
 import org.axonframework.eventhandling.EventBus;
 import org.axonframework.eventhandling.EventListenerProxy;
+import org.axonframework.eventhandling.EventPayloadTypeSupport;
 import org.axonframework.eventhandling.replay.ReplayAware;
 
 import javax.annotation.PostConstruct;
@@ -36,7 +37,8 @@ import javax.annotation.PreDestroy;
  * @see org.axonframework.eventhandling.EventListener
  * @since 0.1
  */
-public class AnnotationEventListenerAdapter implements Subscribable, EventListenerProxy, ReplayAware {
+public class AnnotationEventListenerAdapter implements Subscribable, EventListenerProxy, ReplayAware,
+        EventPayloadTypeSupport {
 
     private final MessageHandlerInvoker invoker;
     private final EventBus eventBus;
@@ -152,6 +154,11 @@ public class AnnotationEventListenerAdapter implements Subscribable, EventListen
     }
 
 
+    @Override
+    public boolean supportsPayloadType(Class<?> payloadType) {
+        return invoker.hasHandlerFor(payloadType);
+    }
+
     @Override
     public Class<?> getTargetType() {
         return listenerType;
@@ -21,6 +21,7 @@ import org.axonframework.common.annotation.ParameterResolverFactory;
 import org.axonframework.domain.AggregateRoot;
 import org.axonframework.eventhandling.EventBus;
 import org.axonframework.eventhandling.EventListener;
+import org.axonframework.eventhandling.EventPayloadTypeSupport;
 import org.springframework.context.SmartLifecycle;
 import org.springframework.util.ReflectionUtils;
 
@@ -46,6 +47,11 @@ public class AnnotationEventListenerBeanPostProcessor
         return EventListener.class;
     }
 
+    @Override
+    protected Class<?>[] getAdditionalAdapterInterfaces() {
+        return new Class<?>[]{EventPayloadTypeSupport.class};
+    }
+
     @Override
     protected AnnotationEventListenerAdapter initializeAdapterFor(Object bean,
                                                                   ParameterResolverFactory parameterResolverFactory) {
@@ -56,6 +56,8 @@ public class AsynchronousCluster extends AbstractCluster {
             new ConcurrentHashMap<Object, EventProcessor>();
     private final SequencingPolicy<? super EventMessage<?>> sequencingPolicy;
     private final UnitOfWorkFactory unitOfWorkFactory;
+    private volatile int batchSize = 1;
+    private volatile long batchTimeout = 0;
 
     /**
      * Creates an AsynchronousCluster implementation using the given <code>executor</code>,
@@ -238,7 +240,40 @@ public class AsynchronousCluster extends AbstractCluster {
                                   errorHandler,
                                   unitOfWorkFactory,
                                   eventListeners,
-                                  eventProcessingMonitor);
+                                  eventProcessingMonitor,
+                                  batchSize,
+                                  batchTimeout);
+    }
+
+    /**
+     * Sets the maximum number of events to process in a single Unit of Work (and thus a single transaction). Events
+     * are only batched if they are queued for processing in the same sequence (as defined by the SequencingPolicy).
+     * When processing of a batch fails, it is rolled back and each of its events is processed in a Unit of Work of
+     * its own, applying the ErrorHandler's policy to any failures. This means Event Listeners may see the events of a
+     * failed batch more than once.
+     * <p/>
+     * Defaults to 1, meaning each event is processed in its own Unit of Work. Changes only apply to event processing
+     * started after this method was called.
+     *
+     * @param batchSize The maximum number of events to process in a single Unit of Work
+     */
+    public void setBatchSize(int batchSize) {
+        Assert.isTrue(batchSize > 0, "batchSize must be a positive number");
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Sets the amount of time after which no more events are added to a batch. The batch is committed as soon as
+     * processing the events in it took longer than the given <code>timeout</code>, even if it contains less than the
+     * configured batch size. Defaults to 0, meaning batches are limited by their size only.
+     *
+     * @param timeout The amount of time after which a batch is closed, or 0 to disable the time limit
+     * @param unit    The unit of the given <code>timeout</code>
+     * @see #setBatchSize(int)
+     */
+    public void setBatchTimeout(long timeout, TimeUnit unit) {
+        Assert.isFalse(timeout < 0, "timeout may not be negative");
+        this.batchTimeout = unit.toMillis(timeout);
     }
 
     private static class NoActionCallback implements EventProcessor.ShutdownCallback {
@@ -16,6 +16,7 @@
 
 package org.axonframework.eventhandling.async;
 
+import org.axonframework.common.Assert;
 import org.axonframework.domain.EventMessage;
 import org.axonframework.eventhandling.EventListener;
 import org.axonframework.eventhandling.MultiplexingEventProcessingMonitor;
@@ -28,8 +29,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Deque;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Executor;
 import java.util.concurrent.RejectedExecutionException;
@@ -59,6 +62,13 @@ public class EventProcessor implements Runnable {
     private final Set<EventListener> listeners;
     private volatile long retryAfter = 0;
     private final List<EventMessage> processedEvents = new ArrayList<EventMessage>();
+    private final int batchSize;
+    private final long batchTimeout;
+    // number of events at the head of the queue to process in their own Unit of Work after a failed batch
+    private int eventsToProcessIndividually = 0;
+    // event of a failed batch that the error handler decided to skip, and its failure. Guarded by "runnerMonitor"
+    private EventMessage<?> skippedEvent;
+    private Throwable skippedEventFailure;
 
     private final Object runnerMonitor = new Object();
 
@@ -76,6 +86,44 @@ public class EventProcessor implements Runnable {
     public EventProcessor(Executor executor, ShutdownCallback shutDownCallback, ErrorHandler errorHandler,
                           UnitOfWorkFactory unitOfWorkFactory, Set<EventListener> eventListeners,
                           MultiplexingEventProcessingMonitor eventProcessingMonitor) {
+        this(executor, shutDownCallback, errorHandler, unitOfWorkFactory, eventListeners, eventProcessingMonitor,
+             1, 0);
+    }
+
+    /**
+     * Initialize a scheduler using the given <code>executor</code>, which processes up to <code>batchSize</code>
+     * events in a single Unit of Work. A batch is closed when it contains <code>batchSize</code> events, when no more
+     * events are queued, or when handling the events in the batch took longer than <code>batchTimeout</code>
+     * milliseconds.
+     * <p/>
+     * When processing of a batch fails, the entire batch is rolled back, after which each of the events in that batch
+     * is processed in its own Unit of Work. The <code>errorHandler</code> decides how to deal with any failures
+     * occurring while doing so, just like it would when processing events without batching. Note that this means
+     * Event Listeners, and the <code>eventProcessingMonitor</code>, may receive events of a failed batch more than
+     * once.
+     * <p/>
+     * The decision the <code>errorHandler</code> made for the event that caused the rollback is respected when the
+     * batch is processed again. The event is not handled again if it was to be skipped, and the events of the batch
+     * are only processed again after the requested wait time if the event was to be retried.
+     *
+     * @param executor               The executor service that will process the events
+     * @param shutDownCallback       The callback to notify when the scheduler finishes processing events
+     * @param errorHandler           The error handler to invoke when an error occurs while committing a Unit of Work
+     * @param unitOfWorkFactory      The factory providing instances of the Unit of Work
+     * @param eventListeners         The event listeners that should handle incoming events
+     * @param eventProcessingMonitor The listener to notify when processing completed
+     * @param batchSize              The maximum number of events to process in a single Unit of Work
+     * @param batchTimeout           The time (in milliseconds) after which no more events are added to a batch, or 0
+     *                               to only limit batches by their size
+     */
+    public EventProcessor(Executor executor, ShutdownCallback shutDownCallback, ErrorHandler errorHandler,
+                          UnitOfWorkFactory unitOfWorkFactory, Set<EventListener> eventListeners,
+                          MultiplexingEventProcessingMonitor eventProcessingMonitor, int batchSize,
+                          long batchTimeout) {
+        Assert.isTrue(batchSize > 0, "batchSize must be a positive number");
+        Assert.isFalse(batchTimeout < 0, "batchTimeout may not be negative");
+        this.batchSize = batchSize;
+        this.batchTimeout = batchTimeout;
         this.unitOfWorkFactory = unitOfWorkFactory;
         this.eventProcessingMonitor = eventProcessingMonitor;
         this.eventQueue = new LinkedList<EventMessage<?>>();
@@ -195,8 +243,21 @@ public class EventProcessor implements Runnable {
             int itemsAtStart = eventQueue.size();
             int processedItems = 0;
             while (mayContinue) {
-                RetryPolicy result = processNextEntry();
-                processedItems++;
+                RetryPolicy result;
+                if (batchSize > 1 && eventsToProcessIndividually == 0) {
+                    List<EventMessage<?>> batch = new ArrayList<EventMessage<?>>();
+                    result = processNextBatch(batch);
+                    if (eventsToProcessIndividually == 0) {
+                        // failed batches are back in the queue, and are counted when processed individually
+                        processedItems += batch.size();
+                    }
+                } else {
+                    result = processNextEntry();
+                    processedItems++;
+                    if (eventsToProcessIndividually > 0 && !result.requiresRescheduleEvent()) {
+                        eventsToProcessIndividually--;
+                    }
+                }
                 // Continue processing if there is no rescheduling involved and there are events in the queue, or if yielding failed
                 mayContinue = (processedItems < itemsAtStart
                         && !eventQueue.isEmpty()
@@ -218,7 +279,14 @@ public class EventProcessor implements Runnable {
     private RetryPolicy processNextEntry() {
         final EventMessage<?> event = nextEvent();
         ProcessingResult processingResult = ProcessingResult.REGULAR;
-        if (event != null) {
+        if (event != null && event == skippedEvent) {
+            // the error handler already decided to skip this event when it was processed as part of a batch
+            Throwable failure = skippedEventFailure;
+            skippedEvent = null;
+            skippedEventFailure = null;
+            notifyProcessingHandlers();
+            eventProcessingMonitor.onEventProcessingFailed(Collections.<EventMessage>singletonList(event), failure);
+        } else if (event != null) {
             UnitOfWork uow = null;
             try {
                 uow = unitOfWorkFactory.createUnitOfWork();
@@ -260,6 +328,82 @@ public class EventProcessor implements Runnable {
         return processingResult;
     }
 
+    /**
+     * Processes the next events in the queue in a single Unit of Work. The events taken from the queue are added to
+     * the given <code>batch</code>. If processing of any of the events requires a rollback, or the Unit of Work fails
+     * to commit, the events of the batch are put back in the queue, to be processed individually.
+     * <p/>
+     * The error handler is not invoked again for an event it decided to skip. When it decided to retry an event, the
+     * returned policy requires the events to be rescheduled after the requested wait time.
+     *
+     * @param batch The list to add the events taken from the queue to
+     * @return the policy for proceeding with processing
+     */
+    private RetryPolicy processNextBatch(List<EventMessage<?>> batch) {
+        EventMessage<?> event = nextEvent();
+        if (event == null) {
+            return ProcessingResult.REGULAR;
+        }
+        final long deadline = batchTimeout > 0 ? System.currentTimeMillis() + batchTimeout : Long.MAX_VALUE;
+        final Map<EventMessage, Throwable> failedEvents = new HashMap<EventMessage, Throwable>();
+        UnitOfWork uow = null;
+        try {
+            uow = unitOfWorkFactory.createUnitOfWork();
+            while (event != null) {
+                batch.add(event);
+                ProcessingResult processingResult = doHandle(event);
+                if (processingResult.requiresRollback() || processingResult.requiresRescheduleEvent()) {
+                    uow.rollback();
+                    splitBatch(batch);
+                    if (processingResult.requiresRescheduleEvent()) {
+                        retryAfter = System.currentTimeMillis() + processingResult.waitTime();
+                        return processingResult;
+                    }
+                    skippedEvent = event;
+                    skippedEventFailure = processingResult.getError();
+                    return ProcessingResult.REGULAR;
+                } else if (processingResult.isFailure()) {
+                    failedEvents.put(event, processingResult.getError());
+                }
+                event = batch.size() < batchSize && System.currentTimeMillis() < deadline ? nextEvent() : null;
+            }
+            uow.commit();
+        } catch (RuntimeException e) {
+            logger.info("Processing of a batch of {} events failed. Processing them individually.", batch.size(), e);
+            if (uow != null && uow.isStarted()) {
+                uow.rollback();
+            }
+            splitBatch(batch);
+            return ProcessingResult.REGULAR;
+        }
+        for (EventMessage<?> processedEvent : batch) {
+            Throwable failure = failedEvents.get(processedEvent);
+            if (failure == null) {
+                processedEvents.add(processedEvent);
+            } else {
+                notifyProcessingHandlers();
+                eventProcessingMonitor.onEventProcessingFailed(Arrays.<EventMessage>asList(processedEvent), failure);
+            }
+        }
+        retryAfter = System.currentTimeMillis();
+        return ProcessingResult.REGULAR;
+    }
+
+    /**
+     * Puts the events of a failed batch back at the head of the queue, and marks them for processing in a Unit of
+     * Work of their own.
+     * <p/>
+     * This method is thread safe
+     *
+     * @param batch The events of the failed batch, in the order they were taken from the queue
+     */
+    private synchronized void splitBatch(List<EventMessage<?>> batch) {
+        for (int i = batch.size() - 1; i >= 0; i--) {
+            eventQueue.addFirst(batch.get(i));
+        }
+        eventsToProcessIndividually = batch.size();
+    }
+
     /**
      * Does the actual processing of the event. This method is invoked if the scheduler has decided this event is up
      * next for execution. Implementation should not pass this scheduling to an asynchronous executor
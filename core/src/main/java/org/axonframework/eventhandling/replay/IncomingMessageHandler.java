@@ -34,6 +34,11 @@ import java.util.List;
  * replay. The {@link #onIncomingMessages(org.axonframework.eventhandling.Cluster,
  * org.axonframework.domain.EventMessage[])} method is invoked in the thread that attempts to publish events to a
  * cluster while it is in replay mode.
+ * <p/>
+ * During a parallel replay, {@link #releaseMessage(org.axonframework.eventhandling.Cluster,
+ * org.axonframework.domain.DomainEventMessage)} is invoked by the threads replaying the segments, while holding the
+ * monitor of this instance. Therefore, it is never invoked concurrently, and the backlog is only processed after all
+ * segments have been replayed.
  *
  * @author Allard Buijze
  * @since 2.0
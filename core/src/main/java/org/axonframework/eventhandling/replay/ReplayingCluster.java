@@ -16,13 +16,16 @@
 
 package org.axonframework.eventhandling.replay;
 
+import org.axonframework.common.Assert;
 import org.axonframework.common.DirectExecutor;
 import org.axonframework.domain.DomainEventMessage;
 import org.axonframework.domain.EventMessage;
+import org.axonframework.domain.GenericDomainEventMessage;
 import org.axonframework.eventhandling.Cluster;
 import org.axonframework.eventhandling.ClusterMetaData;
 import org.axonframework.eventhandling.EventListener;
 import org.axonframework.eventhandling.EventProcessingMonitor;
+import org.axonframework.eventhandling.async.SequencingPolicy;
 import org.axonframework.eventstore.EventVisitor;
 import org.axonframework.eventstore.management.Criteria;
 import org.axonframework.eventstore.management.CriteriaBuilder;
@@ -33,13 +36,17 @@ import org.slf4j.LoggerFactory;
 
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.RunnableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -51,6 +58,11 @@ import java.util.concurrent.locks.ReentrantLock;
  * Replays can either be executed on the invoking thread (see {@link #startReplay()}) or asynchronously by providing an
  * Executor (see {@link #startReplay(java.util.concurrent.Executor)}).
  * <p/>
+ * By default, events are replayed sequentially on a single thread. A parallel replay can be configured using {@link
+ * #setParallelReplay(int, java.util.concurrent.Executor, org.axonframework.eventhandling.async.SequencingPolicy)}, in
+ * which case the events are divided over a number of segments that are each replayed in a thread (and transaction) of
+ * their own.
+ * <p/>
  * Note that this cluster will replay each event on all subscribed listeners, even those that do not implement the
  * {@link ReplayAware} interface. If a listener does not support replaying at all, it should not be
  * subscribed to either this cluster or the delegate.
@@ -68,6 +80,9 @@ public class ReplayingCluster implements Cluster {
      */
     public static final String AFTER_REPLAY_TIMEOUT = "afterReplayTimeout";
 
+    private static final int SEGMENT_BUFFER_SIZE = 1024;
+    private static final DomainEventMessage END_OF_STREAM = new GenericDomainEventMessage<String>("", 0, "");
+
     private final Cluster delegate;
     private final EventStoreManagement replayingEventStore;
     private final TransactionManager transactionManager;
@@ -76,6 +91,10 @@ public class ReplayingCluster implements Cluster {
     private final Set<ReplayAware> replayAwareListeners = new CopyOnWriteArraySet<ReplayAware>();
 
     private volatile Status status = Status.LIVE;
+    private volatile int segmentCount = 1;
+    private volatile Executor segmentExecutor;
+    private volatile SequencingPolicy<? super EventMessage<?>> sequencingPolicy;
+    private volatile AtomicLong[] replayProgress = new AtomicLong[0];
     private final EventProcessingListeners eventHandlingListeners = new EventProcessingListeners();
 
     /**
@@ -104,6 +123,59 @@ public class ReplayingCluster implements Cluster {
     }
 
 
+    /**
+     * Configures this cluster to replay events in parallel. The events read from the Event Store are divided over
+     * <code>segmentCount</code> segments, based on the sequence identifier provided by the given
+     * <code>sequencingPolicy</code>. Events with the same sequence identifier are always replayed in the same segment,
+     * in the order they were read from the Event Store. Events without a sequence identifier are divided over the
+     * segments based on their identifier.
+     * <p/>
+     * Each segment is replayed on a thread provided by the given <code>segmentExecutor</code>, which must be capable of
+     * running <code>segmentCount</code> tasks concurrently. Each segment uses its own transactions, which are committed
+     * every <code>commitThreshold</code> events, as well as when the segment has been fully replayed. The transaction
+     * used to read the events, process the backlog and invoke {@link ReplayAware#afterReplay()} is only committed after
+     * all segments have been committed.
+     * <p/>
+     * If replaying any segment fails, the entire replay is aborted. Segments that have committed part of their events
+     * do not roll back these commits.
+     * <p/>
+     * Note that parallel replay requires the Event Listeners in the delegate cluster to be thread safe. Also, the
+     * Transaction Manager must support transactions bound to the thread that started them. A
+     * <code>segmentCount</code> of 1 restores sequential replay on the replaying thread.
+     *
+     * @param segmentCount     The number of segments to replay in parallel
+     * @param segmentExecutor  The executor providing the threads to replay the segments with
+     * @param sequencingPolicy The policy defining which events must be replayed sequentially
+     */
+    public void setParallelReplay(int segmentCount, Executor segmentExecutor,
+                                  SequencingPolicy<? super EventMessage<?>> sequencingPolicy) {
+        Assert.isTrue(segmentCount > 0, "segmentCount must be a positive number");
+        Assert.isTrue(segmentCount == 1 || segmentExecutor != null,
+                      "A segmentExecutor is required to replay in parallel");
+        Assert.isTrue(segmentCount == 1 || sequencingPolicy != null,
+                      "A sequencingPolicy is required to replay in parallel");
+        Assert.state(status == Status.LIVE, "Cannot change the replay configuration while a replay is in progress");
+        this.segmentExecutor = segmentExecutor;
+        this.sequencingPolicy = sequencingPolicy;
+        this.segmentCount = segmentCount;
+    }
+
+    /**
+     * Returns the number of events replayed by each of the segments of the current replay, or of the last replay if
+     * no replay is in progress. When replaying sequentially, the returned array contains a single element. Returns an
+     * empty array if no replay was started.
+     *
+     * @return the number of events replayed per segment
+     */
+    public long[] getReplayProgress() {
+        AtomicLong[] progress = replayProgress;
+        long[] counts = new long[progress.length];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = progress[i].get();
+        }
+        return counts;
+    }
+
     /**
      * Returns a CriteriaBuilder that allows the construction of criteria for this EventStore implementation
      *
@@ -290,25 +362,39 @@ public class ReplayingCluster implements Cluster {
             Object tx = transactionManager.startTransaction();
 
             logger.trace("Started new transaction for event replay");
-            final LastEventMonitor monitor = new LastEventMonitor();
-            final ReplayingEventVisitor visitor = new ReplayingEventVisitor(tx);
+            final int segments = segmentCount;
+            final SequencingPolicy<? super EventMessage<?>> policy = sequencingPolicy;
+            final AtomicLong[] progress = new AtomicLong[segments];
+            for (int i = 0; i < segments; i++) {
+                progress[i] = new AtomicLong();
+            }
+            replayProgress = progress;
+            final LastEventMonitor monitor = new LastEventMonitor(segments, policy);
+            final ReplayingEventVisitor visitor = segments > 1
+                    ? new SegmentingEventVisitor(tx, progress, policy)
+                    : new ReplayingEventVisitor(tx, progress[0]);
             try {
                 logger.trace("Notifying replay aware listeners 'beforeReplay'");
                 for (ReplayAware replayAwareEventListener : replayAwareListeners) {
                     replayAwareEventListener.beforeReplay();
                 }
                 delegate.subscribeEventProcessingMonitor(monitor);
-                if (criteria != null) {
-                    logger.trace("Starting visiting events using criteria");
-                    replayingEventStore.visitEvents(criteria, visitor);
-                } else {
-                    logger.trace("Starting visiting events without criteria");
-                    replayingEventStore.visitEvents(visitor);
-                }
-                EventMessage lastMessage = visitor.getLastMessage();
-                if (lastMessage != null) {
-                    monitor.waitForLastMessageProcessed(lastMessage, getAfterReplayTimeout());
+                boolean allEventsVisited = false;
+                try {
+                    visitor.start();
+                    if (criteria != null) {
+                        logger.trace("Starting visiting events using criteria");
+                        replayingEventStore.visitEvents(criteria, visitor);
+                    } else {
+                        logger.trace("Starting visiting events without criteria");
+                        replayingEventStore.visitEvents(visitor);
+                    }
+                    allEventsVisited = true;
+                } finally {
+                    visitor.endOfStream(allEventsVisited);
                 }
+                visitor.awaitCompletion();
+                monitor.waitForLastMessagesProcessed(visitor.getLastMessages(), getAfterReplayTimeout());
 
                 logger.trace("Notifying replay aware listeners 'afterReplay'");
                 for (ReplayAware replayAwareEventListener : replayAwareListeners) {
@@ -343,12 +429,14 @@ public class ReplayingCluster implements Cluster {
 
         private class ReplayingEventVisitor implements EventVisitor {
 
+            private final AtomicLong progress;
             private int eventCounter = 0;
             private Object currentTransaction;
             private EventMessage lastMessage;
 
-            public ReplayingEventVisitor(Object tx) {
+            public ReplayingEventVisitor(Object tx, AtomicLong progress) {
                 this.currentTransaction = tx;
+                this.progress = progress;
             }
 
             @SuppressWarnings("unchecked")
@@ -361,42 +449,265 @@ public class ReplayingCluster implements Cluster {
                     logger.trace("Starting new Replay Transaction for next batch");
                     currentTransaction = transactionManager.startTransaction();
                 }
-                delegate.publish(domainEvent);
-                List<EventMessage> releasedMessages = incomingMessageHandler.releaseMessage(delegate, domainEvent);
-                if (releasedMessages != null && !releasedMessages.isEmpty()) {
-                    eventHandlingListeners.onEventProcessingCompleted(releasedMessages);
-                }
+                replayEvent(domainEvent);
+                progress.incrementAndGet();
                 lastMessage = domainEvent;
             }
 
-            public EventMessage getLastMessage() {
-                return lastMessage;
+            /**
+             * Invoked just before the first event is visited.
+             */
+            public void start() {
+            }
+
+            /**
+             * Invoked when visiting the events has ended, either because all events have been visited, or because
+             * an error occurred.
+             *
+             * @param allEventsVisited <code>true</code> if all events have been visited, <code>false</code> if
+             *                         visiting the events failed
+             */
+            public void endOfStream(boolean allEventsVisited) {
+            }
+
+            /**
+             * Waits until all visited events have been replayed.
+             *
+             * @throws Throwable the cause of the failure, if replaying any of the events failed
+             */
+            public void awaitCompletion() throws Throwable {
+            }
+
+            /**
+             * Returns the last message replayed by each segment. Segments without any replayed messages have a
+             * <code>null</code> entry.
+             *
+             * @return the last message replayed by each segment
+             */
+            public EventMessage[] getLastMessages() {
+                return new EventMessage[]{lastMessage};
             }
 
             public Object getTransaction() {
                 return currentTransaction;
             }
         }
+
+        /**
+         * Visitor that divides the events over a number of segments, each replaying its events in a thread and
+         * transaction of its own.
+         */
+        private class SegmentingEventVisitor extends ReplayingEventVisitor {
+
+            private final SequencingPolicy<? super EventMessage<?>> policy;
+            private final ReplaySegment[] segments;
+            private final CountDownLatch segmentsCompleted;
+            private volatile Throwable failure;
+
+            public SegmentingEventVisitor(Object tx, AtomicLong[] progress,
+                                          SequencingPolicy<? super EventMessage<?>> policy) {
+                super(tx, null);
+                this.policy = policy;
+                this.segments = new ReplaySegment[progress.length];
+                this.segmentsCompleted = new CountDownLatch(segments.length);
+                for (int i = 0; i < segments.length; i++) {
+                    segments[i] = new ReplaySegment(i, progress[i]);
+                }
+            }
+
+            @Override
+            public void start() {
+                for (int i = 0; i < segments.length; i++) {
+                    try {
+                        segmentExecutor.execute(segments[i]);
+                    } catch (RuntimeException e) {
+                        // segments that weren't started are considered completed
+                        failure = e;
+                        for (int j = i; j < segments.length; j++) {
+                            segmentsCompleted.countDown();
+                        }
+                        throw e;
+                    }
+                }
+            }
+
+            @Override
+            public void doWithEvent(DomainEventMessage domainEvent) {
+                offer(segments[segmentOf(domainEvent, policy, segments.length)], domainEvent);
+            }
+
+            @Override
+            public void endOfStream(boolean allEventsVisited) {
+                if (allEventsVisited) {
+                    for (ReplaySegment segment : segments) {
+                        offer(segment, END_OF_STREAM);
+                    }
+                } else {
+                    // make the segments roll back, and wait for them to finish
+                    if (failure == null) {
+                        failure = new ReplayFailedException("Replay aborted, because reading the events failed",
+                                                            null);
+                    }
+                    awaitSegmentsCompleted();
+                }
+            }
+
+            @Override
+            public void awaitCompletion() throws Throwable {
+                segmentsCompleted.await();
+                if (failure != null) {
+                    throw failure;
+                }
+            }
+
+            @Override
+            public EventMessage[] getLastMessages() {
+                EventMessage[] lastMessages = new EventMessage[segments.length];
+                for (int i = 0; i < segments.length; i++) {
+                    lastMessages[i] = segments[i].lastMessage;
+                }
+                return lastMessages;
+            }
+
+            private void offer(ReplaySegment segment, DomainEventMessage message) {
+                try {
+                    while (!segment.queue.offer(message, 100, TimeUnit.MILLISECONDS)) {
+                        abortIfFailed();
+                    }
+                    abortIfFailed();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    failure = e;
+                    throw new ReplayFailedException("Replay failed because it was interrupted", e);
+                }
+            }
+
+            private void abortIfFailed() {
+                if (failure != null) {
+                    awaitSegmentsCompleted();
+                    throw new ReplayFailedException("Replay aborted, because replaying a segment failed", failure);
+                }
+            }
+
+            private void awaitSegmentsCompleted() {
+                try {
+                    segmentsCompleted.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            private class ReplaySegment implements Runnable {
+
+                private final int segmentId;
+                private final AtomicLong progress;
+                private final BlockingQueue<DomainEventMessage> queue =
+                        new ArrayBlockingQueue<DomainEventMessage>(SEGMENT_BUFFER_SIZE);
+                private volatile EventMessage lastMessage;
+
+                public ReplaySegment(int segmentId, AtomicLong progress) {
+                    this.segmentId = segmentId;
+                    this.progress = progress;
+                }
+
+                @Override
+                public void run() {
+                    Object tx = null;
+                    try {
+                        tx = transactionManager.startTransaction();
+                        int eventCounter = 0;
+                        DomainEventMessage event = queue.poll(100, TimeUnit.MILLISECONDS);
+                        while (event != END_OF_STREAM && failure == null) { // NOSONAR - Intentional equality check
+                            if (event != null) {
+                                if (commitThreshold > 0 && ++eventCounter > commitThreshold) {
+                                    eventCounter = 0;
+                                    logger.trace("Replay batch size reached; committing transaction of segment {}",
+                                                 segmentId);
+                                    transactionManager.commitTransaction(tx);
+                                    tx = null;
+                                    tx = transactionManager.startTransaction();
+                                }
+                                replayEvent(event);
+                                progress.incrementAndGet();
+                                lastMessage = event;
+                            }
+                            event = queue.poll(100, TimeUnit.MILLISECONDS);
+                        }
+                        if (failure == null) {
+                            transactionManager.commitTransaction(tx);
+                            tx = null;
+                            logger.debug("Segment {} replayed {} events", segmentId, progress.get());
+                        }
+                    } catch (Throwable e) {
+                        logger.warn("Replay of segment {} failed", segmentId, e);
+                        if (failure == null) {
+                            failure = e;
+                        }
+                    } finally {
+                        if (tx != null) {
+                            transactionManager.rollbackTransaction(tx);
+                        }
+                        segmentsCompleted.countDown();
+                    }
+                }
+            }
+        }
+    }
+
+    private void replayEvent(DomainEventMessage domainEvent) {
+        delegate.publish(domainEvent);
+        List<EventMessage> releasedMessages;
+        if (segmentCount > 1) {
+            // segments release messages concurrently, while implementations expect a single replaying thread
+            synchronized (incomingMessageHandler) {
+                releasedMessages = incomingMessageHandler.releaseMessage(delegate, domainEvent);
+            }
+        } else {
+            releasedMessages = incomingMessageHandler.releaseMessage(delegate, domainEvent);
+        }
+        if (releasedMessages != null && !releasedMessages.isEmpty()) {
+            eventHandlingListeners.onEventProcessingCompleted(releasedMessages);
+        }
+    }
+
+    private static int segmentOf(EventMessage<?> event, SequencingPolicy<? super EventMessage<?>> policy,
+                                 int segments) {
+        if (segments == 1) {
+            return 0;
+        }
+        Object sequenceIdentifier = policy.getSequenceIdentifierFor(event);
+        if (sequenceIdentifier == null) {
+            sequenceIdentifier = event.getIdentifier();
+        }
+        return (sequenceIdentifier.hashCode() & Integer.MAX_VALUE) % segments;
     }
 
     private static class LastEventMonitor implements EventProcessingMonitor {
 
         private final ReentrantLock lock = new ReentrantLock();
         private final Condition condition = lock.newCondition();
+        private final SequencingPolicy<? super EventMessage<?>> policy;
 
         // guarded by lock
-        private EventMessage lastProvidedMessage;
+        private String[] lastProvidedMessages;
         // guarded by lock
-        private EventMessage lastProcessedMessage;
+        private final String[] lastProcessedMessages;
+
+        public LastEventMonitor(int segments, SequencingPolicy<? super EventMessage<?>> policy) {
+            this.policy = policy;
+            this.lastProcessedMessages = new String[segments];
+        }
 
         @Override
         public void onEventProcessingCompleted(List<? extends EventMessage> eventMessages) {
             lock.lock();
             try {
-                lastProcessedMessage = eventMessages.get(eventMessages.size() - 1);
+                for (EventMessage<?> message : eventMessages) {
+                    lastProcessedMessages[segmentOf(message, policy, lastProcessedMessages.length)] =
+                            message.getIdentifier();
+                }
             } finally {
-                if (lastProvidedMessage != null
-                        && lastProcessedMessage.getIdentifier().equals(lastProvidedMessage.getIdentifier())) {
+                if (lastProvidedMessages != null && allProcessed()) {
                     condition.signalAll();
                 }
                 lock.unlock();
@@ -408,23 +719,40 @@ public class ReplayingCluster implements Cluster {
             onEventProcessingCompleted(eventMessages);
         }
 
-        public void waitForLastMessageProcessed(EventMessage lastProvidedMessage, long timeout) {
+        public void waitForLastMessagesProcessed(EventMessage[] lastProvidedMessages, long timeout) {
             lock.lock();
             try {
-                this.lastProvidedMessage = lastProvidedMessage;
-                if (lastProcessedMessage == null
-                        || !lastProcessedMessage.getIdentifier().equals(this.lastProvidedMessage.getIdentifier())) {
+                this.lastProvidedMessages = new String[lastProvidedMessages.length];
+                for (int i = 0; i < lastProvidedMessages.length; i++) {
+                    if (lastProvidedMessages[i] != null) {
+                        this.lastProvidedMessages[i] = lastProvidedMessages[i].getIdentifier();
+                    }
+                }
+                long deadline = System.currentTimeMillis() + timeout;
+                long remaining = timeout;
+                while (!allProcessed() && remaining > 0) {
                     try {
-                        condition.await(timeout, TimeUnit.MILLISECONDS);
+                        condition.await(remaining, TimeUnit.MILLISECONDS);
                     } catch (InterruptedException e) {
                         // thread is interrupted. Reset interrupted state and move on
                         Thread.currentThread().interrupt();
+                        return;
                     }
+                    remaining = deadline - System.currentTimeMillis();
                 }
             } finally {
                 lock.unlock();
             }
         }
+
+        private boolean allProcessed() {
+            for (int i = 0; i < lastProvidedMessages.length; i++) {
+                if (lastProvidedMessages[i] != null && !lastProvidedMessages[i].equals(lastProcessedMessages[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
     }
 
 
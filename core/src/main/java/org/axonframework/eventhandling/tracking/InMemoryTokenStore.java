@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.eventhandling.tracking;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * TokenStore implementation that keeps tokens in memory. Tokens are lost when the application is restarted, causing
+ * processors to process all events again. This implementation is mainly useful for testing purposes, or for processors
+ * updating in-memory read models.
+ *
+ * @author agent
+ * @since 2.4
+ */
+public class InMemoryTokenStore implements TokenStore {
+
+    private final ConcurrentMap<String, Long> tokens = new ConcurrentHashMap<String, Long>();
+
+    @Override
+    public Long fetchToken(String processorName) {
+        return tokens.get(processorName);
+    }
+
+    @Override
+    public void storeToken(String processorName, long globalIndex) {
+        tokens.put(processorName, globalIndex);
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.eventhandling.tracking;
+
+import org.axonframework.common.jdbc.ConnectionProvider;
+import org.axonframework.common.jdbc.DataSourceConnectionProvider;
+import org.axonframework.common.jdbc.UnitOfWorkAwareConnectionProviderWrapper;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+
+import static org.axonframework.common.jdbc.JdbcUtils.closeQuietly;
+
+/**
+ * TokenStore implementation that stores tokens in a database table using JDBC. By default, the table is called
+ * "TrackingToken", and contains a <code>processorName</code> and a <code>globalIndex</code> column. Use {@link
+ * #createSchema()} to create the table.
+ * <p/>
+ * When connections are obtained from a DataSource, they are attached to the current Unit of Work. This ensures that
+ * tokens are stored in the same transaction as changes made by event handlers using the same DataSource.
+ *
+ * @author agent
+ * @since 2.4
+ */
+public class JdbcTokenStore implements TokenStore {
+
+    private static final String DEFAULT_TABLE_NAME = "TrackingToken";
+
+    private final ConnectionProvider connectionProvider;
+    private final String tableName;
+
+    /**
+     * Initializes a JdbcTokenStore that obtains connections from the given <code>dataSource</code> and stores tokens
+     * in the default table.
+     *
+     * @param dataSource The data source to obtain connections from
+     */
+    public JdbcTokenStore(DataSource dataSource) {
+        this(new UnitOfWorkAwareConnectionProviderWrapper(new DataSourceConnectionProvider(dataSource)));
+    }
+
+    /**
+     * Initializes a JdbcTokenStore that obtains connections from the given <code>connectionProvider</code> and stores
+     * tokens in the default table.
+     *
+     * @param connectionProvider The provider to obtain connections from
+     */
+    public JdbcTokenStore(ConnectionProvider connectionProvider) {
+        this(connectionProvider, DEFAULT_TABLE_NAME);
+    }
+
+    /**
+     * Initializes a JdbcTokenStore that obtains connections from the given <code>connectionProvider</code> and stores
+     * tokens in the table with given <code>tableName</code>.
+     *
+     * @param connectionProvider The provider to obtain connections from
+     * @param tableName          The name of the table to store tokens in
+     */
+    public JdbcTokenStore(ConnectionProvider connectionProvider, String tableName) {
+        this.connectionProvider = connectionProvider;
+        this.tableName = tableName;
+    }
+
+    @Override
+    public Long fetchToken(String processorName) {
+        Connection connection = null;
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        try {
+            connection = connectionProvider.getConnection();
+            statement = connection.prepareStatement("SELECT globalIndex FROM " + tableName
+                                                            + " WHERE processorName = ?");
+            statement.setString(1, processorName);
+            resultSet = statement.executeQuery();
+            return resultSet.next() ? resultSet.getLong(1) : null;
+        } catch (SQLException e) {
+            throw new TokenStoreException("Exception while attempting to fetch the token of processor "
+                                                  + processorName, e);
+        } finally {
+            closeQuietly(resultSet);
+            closeQuietly(statement);
+            closeQuietly(connection);
+        }
+    }
+
+    @Override
+    public void storeToken(String processorName, long globalIndex) {
+        Connection connection = null;
+        PreparedStatement statement = null;
+        try {
+            connection = connectionProvider.getConnection();
+            statement = connection.prepareStatement("UPDATE " + tableName
+                                                            + " SET globalIndex = ? WHERE processorName = ?");
+            statement.setLong(1, globalIndex);
+            statement.setString(2, processorName);
+            if (statement.executeUpdate() == 0) {
+                closeQuietly(statement);
+                statement = connection.prepareStatement("INSERT INTO " + tableName
+                                                                + " (processorName, globalIndex) VALUES (?,?)");
+                statement.setString(1, processorName);
+                statement.setLong(2, globalIndex);
+                statement.executeUpdate();
+            }
+        } catch (SQLException e) {
+            throw new TokenStoreException("Exception while attempting to store the token of processor "
+                                                  + processorName, e);
+        } finally {
+            closeQuietly(statement);
+            closeQuietly(connection);
+        }
+    }
+
+    /**
+     * Creates the table to store tokens in.
+     *
+     * @throws SQLException when an error occurs executing SQL statements
+     */
+    public void createSchema() throws SQLException {
+        Connection connection = connectionProvider.getConnection();
+        try {
+            connection.prepareStatement("create table " + tableName + " (\n"
+                                                + "        processorName varchar(255) not null,\n"
+                                                + "        globalIndex bigint not null,\n"
+                                                + "        primary key (processorName)\n"
+                                                + "    )").executeUpdate();
+        } finally {
+            closeQuietly(connection);
+        }
+    }
+}
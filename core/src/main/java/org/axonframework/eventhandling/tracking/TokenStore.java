@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.eventhandling.tracking;
+
+/**
+ * Describes a component capable of storing the progress of {@link TrackingEventProcessor TrackingEventProcessors}.
+ * The progress is represented by the global index of the last event processed.
+ * <p/>
+ * To guarantee that each event is processed exactly once, the token should be stored in the same transaction as the
+ * changes made by the event handlers.
+ *
+ * @author agent
+ * @since 2.4
+ */
+public interface TokenStore {
+
+    /**
+     * Returns the global index of the last event processed by the processor with given <code>processorName</code>, or
+     * <code>null</code> if no token has been stored for that processor.
+     *
+     * @param processorName The name of the processor
+     * @return the global index of the last processed event, or <code>null</code> if unknown
+     */
+    Long fetchToken(String processorName);
+
+    /**
+     * Stores the given <code>globalIndex</code> as the index of the last event processed by the processor with given
+     * <code>processorName</code>.
+     *
+     * @param processorName The name of the processor
+     * @param globalIndex   The global index of the last processed event
+     */
+    void storeToken(String processorName, long globalIndex);
+}
@@ -0,0 +1,308 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.eventhandling.tracking;
+
+import org.axonframework.common.Assert;
+import org.axonframework.common.AxonThreadFactory;
+import org.axonframework.domain.EventMessage;
+import org.axonframework.eventhandling.Cluster;
+import org.axonframework.eventstore.TrackedEvent;
+import org.axonframework.eventstore.TrackingEventStore;
+import org.axonframework.unitofwork.DefaultUnitOfWork;
+import org.axonframework.unitofwork.TransactionManager;
+import org.axonframework.unitofwork.UnitOfWork;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Component that reads events from a {@link TrackingEventStore} and publishes them to a Cluster, keeping track of its
+ * progress using a {@link TokenStore}. When restarted, the processor continues where it left off, allowing the event
+ * listeners in the cluster to catch up incrementally, rather than having to replay all events.
+ * <p/>
+ * Events are read and processed in batches. Each batch is processed in a single Unit of Work, in which the token is
+ * also stored. When using a TokenStore that participates in the same transaction as the event handlers, each event
+ * will be processed exactly once. If a batch fails, the transaction is rolled back and the batch is retried after the
+ * poll interval. Note that the events must be processed synchronously by the cluster (for example by a
+ * {@link org.axonframework.eventhandling.SimpleCluster}), or the token may be stored before processing is done.
+ * <p/>
+ * The global index of events may contain gaps, which are caused by transactions that were rolled back, or by
+ * transactions that have not been committed yet. Since the latter may still reveal events with a lower index than
+ * events already visible, the processor does not pass a gap until it has been observed for longer than the
+ * configured gap timeout. Events with an index higher than a gap are processed in a later batch.
+ * <p/>
+ * Each processor must have a unique name, which is used to store its token.
+ *
+ * @author agent
+ * @since 2.4
+ */
+public class TrackingEventProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrackingEventProcessor.class);
+
+    private static final int DEFAULT_BATCH_SIZE = 100;
+    private static final long DEFAULT_POLL_INTERVAL = 1000;
+    private static final long DEFAULT_GAP_TIMEOUT = 10000;
+
+    private final String name;
+    private final TrackingEventStore eventStore;
+    private final Cluster cluster;
+    private final TokenStore tokenStore;
+    private final TransactionManager<?> transactionManager;
+
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private long pollInterval = DEFAULT_POLL_INTERVAL;
+    private long gapTimeout = DEFAULT_GAP_TIMEOUT;
+    private Executor executor;
+    private ExecutorService createdExecutor;
+
+    private volatile boolean running;
+    private volatile long lastProcessedIndex = -1;
+    private volatile CountDownLatch stoppedLatch = new CountDownLatch(0);
+    private long gapIndex = -1;
+    private long gapDetectedAt;
+
+    /**
+     * Initializes a processor with given <code>name</code> that publishes events read from the given
+     * <code>eventStore</code> to the given <code>cluster</code>. The progress is stored in the given
+     * <code>tokenStore</code>, in transactions managed by the given <code>transactionManager</code>.
+     *
+     * @param name               The unique name of this processor
+     * @param eventStore         The event store to read events from
+     * @param cluster            The cluster to publish the events to
+     * @param tokenStore         The store in which to keep track of the progress
+     * @param transactionManager The transaction manager to process batches with. May be <code>null</code> if no
+     *                           transactions are required
+     */
+    public TrackingEventProcessor(String name, TrackingEventStore eventStore, Cluster cluster, TokenStore tokenStore,
+                                  TransactionManager<?> transactionManager) {
+        Assert.notNull(name, "name may not be null");
+        Assert.notNull(eventStore, "eventStore may not be null");
+        Assert.notNull(cluster, "cluster may not be null");
+        Assert.notNull(tokenStore, "tokenStore may not be null");
+        this.name = name;
+        this.eventStore = eventStore;
+        this.cluster = cluster;
+        this.tokenStore = tokenStore;
+        this.transactionManager = transactionManager;
+    }
+
+    /**
+     * Starts processing events, continuing after the last event processed according to the TokenStore. Events are
+     * processed by a thread provided by the configured Executor. Does nothing if the processor is already running.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        Long token = tokenStore.fetchToken(name);
+        lastProcessedIndex = token == null ? -1 : token;
+        gapIndex = -1;
+        if (executor == null) {
+            createdExecutor = Executors.newSingleThreadExecutor(
+                    new AxonThreadFactory("TrackingEventProcessor[" + name + "]"));
+            executor = createdExecutor;
+        }
+        stoppedLatch = new CountDownLatch(1);
+        running = true;
+        try {
+            executor.execute(new ProcessingTask());
+        } catch (RuntimeException e) {
+            running = false;
+            stoppedLatch.countDown();
+            throw e;
+        }
+    }
+
+    /**
+     * Stops processing events. This method blocks until the batch being processed, if any, has been completed. If no
+     * Executor was configured, the thread created to process the events is released.
+     */
+    public synchronized void stop() {
+        running = false;
+        try {
+            stoppedLatch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (createdExecutor != null) {
+            createdExecutor.shutdown();
+            if (executor == createdExecutor) {
+                executor = null;
+            }
+            createdExecutor = null;
+        }
+    }
+
+    /**
+     * Indicates whether this processor is currently processing events.
+     *
+     * @return <code>true</code> if the processor is running, otherwise <code>false</code>
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Returns the name of this processor.
+     *
+     * @return the name of this processor
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the global index of the last event processed by this processor, or <code>-1</code> if no events have
+     * been processed.
+     *
+     * @return the global index of the last processed event
+     */
+    public long getLastProcessedIndex() {
+        return lastProcessedIndex;
+    }
+
+    /**
+     * Sets the maximum number of events to process in a single transaction. Defaults to {@value
+     * #DEFAULT_BATCH_SIZE}.
+     *
+     * @param batchSize The maximum number of events per batch
+     */
+    public synchronized void setBatchSize(int batchSize) {
+        Assert.isTrue(batchSize > 0, "batchSize must be a positive number");
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Sets the time to wait before reading new events when no new events were available, or after a batch has
+     * failed. Defaults to {@value #DEFAULT_POLL_INTERVAL} milliseconds.
+     *
+     * @param pollInterval The amount of time to wait
+     * @param unit         The unit in which the time is expressed
+     */
+    public synchronized void setPollInterval(long pollInterval, TimeUnit unit) {
+        Assert.isFalse(pollInterval < 0, "pollInterval may not be negative");
+        this.pollInterval = unit.toMillis(pollInterval);
+    }
+
+    /**
+     * Sets the time a gap in the global index must have been observed before the processor passes it. This time
+     * should exceed the duration of the longest transaction that appends events. Defaults to {@value
+     * #DEFAULT_GAP_TIMEOUT} milliseconds.
+     *
+     * @param gapTimeout The amount of time to wait for a gap to be filled
+     * @param unit       The unit in which the time is expressed
+     */
+    public synchronized void setGapTimeout(long gapTimeout, TimeUnit unit) {
+        Assert.isFalse(gapTimeout < 0, "gapTimeout may not be negative");
+        this.gapTimeout = unit.toMillis(gapTimeout);
+    }
+
+    /**
+     * Sets the Executor that provides the thread processing the events. Defaults to a single thread executor.
+     *
+     * @param executor The executor providing the processing thread
+     */
+    public synchronized void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Reads and processes the next batch of events. The token is updated in the same Unit of Work as the one in
+     * which the events are processed.
+     *
+     * @return the number of events processed
+     */
+    int processNextBatch() {
+        List<TrackedEvent> trackedEvents = eventStore.readEvents(lastProcessedIndex, batchSize);
+        List<EventMessage> batch = new ArrayList<EventMessage>(trackedEvents.size());
+        long lastIndexInBatch = lastProcessedIndex;
+        for (TrackedEvent trackedEvent : trackedEvents) {
+            long globalIndex = trackedEvent.getGlobalIndex();
+            if (lastIndexInBatch >= 0 && globalIndex > lastIndexInBatch + 1 && !gapExpired(lastIndexInBatch + 1)) {
+                break;
+            }
+            batch.add(trackedEvent.getMessage());
+            lastIndexInBatch = globalIndex;
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        UnitOfWork unitOfWork = DefaultUnitOfWork.startAndGet(transactionManager);
+        try {
+            cluster.publish(batch.toArray(new EventMessage[batch.size()]));
+            tokenStore.storeToken(name, lastIndexInBatch);
+            unitOfWork.commit();
+        } catch (RuntimeException e) {
+            if (unitOfWork.isStarted()) {
+                unitOfWork.rollback(e);
+            }
+            throw e;
+        }
+        lastProcessedIndex = lastIndexInBatch;
+        return batch.size();
+    }
+
+    private boolean gapExpired(long missingIndex) {
+        long now = System.currentTimeMillis();
+        if (gapIndex != missingIndex) {
+            gapIndex = missingIndex;
+            gapDetectedAt = now;
+        }
+        if (now - gapDetectedAt >= gapTimeout) {
+            logger.info("Processor [{}] skipping gap in global index at {}.", name, missingIndex);
+            gapIndex = -1;
+            return true;
+        }
+        return false;
+    }
+
+    private final class ProcessingTask implements Runnable {
+
+        @Override
+        public void run() {
+            try {
+                while (running) {
+                    int processed;
+                    try {
+                        processed = processNextBatch();
+                    } catch (RuntimeException e) {
+                        logger.warn("Processor [{}] failed to process a batch of events. Retrying in {} ms.",
+                                    name, pollInterval, e);
+                        processed = 0;
+                    }
+                    if (processed == 0 && running) {
+                        Thread.sleep(pollInterval);
+                    }
+                }
+            } catch (InterruptedException e) {
+                logger.warn("Processor [{}] was interrupted and has stopped processing events.", name);
+                running = false;
+                Thread.currentThread().interrupt();
+            } finally {
+                stoppedLatch.countDown();
+            }
+        }
+    }
+}
@@ -158,7 +158,7 @@ public abstract class AbstractEventSourcedAggregateRoot<I> extends AbstractAggre
 
     private void handleRecursively(DomainEventMessage event) {
         handle(event);
-        Iterable<? extends EventSourcedEntity> childEntities = getChildEntities();
+        Iterable<? extends EventSourcedEntity> childEntities = getChildEntitiesFor(event);
         if (childEntities != null) {
             for (EventSourcedEntity entity : childEntities) {
                 if (entity != null) {
@@ -179,6 +179,20 @@ public abstract class AbstractEventSourcedAggregateRoot<I> extends AbstractAggre
      */
     protected abstract Iterable<? extends EventSourcedEntity> getChildEntities();
 
+    /**
+     * Returns the child entities that the given <code>event</code> should be propagated to. May return null or an
+     * empty list to indicate the event should not be propagated. The collection may also contain null values.
+     * <p/>
+     * This implementation returns all entities provided by {@link #getChildEntities()}. Subclasses may override this
+     * method to avoid propagating events to entities that are not interested in them.
+     *
+     * @param event The event to be propagated to the child entities
+     * @return the child entities that should receive the given event
+     */
+    protected Iterable<? extends EventSourcedEntity> getChildEntitiesFor(DomainEventMessage event) {
+        return getChildEntities();
+    }
+
     /**
      * Apply state changes based on the given event.
      * <p/>
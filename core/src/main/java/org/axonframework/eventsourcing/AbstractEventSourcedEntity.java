@@ -46,7 +46,7 @@ public abstract class AbstractEventSourcedEntity implements EventSourcedEntity {
     @Override
     public void handleRecursively(DomainEventMessage event) {
         handle(event);
-        Collection<? extends EventSourcedEntity> childEntities = getChildEntities();
+        Collection<? extends EventSourcedEntity> childEntities = getChildEntitiesFor(event);
         if (childEntities != null) {
             for (EventSourcedEntity entity : childEntities) {
                 if (entity != null) {
@@ -65,6 +65,20 @@ public abstract class AbstractEventSourcedEntity implements EventSourcedEntity {
      */
     protected abstract Collection<? extends EventSourcedEntity> getChildEntities();
 
+    /**
+     * Returns the child entities that the given <code>event</code> should be propagated to. May return null or an
+     * empty list to indicate the event should not be propagated. The collection may also contain null values.
+     * <p/>
+     * This implementation returns all entities provided by {@link #getChildEntities()}. Subclasses may override this
+     * method to avoid propagating events to entities that are not interested in them.
+     *
+     * @param event The event to be propagated to the child entities
+     * @return the child entities that should receive the given event
+     */
+    protected Collection<? extends EventSourcedEntity> getChildEntitiesFor(DomainEventMessage event) {
+        return getChildEntities();
+    }
+
     /**
      * Apply state changes based on the given event.
      * <p/>
@@ -21,6 +21,8 @@ import org.axonframework.common.io.IOUtils;
 import org.axonframework.domain.DomainEventMessage;
 import org.axonframework.domain.DomainEventStream;
 import org.axonframework.eventstore.SnapshotEventStore;
+import org.axonframework.monitoring.LatencyStatistics;
+import org.axonframework.monitoring.MonitorRegistry;
 import org.axonframework.repository.ConcurrencyException;
 import org.axonframework.unitofwork.NoTransactionManager;
 import org.axonframework.unitofwork.TransactionManager;
@@ -46,6 +48,15 @@ public abstract class AbstractSnapshotter implements Snapshotter {
     private SnapshotEventStore eventStore;
     private Executor executor = DirectExecutor.INSTANCE;
     private TransactionManager transactionManager = new NoTransactionManager();
+    private final LatencyStatistics snapshotDuration = new LatencyStatistics();
+
+    /**
+     * Initializes the snapshotter, registering the duration of snapshot creation per aggregate type with the {@link
+     * MonitorRegistry}.
+     */
+    protected AbstractSnapshotter() {
+        MonitorRegistry.registerMonitoringBean(snapshotDuration, getClass(), "SnapshotDuration");
+    }
 
     @Override
     public void scheduleSnapshot(String typeIdentifier, Object aggregateIdentifier) {
@@ -187,6 +198,7 @@ public abstract class AbstractSnapshotter implements Snapshotter {
 
         @Override
         public void run() {
+            long startTime = System.nanoTime();
             DomainEventStream eventStream = eventStore.readEvents(typeIdentifier, aggregateIdentifier);
             try {
                 // a snapshot should only be stored if the snapshot replaces at least more than one event
@@ -197,6 +209,7 @@ public abstract class AbstractSnapshotter implements Snapshotter {
                 }
             } finally {
                 IOUtils.closeQuietlyIfCloseable(eventStream);
+                snapshotDuration.recordLatency(typeIdentifier, System.nanoTime() - startTime);
             }
         }
     }
@@ -0,0 +1,257 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.eventsourcing;
+
+import org.axonframework.cache.Cache;
+import org.axonframework.common.Assert;
+import org.axonframework.common.io.IOUtils;
+import org.axonframework.domain.DomainEventMessage;
+import org.axonframework.domain.DomainEventStream;
+import org.axonframework.eventstore.EventStore;
+import org.axonframework.eventstore.EventStreamNotFoundException;
+import org.axonframework.eventstore.EventVisitor;
+import org.axonframework.eventstore.management.Criteria;
+import org.axonframework.eventstore.management.EventStoreManagement;
+import org.axonframework.monitoring.MonitorRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Component that loads aggregates from the Event Store into a Cache, to prevent the first commands after startup from
+ * having to wait for the aggregates they target to be loaded. The cache should be the one configured on the {@link
+ * CachingEventSourcingRepository} or the {@link org.axonframework.commandhandling.disruptor.DisruptorCommandBus}
+ * that will use the aggregates.
+ * <p/>
+ * Aggregates are loaded in batches, each of which is processed by a thread provided by the configured Executor.
+ * Aggregates are read using {@link EventStore#readEvents(String, Object)}, meaning that Event Stores that support
+ * snapshots only read the latest snapshot and the events following it. Aggregates already present in the cache are
+ * not replaced.
+ * <p/>
+ * The preloader registers itself with the {@link MonitorRegistry}, allowing aggregates to be preloaded through JMX.
+ * Note that aggregates are stored in the cache using the identifiers given, or, when loading by {@link Criteria}, the
+ * identifiers as found in the events. The identifiers must be equal to the ones used to load the aggregates from the
+ * repository, for the cached instances to be found.
+ *
+ * @param <T> The type of aggregate to preload
+ * @author agent
+ * @since 2.4
+ */
+public class AggregatePreloader<T extends EventSourcedAggregateRoot> implements AggregatePreloaderMXBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(AggregatePreloader.class);
+
+    private final AggregateFactory<T> aggregateFactory;
+    private final EventStore eventStore;
+    private final Cache cache;
+    private final Executor executor;
+    private final AtomicLong preloadedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private int batchSize = 100;
+
+    /**
+     * Initializes the preloader to load aggregates created by given <code>aggregateFactory</code> from given
+     * <code>eventStore</code> into given <code>cache</code>, using threads provided by given <code>executor</code>.
+     *
+     * @param aggregateFactory The factory for new aggregate instances
+     * @param eventStore       The event store that holds the event streams of the aggregates
+     * @param cache            The cache to store loaded aggregates in
+     * @param executor         The executor providing the threads that load the aggregates
+     */
+    public AggregatePreloader(AggregateFactory<T> aggregateFactory, EventStore eventStore, Cache cache,
+                              Executor executor) {
+        Assert.notNull(aggregateFactory, "aggregateFactory may not be null");
+        Assert.notNull(eventStore, "eventStore may not be null");
+        Assert.notNull(cache, "cache may not be null");
+        Assert.notNull(executor, "executor may not be null");
+        this.aggregateFactory = aggregateFactory;
+        this.eventStore = eventStore;
+        this.cache = cache;
+        this.executor = executor;
+        MonitorRegistry.registerMonitoringBean(this, AggregatePreloader.class, aggregateFactory.getTypeIdentifier());
+    }
+
+    /**
+     * Loads the aggregates with given <code>aggregateIdentifiers</code> into the cache. This method blocks until all
+     * aggregates have been loaded. Aggregates that cannot be loaded are skipped.
+     *
+     * @param aggregateIdentifiers The identifiers of the aggregates to load
+     * @return the number of aggregates loaded into the cache
+     */
+    public int preload(Collection<?> aggregateIdentifiers) {
+        List<FutureTask<Integer>> tasks = new ArrayList<FutureTask<Integer>>();
+        List<Object> batch = new ArrayList<Object>(batchSize);
+        for (Object aggregateIdentifier : aggregateIdentifiers) {
+            batch.add(aggregateIdentifier);
+            if (batch.size() >= batchSize) {
+                tasks.add(schedule(batch));
+                batch = new ArrayList<Object>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            tasks.add(schedule(batch));
+        }
+        int loaded = 0;
+        for (FutureTask<Integer> task : tasks) {
+            loaded += awaitResult(task);
+        }
+        logger.info("Preloaded {} aggregates of type {}", loaded, aggregateFactory.getTypeIdentifier());
+        return loaded;
+    }
+
+    /**
+     * Loads the aggregates of which at least one event matches given <code>criteria</code> into the cache. The
+     * criteria are automatically narrowed down to events of aggregates of the type managed by this preloader. This
+     * method blocks until all aggregates have been loaded.
+     * <p/>
+     * This method requires the Event Store to implement {@link EventStoreManagement}.
+     *
+     * @param criteria The criteria selecting the events of the aggregates to load
+     * @return the number of aggregates loaded into the cache
+     *
+     * @throws IllegalStateException when the Event Store does not implement EventStoreManagement
+     */
+    public int preload(Criteria criteria) {
+        return preload(findAggregateIdentifiers(typeCriteria().and(criteria)));
+    }
+
+    @Override
+    public int preloadAggregates(List<String> aggregateIdentifiers) {
+        return preload(aggregateIdentifiers);
+    }
+
+    @Override
+    public int preloadAll() {
+        return preload(findAggregateIdentifiers(typeCriteria()));
+    }
+
+    @Override
+    public long getPreloadedCount() {
+        return preloadedCount.get();
+    }
+
+    @Override
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    /**
+     * Sets the number of aggregates to load in a single task. Each batch is loaded by a single thread. Defaults to
+     * 100.
+     *
+     * @param batchSize The number of aggregates to load per task
+     */
+    public void setBatchSize(int batchSize) {
+        Assert.isTrue(batchSize > 0, "batchSize must be a positive number");
+        this.batchSize = batchSize;
+    }
+
+    private Criteria typeCriteria() {
+        return eventStoreManagement().newCriteriaBuilder().property("type").is(aggregateFactory.getTypeIdentifier());
+    }
+
+    private Set<Object> findAggregateIdentifiers(Criteria criteria) {
+        final Set<Object> aggregateIdentifiers = new LinkedHashSet<Object>();
+        eventStoreManagement().visitEvents(criteria, new EventVisitor() {
+            @Override
+            public void doWithEvent(DomainEventMessage domainEvent) {
+                aggregateIdentifiers.add(domainEvent.getAggregateIdentifier());
+            }
+        });
+        return aggregateIdentifiers;
+    }
+
+    private EventStoreManagement eventStoreManagement() {
+        if (!(eventStore instanceof EventStoreManagement)) {
+            throw new IllegalStateException("The Event Store does not support selecting aggregates by criteria. "
+                                                    + "It must implement EventStoreManagement.");
+        }
+        return (EventStoreManagement) eventStore;
+    }
+
+    private FutureTask<Integer> schedule(List<Object> aggregateIdentifiers) {
+        FutureTask<Integer> task = new FutureTask<Integer>(new BatchLoader(aggregateIdentifiers));
+        executor.execute(task);
+        return task;
+    }
+
+    private int awaitResult(FutureTask<Integer> task) {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for aggregates to be preloaded", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to preload aggregates", e.getCause());
+        }
+    }
+
+    private T loadAggregate(Object aggregateIdentifier) {
+        DomainEventStream events = null;
+        try {
+            events = eventStore.readEvents(aggregateFactory.getTypeIdentifier(), aggregateIdentifier);
+            if (!events.hasNext()) {
+                return null;
+            }
+            T aggregate = aggregateFactory.createAggregate(aggregateIdentifier, events.peek());
+            aggregate.initializeState(events);
+            return aggregate.isDeleted() ? null : aggregate;
+        } finally {
+            IOUtils.closeQuietlyIfCloseable(events);
+        }
+    }
+
+    private final class BatchLoader implements Callable<Integer> {
+
+        private final List<Object> aggregateIdentifiers;
+
+        private BatchLoader(List<Object> aggregateIdentifiers) {
+            this.aggregateIdentifiers = aggregateIdentifiers;
+        }
+
+        @Override
+        public Integer call() {
+            int loaded = 0;
+            for (Object aggregateIdentifier : aggregateIdentifiers) {
+                try {
+                    T aggregate = loadAggregate(aggregateIdentifier);
+                    if (aggregate != null && cache.putIfAbsent(aggregateIdentifier, aggregate)) {
+                        loaded++;
+                        preloadedCount.incrementAndGet();
+                    }
+                } catch (EventStreamNotFoundException e) {
+                    logger.debug("Aggregate {} not found. It is not preloaded.", aggregateIdentifier);
+                } catch (RuntimeException e) {
+                    failedCount.incrementAndGet();
+                    logger.warn("Failed to preload aggregate {}", aggregateIdentifier, e);
+                }
+            }
+            return loaded;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.eventsourcing;
+
+import java.util.List;
+
+/**
+ * Management interface for the {@link AggregatePreloader}, allowing aggregates to be loaded into a cache on demand.
+ *
+ * @author agent
+ * @since 2.4
+ */
+public interface AggregatePreloaderMXBean {
+
+    /**
+     * Loads the aggregates with given <code>aggregateIdentifiers</code> into the cache. This method blocks until all
+     * aggregates have been loaded.
+     *
+     * @param aggregateIdentifiers The identifiers of the aggregates to load
+     * @return the number of aggregates loaded into the cache
+     */
+    int preloadAggregates(List<String> aggregateIdentifiers);
+
+    /**
+     * Loads all aggregates of the type managed by the preloader into the cache. This method blocks until all
+     * aggregates have been loaded.
+     *
+     * @return the number of aggregates loaded into the cache
+     */
+    int preloadAll();
+
+    /**
+     * Returns the total number of aggregates loaded into the cache by the preloader.
+     *
+     * @return the total number of aggregates loaded into the cache
+     */
+    long getPreloadedCount();
+
+    /**
+     * Returns the total number of aggregates that could not be loaded by the preloader.
+     *
+     * @return the total number of aggregates that could not be loaded
+     */
+    long getFailedCount();
+}
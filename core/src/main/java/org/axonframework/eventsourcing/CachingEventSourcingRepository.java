@@ -127,6 +127,9 @@ public class CachingEventSourcingRepository<T extends EventSourcedAggregateRoot>
 
     /**
      * Set the cache to use for this repository. If a cache is not set, caching is disabled for this implementation.
+     * <p/>
+     * A {@link org.axonframework.cache.BoundedCache} is recommended, as it holds the aggregate instances without
+     * copying them and keeps memory consumption bounded.
      *
      * @param cache the cache to use
      */
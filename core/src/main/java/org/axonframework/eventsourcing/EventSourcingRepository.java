@@ -24,12 +24,15 @@ import org.axonframework.domain.DomainEventStream;
 import org.axonframework.domain.EventMessage;
 import org.axonframework.eventstore.EventStore;
 import org.axonframework.eventstore.EventStreamNotFoundException;
+import org.axonframework.eventstore.ReadAheadSupport;
 import org.axonframework.repository.AggregateNotFoundException;
 import org.axonframework.repository.LockManager;
 import org.axonframework.repository.LockingRepository;
 import org.axonframework.unitofwork.CurrentUnitOfWork;
 import org.axonframework.unitofwork.UnitOfWork;
 import org.axonframework.unitofwork.UnitOfWorkListenerAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.Closeable;
 import java.io.IOException;
@@ -39,6 +42,8 @@ import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Abstract repository implementation that allows easy implementation of an Event Sourcing mechanism. It will
@@ -55,10 +60,15 @@ import java.util.Set;
  */
 public class EventSourcingRepository<T extends EventSourcedAggregateRoot> extends LockingRepository<T> {
 
+    private static final Logger logger = LoggerFactory.getLogger(EventSourcingRepository.class);
+
     private final EventStore eventStore;
     private ConflictResolver conflictResolver;
     private final Deque<EventStreamDecorator> eventStreamDecorators = new ArrayDeque<EventStreamDecorator>();
     private final AggregateFactory<T> aggregateFactory;
+    private Executor prefetchExecutor;
+    private Executor deserializationExecutor;
+    private int prefetchBufferSize = 1024;
 
     /**
      * Initializes a repository with the default locking strategy, using a GenericAggregateFactory to create new
@@ -167,6 +177,9 @@ public class EventSourcingRepository<T extends EventSourcedAggregateRoot> extend
             } catch (EventStreamNotFoundException e) {
                 throw new AggregateNotFoundException(aggregateIdentifier, "The aggregate was not found", e);
             }
+            if (prefetchExecutor != null && isReadAheadSupported()) {
+                events = prefetch(events);
+            }
             originalStream = events;
             for (EventStreamDecorator decorator : eventStreamDecorators) {
                 events = decorator.decorateForRead(getTypeIdentifier(), aggregateIdentifier, events);
@@ -188,6 +201,20 @@ public class EventSourcingRepository<T extends EventSourcedAggregateRoot> extend
         }
     }
 
+    private boolean isReadAheadSupported() {
+        return eventStore instanceof ReadAheadSupport && ((ReadAheadSupport) eventStore).isReadAheadSupported();
+    }
+
+    private DomainEventStream prefetch(DomainEventStream events) {
+        try {
+            return new PrefetchingDomainEventStream(events, prefetchExecutor, deserializationExecutor,
+                                                    prefetchBufferSize);
+        } catch (RejectedExecutionException e) {
+            // no thread available to read ahead. We'll just read the events in the current thread.
+            return events;
+        }
+    }
+
     /**
      * Returns the factory used by this repository.
      *
@@ -276,6 +303,61 @@ public class EventSourcingRepository<T extends EventSourcedAggregateRoot> extend
         this.conflictResolver = conflictResolver;
     }
 
+    /**
+     * Sets the Executor providing the threads that read events from the Event Store when loading an aggregate. When
+     * set, events are read (and deserialized) ahead in a separate thread, while the events read earlier are being
+     * applied to the aggregate. This allows I/O and processing to overlap, which speeds up loading of aggregates with
+     * a large number of events since their last snapshot.
+     * <p/>
+     * Events are only read ahead when the Event Store indicates that its event streams may be read in a thread other
+     * than the one that opened them, by implementing {@link ReadAheadSupport}. The {@link
+     * org.axonframework.eventstore.fs.FileSystemEventStore} and the MongoEventStore always allow this. The {@link
+     * org.axonframework.eventstore.jdbc.JdbcEventStore} and {@link org.axonframework.eventstore.jpa.JpaEventStore}
+     * only allow it when explicitly configured to, as it depends on whether the connection or EntityManager they use
+     * may be shared between threads. With other Event Stores, events are read in the thread loading the aggregate.
+     * <p/>
+     * Defaults to <code>null</code>, meaning events are read in the thread loading the aggregate. When the Executor
+     * rejects a task, the events are read in the thread loading the aggregate as well.
+     *
+     * @param prefetchExecutor The Executor providing the threads that read events ahead, or <code>null</code> to
+     *                         disable reading ahead
+     */
+    public void setPrefetchExecutor(Executor prefetchExecutor) {
+        if (prefetchExecutor != null && !(eventStore instanceof ReadAheadSupport)) {
+            logger.warn("The Event Store of the repository for [{}] does not support reading events in another "
+                                + "thread. Events will be read in the thread loading the aggregate.",
+                        getTypeIdentifier());
+        }
+        this.prefetchExecutor = prefetchExecutor;
+    }
+
+    /**
+     * Sets the Executor to deserialize events read ahead with. When set, events are deserialized in parallel, but
+     * they are always applied to the aggregate in the order in which they were read. When not set, events are
+     * deserialized by the thread reading the events.
+     * <p/>
+     * This setting is only used when a prefetch executor has been configured (see {@link
+     * #setPrefetchExecutor(java.util.concurrent.Executor)}). Defaults to <code>null</code>.
+     *
+     * @param deserializationExecutor The Executor to deserialize events with, or <code>null</code> to deserialize
+     *                                in the reading thread
+     */
+    public void setDeserializationExecutor(Executor deserializationExecutor) {
+        this.deserializationExecutor = deserializationExecutor;
+    }
+
+    /**
+     * Sets the maximum number of events to read ahead of the events being applied to the aggregate. This setting is
+     * only used when a prefetch executor has been configured (see {@link
+     * #setPrefetchExecutor(java.util.concurrent.Executor)}). Defaults to 1024.
+     *
+     * @param prefetchBufferSize The maximum number of events to read ahead
+     */
+    public void setPrefetchBufferSize(int prefetchBufferSize) {
+        Assert.isTrue(prefetchBufferSize > 0, "prefetchBufferSize must be a positive number");
+        this.prefetchBufferSize = prefetchBufferSize;
+    }
+
     private final class ConflictResolvingListener extends UnitOfWorkListenerAdapter {
 
         private final T aggregate;
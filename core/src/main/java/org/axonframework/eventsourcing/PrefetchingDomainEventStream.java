@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.eventsourcing;
+
+import org.axonframework.common.io.IOUtils;
+import org.axonframework.domain.DomainEventMessage;
+import org.axonframework.domain.DomainEventStream;
+import org.axonframework.eventstore.EventStoreException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DomainEventStream that reads events from a delegate stream in a separate thread, while the events read earlier are
+ * being consumed. Events read are eagerly deserialized, either by the reading thread, or in parallel by a separate
+ * Executor. Events are always handed off to the consumer in the order in which they were read from the delegate.
+ * <p/>
+ * The delegate stream is closed by the reading thread when the end of the stream has been reached, or when this
+ * stream is closed.
+ *
+ * @author agent
+ * @since 2.4
+ */
+final class PrefetchingDomainEventStream implements DomainEventStream, Closeable {
+
+    private static final Object END_OF_STREAM = new Object();
+
+    private final DomainEventStream delegate;
+    private final Executor deserializationExecutor;
+    private final BlockingQueue<Object> buffer;
+    private final CountDownLatch readerStopped = new CountDownLatch(1);
+    private volatile boolean closed;
+    private DomainEventMessage next;
+    private boolean endReached;
+
+    /**
+     * Initializes the stream to read events from given <code>delegate</code> using a thread provided by given
+     * <code>readerExecutor</code>, buffering at most <code>bufferSize</code> events ahead of the consumer. When
+     * <code>deserializationExecutor</code> is not <code>null</code>, events are deserialized in parallel using
+     * threads provided by that Executor. Otherwise, the reading thread deserializes the events itself.
+     *
+     * @param delegate                The stream to read events from
+     * @param readerExecutor          The executor providing the thread that reads from the delegate
+     * @param deserializationExecutor The executor to deserialize events with, or <code>null</code>
+     * @param bufferSize              The maximum number of events to read ahead
+     * @throws java.util.concurrent.RejectedExecutionException if the <code>readerExecutor</code> refuses to start
+     *                                                         the reading thread
+     */
+    PrefetchingDomainEventStream(DomainEventStream delegate, Executor readerExecutor,
+                                 Executor deserializationExecutor, int bufferSize) {
+        this.delegate = delegate;
+        this.deserializationExecutor = deserializationExecutor;
+        this.buffer = new ArrayBlockingQueue<Object>(bufferSize);
+        readerExecutor.execute(new Reader());
+    }
+
+    @Override
+    public boolean hasNext() {
+        return peek() != null;
+    }
+
+    @Override
+    public DomainEventMessage next() {
+        DomainEventMessage current = peek();
+        if (current == null) {
+            throw new NoSuchElementException("There are no more events in this stream");
+        }
+        next = null;
+        return current;
+    }
+
+    @Override
+    public DomainEventMessage peek() {
+        if (next == null && !endReached) {
+            next = resolve(take());
+        }
+        return next;
+    }
+
+    /**
+     * Stops the reading thread and waits for it to close the delegate stream.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        buffer.clear();
+        try {
+            readerStopped.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Object take() {
+        try {
+            return buffer.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EventStoreException("Interrupted while waiting for events to be read from the Event Store", e);
+        }
+    }
+
+    private DomainEventMessage resolve(Object item) {
+        if (item == END_OF_STREAM) {
+            endReached = true;
+            return null;
+        } else if (item instanceof ReadFailure) {
+            endReached = true;
+            throw rethrow(((ReadFailure) item).cause);
+        } else if (item instanceof Future) {
+            try {
+                return (DomainEventMessage) ((Future<?>) item).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new EventStoreException("Interrupted while waiting for an event to be deserialized", e);
+            } catch (ExecutionException e) {
+                endReached = true;
+                throw rethrow(e.getCause());
+            }
+        }
+        return (DomainEventMessage) item;
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        } else if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new EventStoreException("Failed to read events from the Event Store", cause);
+    }
+
+    private static DomainEventMessage deserialize(DomainEventMessage message) {
+        message.getPayload();
+        message.getMetaData();
+        return message;
+    }
+
+    private static final class ReadFailure {
+
+        private final Throwable cause;
+
+        private ReadFailure(Throwable cause) {
+            this.cause = cause;
+        }
+    }
+
+    private static final class DeserializationTask implements Callable<DomainEventMessage> {
+
+        private final DomainEventMessage message;
+
+        private DeserializationTask(DomainEventMessage message) {
+            this.message = message;
+        }
+
+        @Override
+        public DomainEventMessage call() {
+            return deserialize(message);
+        }
+    }
+
+    private final class Reader implements Runnable {
+
+        @Override
+        public void run() {
+            try {
+                while (!closed && delegate.hasNext()) {
+                    DomainEventMessage message = delegate.next();
+                    if (deserializationExecutor == null) {
+                        offer(deserialize(message));
+                    } else {
+                        FutureTask<DomainEventMessage> task =
+                                new FutureTask<DomainEventMessage>(new DeserializationTask(message));
+                        deserializationExecutor.execute(task);
+                        offer(task);
+                    }
+                }
+                offer(END_OF_STREAM);
+            } catch (InterruptedException e) {
+                offerQuietly(new ReadFailure(e));
+                Thread.currentThread().interrupt();
+            } catch (Throwable e) {
+                offerQuietly(new ReadFailure(e));
+            } finally {
+                IOUtils.closeQuietlyIfCloseable(delegate);
+                readerStopped.countDown();
+            }
+        }
+
+        private void offerQuietly(Object item) {
+            try {
+                offer(item);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void offer(Object item) throws InterruptedException {
+            // the timeout allows the reader to notice the consumer closing the stream while the buffer is full
+            while (!closed && !buffer.offer(item, 100, TimeUnit.MILLISECONDS)) {
+                // keep trying until there is room in the buffer
+            }
+        }
+    }
+}
@@ -75,6 +75,12 @@ public abstract class AbstractAnnotatedAggregateRoot<I> extends AbstractEventSou
         return inspector.getChildEntities(this);
     }
 
+    @Override
+    protected Collection<EventSourcedEntity> getChildEntitiesFor(DomainEventMessage event) {
+        ensureInspectorInitialized();
+        return inspector.getChildEntities(this, event);
+    }
+
     private void ensureInvokerInitialized() {
         if (eventHandlerInvoker == null) {
             ensureInspectorInitialized();
@@ -29,7 +29,8 @@ import java.util.Collection;
  * with the {@link org.axonframework.eventhandling.annotation.EventHandler} annotation.
  * <p/>
  * Note that each entity receives <strong>all</strong> events applied in the entire aggregate. Entities are responsible
- * for filtering out the actual events to take action on.
+ * for filtering out the actual events to take action on, unless the {@link EventSourcedMember} annotation on the field
+ * containing the entity declares how events are to be routed.
  * <p/>
  * If this entity is a child of another <code>AbstractAnnotatedEntity</code> or
  * <code>AbstractAnnotatedAggregateRoot</code>, the field that this entity is stored in should be annotated with {@link
@@ -73,6 +74,12 @@ public abstract class AbstractAnnotatedEntity extends AbstractEventSourcedEntity
         return inspector.getChildEntities(this);
     }
 
+    @Override
+    protected Collection<EventSourcedEntity> getChildEntitiesFor(DomainEventMessage event) {
+        ensureInspectorInitialized();
+        return inspector.getChildEntities(this, event);
+    }
+
     private void ensureInvokerInitialized() {
         if (eventHandlerInvoker == null) {
             eventHandlerInvoker = inspector.createEventHandlerInvoker(this);
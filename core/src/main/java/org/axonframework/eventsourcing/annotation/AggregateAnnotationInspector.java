@@ -19,7 +19,11 @@ package org.axonframework.eventsourcing.annotation;
 import org.axonframework.common.ReflectionUtils;
 import org.axonframework.common.annotation.HandlerDefinition;
 import org.axonframework.common.annotation.MessageHandlerInvoker;
+import org.axonframework.common.annotation.MethodMessageHandlerInspector;
 import org.axonframework.common.annotation.ParameterResolverFactory;
+import org.axonframework.common.property.Property;
+import org.axonframework.common.property.PropertyAccessStrategy;
+import org.axonframework.domain.DomainEventMessage;
 import org.axonframework.eventhandling.annotation.EventHandler;
 import org.axonframework.eventsourcing.EventSourcedEntity;
 import org.axonframework.eventsourcing.IncompatibleAggregateException;
@@ -28,11 +32,16 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Array;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static java.lang.String.format;
 import static org.axonframework.common.CollectionUtils.filterByType;
@@ -52,7 +61,7 @@ import static org.axonframework.common.ReflectionUtils.fieldsOf;
 public final class AggregateAnnotationInspector {
 
     private static final Map<Class<?>, AggregateAnnotationInspector> INSTANCES = new ConcurrentHashMap<Class<?>, AggregateAnnotationInspector>();
-    private final Field[] childEntityFields;
+    private final ChildEntityField[] childEntityFields;
     private final Field identifierField;
     private final ParameterResolverFactory parameterResolverFactory;
 
@@ -76,13 +85,13 @@ public final class AggregateAnnotationInspector {
 
     @SuppressWarnings("unchecked")
     private AggregateAnnotationInspector(Class<?> entityType, ParameterResolverFactory parameterResolverFactory) {
-        List<Field> annotatedFields = new ArrayList<Field>();
+        List<ChildEntityField> annotatedFields = new ArrayList<ChildEntityField>();
         for (Field field : ReflectionUtils.fieldsOf(entityType)) {
             if (field.isAnnotationPresent(EventSourcedMember.class)) {
-                annotatedFields.add(field);
+                annotatedFields.add(new ChildEntityField(field, field.getAnnotation(EventSourcedMember.class)));
             }
         }
-        childEntityFields = annotatedFields.toArray(new Field[annotatedFields.size()]);
+        childEntityFields = annotatedFields.toArray(new ChildEntityField[annotatedFields.size()]);
         // if entityType is an aggregate root, detect it's identifier field
         if (AbstractAnnotatedAggregateRoot.class.isAssignableFrom(entityType)) {
             identifierField = locateIdentifierField((Class<? extends AbstractAnnotatedAggregateRoot>) entityType);
@@ -117,25 +126,30 @@ public final class AggregateAnnotationInspector {
             return null;
         }
         List<EventSourcedEntity> children = new ArrayList<EventSourcedEntity>();
-        for (Field childEntityField : childEntityFields) {
-            Object fieldValue = ReflectionUtils.getFieldValue(childEntityField, instance);
-            if (EventSourcedEntity.class.isInstance(fieldValue)) {
-                children.add((EventSourcedEntity) fieldValue);
-            } else if (Iterable.class.isInstance(fieldValue)) {
-                // it's a collection
-                Iterable<?> iterable = (Iterable<?>) fieldValue;
-                children.addAll(filterByType(iterable, EventSourcedEntity.class));
-            } else if (Map.class.isInstance(fieldValue)) {
-                Map map = (Map) fieldValue;
-                children.addAll(filterByType(map.keySet(), EventSourcedEntity.class));
-                children.addAll(filterByType(map.values(), EventSourcedEntity.class));
-            } else if (fieldValue != null && childEntityField.getType().isArray()) {
-                for (int i = 0; i < Array.getLength(fieldValue); i++) {
-                    Object value = Array.get(fieldValue, i);
-                    if (EventSourcedEntity.class.isInstance(value)) {
-                        children.add((EventSourcedEntity) value);
-                    }
-                }
+        for (ChildEntityField childEntityField : childEntityFields) {
+            childEntityField.addAllEntities(instance, children);
+        }
+        return children;
+    }
+
+    /**
+     * Returns the child entities of given <code>instance</code> that the given <code>event</code> should be
+     * propagated to. Entities are detected in the same way as {@link #getChildEntities(Object)}, but fields that
+     * declare a filter or routing property on their {@link EventSourcedMember} annotation only provide the
+     * entities that the event is intended for.
+     *
+     * @param instance The instance to find child entities in
+     * @param event    The event to propagate to the child entities
+     * @return a collection of child entities the event should be propagated to
+     */
+    public Collection<EventSourcedEntity> getChildEntities(Object instance, DomainEventMessage event) {
+        if (childEntityFields.length == 0 || instance == null) {
+            return null;
+        }
+        List<EventSourcedEntity> children = new ArrayList<EventSourcedEntity>();
+        for (ChildEntityField childEntityField : childEntityFields) {
+            if (childEntityField.accepts(event.getPayloadType())) {
+                childEntityField.addTargetEntities(instance, event, children);
             }
         }
         return children;
@@ -185,6 +199,181 @@ public final class AggregateAnnotationInspector {
         return false;
     }
 
+    /**
+     * Indicates whether entities of given <code>entityType</code>, or any of the entities they contain, declare a
+     * handler for events with given <code>payloadType</code>. Child entities are inspected using the declared types
+     * of their fields.
+     */
+    private boolean handlesEvent(Class<?> entityType, Class<?> payloadType, Set<Class<?>> inspectedTypes) {
+        if (!inspectedTypes.add(entityType)) {
+            return false;
+        }
+        if (MethodMessageHandlerInspector.getInstance(entityType, parameterResolverFactory, false,
+                                                      AggregatedEventSourcingHandlerDefinition.INSTANCE)
+                                         .hasHandlerFor(payloadType)) {
+            return true;
+        }
+        for (ChildEntityField child : getInspector(entityType, parameterResolverFactory).childEntityFields) {
+            if (child.entityType == null || handlesEvent(child.entityType, payloadType, inspectedTypes)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Class<?> resolveEntityType(Field field) {
+        Class<?> fieldType = field.getType();
+        if (fieldType.isArray()) {
+            return fieldType.getComponentType();
+        }
+        int typeArgument;
+        if (Iterable.class.isAssignableFrom(fieldType)) {
+            typeArgument = 0;
+        } else if (Map.class.isAssignableFrom(fieldType)) {
+            typeArgument = 1;
+        } else {
+            return fieldType;
+        }
+        Type genericType = field.getGenericType();
+        if (genericType instanceof ParameterizedType) {
+            Type[] arguments = ((ParameterizedType) genericType).getActualTypeArguments();
+            if (arguments.length > typeArgument && arguments[typeArgument] instanceof Class) {
+                return (Class<?>) arguments[typeArgument];
+            }
+        }
+        return null;
+    }
+
+    private static void addIfEntity(Object candidate, Collection<EventSourcedEntity> children) {
+        if (EventSourcedEntity.class.isInstance(candidate)) {
+            children.add((EventSourcedEntity) candidate);
+        }
+    }
+
+    /**
+     * Provides access to the entities contained in a field annotated with {@link EventSourcedMember}, and decides
+     * which of these entities an event is propagated to.
+     */
+    private final class ChildEntityField {
+
+        private final Field field;
+        private final Class<?> entityType;
+        private final boolean filterByPayloadType;
+        private final String eventTargetProperty;
+        private final String entityId;
+        private final ConcurrentMap<Class<?>, Boolean> acceptedPayloadTypes =
+                new ConcurrentHashMap<Class<?>, Boolean>();
+        private final ConcurrentMap<Class<?>, PropertyHolder> eventTargetProperties =
+                new ConcurrentHashMap<Class<?>, PropertyHolder>();
+        private final ConcurrentMap<Class<?>, PropertyHolder> entityIdProperties =
+                new ConcurrentHashMap<Class<?>, PropertyHolder>();
+
+        private ChildEntityField(Field field, EventSourcedMember annotation) {
+            this.field = field;
+            this.entityType = resolveEntityType(field);
+            this.filterByPayloadType = annotation.filterByPayloadType();
+            this.eventTargetProperty = annotation.eventTargetProperty();
+            this.entityId = annotation.entityId();
+            if (eventTargetProperty.length() > 0 && entityId.length() == 0
+                    && !Map.class.isAssignableFrom(field.getType())) {
+                throw new IncompatibleAggregateException(
+                        format("The field [%s.%s] declares an eventTargetProperty, but no entityId. "
+                                       + "An entityId is required when routing events to entities that are not "
+                                       + "contained in a Map.",
+                               field.getDeclaringClass().getSimpleName(), field.getName()));
+            }
+        }
+
+        private boolean accepts(Class<?> payloadType) {
+            if (!filterByPayloadType || entityType == null) {
+                return true;
+            }
+            Boolean accepted = acceptedPayloadTypes.get(payloadType);
+            if (accepted == null) {
+                accepted = handlesEvent(entityType, payloadType, new HashSet<Class<?>>());
+                acceptedPayloadTypes.put(payloadType, accepted);
+            }
+            return accepted;
+        }
+
+        private void addAllEntities(Object instance, Collection<EventSourcedEntity> children) {
+            Object fieldValue = ReflectionUtils.getFieldValue(field, instance);
+            if (EventSourcedEntity.class.isInstance(fieldValue)) {
+                children.add((EventSourcedEntity) fieldValue);
+            } else if (Iterable.class.isInstance(fieldValue)) {
+                // it's a collection
+                Iterable<?> iterable = (Iterable<?>) fieldValue;
+                children.addAll(filterByType(iterable, EventSourcedEntity.class));
+            } else if (Map.class.isInstance(fieldValue)) {
+                Map map = (Map) fieldValue;
+                children.addAll(filterByType(map.keySet(), EventSourcedEntity.class));
+                children.addAll(filterByType(map.values(), EventSourcedEntity.class));
+            } else if (fieldValue != null && field.getType().isArray()) {
+                for (int i = 0; i < Array.getLength(fieldValue); i++) {
+                    addIfEntity(Array.get(fieldValue, i), children);
+                }
+            }
+        }
+
+        private void addTargetEntities(Object instance, DomainEventMessage event,
+                                       Collection<EventSourcedEntity> children) {
+            Object targetId = eventTargetProperty.length() == 0 ? null : targetIdentifierOf(event);
+            if (targetId == null) {
+                addAllEntities(instance, children);
+                return;
+            }
+            Object fieldValue = ReflectionUtils.getFieldValue(field, instance);
+            if (Map.class.isInstance(fieldValue)) {
+                addIfEntity(((Map) fieldValue).get(targetId), children);
+            } else if (Iterable.class.isInstance(fieldValue)) {
+                for (Object candidate : (Iterable<?>) fieldValue) {
+                    addIfTarget(candidate, targetId, children);
+                }
+            } else if (fieldValue != null && field.getType().isArray()) {
+                for (int i = 0; i < Array.getLength(fieldValue); i++) {
+                    addIfTarget(Array.get(fieldValue, i), targetId, children);
+                }
+            } else {
+                addIfTarget(fieldValue, targetId, children);
+            }
+        }
+
+        private Object targetIdentifierOf(DomainEventMessage event) {
+            Property<Object> property = propertyOf(eventTargetProperties, event.getPayloadType(),
+                                                   eventTargetProperty);
+            return property == null ? null : property.getValue(event.getPayload());
+        }
+
+        private void addIfTarget(Object candidate, Object targetId, Collection<EventSourcedEntity> children) {
+            if (EventSourcedEntity.class.isInstance(candidate)) {
+                Property<Object> property = propertyOf(entityIdProperties, candidate.getClass(), entityId);
+                if (property == null || targetId.equals(property.getValue(candidate))) {
+                    children.add((EventSourcedEntity) candidate);
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private Property<Object> propertyOf(ConcurrentMap<Class<?>, PropertyHolder> properties, Class<?> type,
+                                            String propertyName) {
+            PropertyHolder holder = properties.get(type);
+            if (holder == null) {
+                holder = new PropertyHolder(PropertyAccessStrategy.getProperty((Class<Object>) type, propertyName));
+                properties.put(type, holder);
+            }
+            return holder.property;
+        }
+    }
+
+    private static final class PropertyHolder {
+
+        private final Property<Object> property;
+
+        private PropertyHolder(Property<Object> property) {
+            this.property = property;
+        }
+    }
+
     private static class AggregatedEventSourcingHandlerDefinition implements HandlerDefinition<Method> {
 
         private static final AggregatedEventSourcingHandlerDefinition INSTANCE = new AggregatedEventSourcingHandlerDefinition();
@@ -28,6 +28,11 @@ import java.lang.annotation.Target;
  * This annotation may be placed on any type of field. If the field holds a collection, array or map, applied events
  * are propagated to each individual item in the collection, array or map (both keys and values) that are instance of
  * {@link org.axonframework.eventsourcing.EventSourcedEntity}.
+ * <p/>
+ * For fields containing many entities, the events propagated to them may be limited. When {@link
+ * #filterByPayloadType()} is set, events are only propagated to the entities in the field if the declared entity type
+ * (or any of its own members) has a handler for the event's payload type. When an {@link #eventTargetProperty()} is
+ * given, events carrying a value for that property are only propagated to the entity with a matching identifier.
  *
  * @author Allard Buijze
  * @since 2.0
@@ -36,4 +41,42 @@ import java.lang.annotation.Target;
 @Target(ElementType.FIELD)
 public @interface EventSourcedMember {
 
+    /**
+     * Indicates whether events should only be propagated to the entities in this field if they are able to handle
+     * them. Detection is done using static typing. The entity type is the declared type of the field, or the type
+     * of the elements of a collection or array, or of the values of a map, as declared by its generic parameters.
+     * Handlers declared on subclasses of that type are ignored. If the entity type cannot be determined, events are
+     * propagated to all entities.
+     * <p/>
+     * Note that entities only get a reference to their aggregate root when an event is propagated to them. Only
+     * enable this filter on entities that receive at least one event before applying events themselves, such as
+     * the event that caused their creation.
+     * <p/>
+     * Defaults to <code>false</code>.
+     */
+    boolean filterByPayloadType() default false;
+
+    /**
+     * The name of the property on the event's payload that identifies the entity the event is intended for. If the
+     * field contains a map, the property value is used as key to find the entity. Otherwise, it is compared to
+     * the {@link #entityId()} of each entity. Events that do not have this property, or for which it is
+     * <code>null</code>, are propagated to all entities in the field.
+     * <p/>
+     * The name of this property must correspond with the getter method using the JavaBean specification (property
+     * 'id' is accessed using method 'getId()'), or any other specification supported by a configured
+     * {@link org.axonframework.common.property.PropertyAccessStrategy}.
+     * <p/>
+     * Defaults to an empty String, indicating events are not routed by identifier.
+     */
+    String eventTargetProperty() default "";
+
+    /**
+     * The name of the property on the entity that provides the identifier of that entity. Required when an {@link
+     * #eventTargetProperty()} is given on a field that does not contain a map.
+     * <p/>
+     * The name of this property must correspond with the getter method using the JavaBean specification (property
+     * 'id' is accessed using method 'getId()'), or any other specification supported by a configured
+     * {@link org.axonframework.common.property.PropertyAccessStrategy}.
+     */
+    String entityId() default "";
 }
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.eventstore;
+
+import org.axonframework.monitoring.Histogram;
+
+/**
+ * Statistics object recording the latency of append and read operations on an Event Store, as well as the number of
+ * events appended per operation. Recording is lock-free.
+ *
+ * @author agent
+ * @since 2.4
+ */
+public class EventStoreStatistics implements EventStoreStatisticsMXBean {
+
+    private static final double NANOS_PER_MILLI = 1000000D;
+
+    private final Histogram appendLatency = new Histogram();
+    private final Histogram appendBatchSize = new Histogram();
+    private final Histogram readLatency = new Histogram();
+
+    @Override
+    public long getAppendCount() {
+        return appendLatency.getCount();
+    }
+
+    @Override
+    public long getAppendedEventCount() {
+        return appendBatchSize.getTotal();
+    }
+
+    @Override
+    public double getMedianAppendLatencyMillis() {
+        return getAppendLatencyMillisAtPercentile(50);
+    }
+
+    @Override
+    public double getPercentile99AppendLatencyMillis() {
+        return getAppendLatencyMillisAtPercentile(99);
+    }
+
+    @Override
+    public double getMaxAppendLatencyMillis() {
+        return appendLatency.getMaxValue() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getMeanAppendBatchSize() {
+        return appendBatchSize.getMean();
+    }
+
+    @Override
+    public long getPercentile99AppendBatchSize() {
+        return appendBatchSize.getValueAtPercentile(99);
+    }
+
+    @Override
+    public long getMaxAppendBatchSize() {
+        return appendBatchSize.getMaxValue();
+    }
+
+    @Override
+    public long getReadCount() {
+        return readLatency.getCount();
+    }
+
+    @Override
+    public double getMedianReadLatencyMillis() {
+        return getReadLatencyMillisAtPercentile(50);
+    }
+
+    @Override
+    public double getPercentile99ReadLatencyMillis() {
+        return getReadLatencyMillisAtPercentile(99);
+    }
+
+    @Override
+    public double getMaxReadLatencyMillis() {
+        return readLatency.getMaxValue() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getAppendLatencyMillisAtPercentile(double percentile) {
+        return appendLatency.getValueAtPercentile(percentile) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getReadLatencyMillisAtPercentile(double percentile) {
+        return readLatency.getValueAtPercentile(percentile) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public void reset() {
+        appendLatency.reset();
+        appendBatchSize.reset();
+        readLatency.reset();
+    }
+
+    /**
+     * Records an append operation of <code>eventCount</code> events that took <code>durationNanos</code>
+     * nanoseconds.
+     *
+     * @param durationNanos The duration of the append operation, in nanoseconds
+     * @param eventCount    The number of events appended
+     */
+    public void recordAppend(long durationNanos, int eventCount) {
+        appendLatency.recordValue(durationNanos);
+        appendBatchSize.recordValue(eventCount);
+    }
+
+    /**
+     * Records a read operation that took <code>durationNanos</code> nanoseconds to open the event stream. As event
+     * streams are read lazily, this duration should include loading the snapshot and the first batch of events, but
+     * not the consumption of the stream.
+     *
+     * @param durationNanos The duration of the read operation, in nanoseconds
+     */
+    public void recordRead(long durationNanos) {
+        readLatency.recordValue(durationNanos);
+    }
+}
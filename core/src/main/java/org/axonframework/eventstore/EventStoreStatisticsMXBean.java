@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.eventstore;
+
+/**
+ * Management interface of {@link EventStoreStatistics}, providing information about the latency of appending and
+ * reading events, and about the number of events appended at once. Latencies are reported in milliseconds.
+ * <p/>
+ * Event streams are read lazily. The read latency therefore only covers opening the stream: loading the snapshot, if
+ * any, and fetching the first batch of events. Subsequent batches are fetched while the stream is being consumed, and
+ * the time spent on that is not included.
+ *
+ * @author agent
+ * @since 2.4
+ */
+public interface EventStoreStatisticsMXBean {
+
+    /**
+     * Returns the number of times events have been appended since creation or the last reset.
+     *
+     * @return the number of append operations
+     */
+    long getAppendCount();
+
+    /**
+     * Returns the total number of events appended since creation or the last reset.
+     *
+     * @return the number of appended events
+     */
+    long getAppendedEventCount();
+
+    /**
+     * Returns the median latency of append operations.
+     *
+     * @return the median append latency, in milliseconds
+     */
+    double getMedianAppendLatencyMillis();
+
+    /**
+     * Returns the 99th percentile latency of append operations.
+     *
+     * @return the 99th percentile append latency, in milliseconds
+     */
+    double getPercentile99AppendLatencyMillis();
+
+    /**
+     * Returns the highest latency of append operations.
+     *
+     * @return the highest append latency, in milliseconds
+     */
+    double getMaxAppendLatencyMillis();
+
+    /**
+     * Returns the mean number of events appended in a single append operation.
+     *
+     * @return the mean append batch size
+     */
+    double getMeanAppendBatchSize();
+
+    /**
+     * Returns the 99th percentile of the number of events appended in a single append operation.
+     *
+     * @return the 99th percentile append batch size
+     */
+    long getPercentile99AppendBatchSize();
+
+    /**
+     * Returns the highest number of events appended in a single append operation.
+     *
+     * @return the highest append batch size
+     */
+    long getMaxAppendBatchSize();
+
+    /**
+     * Returns the number of event streams opened for reading since creation or the last reset.
+     *
+     * @return the number of read operations
+     */
+    long getReadCount();
+
+    /**
+     * Returns the median latency of opening an event stream for reading, including the retrieval of the snapshot and
+     * the first batch of events.
+     *
+     * @return the median read latency, in milliseconds
+     */
+    double getMedianReadLatencyMillis();
+
+    /**
+     * Returns the 99th percentile latency of opening an event stream for reading.
+     *
+     * @return the 99th percentile read latency, in milliseconds
+     */
+    double getPercentile99ReadLatencyMillis();
+
+    /**
+     * Returns the highest latency of opening an event stream for reading.
+     *
+     * @return the highest read latency, in milliseconds
+     */
+    double getMaxReadLatencyMillis();
+
+    /**
+     * Returns the latency of append operations at the given <code>percentile</code>.
+     *
+     * @param percentile The percentile, between 0 and 100
+     * @return the append latency at the given percentile, in milliseconds
+     */
+    double getAppendLatencyMillisAtPercentile(double percentile);
+
+    /**
+     * Returns the latency of opening an event stream for reading at the given <code>percentile</code>. Batches
+     * fetched after the first one are not included.
+     *
+     * @param percentile The percentile, between 0 and 100
+     * @return the read latency at the given percentile, in milliseconds
+     */
+    double getReadLatencyMillisAtPercentile(double percentile);
+
+    /**
+     * Clears all recorded measurements.
+     */
+    void reset();
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.eventstore;
+
+/**
+ * Interface implemented by Event Stores that can indicate whether the event streams they return may be read ahead,
+ * in a thread other than the one that opened them. This is used by the {@link
+ * org.axonframework.eventsourcing.EventSourcingRepository} to decide whether to prefetch events in a separate thread.
+ *
+ * @author agent
+ * @since 2.4
+ */
+public interface ReadAheadSupport {
+
+    /**
+     * Indicates whether the event streams returned by this Event Store may be consumed by a thread other than the one
+     * that opened them, while the thread that opened them continues its work.
+     *
+     * @return <code>true</code> if event streams may be read in another thread, otherwise <code>false</code>
+     */
+    boolean isReadAheadSupported();
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.eventstore;
+
+import org.axonframework.domain.DomainEventMessage;
+
+/**
+ * A Domain Event Message together with its position in the global sequence of events of a {@link
+ * TrackingEventStore}.
+ *
+ * @author agent
+ * @since 2.4
+ */
+public class TrackedEvent {
+
+    private final long globalIndex;
+    private final DomainEventMessage<?> message;
+
+    /**
+     * Initializes a TrackedEvent for given <code>message</code>, stored at given <code>globalIndex</code>.
+     *
+     * @param globalIndex The position of the event in the global sequence of events
+     * @param message     The event message
+     */
+    public TrackedEvent(long globalIndex, DomainEventMessage<?> message) {
+        this.globalIndex = globalIndex;
+        this.message = message;
+    }
+
+    /**
+     * Returns the position of the event in the global sequence of events.
+     *
+     * @return the position of the event in the global sequence of events
+     */
+    public long getGlobalIndex() {
+        return globalIndex;
+    }
+
+    /**
+     * Returns the event message.
+     *
+     * @return the event message
+     */
+    public DomainEventMessage<?> getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return "TrackedEvent{globalIndex=" + globalIndex + ", message=" + message + '}';
+    }
+}
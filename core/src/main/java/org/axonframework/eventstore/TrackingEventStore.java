@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.eventstore;
+
+import java.util.List;
+
+/**
+ * Interface implemented by Event Stores that assign each stored event a position in a global sequence of events. This
+ * allows components to read all events in the order in which they were stored, and to resume reading from a
+ * previously recorded position.
+ * <p/>
+ * The global index increases monotonically with each stored event, but may contain gaps. These gaps may be caused by
+ * transactions that were rolled back, or by transactions that have not been committed yet at the time of reading.
+ *
+ * @author agent
+ * @see org.axonframework.eventhandling.tracking.TrackingEventProcessor
+ * @since 2.4
+ */
+public interface TrackingEventStore {
+
+    /**
+     * Returns at most <code>maxEntries</code> events that have been stored after the event with given
+     * <code>lastGlobalIndex</code>, ordered by their global index. Use <code>-1</code> to read from the start of the
+     * Event Store.
+     * <p/>
+     * Note that a single stored entry may be upcast into multiple events. In that case, each of these events is
+     * returned with the global index of that entry, and the number of returned events may exceed
+     * <code>maxEntries</code>.
+     *
+     * @param lastGlobalIndex The global index of the last event that should not be returned
+     * @param maxEntries      The maximum number of stored entries to read
+     * @return a list of events, ordered by their global index
+     */
+    List<TrackedEvent> readEvents(long lastGlobalIndex, int maxEntries);
+}
@@ -23,6 +23,7 @@ import org.axonframework.domain.DomainEventStream;
 import org.axonframework.eventstore.EventStore;
 import org.axonframework.eventstore.EventStoreException;
 import org.axonframework.eventstore.EventStreamNotFoundException;
+import org.axonframework.eventstore.ReadAheadSupport;
 import org.axonframework.eventstore.SnapshotEventStore;
 import org.axonframework.repository.ConflictingModificationException;
 import org.axonframework.serializer.Serializer;
@@ -53,7 +54,7 @@ import java.io.SequenceInputStream;
  * @author Frank Versnel
  * @since 0.5
  */
-public class FileSystemEventStore implements EventStore, SnapshotEventStore, UpcasterAware {
+public class FileSystemEventStore implements EventStore, SnapshotEventStore, UpcasterAware, ReadAheadSupport {
 
     private final Serializer eventSerializer;
     private final EventFileResolver eventFileResolver;
@@ -204,4 +205,16 @@ public class FileSystemEventStore implements EventStore, SnapshotEventStore, Upc
     public void setUpcasterChain(UpcasterChain upcasterChain) {
         this.upcasterChain = upcasterChain;
     }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * Each event stream reads from its own input stream, meaning they may always be read in another thread.
+     *
+     * @return <code>true</code>
+     */
+    @Override
+    public boolean isReadAheadSupported() {
+        return true;
+    }
 }
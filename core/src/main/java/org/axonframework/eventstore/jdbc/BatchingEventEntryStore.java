@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.eventstore.jdbc;
+
+import org.axonframework.serializer.SerializedDomainEventData;
+
+import java.util.List;
+
+/**
+ * EventEntryStore that is able to store a number of events at once. The {@link JdbcEventStore} uses this ability
+ * when it is available, and stores events one at a time otherwise.
+ *
+ * @param <T> The type used when storing serialized data
+ * @author agent
+ * @since 2.4
+ */
+public interface BatchingEventEntryStore<T> extends EventEntryStore<T> {
+
+    /**
+     * Stores the given <code>entries</code> in the Event Store, preferably using a single round-trip to the backing
+     * data store. The entries are stored in the order given.
+     *
+     * @param aggregateType The type identifier of the aggregate that generated the events
+     * @param entries       The serialized representations of the events to store
+     */
+    void persistEvents(String aggregateType, List<? extends SerializedDomainEventData<T>> entries);
+}
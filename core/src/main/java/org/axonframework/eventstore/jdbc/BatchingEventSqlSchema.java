@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.eventstore.jdbc;
+
+import org.axonframework.serializer.SerializedDomainEventData;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * EventSqlSchema that is able to create a statement inserting a number of events at once. The {@link
+ * DefaultEventEntryStore} uses this ability when it is available, and inserts events one at a time otherwise.
+ *
+ * @param <T> The type used when storing serialized data
+ * @author agent
+ * @since 2.4
+ */
+public interface BatchingEventSqlSchema<T> extends EventSqlSchema<T> {
+
+    /**
+     * Creates the PreparedStatement for inserting a batch of DomainEvents in the Event Store. The returned statement
+     * is executed using {@link java.sql.PreparedStatement#executeBatch()}. Implementations may either add a batch
+     * entry for each of the given <code>entries</code>, or add a single multi-row insert if the database supports it.
+     *
+     * @param connection    The connection to create the PreparedStatement for
+     * @param aggregateType The type identifier of the aggregate the events belong to
+     * @param entries       The serialized events to insert, in the order they should be inserted
+     * @return a PreparedStatement with all parameters set and batches added
+     *
+     * @throws SQLException when an exception occurs while creating the prepared statement
+     */
+    PreparedStatement sql_insertDomainEventEntries(Connection connection, String aggregateType,
+                                                   List<? extends SerializedDomainEventData<T>> entries)
+            throws SQLException;
+}
@@ -25,6 +25,7 @@ import org.axonframework.domain.DomainEventMessage;
 import org.axonframework.eventstore.EventStoreException;
 import org.axonframework.serializer.SerializedDomainEventData;
 import org.axonframework.serializer.SerializedObject;
+import org.axonframework.serializer.SerializedTrackedEventData;
 
 import java.io.Closeable;
 import java.io.IOException;
@@ -51,7 +52,7 @@ import static org.axonframework.common.jdbc.JdbcUtils.closeQuietly;
  * @author Knut-Olav Hoven
  * @since 2.2
  */
-public class DefaultEventEntryStore<T> implements EventEntryStore<T> {
+public class DefaultEventEntryStore<T> implements BatchingEventEntryStore<T>, TrackingEventEntryStore<T> {
 
     private final ConnectionProvider connectionProvider;
 
@@ -114,6 +115,34 @@ public class DefaultEventEntryStore<T> implements EventEntryStore<T> {
         }
     }
 
+    @Override
+    public List<SerializedTrackedEventData<T>> fetchFromGlobalIndex(long lastGlobalIndex, int maxEntries) {
+        if (!(sqlSchema instanceof TrackingEventSqlSchema)) {
+            throw new IllegalStateException("The EventSqlSchema does not support reading events by their global "
+                                                    + "index. Configure a TrackingEventSqlSchema, such as the "
+                                                    + "HsqlEventSqlSchema or PostgresEventSqlSchema, to use this "
+                                                    + "feature.");
+        }
+        TrackingEventSqlSchema<T> trackingSchema = (TrackingEventSqlSchema<T>) sqlSchema;
+        ResultSet result = null;
+        Connection connection = null;
+        try {
+            connection = connectionProvider.getConnection();
+            result = trackingSchema.sql_fetchFromGlobalIndex(connection, lastGlobalIndex, maxEntries).executeQuery();
+            List<SerializedTrackedEventData<T>> entries = new ArrayList<SerializedTrackedEventData<T>>();
+            while (result.next() && entries.size() < maxEntries) {
+                entries.add(trackingSchema.createSerializedTrackedEventData(result));
+            }
+            return entries;
+        } catch (SQLException e) {
+            throw new EventStoreException("Exception while attempting to fetch events after global index "
+                                                  + lastGlobalIndex, e);
+        } finally {
+            closeQuietly(result);
+            closeQuietly(connection);
+        }
+    }
+
     @Override
     public Iterator<SerializedDomainEventData<T>> fetchFiltered(String whereClause, List<Object> parameters,
                                                                 int batchSize) {
@@ -185,6 +214,38 @@ public class DefaultEventEntryStore<T> implements EventEntryStore<T> {
         }
     }
 
+    @Override
+    public void persistEvents(String aggregateType, List<? extends SerializedDomainEventData<T>> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        PreparedStatement preparedStatement = null;
+        Connection connection = null;
+        try {
+            connection = connectionProvider.getConnection();
+            if (sqlSchema instanceof BatchingEventSqlSchema) {
+                preparedStatement = ((BatchingEventSqlSchema<T>) sqlSchema)
+                        .sql_insertDomainEventEntries(connection, aggregateType, entries);
+                preparedStatement.executeBatch();
+            } else {
+                for (SerializedDomainEventData<T> entry : entries) {
+                    preparedStatement = sqlSchema.sql_insertDomainEventEntry(
+                            connection, entry.getEventIdentifier(), entry.getAggregateIdentifier().toString(),
+                            entry.getSequenceNumber(), entry.getTimestamp(), entry.getPayload().getType().getName(),
+                            entry.getPayload().getType().getRevision(), entry.getPayload().getData(),
+                            entry.getMetaData().getData(), aggregateType);
+                    preparedStatement.executeUpdate();
+                    closeQuietly(preparedStatement);
+                }
+            }
+        } catch (SQLException e) {
+            throw new EventStoreException("Exception occurred while attempting to persist a batch of events", e);
+        } finally {
+            closeQuietly(preparedStatement);
+            closeQuietly(connection);
+        }
+    }
+
 
     @Override
     public void pruneSnapshots(String type, DomainEventMessage mostRecentSnapshotEvent, int maxSnapshotsArchived) {
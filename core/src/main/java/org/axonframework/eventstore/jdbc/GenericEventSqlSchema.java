@@ -16,7 +16,9 @@
 package org.axonframework.eventstore.jdbc;
 
 import org.axonframework.eventstore.jpa.SimpleSerializedDomainEventData;
+import org.axonframework.eventstore.jpa.SimpleSerializedTrackedEventData;
 import org.axonframework.serializer.SerializedDomainEventData;
+import org.axonframework.serializer.SerializedTrackedEventData;
 import org.joda.time.DateTime;
 import org.joda.time.format.DateTimeFormatter;
 import org.joda.time.format.ISODateTimeFormat;
@@ -25,21 +27,49 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.List;
 
 /**
+ * Implementation of the EventSqlSchema that uses SQL which is understood by most databases.
+ * <p/>
+ * The domain event entry table created by this schema has no <code>globalIndex</code> column, as there is no portable
+ * way to have the database generate its values. This schema therefore doesn't implement {@link
+ * TrackingEventSqlSchema}, which is required to read events by their global index, for example by a {@link
+ * org.axonframework.eventhandling.tracking.TrackingEventProcessor}. Use a schema for a specific database that does,
+ * such as the {@link PostgresEventSqlSchema} or {@link HsqlEventSqlSchema}. For other databases, create a subclass
+ * that implements TrackingEventSqlSchema and overrides {@link #sql_createDomainEventEntryTable(java.sql.Connection)}
+ * to add the column. On MySQL, for example, the column is defined as <code>globalIndex bigint not null
+ * auto_increment unique</code>.
+ *
  * @param <T> The type used when storing serialized data
  * @author Allard Buijze
  * @author Kristian Rosenvold
  * @since 2.2
  */
 @SuppressWarnings("JpaQueryApiInspection")
-public class GenericEventSqlSchema<T> implements EventSqlSchema<T> {
+public class GenericEventSqlSchema<T> implements BatchingEventSqlSchema<T> {
 
     private static final DateTimeFormatter UTC_FORMATTER = ISODateTimeFormat.dateTime().withZoneUTC();
 
     private static final String STD_FIELDS = "eventIdentifier, aggregateIdentifier, sequenceNumber, timeStamp, "
             + "payloadType, payloadRevision, payload, metaData";
 
+    /**
+     * The columns set when inserting an entry, in the order in which their parameters are set.
+     */
+    protected static final String INSERT_FIELDS = "eventIdentifier, type, aggregateIdentifier, sequenceNumber, "
+            + "timeStamp, payloadType, payloadRevision, payload, metaData";
+
+    /**
+     * The placeholders for a single row of values of an insert statement.
+     */
+    protected static final String INSERT_VALUES = "(?,?,?,?,?,?,?,?,?)";
+
+    /**
+     * The number of parameters set for each row in an insert statement.
+     */
+    protected static final int INSERT_PARAMETER_COUNT = 9;
+
     private final Class<T> dataType;
 
     private boolean forceUtc = false;
@@ -162,22 +192,80 @@ public class GenericEventSqlSchema<T> implements EventSqlSchema<T> {
                                                    String eventRevision,
                                                    T eventPayload, T eventMetaData, String aggregateType)
             throws SQLException {
-        final String sql = "INSERT INTO " + tableName
-                + " (eventIdentifier, type, aggregateIdentifier, sequenceNumber, timeStamp, payloadType, "
-                + "payloadRevision, payload, metaData) VALUES (?,?,?,?,?,?,?,?,?)";
+        final String sql = "INSERT INTO " + tableName + " (" + INSERT_FIELDS + ") VALUES " + INSERT_VALUES;
         PreparedStatement preparedStatement = connection.prepareStatement(sql); // NOSONAR
-        preparedStatement.setString(1, eventIdentifier);
-        preparedStatement.setString(2, aggregateType);
-        preparedStatement.setString(3, aggregateIdentifier);
-        preparedStatement.setLong(4, sequenceNumber);
-        preparedStatement.setString(5, sql_dateTime(timestamp));
-        preparedStatement.setString(6, eventType);
-        preparedStatement.setString(7, eventRevision);
-        preparedStatement.setObject(8, eventPayload);
-        preparedStatement.setObject(9, eventMetaData);
+        setInsertParameters(preparedStatement, 0, eventIdentifier, aggregateType, aggregateIdentifier, sequenceNumber,
+                            timestamp, eventType, eventRevision, eventPayload, eventMetaData);
         return preparedStatement;
     }
 
+    @Override
+    public PreparedStatement sql_insertDomainEventEntries(Connection connection, String aggregateType,
+                                                          List<? extends SerializedDomainEventData<T>> entries)
+            throws SQLException {
+        final String sql = "INSERT INTO " + schemaConfiguration.domainEventEntryTable()
+                + " (" + INSERT_FIELDS + ") VALUES " + INSERT_VALUES;
+        PreparedStatement preparedStatement = connection.prepareStatement(sql); // NOSONAR
+        for (SerializedDomainEventData<T> entry : entries) {
+            setInsertParameters(preparedStatement, 0, aggregateType, entry);
+            preparedStatement.addBatch();
+        }
+        return preparedStatement;
+    }
+
+    /**
+     * Sets the parameters for inserting the given <code>entry</code> of given <code>aggregateType</code> on the given
+     * <code>preparedStatement</code>, starting after the given <code>offset</code>. This allows implementations to
+     * insert multiple rows using a single statement.
+     *
+     * @param preparedStatement The statement to set the parameters on
+     * @param offset            The number of parameters preceding the ones of this entry
+     * @param aggregateType     The type identifier of the aggregate the event belongs to
+     * @param entry             The serialized event to insert
+     * @throws SQLException when an exception occurs setting the parameters
+     */
+    protected void setInsertParameters(PreparedStatement preparedStatement, int offset, String aggregateType,
+                                       SerializedDomainEventData<T> entry) throws SQLException {
+        setInsertParameters(preparedStatement, offset, entry.getEventIdentifier(), aggregateType,
+                            entry.getAggregateIdentifier().toString(), entry.getSequenceNumber(),
+                            entry.getTimestamp(), entry.getPayload().getType().getName(),
+                            entry.getPayload().getType().getRevision(), entry.getPayload().getData(),
+                            entry.getMetaData().getData());
+    }
+
+    /**
+     * Sets the parameters for inserting an entry with given attributes on the given <code>preparedStatement</code>,
+     * starting after the given <code>offset</code>. The parameters are set in the order of the columns in {@link
+     * #INSERT_FIELDS}.
+     *
+     * @param preparedStatement   The statement to set the parameters on
+     * @param offset              The number of parameters preceding the ones of this entry
+     * @param eventIdentifier     The unique identifier of the event
+     * @param aggregateType       The type identifier of the aggregate the event belongs to
+     * @param aggregateIdentifier The identifier of the aggregate that generated the event
+     * @param sequenceNumber      The sequence number of the event
+     * @param timestamp           The time at which the Event Message was generated
+     * @param eventType           The type identifier of the serialized event
+     * @param eventRevision       The revision of the serialized event
+     * @param eventPayload        The serialized payload of the Event
+     * @param eventMetaData       The serialized meta data of the event
+     * @throws SQLException when an exception occurs setting the parameters
+     */
+    protected void setInsertParameters(PreparedStatement preparedStatement, int offset, String eventIdentifier,
+                                       String aggregateType, String aggregateIdentifier, long sequenceNumber,
+                                       DateTime timestamp, String eventType, String eventRevision,
+                                       T eventPayload, T eventMetaData) throws SQLException {
+        preparedStatement.setString(offset + 1, eventIdentifier);
+        preparedStatement.setString(offset + 2, aggregateType);
+        preparedStatement.setString(offset + 3, aggregateIdentifier);
+        preparedStatement.setLong(offset + 4, sequenceNumber);
+        preparedStatement.setString(offset + 5, sql_dateTime(timestamp));
+        preparedStatement.setString(offset + 6, eventType);
+        preparedStatement.setString(offset + 7, eventRevision);
+        preparedStatement.setObject(offset + 8, eventPayload);
+        preparedStatement.setObject(offset + 9, eventMetaData);
+    }
+
     @Override
     public PreparedStatement sql_pruneSnapshots(Connection connection, String type, Object aggregateIdentifier,
                                                 long sequenceOfFirstSnapshotToPrune) throws SQLException {
@@ -239,6 +327,32 @@ public class GenericEventSqlSchema<T> implements EventSqlSchema<T> {
         return preparedStatement;
     }
 
+    /**
+     * Creates the PreparedStatement for fetching entries with a global index higher than the given
+     * <code>lastGlobalIndex</code>, for subclasses that implement {@link TrackingEventSqlSchema}. The statement
+     * requires the domain event entry table to have a <code>globalIndex</code> column, which the table created by
+     * this schema doesn't have.
+     *
+     * @param connection      The connection that the statement should be created for
+     * @param lastGlobalIndex The global index of the last entry that should not be returned
+     * @param maxEntries      The maximum number of entries to return
+     * @return a prepared statement that fetches the entries
+     *
+     * @throws SQLException when an error occurs creating the PreparedStatement
+     * @see TrackingEventSqlSchema#sql_fetchFromGlobalIndex(java.sql.Connection, long, int)
+     */
+    public PreparedStatement sql_fetchFromGlobalIndex(Connection connection, long lastGlobalIndex, int maxEntries)
+            throws SQLException {
+        final String sql = "SELECT " + STD_FIELDS + ", globalIndex FROM " + schemaConfiguration.domainEventEntryTable()
+                + " WHERE globalIndex > ?"
+                + " ORDER BY globalIndex ASC";
+        PreparedStatement preparedStatement = connection.prepareStatement(sql);
+        preparedStatement.setLong(1, lastGlobalIndex);
+        preparedStatement.setMaxRows(maxEntries);
+        preparedStatement.setFetchSize(maxEntries);
+        return preparedStatement;
+    }
+
     /**
      * Reads a timestamp from the given <code>resultSet</code> at given <code>columnIndex</code>. The resultSet is
      * positioned in the row that contains the data. This method must not change the row in the result set.
@@ -312,6 +426,25 @@ public class GenericEventSqlSchema<T> implements EventSqlSchema<T> {
                 readPayload(resultSet, 8));
     }
 
+    /**
+     * Reads the current entry of the ResultSet, as returned by {@link #sql_fetchFromGlobalIndex(java.sql.Connection,
+     * long, int)}, into a SerializedTrackedEventData, for subclasses that implement {@link TrackingEventSqlSchema}.
+     *
+     * @param resultSet The result set returned from executing the fetch from global index statement
+     * @return a single SerializedTrackedEventData instance
+     *
+     * @throws SQLException when an exception occurs while reading from the result set
+     * @see TrackingEventSqlSchema#createSerializedTrackedEventData(java.sql.ResultSet)
+     */
+    public SerializedTrackedEventData<T> createSerializedTrackedEventData(ResultSet resultSet) throws SQLException {
+        return new SimpleSerializedTrackedEventData<T>(resultSet.getString(1), resultSet.getString(2),
+                resultSet.getLong(3), readTimeStamp(resultSet, 4),
+                resultSet.getString(5), resultSet.getString(6),
+                readPayload(resultSet, 7),
+                readPayload(resultSet, 8),
+                resultSet.getLong(9));
+    }
+
     @Override
     public String sql_dateTime(DateTime input) {
         if (forceUtc) {
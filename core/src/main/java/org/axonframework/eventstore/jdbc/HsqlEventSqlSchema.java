@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.eventstore.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * SQL schema supporting HSQLDB databases.
+ * <p/>
+ * The difference to the GenericEventSqlSchema is that the domain event entry table contains a
+ * <code>globalIndex</code> identity column, which allows events to be read by their global index.
+ *
+ * @param <T> The type used when storing serialized data
+ * @author agent
+ * @since 2.4
+ */
+public class HsqlEventSqlSchema<T> extends GenericEventSqlSchema<T> implements TrackingEventSqlSchema<T> {
+
+    /**
+     * Initialize a HsqlEventSqlSchema using default settings.
+     * <p/>
+     * Serialized data is stored as byte arrays. Data is stored in a default SchemaConfiguration.
+     */
+    public HsqlEventSqlSchema() {
+    }
+
+    /**
+     * Initialize a HsqlEventSqlSchema, storing serialized data in the given <code>dataType</code>, in tables
+     * defined by a default SchemaConfiguration.
+     *
+     * @param dataType The type to use when storing serialized data
+     */
+    public HsqlEventSqlSchema(Class<T> dataType) {
+        super(dataType);
+    }
+
+    /**
+     * Initialize a HsqlEventSqlSchema, storing serialized data in the given <code>dataType</code>, in tables
+     * defined by the given <code>schemaConfiguration</code>.
+     *
+     * @param dataType            The type to use when storing serialized data
+     * @param schemaConfiguration The configuration for this schema
+     */
+    public HsqlEventSqlSchema(Class<T> dataType, SchemaConfiguration schemaConfiguration) {
+        super(dataType, schemaConfiguration);
+    }
+
+    @Override
+    public PreparedStatement sql_createDomainEventEntryTable(Connection connection) throws SQLException {
+        final String sql = "create table " + schemaConfiguration.domainEventEntryTable() + " (\n" +
+                "        aggregateIdentifier varchar(255) not null,\n" +
+                "        sequenceNumber bigint not null,\n" +
+                "        type varchar(255) not null,\n" +
+                "        eventIdentifier varchar(255) not null,\n" +
+                "        metaData blob,\n" +
+                "        payload blob not null,\n" +
+                "        payloadRevision varchar(255),\n" +
+                "        payloadType varchar(255) not null,\n" +
+                "        timeStamp varchar(255) not null,\n" +
+                "        globalIndex bigint generated by default as identity (start with 1) not null,\n" +
+                "        primary key (aggregateIdentifier, sequenceNumber, type),\n" +
+                "        unique (globalIndex)\n" +
+                "    );\n";
+        return connection.prepareStatement(sql);
+    }
+}
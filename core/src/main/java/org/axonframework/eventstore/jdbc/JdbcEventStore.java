@@ -25,20 +25,27 @@ import org.axonframework.common.jdbc.UnitOfWorkAwareConnectionProviderWrapper;
 import org.axonframework.domain.DomainEventMessage;
 import org.axonframework.domain.DomainEventStream;
 import org.axonframework.domain.GenericDomainEventMessage;
+import org.axonframework.eventstore.EventStoreStatistics;
 import org.axonframework.eventstore.EventStreamNotFoundException;
 import org.axonframework.eventstore.EventVisitor;
 import org.axonframework.eventstore.PartialStreamSupport;
+import org.axonframework.eventstore.ReadAheadSupport;
 import org.axonframework.eventstore.SnapshotEventStore;
+import org.axonframework.eventstore.TrackedEvent;
+import org.axonframework.eventstore.TrackingEventStore;
 import org.axonframework.eventstore.jdbc.criteria.JdbcCriteria;
 import org.axonframework.eventstore.jdbc.criteria.JdbcCriteriaBuilder;
 import org.axonframework.eventstore.jdbc.criteria.ParameterRegistry;
+import org.axonframework.eventstore.jpa.SimpleSerializedDomainEventData;
 import org.axonframework.eventstore.management.Criteria;
 import org.axonframework.eventstore.management.CriteriaBuilder;
 import org.axonframework.eventstore.management.EventStoreManagement;
+import org.axonframework.monitoring.MonitorRegistry;
 import org.axonframework.repository.ConcurrencyException;
 import org.axonframework.serializer.MessageSerializer;
 import org.axonframework.serializer.SerializedDomainEventData;
 import org.axonframework.serializer.SerializedObject;
+import org.axonframework.serializer.SerializedTrackedEventData;
 import org.axonframework.serializer.Serializer;
 import org.axonframework.serializer.xml.XStreamSerializer;
 import org.axonframework.upcasting.SimpleUpcasterChain;
@@ -49,6 +56,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -75,7 +83,8 @@ import static org.axonframework.upcasting.UpcastUtils.upcastAndDeserialize;
  * @author Kristian Rosenvold
  * @since 2.1
  */
-public class JdbcEventStore implements SnapshotEventStore, EventStoreManagement, UpcasterAware, PartialStreamSupport {
+public class JdbcEventStore implements SnapshotEventStore, EventStoreManagement, UpcasterAware, PartialStreamSupport,
+        TrackingEventStore, ReadAheadSupport {
 
     private static final Logger logger = LoggerFactory.getLogger(JdbcEventStore.class);
 
@@ -90,6 +99,8 @@ public class JdbcEventStore implements SnapshotEventStore, EventStoreManagement,
     private UpcasterChain upcasterChain = SimpleUpcasterChain.EMPTY;
     private int maxSnapshotsArchived = DEFAULT_MAX_SNAPSHOTS_ARCHIVED;
     private PersistenceExceptionResolver persistenceExceptionResolver;
+    private boolean readAheadSupported = false;
+    private final EventStoreStatistics statistics = new EventStoreStatistics();
 
     /**
      * Initializes a JdbcEventStore using the given <code>eventEntryStore</code> and <code>serializer</code>.
@@ -103,6 +114,7 @@ public class JdbcEventStore implements SnapshotEventStore, EventStoreManagement,
         this.persistenceExceptionResolver = new JdbcSQLErrorCodesResolver();
         this.serializer = new MessageSerializer(serializer);
         this.eventEntryStore = eventEntryStore;
+        MonitorRegistry.registerMonitoringBean(statistics, JdbcEventStore.class);
     }
 
     /**
@@ -144,19 +156,46 @@ public class JdbcEventStore implements SnapshotEventStore, EventStoreManagement,
 
     /**
      * {@inheritDoc}
+     * <p/>
+     * The events are serialized and handed to the EventEntryStore in batches of at most the configured {@link
+     * #setBatchSize(int) batch size}, allowing them to be stored using a single round-trip per batch. When the
+     * EventEntryStore is not a {@link BatchingEventEntryStore}, events are stored one at a time instead.
      */
     @SuppressWarnings("unchecked")
     @Override
     public void appendEvents(String type, DomainEventStream events) {
-        DomainEventMessage event = null;
+        final Class dataType = eventEntryStore.getDataType();
+        final List<DomainEventMessage> messages = new ArrayList<DomainEventMessage>();
+        final List<SerializedDomainEventData> entries = new ArrayList<SerializedDomainEventData>();
+        DomainEventMessage firstEvent = null;
+        long startTime = System.nanoTime();
+        int eventCount = 0;
         try {
             while (events.hasNext()) {
-                event = events.next();
+                DomainEventMessage event = events.next();
+                eventCount++;
+                if (firstEvent == null) {
+                    firstEvent = event;
+                }
                 validateIdentifier(event.getAggregateIdentifier().getClass());
-                final Class dataType = eventEntryStore.getDataType();
                 SerializedObject serializedPayload = serializer.serializePayload(event, dataType);
                 SerializedObject serializedMetaData = serializer.serializeMetaData(event, dataType);
-                eventEntryStore.persistEvent(type, event, serializedPayload, serializedMetaData);
+                messages.add(event);
+                entries.add(new SimpleSerializedDomainEventData(event.getIdentifier(),
+                                                                event.getAggregateIdentifier().toString(),
+                                                                event.getSequenceNumber(),
+                                                                event.getTimestamp(),
+                                                                serializedPayload,
+                                                                serializedMetaData));
+                if (entries.size() >= batchSize) {
+                    persistEntries(type, messages, entries);
+                    messages.clear();
+                    entries.clear();
+                    firstEvent = null;
+                }
+            }
+            if (!entries.isEmpty()) {
+                persistEntries(type, messages, entries);
             }
         } catch (RuntimeException exception) {
             if (persistenceExceptionResolver != null
@@ -164,12 +203,28 @@ public class JdbcEventStore implements SnapshotEventStore, EventStoreManagement,
                 //noinspection ConstantConditions
                 throw new ConcurrencyException(
                         String.format("Concurrent modification detected for Aggregate identifier [%s], sequence: [%s]",
-                                      event.getAggregateIdentifier(),
-                                      event.getSequenceNumber()),
+                                      firstEvent.getAggregateIdentifier(),
+                                      firstEvent.getSequenceNumber()),
                         exception
                 );
             }
             throw exception;
+        } finally {
+            statistics.recordAppend(System.nanoTime() - startTime, eventCount);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void persistEntries(String type, List<DomainEventMessage> messages,
+                                List<SerializedDomainEventData> entries) {
+        if (entries.size() > 1 && eventEntryStore instanceof BatchingEventEntryStore) {
+            ((BatchingEventEntryStore<?>) eventEntryStore).persistEvents(type, (List) entries);
+        } else {
+            // a batch of one does not save any round-trips, and not all stores support batches
+            for (int i = 0; i < entries.size(); i++) {
+                SerializedDomainEventData entry = entries.get(i);
+                eventEntryStore.persistEvent(type, messages.get(i), entry.getPayload(), entry.getMetaData());
+            }
         }
     }
 
@@ -179,38 +234,43 @@ public class JdbcEventStore implements SnapshotEventStore, EventStoreManagement,
     @SuppressWarnings({"unchecked"})
     @Override
     public DomainEventStream readEvents(String type, Object identifier) {
-        long snapshotSequenceNumber = -1;
-        SerializedDomainEventData lastSnapshotEvent = eventEntryStore.loadLastSnapshotEvent(type, identifier);
-        DomainEventMessage snapshotEvent = null;
-        if (lastSnapshotEvent != null) {
-            try {
-                snapshotEvent = new GenericDomainEventMessage<Object>(
-                        identifier,
-                        lastSnapshotEvent.getSequenceNumber(),
-                        serializer.deserialize(lastSnapshotEvent.getPayload()),
-                        (Map<String, Object>) serializer.deserialize(lastSnapshotEvent.getMetaData()));
-                snapshotSequenceNumber = snapshotEvent.getSequenceNumber();
-            } catch (RuntimeException ex) {
-                logger.warn("Error while reading snapshot event entry. "
-                                    + "Reconstructing aggregate on entire event stream. Caused by: {} {}",
-                            ex.getClass().getName(),
-                            ex.getMessage()
-                );
-            } catch (LinkageError error) {
-                logger.warn("Error while reading snapshot event entry. "
-                                    + "Reconstructing aggregate on entire event stream. Caused by: {} {}",
-                            error.getClass().getName(),
-                            error.getMessage()
-                );
+        long startTime = System.nanoTime();
+        try {
+            long snapshotSequenceNumber = -1;
+            SerializedDomainEventData lastSnapshotEvent = eventEntryStore.loadLastSnapshotEvent(type, identifier);
+            DomainEventMessage snapshotEvent = null;
+            if (lastSnapshotEvent != null) {
+                try {
+                    snapshotEvent = new GenericDomainEventMessage<Object>(
+                            identifier,
+                            lastSnapshotEvent.getSequenceNumber(),
+                            serializer.deserialize(lastSnapshotEvent.getPayload()),
+                            (Map<String, Object>) serializer.deserialize(lastSnapshotEvent.getMetaData()));
+                    snapshotSequenceNumber = snapshotEvent.getSequenceNumber();
+                } catch (RuntimeException ex) {
+                    logger.warn("Error while reading snapshot event entry. "
+                                        + "Reconstructing aggregate on entire event stream. Caused by: {} {}",
+                                ex.getClass().getName(),
+                                ex.getMessage()
+                    );
+                } catch (LinkageError error) {
+                    logger.warn("Error while reading snapshot event entry. "
+                                        + "Reconstructing aggregate on entire event stream. Caused by: {} {}",
+                                error.getClass().getName(),
+                                error.getMessage()
+                    );
+                }
             }
-        }
 
-        Iterator<? extends SerializedDomainEventData> entries =
-                eventEntryStore.fetchAggregateStream(type, identifier, snapshotSequenceNumber + 1, batchSize);
-        if (snapshotEvent == null && !entries.hasNext()) {
-            throw new EventStreamNotFoundException(type, identifier);
+            Iterator<? extends SerializedDomainEventData> entries =
+                    eventEntryStore.fetchAggregateStream(type, identifier, snapshotSequenceNumber + 1, batchSize);
+            if (snapshotEvent == null && !entries.hasNext()) {
+                throw new EventStreamNotFoundException(type, identifier);
+            }
+            return new IteratorDomainEventStream(snapshotEvent, entries, identifier, false);
+        } finally {
+            statistics.recordRead(System.nanoTime() - startTime);
         }
-        return new IteratorDomainEventStream(snapshotEvent, entries, identifier, false);
     }
 
     @Override
@@ -221,15 +281,18 @@ public class JdbcEventStore implements SnapshotEventStore, EventStoreManagement,
     @Override
     public DomainEventStream readEvents(String type, Object identifier, long firstSequenceNumber,
                                         long lastSequenceNumber) {
-        int minimalBatchSize = (int) Math.min(batchSize, (lastSequenceNumber - firstSequenceNumber) + 2);
-        Iterator<? extends SerializedDomainEventData> entries = eventEntryStore.fetchAggregateStream(type,
-                                                                                                     identifier,
-                                                                                                     firstSequenceNumber,
-                                                                                                     minimalBatchSize);
-        if (!entries.hasNext()) {
-            throw new EventStreamNotFoundException(type, identifier);
+        long startTime = System.nanoTime();
+        try {
+            int minimalBatchSize = (int) Math.min(batchSize, (lastSequenceNumber - firstSequenceNumber) + 2);
+            Iterator<? extends SerializedDomainEventData> entries =
+                    eventEntryStore.fetchAggregateStream(type, identifier, firstSequenceNumber, minimalBatchSize);
+            if (!entries.hasNext()) {
+                throw new EventStreamNotFoundException(type, identifier);
+            }
+            return new IteratorDomainEventStream(null, entries, identifier, lastSequenceNumber, false);
+        } finally {
+            statistics.recordRead(System.nanoTime() - startTime);
         }
-        return new IteratorDomainEventStream(null, entries, identifier, lastSequenceNumber, false);
     }
 
     /**
@@ -279,6 +342,30 @@ public class JdbcEventStore implements SnapshotEventStore, EventStoreManagement,
         doVisitEvents(visitor, sb.toString(), parameters.getParameters());
     }
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * This operation requires the configured EventEntryStore to be a {@link TrackingEventEntryStore}.
+     *
+     * @throws IllegalStateException if the EventEntryStore does not support reading events by their global index
+     */
+    @Override
+    public List<TrackedEvent> readEvents(long lastGlobalIndex, int maxEntries) {
+        if (!(eventEntryStore instanceof TrackingEventEntryStore)) {
+            throw new IllegalStateException("The EventEntryStore does not support reading events by their global "
+                                                    + "index. Configure a TrackingEventEntryStore to use this feature.");
+        }
+        List<? extends SerializedTrackedEventData<?>> entries =
+                ((TrackingEventEntryStore<?>) eventEntryStore).fetchFromGlobalIndex(lastGlobalIndex, maxEntries);
+        List<TrackedEvent> events = new ArrayList<TrackedEvent>(entries.size());
+        for (SerializedTrackedEventData<?> entry : entries) {
+            for (DomainEventMessage message : upcastAndDeserialize(entry, null, serializer, upcasterChain, true)) {
+                events.add(new TrackedEvent(entry.getGlobalIndex(), message));
+            }
+        }
+        return events;
+    }
+
     @Override
     public CriteriaBuilder newCriteriaBuilder() {
         return criteriaBuilder;
@@ -313,6 +400,8 @@ public class JdbcEventStore implements SnapshotEventStore, EventStoreManagement,
      * Sets the number of events that should be read at each database access. When more than this number of events must
      * be read to rebuild an aggregate's state, the events are read in batches of this size. Defaults to 100.
      * <p/>
+     * The same number is used as the maximum number of events to insert in a single batch when appending events.
+     * <p/>
      * Tip: if you use a snapshotter, make sure to choose snapshot trigger and batch size such that a single batch will
      * generally retrieve all events required to rebuild an aggregate's state.
      *
@@ -327,6 +416,28 @@ public class JdbcEventStore implements SnapshotEventStore, EventStoreManagement,
         this.upcasterChain = upcasterChain;
     }
 
+    /**
+     * Sets whether the event streams returned by this Event Store may be read in a thread other than the one that
+     * opened them. Event streams keep using the connection they were opened with to read subsequent batches of
+     * events. Only enable this when the ConnectionProvider returns a new connection on each invocation, such as the
+     * {@link org.axonframework.common.jdbc.DataSourceConnectionProvider}. Connections bound to the Unit of Work (see
+     * {@link org.axonframework.common.jdbc.UnitOfWorkAwareConnectionProviderWrapper}) or to a Spring managed
+     * transaction are used by the thread that opened the stream as well, and must not be shared between threads.
+     * <p/>
+     * Defaults to <code>false</code>.
+     *
+     * @param readAheadSupported whether event streams may be read in another thread
+     * @see org.axonframework.eventsourcing.EventSourcingRepository#setPrefetchExecutor(java.util.concurrent.Executor)
+     */
+    public void setReadAheadSupported(boolean readAheadSupported) {
+        this.readAheadSupported = readAheadSupported;
+    }
+
+    @Override
+    public boolean isReadAheadSupported() {
+        return readAheadSupported;
+    }
+
     /**
      * Sets the maximum number of snapshots to archive for an aggregate. The EventStore will keep at most this number
      * of
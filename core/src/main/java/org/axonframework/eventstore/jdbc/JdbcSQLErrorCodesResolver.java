@@ -19,16 +19,24 @@ package org.axonframework.eventstore.jdbc;
 
 import org.axonframework.common.jdbc.PersistenceExceptionResolver;
 
+import java.sql.BatchUpdateException;
+import java.sql.SQLException;
+
 /**
  * SQLErrorCodesResolver is an implementation of PersistenceExceptionResolver used to resolve sql error codes to see if
  * it is an duplicate key constraint violation.
  * <p/>
+ * Since drivers tend to report failures of batched statements as a generic {@link BatchUpdateException}, these are
+ * considered a duplicate key violation when they carry an integrity constraint violation SQL state (class "23"), or
+ * when one of their chained exceptions is one.
  *
  * @author Kristian Rosenvold
  * @since 2.2
  */
 public class JdbcSQLErrorCodesResolver implements PersistenceExceptionResolver {
 
+    private static final String INTEGRITY_CONSTRAINT_VIOLATION_CLASS = "23";
+
     @Override
     public boolean isDuplicateKeyViolation(Exception exception) {
         return causeIsEntityExistsException(exception);
@@ -36,7 +44,17 @@ public class JdbcSQLErrorCodesResolver implements PersistenceExceptionResolver {
 
     private boolean causeIsEntityExistsException(Throwable exception) {
         return exception instanceof java.sql.SQLIntegrityConstraintViolationException
+                || (exception instanceof BatchUpdateException && isBatchIntegrityViolation((SQLException) exception))
                 || (exception.getCause() != null && causeIsEntityExistsException(exception.getCause()));
     }
 
+    private boolean isBatchIntegrityViolation(SQLException exception) {
+        String sqlState = exception.getSQLState();
+        if (sqlState != null && sqlState.startsWith(INTEGRITY_CONSTRAINT_VIOLATION_CLASS)) {
+            return true;
+        }
+        SQLException next = exception.getNextException();
+        return next != null && next != exception.getCause() && causeIsEntityExistsException(next);
+    }
+
 }
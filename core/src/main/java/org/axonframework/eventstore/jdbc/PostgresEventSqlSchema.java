@@ -1,8 +1,11 @@
 package org.axonframework.eventstore.jdbc;
 
+import org.axonframework.serializer.SerializedDomainEventData;
+
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.List;
 
 /**
  * SQL schema supporting postgres databases.
@@ -10,10 +13,18 @@ import java.sql.SQLException;
  * The difference to the GenericEventSqlSchema is the use of postgres' <code>bytea</code> data type
  * for storing the serialized payload and metaData. A human-readable representation of this data can
  * be accessed by using postgres encode(column, 'escape') function.
+ * <p/>
+ * The domain event entry table has a <code>globalIndex</code> column of type <code>bigserial</code>, which allows
+ * events to be read by their global index.
+ * <p/>
+ * Batches of events are inserted using a single multi-row insert statement.
  *
  * @author Jochen Munz
  */
-public class PostgresEventSqlSchema<T> extends GenericEventSqlSchema<T> {
+public class PostgresEventSqlSchema<T> extends GenericEventSqlSchema<T> implements TrackingEventSqlSchema<T> {
+
+    // postgres allows at most 32767 parameters in a single statement
+    private static final int MAX_ROWS_PER_INSERT = Short.MAX_VALUE / INSERT_PARAMETER_COUNT;
 
     public PostgresEventSqlSchema() {
     }
@@ -55,8 +66,35 @@ public class PostgresEventSqlSchema<T> extends GenericEventSqlSchema<T> {
                 "        payloadRevision varchar(255)," +
                 "        payloadType varchar(255) not null," +
                 "        timeStamp varchar(255) not null," +
-                "        primary key (aggregateIdentifier, sequenceNumber, type)" +
+                "        globalIndex bigserial not null," +
+                "        primary key (aggregateIdentifier, sequenceNumber, type)," +
+                "        unique (globalIndex)" +
                 "    );";
         return connection.prepareStatement(sql);
     }
+
+    @Override
+    public PreparedStatement sql_insertDomainEventEntries(Connection connection, String aggregateType,
+                                                          List<? extends SerializedDomainEventData<T>> entries)
+            throws SQLException {
+        if (entries.size() > MAX_ROWS_PER_INSERT) {
+            return super.sql_insertDomainEventEntries(connection, aggregateType, entries);
+        }
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(schemaConfiguration.domainEventEntryTable())
+                                                             .append(" (").append(INSERT_FIELDS).append(") VALUES ");
+        for (int i = 0; i < entries.size(); i++) {
+            if (i > 0) {
+                sql.append(",");
+            }
+            sql.append(INSERT_VALUES);
+        }
+        PreparedStatement preparedStatement = connection.prepareStatement(sql.toString()); // NOSONAR
+        int offset = 0;
+        for (SerializedDomainEventData<T> entry : entries) {
+            setInsertParameters(preparedStatement, offset, aggregateType, entry);
+            offset += INSERT_PARAMETER_COUNT;
+        }
+        preparedStatement.addBatch();
+        return preparedStatement;
+    }
 }
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.eventstore.jdbc;
+
+import org.axonframework.serializer.SerializedTrackedEventData;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * EventSqlSchema for tables that contain a global index column, which is assigned by the database and increases with
+ * each inserted event. The {@link DefaultEventEntryStore} requires its schema to implement this interface in order to
+ * {@link DefaultEventEntryStore#fetchFromGlobalIndex(long, int) read events by their global index}.
+ *
+ * @param <T> The type used when storing serialized data
+ * @author agent
+ * @since 2.4
+ */
+public interface TrackingEventSqlSchema<T> extends EventSqlSchema<T> {
+
+    /**
+     * Creates a PreparedStatement that fetches at most <code>maxEntries</code> event entries with a global index
+     * higher than the given <code>lastGlobalIndex</code>, ordered by their global index.
+     *
+     * @param connection      The connection to create the PreparedStatement for
+     * @param lastGlobalIndex The global index of the last entry that should not be returned
+     * @param maxEntries      The maximum number of entries to return
+     * @return a PreparedStatement that returns columns that can be converted using {@link
+     * #createSerializedTrackedEventData(java.sql.ResultSet)}
+     *
+     * @throws SQLException when an exception occurs while creating the prepared statement
+     */
+    PreparedStatement sql_fetchFromGlobalIndex(Connection connection, long lastGlobalIndex, int maxEntries)
+            throws SQLException;
+
+    /**
+     * Reads the current entry of the ResultSet, as returned by {@link #sql_fetchFromGlobalIndex(java.sql.Connection,
+     * long, int)}, into a SerializedTrackedEventData.
+     * <p/>
+     * Note: the implementation *must* not change the ResultSet's cursor position.
+     *
+     * @param resultSet The result set returned from executing the fetch from global index statement
+     * @return a single SerializedTrackedEventData instance
+     *
+     * @throws SQLException when an exception occurs while reading from the result set
+     */
+    SerializedTrackedEventData<T> createSerializedTrackedEventData(ResultSet resultSet) throws SQLException;
+}
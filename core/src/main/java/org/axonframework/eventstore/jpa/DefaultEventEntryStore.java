@@ -17,8 +17,10 @@
 package org.axonframework.eventstore.jpa;
 
 import org.axonframework.domain.DomainEventMessage;
+import org.axonframework.eventstore.EventStoreException;
 import org.axonframework.serializer.SerializedDomainEventData;
 import org.axonframework.serializer.SerializedObject;
+import org.axonframework.serializer.SerializedTrackedEventData;
 import org.joda.time.DateTime;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,6 +31,7 @@ import java.util.List;
 import java.util.Map;
 import javax.persistence.EntityManager;
 import javax.persistence.Query;
+import javax.persistence.TransactionRequiredException;
 
 /**
  * Implementation of the EventEntryStore that stores events in DomainEventEntry entities and snapshot events in
@@ -44,11 +47,14 @@ import javax.persistence.Query;
  * @author Allard Buijze
  * @since 1.2
  */
-public class DefaultEventEntryStore<T> implements EventEntryStore<T> {
+public class DefaultEventEntryStore<T> implements TrackingEventEntryStore<T> {
 
     private static final Logger logger = LoggerFactory.getLogger(DefaultEventEntryStore.class);
 
     private final EventEntryFactory<T> eventEntryFactory;
+    private boolean clearBetweenBatches = false;
+    private boolean batchByGlobalIndex = false;
+    private volatile boolean globalIndexAssigned = false;
 
     /**
      * Initialize the Event Entry Store, storing timestamps in the system timezone and storing serialized data as byte
@@ -116,8 +122,109 @@ public class DefaultEventEntryStore<T> implements EventEntryStore<T> {
     @SuppressWarnings({"unchecked"})
     public Iterator<SerializedDomainEventData<T>> fetchFiltered(String whereClause, Map<String, Object> parameters,
                                                              int batchSize, EntityManager entityManager) {
+        boolean byGlobalIndex = batchByGlobalIndex;
+        if (byGlobalIndex) {
+            String eventIdentifier = findEntryWithoutGlobalIndex(entityManager);
+            if (eventIdentifier != null) {
+                logger.warn("The event entry with identifier [{}] has not been assigned a global index. Falling back "
+                                    + "to fetching batches ordered by timestamp, to make sure no events are "
+                                    + "skipped.", eventIdentifier);
+                byGlobalIndex = false;
+            }
+        }
         return new BatchingIterator(whereClause, parameters, batchSize, domainEventEntryEntityName(),
-                                    eventEntryFactory, entityManager);
+                                    eventEntryFactory, entityManager, clearBetweenBatches, byGlobalIndex);
+    }
+
+    /**
+     * Sets whether the EntityManager should be cleared before each subsequent batch of events is fetched by {@link
+     * #fetchFiltered(String, java.util.Map, int, javax.persistence.EntityManager)}. When a transaction is active,
+     * the EntityManager is flushed before being cleared, to make sure changes made while processing the previous
+     * batch are not lost.
+     * <p/>
+     * Enabling this keeps memory consumption constant when visiting large event stores (e.g. during a replay), where
+     * the event handlers use the same EntityManager. Note that clearing detaches all entities managed by the
+     * EntityManager, including any entities loaded by the handlers visiting the events. Handlers must not hold on to
+     * such entities across batches; changes made to them after they have been detached are not persisted. Defaults
+     * to <code>false</code>.
+     *
+     * @param clearBetweenBatches whether to clear the EntityManager before fetching each subsequent batch
+     */
+    public void setClearBetweenBatches(boolean clearBetweenBatches) {
+        this.clearBetweenBatches = clearBetweenBatches;
+    }
+
+    /**
+     * Sets whether {@link #fetchFiltered(String, java.util.Map, int, javax.persistence.EntityManager)} should fetch
+     * batches of events ordered by their global index, rather than by their timestamp, sequence number and aggregate
+     * identifier. Subsequent batches are then selected using a single condition on an indexed column, which is
+     * considerably cheaper for the database to evaluate on large tables. Events are visited in insertion order.
+     * <p/>
+     * Before fetching the first batch, the store verifies that all entries have been assigned a global index. If
+     * not, a warning is logged and batches are fetched ordered by timestamp instead, as entries without a global
+     * index would otherwise be skipped. Defaults to <code>false</code>.
+     *
+     * @param batchByGlobalIndex whether to fetch batches of events in the order of their global index
+     */
+    public void setBatchByGlobalIndex(boolean batchByGlobalIndex) {
+        this.batchByGlobalIndex = batchByGlobalIndex;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * Entries without a global index are never returned by this method. To prevent these entries from being skipped
+     * silently, this method throws an {@link EventStoreException} when it finds no entries while entries without a
+     * global index exist. This check is performed until the first entry with a global index has been read, which
+     * proves that the database assigns the global index to new entries.
+     *
+     * @throws EventStoreException when entries exist that have not been assigned a global index by the database
+     */
+    @Override
+    @SuppressWarnings({"unchecked"})
+    public List<SerializedTrackedEventData<T>> fetchFromGlobalIndex(long lastGlobalIndex, int maxEntries,
+                                                                    EntityManager entityManager) {
+        List<SerializedTrackedEventData<T>> entries = entityManager
+                .createQuery("SELECT new org.axonframework.eventstore.jpa.SimpleSerializedTrackedEventData("
+                                     + "e.eventIdentifier, e.aggregateIdentifier, e.sequenceNumber, "
+                                     + "e.timeStamp, e.payloadType, e.payloadRevision, e.payload, e.metaData, "
+                                     + "e.globalIndex) "
+                                     + "FROM " + domainEventEntryEntityName() + " e "
+                                     + "WHERE e.globalIndex > :lastGlobalIndex "
+                                     + "ORDER BY e.globalIndex ASC")
+                .setParameter("lastGlobalIndex", lastGlobalIndex)
+                .setMaxResults(maxEntries)
+                .getResultList();
+        if (!entries.isEmpty()) {
+            globalIndexAssigned = true;
+        } else if (!globalIndexAssigned) {
+            String eventIdentifier = findEntryWithoutGlobalIndex(entityManager);
+            if (eventIdentifier != null) {
+                throw new EventStoreException(String.format(
+                        "The event entry with identifier [%s] has not been assigned a global index. Make sure the "
+                                + "database assigns a value to the globalIndex column of the [%s] entity when an "
+                                + "entry is inserted, for example using an identity column.",
+                        eventIdentifier, domainEventEntryEntityName()));
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Returns the event identifier of an entry that has not been assigned a global index, or <code>null</code> if all
+     * entries have one.
+     *
+     * @param entityManager The entity manager providing access to the data store
+     * @return the event identifier of an entry without global index, or <code>null</code> if no such entry exists
+     */
+    @SuppressWarnings("unchecked")
+    private String findEntryWithoutGlobalIndex(EntityManager entityManager) {
+        List<String> result = entityManager
+                .createQuery("SELECT e.eventIdentifier FROM " + domainEventEntryEntityName() + " e "
+                                     + "WHERE e.globalIndex IS NULL")
+                .setMaxResults(1)
+                .getResultList();
+        return result.isEmpty() ? null : result.get(0);
     }
 
     @SuppressWarnings("unchecked")
@@ -346,6 +453,8 @@ public class DefaultEventEntryStore<T> implements EventEntryStore<T> {
         private final String domainEventEntryEntityName;
         private final EntityManager entityManager;
         private final EventEntryFactory<T> eventEntryFactory;
+        private final boolean clearBetweenBatches;
+        private final boolean batchByGlobalIndex;
         private int currentBatchSize;
         private Iterator<SerializedDomainEventData<T>> currentBatch;
         private SerializedDomainEventData<T> next;
@@ -353,13 +462,16 @@ public class DefaultEventEntryStore<T> implements EventEntryStore<T> {
 
         public BatchingIterator(
                 String whereClause, Map<String, Object> parameters, int batchSize, String domainEventEntryEntityName,
-                EventEntryFactory<T> eventEntryFactory, EntityManager entityManager) {
+                EventEntryFactory<T> eventEntryFactory, EntityManager entityManager, boolean clearBetweenBatches,
+                boolean batchByGlobalIndex) {
             this.whereClause = whereClause;
             this.parameters = parameters;
             this.batchSize = batchSize;
             this.domainEventEntryEntityName = domainEventEntryEntityName;
             this.eventEntryFactory = eventEntryFactory;
             this.entityManager = entityManager;
+            this.clearBetweenBatches = clearBetweenBatches;
+            this.batchByGlobalIndex = batchByGlobalIndex;
             List<SerializedDomainEventData<T>> firstBatch = fetchBatch();
 
             this.currentBatchSize = firstBatch.size();
@@ -371,16 +483,16 @@ public class DefaultEventEntryStore<T> implements EventEntryStore<T> {
 
         @SuppressWarnings("unchecked")
         private List<SerializedDomainEventData<T>> fetchBatch() {
+            if (clearBetweenBatches && lastItem != null) {
+                try {
+                    entityManager.flush();
+                } catch (TransactionRequiredException e) {
+                    // no transaction is active, so there are no pending changes to flush
+                }
+                entityManager.clear();
+            }
             Map<String, Object> params = new HashMap<String, Object>(parameters);
-            Query query = entityManager.createQuery(
-                    String.format("SELECT new org.axonframework.eventstore.jpa.SimpleSerializedDomainEventData("
-                                          + "e.eventIdentifier, e.aggregateIdentifier, e.sequenceNumber, "
-                                          + "e.timeStamp, e.payloadType, e.payloadRevision, e.payload, e.metaData) "
-                                          + "FROM " + domainEventEntryEntityName + " e %s ORDER BY e.timeStamp ASC, "
-                                          + "e.sequenceNumber ASC, e.aggregateIdentifier ASC",
-                                  buildWhereClause(params)
-                    )
-            )
+            Query query = entityManager.createQuery(batchByGlobalIndex ? globalIndexQuery(params) : query(params))
                                        .setMaxResults(batchSize);
             for (Map.Entry<String, Object> entry : params.entrySet()) {
                 Object value = entry.getValue();
@@ -396,6 +508,31 @@ public class DefaultEventEntryStore<T> implements EventEntryStore<T> {
             return resultList;
         }
 
+        private String query(Map<String, Object> paramRegistry) {
+            return String.format("SELECT new org.axonframework.eventstore.jpa.SimpleSerializedDomainEventData("
+                                         + "e.eventIdentifier, e.aggregateIdentifier, e.sequenceNumber, "
+                                         + "e.timeStamp, e.payloadType, e.payloadRevision, e.payload, e.metaData) "
+                                         + "FROM " + domainEventEntryEntityName + " e %s ORDER BY e.timeStamp ASC, "
+                                         + "e.sequenceNumber ASC, e.aggregateIdentifier ASC",
+                                 buildWhereClause(paramRegistry));
+        }
+
+        private String globalIndexQuery(Map<String, Object> paramRegistry) {
+            StringBuilder sb = new StringBuilder("WHERE e.globalIndex > :lastGlobalIndex");
+            paramRegistry.put("lastGlobalIndex", lastItem == null
+                    ? -1L
+                    : ((SerializedTrackedEventData<T>) lastItem).getGlobalIndex());
+            if (whereClause != null && whereClause.length() > 0) {
+                sb.append(" AND (").append(whereClause).append(")");
+            }
+            return String.format("SELECT new org.axonframework.eventstore.jpa.SimpleSerializedTrackedEventData("
+                                         + "e.eventIdentifier, e.aggregateIdentifier, e.sequenceNumber, "
+                                         + "e.timeStamp, e.payloadType, e.payloadRevision, e.payload, e.metaData, "
+                                         + "e.globalIndex) "
+                                         + "FROM " + domainEventEntryEntityName + " e %s ORDER BY e.globalIndex ASC",
+                                 sb.toString());
+        }
+
         private String buildWhereClause(Map<String, Object> paramRegistry) {
             if (lastItem == null && whereClause == null) {
                 return "";
@@ -20,12 +20,22 @@ import org.axonframework.domain.DomainEventMessage;
 import org.axonframework.serializer.SerializedObject;
 import org.joda.time.DateTime;
 
+import javax.persistence.Column;
 import javax.persistence.Entity;
 
 /**
  * JPA compliant wrapper around a DomainEvent. It stores a DomainEvent by extracting some of the information needed to
  * base searches on, and stores the {@link org.axonframework.domain.DomainEventMessage} itself as a serialized object
  * using an {@link org.axonframework.serializer.Serializer}
+ * <p/>
+ * Each entry has a global index, which represents the position of the entry in the global sequence of events. The
+ * global index is never written by the JPA provider, and must be assigned by the database when the entry is
+ * inserted, for example using an identity column or a default value taken from a sequence. Schema generation tools,
+ * such as Hibernate's hbm2ddl, create this column as a plain nullable column, so it must be altered after the table
+ * has been created. The reference guide contains the statements for the most common databases. Without a global
+ * index, the {@link JpaEventStore} cannot be used as {@link org.axonframework.eventstore.TrackingEventStore}, and
+ * attempts to read events by their global index fail with an {@link
+ * org.axonframework.eventstore.EventStoreException}.
  *
  * @author Allard Buijze
  * @since 0.5
@@ -33,6 +43,9 @@ import javax.persistence.Entity;
 @Entity
 public class DomainEventEntry extends AbstractEventEntry {
 
+    @Column(insertable = false, updatable = false)
+    private Long globalIndex;
+
     /**
      * Default constructor, as required by JPA specification. Do not use directly!
      */
@@ -68,5 +81,13 @@ public class DomainEventEntry extends AbstractEventEntry {
         super(type, event, dateTime, payload, metaData);
     }
 
-
+    /**
+     * Returns the position of this entry in the global sequence of events, or <code>null</code> if it hasn't been
+     * assigned (yet) by the database.
+     *
+     * @return the position of this entry in the global sequence of events
+     */
+    public Long getGlobalIndex() {
+        return globalIndex;
+    }
 }
@@ -23,20 +23,26 @@ import org.axonframework.common.jpa.EntityManagerProvider;
 import org.axonframework.domain.DomainEventMessage;
 import org.axonframework.domain.DomainEventStream;
 import org.axonframework.domain.GenericDomainEventMessage;
+import org.axonframework.eventstore.EventStoreStatistics;
 import org.axonframework.eventstore.EventStreamNotFoundException;
 import org.axonframework.eventstore.EventVisitor;
 import org.axonframework.eventstore.PartialStreamSupport;
+import org.axonframework.eventstore.ReadAheadSupport;
 import org.axonframework.eventstore.SnapshotEventStore;
+import org.axonframework.eventstore.TrackedEvent;
+import org.axonframework.eventstore.TrackingEventStore;
 import org.axonframework.eventstore.jpa.criteria.JpaCriteria;
 import org.axonframework.eventstore.jpa.criteria.JpaCriteriaBuilder;
 import org.axonframework.eventstore.jpa.criteria.ParameterRegistry;
 import org.axonframework.eventstore.management.Criteria;
 import org.axonframework.eventstore.management.CriteriaBuilder;
 import org.axonframework.eventstore.management.EventStoreManagement;
+import org.axonframework.monitoring.MonitorRegistry;
 import org.axonframework.repository.ConcurrencyException;
 import org.axonframework.serializer.MessageSerializer;
 import org.axonframework.serializer.SerializedDomainEventData;
 import org.axonframework.serializer.SerializedObject;
+import org.axonframework.serializer.SerializedTrackedEventData;
 import org.axonframework.serializer.Serializer;
 import org.axonframework.serializer.xml.XStreamSerializer;
 import org.axonframework.upcasting.SimpleUpcasterChain;
@@ -48,8 +54,10 @@ import org.slf4j.LoggerFactory;
 import java.io.Closeable;
 import java.io.IOException;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import javax.persistence.EntityManager;
 import javax.sql.DataSource;
@@ -72,7 +80,8 @@ import static org.axonframework.upcasting.UpcastUtils.upcastAndDeserialize;
  * @author Allard Buijze
  * @since 0.5
  */
-public class JpaEventStore implements SnapshotEventStore, EventStoreManagement, UpcasterAware, PartialStreamSupport {
+public class JpaEventStore implements SnapshotEventStore, EventStoreManagement, UpcasterAware, PartialStreamSupport,
+        TrackingEventStore, ReadAheadSupport {
 
     private static final Logger logger = LoggerFactory.getLogger(JpaEventStore.class);
 
@@ -88,6 +97,8 @@ public class JpaEventStore implements SnapshotEventStore, EventStoreManagement,
     private UpcasterChain upcasterChain = SimpleUpcasterChain.EMPTY;
     private int maxSnapshotsArchived = DEFAULT_MAX_SNAPSHOTS_ARCHIVED;
     private PersistenceExceptionResolver persistenceExceptionResolver;
+    private boolean readAheadSupported = false;
+    private final EventStoreStatistics statistics = new EventStoreStatistics();
 
     /**
      * Initialize a JpaEventStore using an {@link org.axonframework.serializer.xml.XStreamSerializer}, which
@@ -145,6 +156,7 @@ public class JpaEventStore implements SnapshotEventStore, EventStoreManagement,
         this.entityManagerProvider = entityManagerProvider;
         this.serializer = new MessageSerializer(serializer);
         this.eventEntryStore = eventEntryStore;
+        MonitorRegistry.registerMonitoringBean(statistics, JpaEventStore.class);
     }
 
     /**
@@ -154,10 +166,13 @@ public class JpaEventStore implements SnapshotEventStore, EventStoreManagement,
     @Override
     public void appendEvents(String type, DomainEventStream events) {
         DomainEventMessage event = null;
+        long startTime = System.nanoTime();
+        int eventCount = 0;
         try {
             EntityManager entityManager = entityManagerProvider.getEntityManager();
             while (events.hasNext()) {
                 event = events.next();
+                eventCount++;
                 validateIdentifier(event.getAggregateIdentifier().getClass());
                 SerializedObject serializedPayload = serializer.serializePayload(event, eventEntryStore.getDataType());
                 SerializedObject serializedMetaData = serializer.serializeMetaData(event, eventEntryStore.getDataType());
@@ -175,6 +190,8 @@ public class JpaEventStore implements SnapshotEventStore, EventStoreManagement,
                         exception);
             }
             throw exception;
+        } finally {
+            statistics.recordAppend(System.nanoTime() - startTime, eventCount);
         }
     }
 
@@ -184,39 +201,44 @@ public class JpaEventStore implements SnapshotEventStore, EventStoreManagement,
     @SuppressWarnings({"unchecked"})
     @Override
     public DomainEventStream readEvents(String type, Object identifier) {
-        long snapshotSequenceNumber = -1;
-        EntityManager entityManager = entityManagerProvider.getEntityManager();
-        SerializedDomainEventData lastSnapshotEvent = eventEntryStore.loadLastSnapshotEvent(type, identifier,
-                                                                                            entityManager);
-        DomainEventMessage snapshotEvent = null;
-        if (lastSnapshotEvent != null) {
-            try {
-                snapshotEvent = new GenericDomainEventMessage<Object>(
-                        identifier,
-                        lastSnapshotEvent.getSequenceNumber(),
-                        serializer.deserialize(lastSnapshotEvent.getPayload()),
-                        (Map<String, Object>) serializer.deserialize(lastSnapshotEvent.getMetaData()));
-                snapshotSequenceNumber = snapshotEvent.getSequenceNumber();
-            } catch (RuntimeException ex) {
-                logger.warn("Error while reading snapshot event entry. "
-                                    + "Reconstructing aggregate on entire event stream. Caused by: {} {}",
-                            ex.getClass().getName(),
-                            ex.getMessage());
-            } catch (LinkageError error) {
-                logger.warn("Error while reading snapshot event entry. "
-                                    + "Reconstructing aggregate on entire event stream. Caused by: {} {}",
-                            error.getClass().getName(),
-                            error.getMessage());
+        long startTime = System.nanoTime();
+        try {
+            long snapshotSequenceNumber = -1;
+            EntityManager entityManager = entityManagerProvider.getEntityManager();
+            SerializedDomainEventData lastSnapshotEvent = eventEntryStore.loadLastSnapshotEvent(type, identifier,
+                                                                                                entityManager);
+            DomainEventMessage snapshotEvent = null;
+            if (lastSnapshotEvent != null) {
+                try {
+                    snapshotEvent = new GenericDomainEventMessage<Object>(
+                            identifier,
+                            lastSnapshotEvent.getSequenceNumber(),
+                            serializer.deserialize(lastSnapshotEvent.getPayload()),
+                            (Map<String, Object>) serializer.deserialize(lastSnapshotEvent.getMetaData()));
+                    snapshotSequenceNumber = snapshotEvent.getSequenceNumber();
+                } catch (RuntimeException ex) {
+                    logger.warn("Error while reading snapshot event entry. "
+                                        + "Reconstructing aggregate on entire event stream. Caused by: {} {}",
+                                ex.getClass().getName(),
+                                ex.getMessage());
+                } catch (LinkageError error) {
+                    logger.warn("Error while reading snapshot event entry. "
+                                        + "Reconstructing aggregate on entire event stream. Caused by: {} {}",
+                                error.getClass().getName(),
+                                error.getMessage());
+                }
             }
-        }
 
-        Iterator<? extends SerializedDomainEventData> entries =
-                eventEntryStore.fetchAggregateStream(type, identifier, snapshotSequenceNumber + 1,
-                                                     batchSize, entityManager);
-        if (snapshotEvent == null && !entries.hasNext()) {
-            throw new EventStreamNotFoundException(type, identifier);
+            Iterator<? extends SerializedDomainEventData> entries =
+                    eventEntryStore.fetchAggregateStream(type, identifier, snapshotSequenceNumber + 1,
+                                                         batchSize, entityManager);
+            if (snapshotEvent == null && !entries.hasNext()) {
+                throw new EventStreamNotFoundException(type, identifier);
+            }
+            return new CursorBackedDomainEventStream(snapshotEvent, entries, identifier, false);
+        } finally {
+            statistics.recordRead(System.nanoTime() - startTime);
         }
-        return new CursorBackedDomainEventStream(snapshotEvent, entries, identifier, false);
     }
 
     @Override
@@ -227,17 +249,20 @@ public class JpaEventStore implements SnapshotEventStore, EventStoreManagement,
     @Override
     public DomainEventStream readEvents(String type, Object identifier, long firstSequenceNumber,
                                         long lastSequenceNumber) {
-        EntityManager entityManager = entityManagerProvider.getEntityManager();
-        int minimalBatchSize = (int) Math.min(batchSize, (lastSequenceNumber - firstSequenceNumber) + 2);
-        Iterator<? extends SerializedDomainEventData> entries = eventEntryStore.fetchAggregateStream(type,
-                                                                                                     identifier,
-                                                                                                     firstSequenceNumber,
-                                                                                                     minimalBatchSize,
-                                                                                                     entityManager);
-        if (!entries.hasNext()) {
-            throw new EventStreamNotFoundException(type, identifier);
+        long startTime = System.nanoTime();
+        try {
+            EntityManager entityManager = entityManagerProvider.getEntityManager();
+            int minimalBatchSize = (int) Math.min(batchSize, (lastSequenceNumber - firstSequenceNumber) + 2);
+            Iterator<? extends SerializedDomainEventData> entries =
+                    eventEntryStore.fetchAggregateStream(type, identifier, firstSequenceNumber, minimalBatchSize,
+                                                         entityManager);
+            if (!entries.hasNext()) {
+                throw new EventStreamNotFoundException(type, identifier);
+            }
+            return new CursorBackedDomainEventStream(null, entries, identifier, lastSequenceNumber, false);
+        } finally {
+            statistics.recordRead(System.nanoTime() - startTime);
         }
-        return new CursorBackedDomainEventStream(null, entries, identifier, lastSequenceNumber, false);
     }
 
     /**
@@ -290,6 +315,32 @@ public class JpaEventStore implements SnapshotEventStore, EventStoreManagement,
         doVisitEvents(visitor, sb.toString(), parameters.getParameters());
     }
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * This operation requires the configured EventEntryStore to be a {@link TrackingEventEntryStore}.
+     *
+     * @throws IllegalStateException if the EventEntryStore does not support reading events by their global index
+     */
+    @Override
+    public List<TrackedEvent> readEvents(long lastGlobalIndex, int maxEntries) {
+        if (!(eventEntryStore instanceof TrackingEventEntryStore)) {
+            throw new IllegalStateException("The EventEntryStore does not support reading events by their global "
+                                                    + "index. Configure a TrackingEventEntryStore to use this feature.");
+        }
+        EntityManager entityManager = entityManagerProvider.getEntityManager();
+        List<? extends SerializedTrackedEventData<?>> entries =
+                ((TrackingEventEntryStore<?>) eventEntryStore).fetchFromGlobalIndex(lastGlobalIndex, maxEntries,
+                                                                                    entityManager);
+        List<TrackedEvent> events = new ArrayList<TrackedEvent>(entries.size());
+        for (SerializedTrackedEventData<?> entry : entries) {
+            for (DomainEventMessage message : upcastAndDeserialize(entry, null, serializer, upcasterChain, true)) {
+                events.add(new TrackedEvent(entry.getGlobalIndex(), message));
+            }
+        }
+        return events;
+    }
+
     @Override
     public CriteriaBuilder newCriteriaBuilder() {
         return criteriaBuilder;
@@ -351,6 +402,28 @@ public class JpaEventStore implements SnapshotEventStore, EventStoreManagement,
         this.upcasterChain = upcasterChain;
     }
 
+    /**
+     * Sets whether the event streams returned by this Event Store may be read in a thread other than the one that
+     * opened them. Event streams keep using the EntityManager they were opened with to read subsequent batches of
+     * events. Only enable this when the EntityManagerProvider returns a thread-safe proxy, such as the shared
+     * EntityManager injected by the container using <code>@PersistenceContext</code>. EntityManager instances
+     * themselves are not thread safe, meaning this must not be enabled when using a {@link
+     * org.axonframework.common.jpa.SimpleEntityManagerProvider} that is shared with other components.
+     * <p/>
+     * Defaults to <code>false</code>.
+     *
+     * @param readAheadSupported whether event streams may be read in another thread
+     * @see org.axonframework.eventsourcing.EventSourcingRepository#setPrefetchExecutor(java.util.concurrent.Executor)
+     */
+    public void setReadAheadSupported(boolean readAheadSupported) {
+        this.readAheadSupported = readAheadSupported;
+    }
+
+    @Override
+    public boolean isReadAheadSupported() {
+        return readAheadSupported;
+    }
+
     /**
      * Sets the maximum number of snapshots to archive for an aggregate. The EventStore will keep at most this number
      * of
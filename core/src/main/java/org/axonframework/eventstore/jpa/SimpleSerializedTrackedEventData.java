@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.eventstore.jpa;
+
+import org.axonframework.serializer.SerializedObject;
+import org.axonframework.serializer.SerializedTrackedEventData;
+
+/**
+ * Simple implementation of the {@link SerializedTrackedEventData} class, used to read event entries together with
+ * their position in the global sequence of events.
+ *
+ * @param <T> The data type expected for the serialized objects
+ * @author agent
+ * @since 2.4
+ */
+public class SimpleSerializedTrackedEventData<T> extends SimpleSerializedDomainEventData<T>
+        implements SerializedTrackedEventData<T> {
+
+    private final long globalIndex;
+
+    /**
+     * Initialize an instance using given properties. This constructor assumes the default SerializedType for meta data
+     * (name = 'org.axonframework.domain.MetaData' and revision = <em>null</em>).
+     * <p/>
+     * Note that the given <code>timestamp</code> must be in a format supported by {@link} DateTime#DateTime(Object)}.
+     *
+     * @param eventIdentifier     The identifier of the event
+     * @param aggregateIdentifier The identifier of the aggregate
+     * @param sequenceNumber      The sequence number of the event
+     * @param timestamp           The timestamp of the event (format must be supported by {@link
+     *                            org.joda.time.DateTime#DateTime(Object)})
+     * @param payloadType         The type identifier of the serialized payload
+     * @param payloadRevision     The revision of the serialized payload
+     * @param payload             The serialized representation of the event
+     * @param metaData            The serialized representation of the meta data
+     * @param globalIndex         The position of the event in the global sequence of events
+     */
+    public SimpleSerializedTrackedEventData(String eventIdentifier, String aggregateIdentifier, // NOSONAR - Long ctor
+                                            long sequenceNumber, Object timestamp, String payloadType,
+                                            String payloadRevision, T payload, T metaData, // NOSONAR
+                                            long globalIndex) {
+        super(eventIdentifier, aggregateIdentifier, sequenceNumber, timestamp, payloadType, payloadRevision, payload,
+              metaData);
+        this.globalIndex = globalIndex;
+    }
+
+    /**
+     * Initialize an instance using given properties. In contrast to the other constructor, this one allows to
+     * explicitly indicate the SerializedType used to represent MetaData.
+     *
+     * @param eventIdentifier     The identifier of the event
+     * @param aggregateIdentifier The identifier of the aggregate
+     * @param sequenceNumber      The sequence number of the event
+     * @param timestamp           The timestamp of the event (format must be supported by {@link
+     *                            org.joda.time.DateTime#DateTime(Object)})
+     * @param serializedPayload   The serialized representation of the event
+     * @param serializedMetaData  The serialized representation of the meta data
+     * @param globalIndex         The position of the event in the global sequence of events
+     */
+    public SimpleSerializedTrackedEventData(String eventIdentifier, String aggregateIdentifier, // NOSONAR - Long ctor
+                                            long sequenceNumber, Object timestamp,
+                                            SerializedObject<T> serializedPayload,
+                                            SerializedObject<T> serializedMetaData, long globalIndex) {
+        super(eventIdentifier, aggregateIdentifier, sequenceNumber, timestamp, serializedPayload, serializedMetaData);
+        this.globalIndex = globalIndex;
+    }
+
+    @Override
+    public long getGlobalIndex() {
+        return globalIndex;
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.eventstore.jpa;
+
+import org.axonframework.serializer.SerializedTrackedEventData;
+
+import java.util.List;
+import javax.persistence.EntityManager;
+
+/**
+ * EventEntryStore that is able to read events in the order of the global index assigned to them by the database. The
+ * {@link JpaEventStore} requires its EventEntryStore to implement this interface in order to support {@link
+ * JpaEventStore#readEvents(long, int) reading events by their global index}.
+ *
+ * @param <T> The type used when storing serialized data
+ * @author agent
+ * @since 2.4
+ */
+public interface TrackingEventEntryStore<T> extends EventEntryStore<T> {
+
+    /**
+     * Returns at most <code>maxEntries</code> event entries with a global index higher than the given
+     * <code>lastGlobalIndex</code>, ordered by their global index. The global index is assigned by the database when
+     * an event is persisted, and increases with each event stored.
+     *
+     * @param lastGlobalIndex The global index of the last entry that should not be returned
+     * @param maxEntries      The maximum number of entries to return
+     * @param entityManager   The entity manager providing access to the data store
+     * @return a List of serialized representations of Events, ordered by global index
+     */
+    List<? extends SerializedTrackedEventData<T>> fetchFromGlobalIndex(long lastGlobalIndex, int maxEntries,
+                                                                       EntityManager entityManager);
+}
@@ -0,0 +1,327 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.eventstore.management;
+
+import org.axonframework.common.Assert;
+import org.axonframework.common.AxonThreadFactory;
+import org.axonframework.domain.DomainEventMessage;
+import org.axonframework.domain.SimpleDomainEventStream;
+import org.axonframework.eventstore.EventStore;
+import org.axonframework.eventstore.EventStoreException;
+import org.axonframework.eventstore.EventVisitor;
+import org.axonframework.unitofwork.NoTransactionManager;
+import org.axonframework.unitofwork.TransactionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Copies all events of an aggregate type from one Event Store to another. Events are read from the source using
+ * {@link EventStoreManagement#visitEvents(Criteria, org.axonframework.eventstore.EventVisitor)}, which means that they
+ * pass through the upcasters configured on the source Event Store. The target Event Store serializes them again,
+ * using its own Serializer. Once all events have been migrated, the target contains the events in their latest
+ * revision, and the upcasters that were needed to read them are no longer required.
+ * <p/>
+ * Events are appended in batches. The events of each batch are divided over a number of threads based on their
+ * aggregate identifier, making sure that the events of a single aggregate are always appended in order. Each thread
+ * appends the events of each aggregate in its portion of the batch in a single call, within a transaction provided by
+ * the configured {@link TransactionManager}.
+ * <p/>
+ * After each batch, the migrator reports a checkpoint to the {@link MigrationProgressListener}, if any. A migration
+ * that was interrupted may be resumed from the last reported checkpoint. The events up to that checkpoint are read,
+ * but not appended again. This requires the source to provide the events in a stable order, which is the case for
+ * the JDBC, JPA and Mongo Event Stores. Note that the events of the batch that failed may have been partially
+ * appended to the target. These must be removed from the target before resuming.
+ *
+ * @author agent
+ * @since 2.4
+ */
+public class EventStoreMigrator {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventStoreMigrator.class);
+
+    private static final String AGGREGATE_TYPE_PROPERTY = "type";
+    private static final int DEFAULT_BATCH_SIZE = 1000;
+
+    private final EventStoreManagement source;
+    private final EventStore target;
+
+    private TransactionManager<?> transactionManager = new NoTransactionManager();
+    private int threadCount = Runtime.getRuntime().availableProcessors();
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private MigrationProgressListener progressListener;
+
+    /**
+     * Initializes a migrator that copies events from given <code>source</code> to given <code>target</code>.
+     *
+     * @param source The Event Store to read the events from
+     * @param target The Event Store to append the events to
+     */
+    public EventStoreMigrator(EventStoreManagement source, EventStore target) {
+        Assert.notNull(source, "source may not be null");
+        Assert.notNull(target, "target may not be null");
+        this.source = source;
+        this.target = target;
+    }
+
+    /**
+     * Migrates all events of the given <code>aggregateTypes</code>, one type after the other.
+     *
+     * @param aggregateTypes The types of aggregate to migrate the events of
+     * @return the total number of events migrated
+     */
+    public long migrateAll(String... aggregateTypes) {
+        long total = 0;
+        for (String aggregateType : aggregateTypes) {
+            total += migrate(aggregateType);
+        }
+        return total;
+    }
+
+    /**
+     * Migrates all events of given <code>aggregateType</code>.
+     *
+     * @param aggregateType The type of aggregate to migrate the events of
+     * @return the number of events migrated
+     */
+    public long migrate(String aggregateType) {
+        return migrate(aggregateType, 0);
+    }
+
+    /**
+     * Migrates the events of given <code>aggregateType</code>, skipping the events up to the given
+     * <code>checkpoint</code>. The checkpoint is the value last reported to the {@link MigrationProgressListener}
+     * by an earlier migration run, or <code>0</code> to migrate all events.
+     *
+     * @param aggregateType The type of aggregate to migrate the events of
+     * @param checkpoint    The checkpoint to resume the migration from
+     * @return the number of events migrated
+     *
+     * @throws EventStoreException when appending events to the target Event Store failed
+     */
+    public long migrate(String aggregateType, long checkpoint) {
+        Assert.isTrue(checkpoint >= 0, "checkpoint may not be negative");
+        ExecutorService executor = Executors.newFixedThreadPool(
+                threadCount, new AxonThreadFactory("EventStoreMigrator[" + aggregateType + "]"));
+        MigratingVisitor visitor = new MigratingVisitor(aggregateType, checkpoint, executor);
+        try {
+            source.visitEvents(source.newCriteriaBuilder().property(AGGREGATE_TYPE_PROPERTY).is(aggregateType),
+                               visitor);
+            visitor.finish();
+        } finally {
+            executor.shutdownNow();
+        }
+        long elapsedMillis = visitor.elapsedMillis();
+        logger.info("Migrated {} events of aggregate type {} in {} ms ({} events/s)",
+                    new Object[]{visitor.migratedEvents, aggregateType, elapsedMillis,
+                            eventsPerSecond(visitor.migratedEvents, elapsedMillis)});
+        return visitor.migratedEvents;
+    }
+
+    /**
+     * Sets the transaction manager that provides the transactions to append events to the target Event Store in.
+     * Defaults to a {@link NoTransactionManager}.
+     *
+     * @param transactionManager The transaction manager to use when appending events
+     */
+    public void setTransactionManager(TransactionManager<?> transactionManager) {
+        this.transactionManager = transactionManager;
+    }
+
+    /**
+     * Sets the number of threads used to append events to the target Event Store. Defaults to the number of
+     * available processors.
+     *
+     * @param threadCount The number of threads to append events with
+     */
+    public void setThreadCount(int threadCount) {
+        Assert.isTrue(threadCount > 0, "threadCount must be a positive number");
+        this.threadCount = threadCount;
+    }
+
+    /**
+     * Sets the number of events to read before appending them to the target Event Store. After each batch, a
+     * checkpoint is reported to the progress listener. Defaults to 1000.
+     *
+     * @param batchSize The number of events in each batch
+     */
+    public void setBatchSize(int batchSize) {
+        Assert.isTrue(batchSize > 0, "batchSize must be a positive number");
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Sets the listener to report migration progress to.
+     *
+     * @param progressListener The listener to report checkpoints to
+     */
+    public void setProgressListener(MigrationProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    private static long eventsPerSecond(long events, long elapsedMillis) {
+        return events * 1000 / Math.max(1, elapsedMillis);
+    }
+
+    private final class MigratingVisitor implements EventVisitor {
+
+        private final String aggregateType;
+        private final ExecutorService executor;
+        private final long startTime = System.nanoTime();
+        private final long startCheckpoint;
+        private long eventsToSkip;
+        private List<DomainEventMessage> batch = new ArrayList<DomainEventMessage>();
+        private List<Future<?>> pendingAppends = Collections.emptyList();
+        private long pendingCheckpoint;
+        private long lastCheckpoint;
+        private long migratedEvents;
+
+        private MigratingVisitor(String aggregateType, long checkpoint, ExecutorService executor) {
+            this.aggregateType = aggregateType;
+            this.executor = executor;
+            this.startCheckpoint = checkpoint;
+            this.eventsToSkip = checkpoint;
+            this.pendingCheckpoint = checkpoint;
+            this.lastCheckpoint = checkpoint;
+        }
+
+        @Override
+        public void doWithEvent(DomainEventMessage domainEvent) {
+            if (eventsToSkip > 0) {
+                eventsToSkip--;
+                return;
+            }
+            batch.add(domainEvent);
+            if (batch.size() >= batchSize) {
+                submitBatch();
+            }
+        }
+
+        /**
+         * Hands the current batch to the appending threads. The events of the previous batch are appended while the
+         * next batch is being read, but a batch is only submitted once the previous one has been appended
+         * completely.
+         */
+        private void submitBatch() {
+            awaitPendingAppends();
+            List<List<DomainEventMessage>> partitions = new ArrayList<List<DomainEventMessage>>(threadCount);
+            for (int i = 0; i < threadCount; i++) {
+                partitions.add(new ArrayList<DomainEventMessage>());
+            }
+            for (DomainEventMessage event : batch) {
+                int hash = event.getAggregateIdentifier().hashCode();
+                partitions.get((hash & Integer.MAX_VALUE) % threadCount).add(event);
+            }
+            List<Future<?>> futures = new ArrayList<Future<?>>(threadCount);
+            for (List<DomainEventMessage> partition : partitions) {
+                if (!partition.isEmpty()) {
+                    futures.add(executor.submit(new AppendTask(aggregateType, partition)));
+                }
+            }
+            pendingCheckpoint += batch.size();
+            pendingAppends = futures;
+            batch = new ArrayList<DomainEventMessage>(batchSize);
+        }
+
+        private void awaitPendingAppends() {
+            if (pendingAppends.isEmpty()) {
+                return;
+            }
+            Throwable failure = null;
+            for (Future<?> future : pendingAppends) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new EventStoreException("Interrupted while waiting for migrated events to be appended", e);
+                }
+            }
+            pendingAppends = Collections.emptyList();
+            if (failure != null) {
+                throw new EventStoreException("Failed to append migrated events of aggregate type "
+                                                      + aggregateType + " after checkpoint " + lastCheckpoint,
+                                              failure);
+            }
+            lastCheckpoint = pendingCheckpoint;
+            migratedEvents = lastCheckpoint - startCheckpoint;
+            if (progressListener != null) {
+                progressListener.onCheckpoint(aggregateType, lastCheckpoint, migratedEvents, elapsedMillis());
+            }
+        }
+
+        private void finish() {
+            if (!batch.isEmpty()) {
+                submitBatch();
+            }
+            awaitPendingAppends();
+        }
+
+        private long elapsedMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        }
+    }
+
+    private final class AppendTask implements Runnable {
+
+        private final String aggregateType;
+        private final List<DomainEventMessage> events;
+
+        private AppendTask(String aggregateType, List<DomainEventMessage> events) {
+            this.aggregateType = aggregateType;
+            this.events = events;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public void run() {
+            Map<Object, List<DomainEventMessage>> eventsPerAggregate = new LinkedHashMap<Object, List<DomainEventMessage>>();
+            for (DomainEventMessage event : events) {
+                List<DomainEventMessage> aggregateEvents = eventsPerAggregate.get(event.getAggregateIdentifier());
+                if (aggregateEvents == null) {
+                    aggregateEvents = new ArrayList<DomainEventMessage>();
+                    eventsPerAggregate.put(event.getAggregateIdentifier(), aggregateEvents);
+                }
+                aggregateEvents.add(event);
+            }
+            TransactionManager txManager = transactionManager;
+            Object transaction = txManager.startTransaction();
+            try {
+                for (List<DomainEventMessage> aggregateEvents : eventsPerAggregate.values()) {
+                    target.appendEvents(aggregateType, new SimpleDomainEventStream(aggregateEvents));
+                }
+                txManager.commitTransaction(transaction);
+            } catch (RuntimeException e) {
+                txManager.rollbackTransaction(transaction);
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.eventstore.management;
+
+/**
+ * Interface describing a listener that is notified of the progress of an {@link EventStoreMigrator}. Each time the
+ * migrator has appended all events up to a certain point to the target Event Store, the listener receives the
+ * checkpoint from which the migration may be resumed.
+ *
+ * @author agent
+ * @since 2.4
+ */
+public interface MigrationProgressListener {
+
+    /**
+     * Invoked when all events of given <code>aggregateType</code> up to the given <code>checkpoint</code> have been
+     * appended to the target Event Store. A migration that is interrupted may be resumed by passing the last
+     * reported checkpoint to {@link EventStoreMigrator#migrate(String, long)}.
+     *
+     * @param aggregateType  The type of aggregate whose events are being migrated
+     * @param checkpoint     The number of source events that have been processed
+     * @param eventsMigrated The number of events migrated since the start of this migration run
+     * @param elapsedMillis  The number of milliseconds elapsed since the start of this migration run
+     */
+    void onCheckpoint(String aggregateType, long checkpoint, long eventsMigrated, long elapsedMillis);
+}
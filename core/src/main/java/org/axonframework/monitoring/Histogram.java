@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.monitoring;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram of non-negative long values, such as durations in nanoseconds or batch sizes. Values are counted in
+ * buckets of which the width grows with the magnitude of the value, in the style of an HDR histogram. Values below
+ * 64 are counted exactly; larger values are counted with a relative precision of about 3%.
+ * <p/>
+ * Recording a value is lock-free and does not allocate, which makes it suitable for use on hot paths. Reading values
+ * is done without synchronization with recording threads, meaning that statistics read while values are being
+ * recorded may be slightly inconsistent with each other.
+ *
+ * @author agent
+ * @since 2.4
+ */
+public class Histogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = SUB_BUCKET_COUNT << 1;
+    private static final int LINEAR_MAGNITUDE = SUB_BUCKET_BITS + 1;
+    private static final int MAX_MAGNITUDE = 62;
+    private static final int BUCKET_COUNT = LINEAR_LIMIT + (MAX_MAGNITUDE - LINEAR_MAGNITUDE + 1) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records the given <code>value</code>. Negative values are recorded as 0.
+     *
+     * @param value The value to record
+     */
+    public void recordValue(long value) {
+        long actualValue = Math.max(0, value);
+        buckets.incrementAndGet(bucketIndex(actualValue));
+        count.incrementAndGet();
+        total.addAndGet(actualValue);
+        long currentMax = max.get();
+        while (actualValue > currentMax && !max.compareAndSet(currentMax, actualValue)) {
+            currentMax = max.get();
+        }
+    }
+
+    /**
+     * Returns the number of values recorded since creation or the last reset.
+     *
+     * @return the number of recorded values
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Returns the sum of all values recorded since creation or the last reset.
+     *
+     * @return the sum of all recorded values
+     */
+    public long getTotal() {
+        return total.get();
+    }
+
+    /**
+     * Returns the highest value recorded since creation or the last reset, or 0 if no values have been recorded.
+     *
+     * @return the highest recorded value
+     */
+    public long getMaxValue() {
+        return max.get();
+    }
+
+    /**
+     * Returns the mean of the values recorded since creation or the last reset, or 0 if no values have been recorded.
+     *
+     * @return the mean of recorded values
+     */
+    public double getMean() {
+        long currentCount = count.get();
+        return currentCount == 0 ? 0 : (double) total.get() / currentCount;
+    }
+
+    /**
+     * Returns the value below which the given <code>percentile</code> of recorded values fall. The returned value is
+     * accurate within the precision of the bucket that contains it, and never exceeds the highest recorded value.
+     * Returns 0 if no values have been recorded.
+     *
+     * @param percentile The percentile to return the value for, between 0 and 100
+     * @return the value at the given percentile
+     */
+    public long getValueAtPercentile(double percentile) {
+        long currentCount = count.get();
+        if (currentCount == 0) {
+            return 0;
+        }
+        double boundedPercentile = Math.min(100, Math.max(0, percentile));
+        long countAtPercentile = Math.max(1, (long) Math.ceil(boundedPercentile / 100 * currentCount));
+        long cumulativeCount = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            cumulativeCount += buckets.get(i);
+            if (cumulativeCount >= countAtPercentile) {
+                return Math.min(highestValueInBucket(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * Clears all recorded values.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.set(i, 0);
+        }
+        count.set(0);
+        total.set(0);
+        max.set(0);
+    }
+
+    private static int bucketIndex(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int shift = magnitude - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKET_COUNT;
+        return LINEAR_LIMIT + (magnitude - LINEAR_MAGNITUDE) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    private static long highestValueInBucket(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int magnitude = (index - LINEAR_LIMIT) / SUB_BUCKET_COUNT + LINEAR_MAGNITUDE;
+        int subBucket = (index - LINEAR_LIMIT) % SUB_BUCKET_COUNT;
+        int shift = magnitude - SUB_BUCKET_BITS;
+        return ((long) (SUB_BUCKET_COUNT + subBucket + 1) << shift) - 1;
+    }
+}
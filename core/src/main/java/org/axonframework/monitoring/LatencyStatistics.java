@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.monitoring;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Statistics object recording latencies per name, for example per command name or per event listener type. Each name
+ * has its own {@link Histogram}, of which the percentiles are exposed through the {@link LatencyStatisticsMXBean}
+ * interface.
+ * <p/>
+ * Latencies are recorded in nanoseconds. Components on a hot path may obtain the histogram for a name once using
+ * {@link #histogramFor(String)}, and record values on it directly.
+ *
+ * @author agent
+ * @since 2.4
+ */
+public class LatencyStatistics implements LatencyStatisticsMXBean {
+
+    private static final double NANOS_PER_MILLI = 1000000D;
+    private static final double NANOS_PER_SECOND = 1000000000D;
+
+    private final ConcurrentMap<String, Histogram> histograms = new ConcurrentHashMap<String, Histogram>();
+    private volatile long startTime = System.nanoTime();
+
+    /**
+     * Returns the histogram recording latencies for the given <code>name</code>, creating it if it does not exist
+     * yet.
+     *
+     * @param name The name to return the histogram for
+     * @return the histogram recording latencies for the given name
+     */
+    public Histogram histogramFor(String name) {
+        Histogram histogram = histograms.get(name);
+        if (histogram == null) {
+            histogram = new Histogram();
+            Histogram existing = histograms.putIfAbsent(name, histogram);
+            if (existing != null) {
+                histogram = existing;
+            }
+        }
+        return histogram;
+    }
+
+    /**
+     * Records a latency of <code>durationNanos</code> nanoseconds for the given <code>name</code>.
+     *
+     * @param name          The name to record the latency for
+     * @param durationNanos The latency in nanoseconds
+     */
+    public void recordLatency(String name, long durationNanos) {
+        histogramFor(name).recordValue(durationNanos);
+    }
+
+    @Override
+    public List<String> getNames() {
+        return new ArrayList<String>(new TreeMap<String, Histogram>(histograms).keySet());
+    }
+
+    @Override
+    public Map<String, Long> getCounts() {
+        SortedMap<String, Long> result = new TreeMap<String, Long>();
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().getCount());
+        }
+        return result;
+    }
+
+    @Override
+    public Map<String, Double> getThroughputPerSecond() {
+        double elapsedSeconds = Math.max(1, System.nanoTime() - startTime) / NANOS_PER_SECOND;
+        SortedMap<String, Double> result = new TreeMap<String, Double>();
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().getCount() / elapsedSeconds);
+        }
+        return result;
+    }
+
+    @Override
+    public Map<String, Double> getMeanLatencyMillis() {
+        SortedMap<String, Double> result = new TreeMap<String, Double>();
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().getMean() / NANOS_PER_MILLI);
+        }
+        return result;
+    }
+
+    @Override
+    public Map<String, Double> getMedianLatencyMillis() {
+        return latenciesAtPercentile(50);
+    }
+
+    @Override
+    public Map<String, Double> getPercentile95LatencyMillis() {
+        return latenciesAtPercentile(95);
+    }
+
+    @Override
+    public Map<String, Double> getPercentile99LatencyMillis() {
+        return latenciesAtPercentile(99);
+    }
+
+    @Override
+    public Map<String, Double> getPercentile999LatencyMillis() {
+        return latenciesAtPercentile(99.9);
+    }
+
+    @Override
+    public Map<String, Double> getMaxLatencyMillis() {
+        return latenciesAtPercentile(100);
+    }
+
+    @Override
+    public double getLatencyMillisAtPercentile(String name, double percentile) {
+        Histogram histogram = histograms.get(name);
+        return histogram == null ? 0 : histogram.getValueAtPercentile(percentile) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public void reset() {
+        for (Histogram histogram : histograms.values()) {
+            histogram.reset();
+        }
+        startTime = System.nanoTime();
+    }
+
+    private Map<String, Double> latenciesAtPercentile(double percentile) {
+        SortedMap<String, Double> result = new TreeMap<String, Double>();
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().getValueAtPercentile(percentile) / NANOS_PER_MILLI);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.monitoring;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interface describing the management interface of {@link LatencyStatistics}. Latencies are recorded per name, such
+ * as a command name or an event listener type, and are reported in milliseconds.
+ *
+ * @author agent
+ * @since 2.4
+ */
+public interface LatencyStatisticsMXBean {
+
+    /**
+     * Returns the names for which latencies have been recorded.
+     *
+     * @return a sorted list of the names for which latencies have been recorded
+     */
+    List<String> getNames();
+
+    /**
+     * Returns the number of measurements per name since creation or the last reset.
+     *
+     * @return the number of measurements per name
+     */
+    Map<String, Long> getCounts();
+
+    /**
+     * Returns the average number of measurements per second, per name, since creation or the last reset.
+     *
+     * @return the throughput per name, in measurements per second
+     */
+    Map<String, Double> getThroughputPerSecond();
+
+    /**
+     * Returns the mean latency per name.
+     *
+     * @return the mean latency per name, in milliseconds
+     */
+    Map<String, Double> getMeanLatencyMillis();
+
+    /**
+     * Returns the median latency per name.
+     *
+     * @return the median latency per name, in milliseconds
+     */
+    Map<String, Double> getMedianLatencyMillis();
+
+    /**
+     * Returns the 95th percentile latency per name.
+     *
+     * @return the 95th percentile latency per name, in milliseconds
+     */
+    Map<String, Double> getPercentile95LatencyMillis();
+
+    /**
+     * Returns the 99th percentile latency per name.
+     *
+     * @return the 99th percentile latency per name, in milliseconds
+     */
+    Map<String, Double> getPercentile99LatencyMillis();
+
+    /**
+     * Returns the 99.9th percentile latency per name.
+     *
+     * @return the 99.9th percentile latency per name, in milliseconds
+     */
+    Map<String, Double> getPercentile999LatencyMillis();
+
+    /**
+     * Returns the highest latency per name.
+     *
+     * @return the highest latency per name, in milliseconds
+     */
+    Map<String, Double> getMaxLatencyMillis();
+
+    /**
+     * Returns the latency at the given <code>percentile</code> for measurements recorded under the given
+     * <code>name</code>.
+     *
+     * @param name       The name to return the latency for
+     * @param percentile The percentile, between 0 and 100
+     * @return the latency at the given percentile, in milliseconds, or 0 if nothing was recorded under that name
+     */
+    double getLatencyMillisAtPercentile(String name, double percentile);
+
+    /**
+     * Clears all recorded measurements.
+     */
+    void reset();
+}
@@ -65,6 +65,28 @@ public abstract class MonitorRegistry {
         }
     }
 
+    /**
+     * Register the given <code>monitoringBean</code> with the registries on the classpath, using the given
+     * <code>name</code> to distinguish it from other beans registered for the same <code>componentType</code>. If an
+     * exception or error occurs while registering the monitoringBean, it is ignored.
+     *
+     * @param monitoringBean The bean containing the monitoring information
+     * @param componentType  The type of component that the monitoring bean provides information for
+     * @param name           The name of the monitoring bean, such as the name of the component or of the statistics
+     *                       the bean provides
+     */
+    public static void registerMonitoringBean(Object monitoringBean, Class<?> componentType, String name) {
+        for (MonitorRegistry registry : registries) {
+            try {
+                registry.registerBean(monitoringBean, componentType, name);
+            } catch (Exception e) {
+                logger.warn("Exception when registering {} with {} ", monitoringBean, registry, e);
+            } catch (Error e) {
+                logger.warn("Error when registering {} with {} ", monitoringBean, registry, e);
+            }
+        }
+    }
+
     /**
      * Registers the bean with the Registry. This bean may be an infrastructure component, or an Object that provides
      * information and management services on its behalf.
@@ -73,4 +95,19 @@ public abstract class MonitorRegistry {
      * @param componentType  The type of component that the monitoring bean provides information for
      */
     protected abstract void registerBean(Object monitoringBean, Class<?> componentType);
+
+    /**
+     * Registers the bean with the Registry under the given <code>name</code>. This bean may be an infrastructure
+     * component, or an Object that provides information and management services on its behalf.
+     * <p/>
+     * This implementation ignores the name and registers the bean using {@link #registerBean(Object, Class)}.
+     * Registries that support naming should override this method.
+     *
+     * @param monitoringBean The bean to register
+     * @param componentType  The type of component that the monitoring bean provides information for
+     * @param name           The name of the monitoring bean
+     */
+    protected void registerBean(Object monitoringBean, Class<?> componentType, String name) {
+        registerBean(monitoringBean, componentType);
+    }
 }
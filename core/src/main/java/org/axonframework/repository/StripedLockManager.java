@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.repository;
+
+import org.axonframework.common.lock.StripedIdentifierBasedLock;
+import org.axonframework.domain.AggregateRoot;
+
+/**
+ * Implementation of the {@link LockManager} that uses a pessimistic locking strategy backed by a fixed number of lock
+ * stripes. Calls to obtainLock will block until a lock could be obtained. If a lock is obtained by a thread, that
+ * thread has guaranteed unique access.
+ * <p/>
+ * In contrast to the {@link PessimisticLockManager}, this lock manager does not create a lock for each aggregate.
+ * Instead, aggregates share a lock when their identifiers map to the same stripe. This avoids allocation when
+ * obtaining and releasing locks, at the cost of some unnecessary contention between aggregates sharing a stripe.
+ *
+ * @author agent
+ * @see StripedIdentifierBasedLock
+ * @since 2.4
+ */
+public class StripedLockManager implements LockManager {
+
+    private final StripedIdentifierBasedLock lock;
+
+    /**
+     * Initializes a StripedLockManager with the default number of stripes, detecting deadlocks.
+     */
+    public StripedLockManager() {
+        this.lock = new StripedIdentifierBasedLock();
+    }
+
+    /**
+     * Initializes a StripedLockManager with at least the given <code>stripeCount</code> stripes.
+     *
+     * @param stripeCount       The minimum number of lock stripes
+     * @param deadlockDetection Whether to detect deadlocks while waiting for a lock
+     */
+    public StripedLockManager(int stripeCount, boolean deadlockDetection) {
+        this.lock = new StripedIdentifierBasedLock(stripeCount, deadlockDetection);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * Note that this method also returns <code>true</code> if the current thread holds the lock for an aggregate that
+     * shares a stripe with the given <code>aggregate</code>.
+     */
+    @Override
+    public boolean validateLock(AggregateRoot aggregate) {
+        Object aggregateIdentifier = aggregate.getIdentifier();
+        return lock.hasLock(aggregateIdentifier.toString());
+    }
+
+    /**
+     * Obtain a lock for an aggregate. This method will block until a lock was successfully obtained.
+     *
+     * @param aggregateIdentifier the identifier of the aggregate to obtains a lock for.
+     */
+    @Override
+    public void obtainLock(Object aggregateIdentifier) {
+        lock.obtainLock(aggregateIdentifier.toString());
+    }
+
+    /**
+     * Release the lock held on the aggregate. If no valid lock is held by the current thread, an exception is thrown.
+     *
+     * @param aggregateIdentifier the identifier of the aggregate to release the lock for.
+     * @throws org.axonframework.common.lock.IllegalLockUsageException if the current thread doesn't hold the lock
+     */
+    @Override
+    public void releaseLock(Object aggregateIdentifier) {
+        lock.releaseLock(aggregateIdentifier.toString());
+    }
+}
@@ -18,21 +18,24 @@ package org.axonframework.saga;
 
 import org.axonframework.common.Assert;
 import org.axonframework.common.Subscribable;
-import org.axonframework.common.lock.IdentifierBasedLock;
 import org.axonframework.correlation.CorrelationDataHolder;
 import org.axonframework.correlation.CorrelationDataProvider;
 import org.axonframework.correlation.MultiCorrelationDataProvider;
 import org.axonframework.correlation.SimpleCorrelationDataProvider;
 import org.axonframework.domain.EventMessage;
 import org.axonframework.eventhandling.EventBus;
+import org.axonframework.repository.LockManager;
+import org.axonframework.repository.PessimisticLockManager;
 import org.axonframework.unitofwork.CurrentUnitOfWork;
 import org.axonframework.unitofwork.UnitOfWork;
 import org.axonframework.unitofwork.UnitOfWorkListenerAdapter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -59,7 +62,7 @@ public abstract class AbstractSagaManager implements SagaManager, Subscribable {
     private final SagaRepository sagaRepository;
     private final SagaFactory sagaFactory;
     private final Class<? extends Saga>[] sagaTypes;
-    private final IdentifierBasedLock lock = new IdentifierBasedLock();
+    private LockManager lockManager = new PessimisticLockManager();
     private final Map<String, Saga> sagasInCreation = new ConcurrentHashMap<String, Saga>();
     private volatile boolean suppressExceptions = true;
     private volatile boolean synchronizeSagaAccess = true;
@@ -122,10 +125,8 @@ public abstract class AbstractSagaManager implements SagaManager, Subscribable {
 
     private boolean invokeExistingSagas(EventMessage event, Class<? extends Saga> sagaType,
                                         Collection<AssociationValue> associationValues) {
-        Set<String> sagas = new TreeSet<String>();
-        for (AssociationValue associationValue : associationValues) {
-            sagas.addAll(sagaRepository.find(sagaType, associationValue));
-        }
+        Set<String> sagas = new TreeSet<String>(
+                sagaRepository.findAll(sagaType, new HashSet<AssociationValue>(associationValues)));
         for (Saga sagaInCreation : sagasInCreation.values()) {
             if (sagaType.isInstance(sagaInCreation)
                     && containsAny(sagaInCreation.getAssociationValues(), associationValues)) {
@@ -133,25 +134,54 @@ public abstract class AbstractSagaManager implements SagaManager, Subscribable {
             }
         }
         boolean sagaOfTypeInvoked = false;
-        for (final String sagaId : sagas) {
-            if (synchronizeSagaAccess) {
-                lock.obtainLock(sagaId);
-                Saga invokedSaga = null;
-                try {
-                    invokedSaga = loadAndInvoke(event, sagaId, associationValues);
+        if (synchronizeSagaAccess) {
+            // locks are obtained in the (sorted) order of the saga identifiers, before loading the sagas
+            List<String> lockedSagas = new ArrayList<String>(sagas.size());
+            Map<String, Saga> invokedSagas = new HashMap<String, Saga>();
+            try {
+                for (String sagaId : sagas) {
+                    lockManager.obtainLock(sagaId);
+                    lockedSagas.add(sagaId);
+                }
+                Map<String, Saga> loadedSagas = loadSagas(sagas);
+                for (String sagaId : sagas) {
+                    Saga invokedSaga = invokeSaga(event, loadedSagas.get(sagaId), associationValues);
                     if (invokedSaga != null) {
+                        invokedSagas.put(sagaId, invokedSaga);
                         sagaOfTypeInvoked = true;
                     }
-                } finally {
-                    doReleaseLock(sagaId, invokedSaga);
                 }
-            } else {
-                loadAndInvoke(event, sagaId, associationValues);
+            } finally {
+                for (String sagaId : lockedSagas) {
+                    doReleaseLock(sagaId, invokedSagas.get(sagaId));
+                }
+            }
+        } else {
+            Map<String, Saga> loadedSagas = loadSagas(sagas);
+            for (String sagaId : sagas) {
+                invokeSaga(event, loadedSagas.get(sagaId), associationValues);
             }
         }
         return sagaOfTypeInvoked;
     }
 
+    private Map<String, Saga> loadSagas(Set<String> sagaIds) {
+        Map<String, Saga> sagas = new HashMap<String, Saga>(sagaIds.size());
+        Set<String> sagasToLoad = new HashSet<String>();
+        for (String sagaId : sagaIds) {
+            Saga sagaInCreation = sagasInCreation.get(sagaId);
+            if (sagaInCreation == null) {
+                sagasToLoad.add(sagaId);
+            } else {
+                sagas.put(sagaId, sagaInCreation);
+            }
+        }
+        if (!sagasToLoad.isEmpty()) {
+            sagas.putAll(sagaRepository.loadAll(sagasToLoad));
+        }
+        return sagas;
+    }
+
     private boolean containsAny(AssociationValues associationValues, Collection<AssociationValue> toFind) {
         for (AssociationValue valueToFind : toFind) {
             if (associationValues.contains(valueToFind)) {
@@ -168,7 +198,7 @@ public abstract class AbstractSagaManager implements SagaManager, Subscribable {
         sagasInCreation.put(newSaga.getSagaIdentifier(), newSaga);
         try {
             if (synchronizeSagaAccess) {
-                lock.obtainLock(newSaga.getSagaIdentifier());
+                lockManager.obtainLock(newSaga.getSagaIdentifier());
                 try {
                     doInvokeSaga(event, newSaga);
                 } finally {
@@ -192,13 +222,13 @@ public abstract class AbstractSagaManager implements SagaManager, Subscribable {
 
     private void doReleaseLock(final String sagaId, final Saga sagaInstance) {
         if (sagaInstance == null || !CurrentUnitOfWork.isStarted()) {
-            lock.releaseLock(sagaId);
+            lockManager.releaseLock(sagaId);
         } else if (CurrentUnitOfWork.isStarted()) {
             CurrentUnitOfWork.get().registerListener(new UnitOfWorkListenerAdapter() {
                 @Override
                 public void onCleanup(UnitOfWork unitOfWork) {
                     // a reference to the saga is maintained to prevent it from GC until after the UoW commit
-                    lock.releaseLock(sagaInstance.getSagaIdentifier());
+                    lockManager.releaseLock(sagaInstance.getSagaIdentifier());
                 }
             });
         }
@@ -240,12 +270,7 @@ public abstract class AbstractSagaManager implements SagaManager, Subscribable {
     protected abstract Set<AssociationValue> extractAssociationValues(Class<? extends Saga> sagaType,
                                                                       EventMessage event);
 
-    private Saga loadAndInvoke(EventMessage event, String sagaId, Collection<AssociationValue> associations) {
-        Saga saga = sagasInCreation.get(sagaId);
-        if (saga == null) {
-            saga = sagaRepository.load(sagaId);
-        }
-
+    private Saga invokeSaga(EventMessage event, Saga saga, Collection<AssociationValue> associations) {
         if (saga == null || !saga.isActive() || !containsAny(saga.getAssociationValues(), associations)) {
             return null;
         }
@@ -344,6 +369,22 @@ public abstract class AbstractSagaManager implements SagaManager, Subscribable {
         this.synchronizeSagaAccess = synchronizeSagaAccess;
     }
 
+    /**
+     * Sets the LockManager that synchronizes access to the Sagas managed by this manager. The Saga identifier is used
+     * as the identifier of the lock. Defaults to a {@link PessimisticLockManager}. A {@link
+     * org.axonframework.repository.StripedLockManager} avoids creating a lock for each Saga that is invoked, at the
+     * cost of some contention between Sagas whose identifiers share a lock stripe.
+     * <p/>
+     * The LockManager is not used when Saga access is not synchronized (see {@link
+     * #setSynchronizeSagaAccess(boolean)}).
+     *
+     * @param lockManager the LockManager that synchronizes access to Sagas
+     */
+    public void setLockManager(LockManager lockManager) {
+        Assert.notNull(lockManager, "lockManager may not be null");
+        this.lockManager = lockManager;
+    }
+
     /**
      * Sets the correlation data provider for this SagaManager. It will provide the data to attach to messages sent by
      * Sagas managed by this manager.
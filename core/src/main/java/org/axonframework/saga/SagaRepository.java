@@ -16,6 +16,7 @@
 
 package org.axonframework.saga;
 
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -41,6 +42,18 @@ public interface SagaRepository {
      */
     Set<String> find(Class<? extends Saga> type, AssociationValue associationValue);
 
+    /**
+     * Find saga instances of the given <code>type</code> that have been associated with any of the given
+     * <code>associationValues</code>. Implementations should look up all association values in a single operation
+     * where possible.
+     *
+     * @param type              The type of Saga to return
+     * @param associationValues The values of which the returned Sagas must be associated with at least one
+     * @return A Set containing the identifiers of the found Saga instances. If none are found, an empty Set is
+     *         returned. Will never return <code>null</code>.
+     */
+    Set<String> findAll(Class<? extends Saga> type, Set<AssociationValue> associationValues);
+
     /**
      * Loads a known Saga instance by its unique identifier. Returned Sagas must be {@link #commit(Saga) committed}
      * after processing.
@@ -53,6 +66,18 @@ public interface SagaRepository {
      */
     Saga load(String sagaIdentifier);
 
+    /**
+     * Loads the known Saga instances with given <code>sagaIdentifiers</code>. Implementations should load all
+     * instances in a single operation where possible. Returned Sagas must be {@link #commit(Saga) committed} after
+     * processing.
+     * <p/>
+     * Sagas that do not exist (anymore) are not included in the result, as opposed to causing an exception.
+     *
+     * @param sagaIdentifiers The unique identifiers of the Sagas to load
+     * @return A Map containing the loaded Saga instances by their identifier. Will never return <code>null</code>.
+     */
+    Map<String, Saga> loadAll(Set<String> sagaIdentifiers);
+
     /**
      * Commits the changes made to the Saga instance. At this point, the repository may release any resources kept for
      * this saga. If the committed saga is marked inActive ({@link org.axonframework.saga.Saga#isActive()} returns
@@ -55,6 +55,7 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -89,6 +90,8 @@ public class AsyncAnnotatedSagaManager implements SagaManager, Subscribable, Eve
     private volatile SagaFactory sagaFactory = new GenericSagaFactory();
     private UnitOfWorkFactory unitOfWorkFactory = new DefaultUnitOfWorkFactory();
     private long startTimeout = 5000;
+    private long writeBehindInterval = 0;
+    private ScheduledExecutorService flushScheduler;
     private CorrelationDataProvider<? super EventMessage> correlationDataProvider = new SimpleCorrelationDataProvider();
 
     /**
@@ -156,9 +159,15 @@ public class AsyncAnnotatedSagaManager implements SagaManager, Subscribable, Eve
                                                                                unitOfWorkFactory, processorCount,
                                                                                disruptor.getRingBuffer(),
                                                                                sagaManagerStatus,
-                                                                               correlationDataProvider))
+                                                                               correlationDataProvider,
+                                                                               writeBehindInterval))
                      .then(new MonitorNotifier(processingMonitors));
             disruptor.start();
+            if (writeBehindInterval > 0) {
+                flushScheduler = Executors.newSingleThreadScheduledExecutor();
+                flushScheduler.scheduleWithFixedDelay(new FlushRequester(disruptor), writeBehindInterval,
+                                                      writeBehindInterval, TimeUnit.MILLISECONDS);
+            }
         }
         subscribe();
     }
@@ -173,6 +182,10 @@ public class AsyncAnnotatedSagaManager implements SagaManager, Subscribable, Eve
     public synchronized void stop() {
         sagaManagerStatus.setStatus(false);
         unsubscribe();
+        if (flushScheduler != null) {
+            flushScheduler.shutdown();
+            flushScheduler = null;
+        }
         if (disruptor != null) {
             disruptor.shutdown();
             if (shutdownExecutorOnStop && executor instanceof ExecutorService) {
@@ -349,6 +362,26 @@ public class AsyncAnnotatedSagaManager implements SagaManager, Subscribable, Eve
         this.waitStrategy = waitStrategy;
     }
 
+    /**
+     * Sets the maximum amount of time (in milliseconds) Saga state may be kept in memory before it is persisted to the
+     * repository. Must be set <em>before</em> the SagaManager is started.
+     * <p/>
+     * When set to a positive value, Sagas processed by the processors are kept in memory across batches of events.
+     * Multiple updates of the same Saga are coalesced into a single write, which is performed when the interval has
+     * expired or the SagaManager is stopped. Note that monitors are notified of successful event processing before
+     * the resulting Saga state is persisted, meaning that state may be lost when the application is terminated
+     * abruptly.
+     * <p/>
+     * Defaults to 0, meaning Saga state is persisted at the end of each batch of events.
+     *
+     * @param writeBehindInterval the maximum number of milliseconds between persisting modified Sagas
+     */
+    public synchronized void setWriteBehindInterval(long writeBehindInterval) {
+        Assert.isTrue(writeBehindInterval >= 0, "The write behind interval may not be negative");
+        Assert.state(disruptor == null, "Cannot set writeBehindInterval when SagaManager has started");
+        this.writeBehindInterval = writeBehindInterval;
+    }
+
     public synchronized void setCorrelationDataProvider(
             CorrelationDataProvider<? super EventMessage> correlationDataProvider) {
         this.correlationDataProvider = correlationDataProvider;
@@ -382,6 +415,34 @@ public class AsyncAnnotatedSagaManager implements SagaManager, Subscribable, Eve
         }
     }
 
+    private static final class FlushRequestTranslator implements EventTranslator<AsyncSagaProcessingEvent> {
+
+        @Override
+        public void translateTo(AsyncSagaProcessingEvent entry, long sequence) {
+            entry.resetAsFlushRequest();
+        }
+    }
+
+    /**
+     * Periodically publishes a flush request on the ring buffer, to make sure processors persist Saga state in time,
+     * even when no events are published.
+     */
+    private static final class FlushRequester implements Runnable {
+
+        private static final FlushRequestTranslator FLUSH_REQUEST = new FlushRequestTranslator();
+        private final Disruptor<AsyncSagaProcessingEvent> disruptor;
+
+        private FlushRequester(Disruptor<AsyncSagaProcessingEvent> disruptor) {
+            this.disruptor = disruptor;
+        }
+
+        @Override
+        public void run() {
+            // when the buffer is full, processors reach the end of a batch soon enough
+            disruptor.getRingBuffer().tryPublishEvent(FLUSH_REQUEST);
+        }
+    }
+
     private static final class LoggingExceptionHandler implements ExceptionHandler {
 
         private static final Logger logger = LoggerFactory.getLogger(LoggingExceptionHandler.class);
@@ -506,8 +567,10 @@ public class AsyncAnnotatedSagaManager implements SagaManager, Subscribable, Eve
 
         @Override
         public void onEvent(AsyncSagaProcessingEvent event, long sequence, boolean endOfBatch) throws Exception {
-            processedMessages.add(event.getPublishedEvent());
-            if (endOfBatch) {
+            if (!event.isFlushRequest()) {
+                processedMessages.add(event.getPublishedEvent());
+            }
+            if (endOfBatch && !processedMessages.isEmpty()) {
                 monitor.onEventProcessingCompleted(processedMessages);
                 processedMessages.clear();
             }
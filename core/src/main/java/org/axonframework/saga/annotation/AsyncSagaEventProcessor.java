@@ -42,6 +42,10 @@ import java.util.TreeMap;
 /**
  * Processes events by forwarding it to Saga instances "owned" by each processor. This processor uses a consistent
  * hashing algorithm to assign the owner of each Saga.
+ * <p/>
+ * By default, the processor persists the state of the Sagas it processed at the end of each batch. When a write-behind
+ * interval is configured, processed Sagas are kept in memory across batches, and persisted at most once per interval.
+ * This coalesces multiple updates of the same Saga into a single write.
  *
  * @author Allard Buijze
  * @since 2.0
@@ -59,14 +63,17 @@ public final class AsyncSagaEventProcessor implements EventHandler<AsyncSagaProc
     private final RingBuffer<AsyncSagaProcessingEvent> ringBuffer;
     private final AsyncAnnotatedSagaManager.SagaManagerStatus status;
     private final CorrelationDataProvider<? super EventMessage> correlationDataProvider;
+    private final long writeBehindInterval;
     private UnitOfWork unitOfWork;
+    private long nextFlushTime;
 
     private AsyncSagaEventProcessor(SagaRepository sagaRepository, ParameterResolverFactory parameterResolverFactory,
                                     int processorCount, int processorId,
                                     UnitOfWorkFactory unitOfWorkFactory,
                                     RingBuffer<AsyncSagaProcessingEvent> ringBuffer,
                                     AsyncAnnotatedSagaManager.SagaManagerStatus status,
-                                    CorrelationDataProvider<? super EventMessage> correlationDataProvider) {
+                                    CorrelationDataProvider<? super EventMessage> correlationDataProvider,
+                                    long writeBehindInterval) {
         this.sagaRepository = sagaRepository;
         this.parameterResolverFactory = parameterResolverFactory;
         this.processorCount = processorCount;
@@ -75,6 +82,7 @@ public final class AsyncSagaEventProcessor implements EventHandler<AsyncSagaProc
         this.ringBuffer = ringBuffer;
         this.status = status;
         this.correlationDataProvider = correlationDataProvider;
+        this.writeBehindInterval = writeBehindInterval;
     }
 
     /**
@@ -86,16 +94,17 @@ public final class AsyncSagaEventProcessor implements EventHandler<AsyncSagaProc
      * @param unitOfWorkFactory        The factory to create Unit of Work instances with
      * @param processorCount           The number of processors to create
      * @param ringBuffer               The ringBuffer on which the Processor will operate
-     * @param status                   The object providing insight in the status of the SagaManager     @return an
-     *                                 array containing the Disruptor Event Handlers to invoke Sagas.
-     * @param correlationDataProvider
+     * @param status                   The object providing insight in the status of the SagaManager
+     * @param correlationDataProvider  The provider of correlation data for messages sent while processing events
+     * @param writeBehindInterval      The maximum number of milliseconds between persisting modified Sagas, or 0
+     *                                 to persist them at the end of each batch
      * @return the processor instances that will process the incoming events
      */
     static EventHandler<AsyncSagaProcessingEvent>[] createInstances(
             SagaRepository sagaRepository, ParameterResolverFactory parameterResolverFactory,
             UnitOfWorkFactory unitOfWorkFactory, int processorCount,
             RingBuffer<AsyncSagaProcessingEvent> ringBuffer, AsyncAnnotatedSagaManager.SagaManagerStatus status,
-            CorrelationDataProvider<? super EventMessage> correlationDataProvider) {
+            CorrelationDataProvider<? super EventMessage> correlationDataProvider, long writeBehindInterval) {
         AsyncSagaEventProcessor[] processors = new AsyncSagaEventProcessor[processorCount];
         for (int processorId = 0; processorId < processorCount; processorId++) {
             processors[processorId] = new AsyncSagaEventProcessor(sagaRepository,
@@ -105,13 +114,20 @@ public final class AsyncSagaEventProcessor implements EventHandler<AsyncSagaProc
                                                                   unitOfWorkFactory,
                                                                   ringBuffer,
                                                                   status,
-                                                                  correlationDataProvider);
+                                                                  correlationDataProvider,
+                                                                  writeBehindInterval);
         }
         return processors;
     }
 
     @Override
     public void onEvent(AsyncSagaProcessingEvent entry, long sequence, boolean endOfBatch) throws Exception {
+        if (entry.isFlushRequest()) {
+            if (endOfBatch) {
+                flushProcessedSagas(sequence);
+            }
+            return;
+        }
         Map<String, ?> correlationData = correlationDataProvider.correlationDataFor(entry.getPublishedEvent());
         CorrelationDataHolder.setCorrelationData(correlationData);
         try {
@@ -143,26 +159,46 @@ public final class AsyncSagaEventProcessor implements EventHandler<AsyncSagaProc
         }
 
         if (endOfBatch) {
-            int attempts = 0;
-            while (!persistProcessedSagas(attempts == 0) && isLastInBacklog(sequence) && status.isRunning()) {
-                if (attempts == 0) {
-                    logger.warn("Error committing Saga state to the repository. Starting retry procedure...");
-                }
-                attempts++;
-                if (attempts > 1 && attempts < 5) {
-                    logger.info("Waiting 100ms for next attempt");
+            if (writeBehindInterval <= 0 || System.currentTimeMillis() >= nextFlushTime) {
+                flushProcessedSagas(sequence);
+            } else {
+                commitUnitOfWork();
+            }
+        }
+    }
+
+    private void flushProcessedSagas(long sequence) throws Exception {
+        int attempts = 0;
+        while (!persistProcessedSagas(attempts == 0) && isLastInBacklog(sequence) && status.isRunning()) {
+            if (attempts == 0) {
+                logger.warn("Error committing Saga state to the repository. Starting retry procedure...");
+            }
+            attempts++;
+            if (attempts > 1 && attempts < 5) {
+                logger.info("Waiting 100ms for next attempt");
+                Thread.sleep(100);
+            } else if (attempts >= 5) {
+                logger.info("Waiting 2000ms for next attempt");
+                long timeToStop = System.currentTimeMillis() + 2000;
+                while (inFuture(timeToStop) && isLastInBacklog(sequence) && status.isRunning()) {
                     Thread.sleep(100);
-                } else if (attempts >= 5) {
-                    logger.info("Waiting 2000ms for next attempt");
-                    long timeToStop = System.currentTimeMillis() + 2000;
-                    while (inFuture(timeToStop) && isLastInBacklog(sequence) && status.isRunning()) {
-                        Thread.sleep(100);
-                    }
                 }
             }
         }
     }
 
+    private void commitUnitOfWork() {
+        if (unitOfWork != null) {
+            try {
+                unitOfWork.commit();
+            } catch (RuntimeException e) {
+                logger.warn("Exception while committing the Unit of Work used to load Sagas", e);
+            } finally {
+                unitOfWork = null;
+            }
+        }
+    }
+
     private boolean inFuture(long timestamp) {
         return System.currentTimeMillis() < timestamp;
     }
@@ -170,18 +206,21 @@ public final class AsyncSagaEventProcessor implements EventHandler<AsyncSagaProc
     private boolean invokeExistingSagas(AsyncSagaProcessingEvent entry) {
         boolean sagaInvoked = false;
         final Class<? extends Saga> sagaType = entry.getSagaType();
-        Set<String> sagaIds = new HashSet<String>();
-        for (AssociationValue associationValue : entry.getAssociationValues()) {
-            sagaIds.addAll(sagaRepository.find(sagaType, associationValue));
-        }
+        Set<String> sagaIds = sagaRepository.findAll(sagaType, entry.getAssociationValues());
+        Set<String> sagasToLoad = new HashSet<String>();
         for (String sagaId : sagaIds) {
             if (ownedByCurrentProcessor(sagaId) && !processedSagas.containsKey(sagaId)) {
-                ensureActiveUnitOfWork();
-                final Saga saga = sagaRepository.load(sagaId);
+                sagasToLoad.add(sagaId);
+            }
+        }
+        if (!sagasToLoad.isEmpty()) {
+            ensureActiveUnitOfWork();
+            for (Map.Entry<String, Saga> loadedSaga : sagaRepository.loadAll(sagasToLoad).entrySet()) {
                 if (parameterResolverFactory != null) {
-                    ((AbstractAnnotatedSaga) saga).registerParameterResolverFactory(parameterResolverFactory);
+                    ((AbstractAnnotatedSaga) loadedSaga.getValue())
+                            .registerParameterResolverFactory(parameterResolverFactory);
                 }
-                processedSagas.put(sagaId, saga);
+                processedSagas.put(loadedSaga.getKey(), loadedSaga.getValue());
             }
         }
         for (Saga saga : processedSagas.values()) {
@@ -229,6 +268,7 @@ public final class AsyncSagaEventProcessor implements EventHandler<AsyncSagaProc
             }
             processedSagas.keySet().removeAll(committedSagas);
             newlyCreatedSagas.keySet().removeAll(committedSagas);
+            nextFlushTime = System.currentTimeMillis() + writeBehindInterval;
             return true;
         } catch (Exception e) {
             if (AxonNonTransientException.isCauseOf(e)) {
@@ -270,6 +310,7 @@ public final class AsyncSagaEventProcessor implements EventHandler<AsyncSagaProc
 
     @Override
     public void onStart() {
+        nextFlushTime = System.currentTimeMillis() + writeBehindInterval;
     }
 
     @Override
@@ -43,6 +43,7 @@ public class AsyncSagaProcessingEvent {
     private SagaMethodMessageHandler creationHandler;
     private AssociationValue initialAssociationValue;
     private final Set<AssociationValue> associationValues = new HashSet<AssociationValue>();
+    private boolean flushRequest;
 
     /**
      * Returns the event that has been published on the EventBus. This is the event that will trigger Sagas.
@@ -105,6 +106,7 @@ public class AsyncSagaProcessingEvent {
     public void reset(EventMessage nextEvent, Class<? extends AbstractAnnotatedSaga> nextSagaType,
                       List<SagaMethodMessageHandler> nextHandlers, AbstractAnnotatedSaga nextSagaInstance) {
         this.elector.clear();
+        this.flushRequest = false;
         this.publishedEvent = nextEvent;
         this.sagaType = nextSagaType;
         this.handlers.clear();
@@ -122,6 +124,32 @@ public class AsyncSagaProcessingEvent {
         this.newSaga = nextSagaInstance;
     }
 
+    /**
+     * Reset this entry to request the processors to persist the state of the Sagas they have processed. The entry
+     * does not carry an EventMessage to process.
+     */
+    public void resetAsFlushRequest() {
+        this.elector.clear();
+        this.flushRequest = true;
+        this.publishedEvent = null;
+        this.sagaType = null;
+        this.handlers.clear();
+        this.creationHandler = SagaMethodMessageHandler.noHandler();
+        this.initialAssociationValue = null;
+        this.associationValues.clear();
+        this.newSaga = null;
+    }
+
+    /**
+     * Indicates whether this entry is a request to persist the state of processed Sagas, instead of an EventMessage
+     * to process.
+     *
+     * @return <code>true</code> if this entry is a flush request, otherwise <code>false</code>
+     */
+    public boolean isFlushRequest() {
+        return flushRequest;
+    }
+
     /**
      * Returns the event handler which is used to create a new saga instance based on the incoming event.
      *
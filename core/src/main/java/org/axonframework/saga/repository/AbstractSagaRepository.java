@@ -16,29 +16,73 @@
 
 package org.axonframework.saga.repository;
 
+import org.axonframework.common.digest.Digester;
 import org.axonframework.saga.AssociationValue;
 import org.axonframework.saga.AssociationValues;
 import org.axonframework.saga.Saga;
 import org.axonframework.saga.SagaRepository;
+import org.axonframework.unitofwork.CurrentUnitOfWork;
+import org.axonframework.unitofwork.UnitOfWork;
+import org.axonframework.unitofwork.UnitOfWorkListenerAdapter;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.WeakHashMap;
 
 /**
  * Abstract implementation for saga repositories. This (partial) implementation will take care of the uniqueness of
  * saga
  * instances in the JVM. That means it will prevent multiple instances of the same conceptual Saga (i.e. with same
  * identifier) to exist within the JVM.
+ * <p/>
+ * Repositories that store sagas in serialized form may register the serialized state of each saga instance as it is
+ * known in the backing storage (see {@link #registerLoadedState(Saga, byte[])} and {@link
+ * #registerStoredState(Saga, byte[])}). This allows them to skip updates of sagas whose state hasn't changed (see
+ * {@link #isModified(Saga, byte[])}).
  *
  * @author Allard Buijze
  * @since 0.7
  */
 public abstract class AbstractSagaRepository implements SagaRepository {
 
+    private final Map<Saga, String> persistedStateDigests =
+            Collections.synchronizedMap(new WeakHashMap<Saga, String>());
+    private volatile boolean skipUnmodifiedSagas = true;
+
     @Override
     public Set<String> find(Class<? extends Saga> type, AssociationValue associationValue) {
         return findAssociatedSagaIdentifiers(type, associationValue);
     }
 
+    @Override
+    public Set<String> findAll(Class<? extends Saga> type, Set<AssociationValue> associationValues) {
+        if (associationValues.isEmpty()) {
+            return new TreeSet<String>();
+        }
+        return findAssociatedSagaIdentifiers(type, associationValues);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * This implementation loads each of the sagas individually. Subclasses are encouraged to override this method
+     * to load the sagas in a single operation.
+     */
+    @Override
+    public Map<String, Saga> loadAll(Set<String> sagaIdentifiers) {
+        Map<String, Saga> sagas = new HashMap<String, Saga>(sagaIdentifiers.size());
+        for (String sagaIdentifier : sagaIdentifiers) {
+            Saga saga = load(sagaIdentifier);
+            if (saga != null) {
+                sagas.put(sagaIdentifier, saga);
+            }
+        }
+        return sagas;
+    }
+
     @Override
     public void add(Saga saga) {
         if (saga.isActive()) {
@@ -56,6 +100,7 @@ public abstract class AbstractSagaRepository implements SagaRepository {
     public void commit(Saga saga) {
         if (!saga.isActive()) {
             deleteSaga(saga);
+            unregisterPersistedState(saga);
         } else {
             final String sagaType = typeOf(saga.getClass());
             final AssociationValues associationValues = saga.getAssociationValues();
@@ -81,6 +126,110 @@ public abstract class AbstractSagaRepository implements SagaRepository {
     protected abstract Set<String> findAssociatedSagaIdentifiers(Class<? extends Saga> type,
                                                                  AssociationValue associationValue);
 
+    /**
+     * Finds the identifiers of the sagas of given <code>type</code> associated with any of the given
+     * <code>associationValues</code>. The given Set of association values is never empty.
+     * <p/>
+     * This implementation looks up the sagas for each of the association values individually. Subclasses are
+     * encouraged to override this method to find the sagas in a single operation.
+     *
+     * @param type              The type of saga to find identifiers for
+     * @param associationValues The values of which the saga must be associated with at least one
+     * @return The identifiers of sagas associated with any of the given <code>associationValues</code>
+     */
+    protected Set<String> findAssociatedSagaIdentifiers(Class<? extends Saga> type,
+                                                        Set<AssociationValue> associationValues) {
+        Set<String> sagaIdentifiers = new TreeSet<String>();
+        for (AssociationValue associationValue : associationValues) {
+            sagaIdentifiers.addAll(findAssociatedSagaIdentifiers(type, associationValue));
+        }
+        return sagaIdentifiers;
+    }
+
+    /**
+     * Sets whether updates of sagas whose serialized state is identical to the state last loaded from or written to
+     * the backing storage should be skipped. Defaults to <code>true</code>.
+     * <p/>
+     * Note that this setting only has effect on repositories that register the persisted state of sagas.
+     *
+     * @param skipUnmodifiedSagas whether to skip updates of sagas that have not been modified
+     */
+    public void setSkipUnmodifiedSagas(boolean skipUnmodifiedSagas) {
+        this.skipUnmodifiedSagas = skipUnmodifiedSagas;
+    }
+
+    /**
+     * Registers the given <code>serializedState</code>, as read from the backing storage, as the persisted state of
+     * the given <code>saga</code>. Repositories should invoke this method when loading a saga.
+     *
+     * @param saga            The saga instance to register the persisted state for
+     * @param serializedState The serialized state of the saga, as read from the backing storage
+     */
+    protected void registerLoadedState(Saga saga, byte[] serializedState) {
+        if (skipUnmodifiedSagas) {
+            persistedStateDigests.put(saga, digestOf(serializedState));
+        }
+    }
+
+    /**
+     * Registers the given <code>serializedState</code>, as written to the backing storage, as the persisted state of
+     * the given <code>saga</code>. Repositories should invoke this method after storing or updating a saga.
+     * <p/>
+     * When a Unit of Work is active, the state is only registered after the Unit of Work has been committed. Until
+     * then, the saga is considered modified, as the changes may still be rolled back.
+     *
+     * @param saga            The saga instance to register the persisted state for
+     * @param serializedState The serialized state of the saga, as written to the backing storage
+     */
+    protected void registerStoredState(final Saga saga, byte[] serializedState) {
+        if (!skipUnmodifiedSagas) {
+            return;
+        }
+        final String digest = digestOf(serializedState);
+        if (CurrentUnitOfWork.isStarted()) {
+            persistedStateDigests.remove(saga);
+            CurrentUnitOfWork.get().registerListener(new UnitOfWorkListenerAdapter() {
+                @Override
+                public void afterCommit(UnitOfWork unitOfWork) {
+                    persistedStateDigests.put(saga, digest);
+                }
+            });
+        } else {
+            persistedStateDigests.put(saga, digest);
+        }
+    }
+
+    /**
+     * Indicates whether the given <code>serializedState</code> of the given <code>saga</code> differs from the state
+     * that was last registered as its persisted state. If no state was registered, or
+     * skipping updates of unmodified sagas has been disabled, this method returns <code>true</code>.
+     *
+     * @param saga            The saga instance to verify
+     * @param serializedState The current serialized state of the saga
+     * @return <code>true</code> if the saga needs to be updated in the backing storage, otherwise <code>false</code>
+     */
+    protected boolean isModified(Saga saga, byte[] serializedState) {
+        if (!skipUnmodifiedSagas) {
+            return true;
+        }
+        String persistedDigest = persistedStateDigests.get(saga);
+        return persistedDigest == null || !persistedDigest.equals(digestOf(serializedState));
+    }
+
+    /**
+     * Registers the given <code>saga</code> as removed from the backing storage, clearing any state registered for
+     * it.
+     *
+     * @param saga The saga removed from the backing storage
+     */
+    protected void unregisterPersistedState(Saga saga) {
+        persistedStateDigests.remove(saga);
+    }
+
+    private static String digestOf(byte[] serializedState) {
+        return Digester.newMD5Instance().update(serializedState).digestHex();
+    }
+
     /**
      * Returns the type identifier to use for the given <code>sagaClass</code>. This information is typically provided
      * by the Serializer, if the repository stores serialized instances.
@@ -18,14 +18,12 @@ package org.axonframework.saga.repository;
 
 import org.axonframework.saga.AssociationValue;
 
-import java.io.Serializable;
-import java.util.Comparator;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashSet;
-import java.util.NavigableSet;
 import java.util.Set;
-import java.util.concurrent.ConcurrentSkipListSet;
-
-import static org.springframework.util.ObjectUtils.nullSafeEquals;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * In-memory storage for AssociationValue to Saga mappings. A single AssociationValue can map to several Sagas, and a
@@ -34,20 +32,44 @@ import static org.springframework.util.ObjectUtils.nullSafeEquals;
  * Note that this "map" does not implement the Map interface. This is mainly due to the specific nature and intent of
  * this implementation. For example, the Map interface does not allow a single key to point to more than one value.
  * <p/>
- * This implementation is thread safe and has an expected average time cost of <code>log(n)</code>.
+ * To keep the memory footprint low for large numbers of associations, association values, saga types and saga
+ * identifiers are each stored only once, and mappings refer to them using int identifiers. The mappings are kept in
+ * primitive arrays: a hash table from association value and saga type to the head of a list of saga identifiers.
+ * Lookups using {@link #findSagas(String, org.axonframework.saga.AssociationValue, java.util.Collection)} don't
+ * allocate any objects.
+ * <p/>
+ * This implementation is thread safe and has an expected average time cost of <code>O(1)</code> for lookups and
+ * additions. Removals take time proportional to the number of sagas associated with the same association value.
  *
  * @author Allard Buijze
  * @since 0.7
  */
 public class AssociationValueMap {
 
-    private final NavigableSet<SagaAssociationValue> mappings;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final InternTable<AssociationValue> associationValues =
+            new InternTable<AssociationValue>(INITIAL_CAPACITY);
+    private final InternTable<String> sagaTypes = new InternTable<String>(8);
+    private final InternTable<String> sagaIdentifiers = new InternTable<String>(INITIAL_CAPACITY);
+
+    // hash table of (association value, saga type) keys, pointing to the first node (index + 1, 0 for empty slots)
+    private long[] keys = new long[INITIAL_CAPACITY * 2];
+    private int[] heads = new int[INITIAL_CAPACITY * 2];
+    private int keyCount;
+
+    // linked lists of saga identifiers, in which links are node indices + 1 (0 marking the end of the list)
+    private int[] nodeSagas = new int[INITIAL_CAPACITY];
+    private int[] nodeLinks = new int[INITIAL_CAPACITY];
+    private int highestNode;
+    private int freeNodes;
+    private int size;
 
     /**
      * Initializes a new and empty AssociationValueMap.
      */
     public AssociationValueMap() {
-        mappings = new ConcurrentSkipListSet<SagaAssociationValue>(new AssociationValueComparator());
     }
 
     /**
@@ -59,27 +81,72 @@ public class AssociationValueMap {
      */
     public Set<String> findSagas(String sagaType, AssociationValue associationValue) {
         Set<String> identifiers = new HashSet<String>();
-        for (SagaAssociationValue item : mappings.tailSet(new SagaAssociationValue(associationValue, sagaType, null))) {
-            if (!item.getKey().equals(associationValue.getKey())) {
-                // we've had all relevant items
-                break;
+        findSagas(sagaType, associationValue, identifiers);
+        return identifiers;
+    }
+
+    /**
+     * Adds the identifiers of the Sagas that have been associated with the given <code>associationValue</code> to the
+     * given <code>results</code>. This method does not allocate any objects itself, allowing callers to reuse the
+     * collection they provide.
+     *
+     * @param sagaType         The type of the associated Saga
+     * @param associationValue The associationValue to find Sagas for
+     * @param results          The collection to add the Saga identifiers to
+     * @return the number of Saga identifiers found
+     */
+    public int findSagas(String sagaType, AssociationValue associationValue, Collection<? super String> results) {
+        lock.readLock().lock();
+        try {
+            int slot = findSlot(sagaType, associationValue);
+            if (slot < 0) {
+                return 0;
             }
-            if (associationValue.equals(item.getAssociationValue()) && sagaType.equals(item.getSagaType())) {
-                identifiers.add(item.getSagaIdentifier());
+            int count = 0;
+            for (int node = heads[slot]; node != 0; node = nodeLinks[node - 1]) {
+                results.add(sagaIdentifiers.valueOf(nodeSagas[node - 1]));
+                count++;
             }
+            return count;
+        } finally {
+            lock.readLock().unlock();
         }
-        return identifiers;
     }
 
     /**
-     * Adds an association between the given <code>associationValue</code> and <code>sagaIdentifier</code>.
+     * Adds an association between the given <code>associationValue</code> and <code>sagaIdentifier</code>. A
+     * <code>null</code> association value is ignored, as no Saga can be found using it.
      *
      * @param associationValue The association value associated with the Saga
      * @param sagaType         The type of the associated Saga
      * @param sagaIdentifier   The identifier of the associated Saga
      */
     public void add(AssociationValue associationValue, String sagaType, String sagaIdentifier) {
-        mappings.add(new SagaAssociationValue(associationValue, sagaType, sagaIdentifier));
+        if (associationValue == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            int slot = findSlot(sagaType, associationValue);
+            if (slot >= 0 && findNode(heads[slot], sagaIdentifiers.idOf(sagaIdentifier)) != 0) {
+                return;
+            }
+            int associationValueId = associationValues.acquire(associationValue);
+            int sagaTypeId = sagaTypes.acquire(sagaType);
+            int node = allocateNode(sagaIdentifiers.acquire(sagaIdentifier));
+            if (slot < 0) {
+                if ((keyCount + 1) * 2 > keys.length) {
+                    resize(keys.length * 2);
+                }
+                slot = insertKey(key(associationValueId, sagaTypeId));
+                keyCount++;
+            }
+            nodeLinks[node - 1] = heads[slot];
+            heads[slot] = node;
+            size++;
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     /**
@@ -90,46 +157,58 @@ public class AssociationValueMap {
      * @param sagaIdentifier   The identifier of the associated Saga
      */
     public void remove(AssociationValue associationValue, String sagaType, String sagaIdentifier) {
-        mappings.remove(new SagaAssociationValue(associationValue, sagaType, sagaIdentifier));
+        lock.writeLock().lock();
+        try {
+            int slot = findSlot(sagaType, associationValue);
+            int sagaIdentifierId = sagaIdentifiers.idOf(sagaIdentifier);
+            if (slot < 0 || sagaIdentifierId == InternTable.NOT_FOUND) {
+                return;
+            }
+            int previous = 0;
+            int node = heads[slot];
+            while (node != 0 && nodeSagas[node - 1] != sagaIdentifierId) {
+                previous = node;
+                node = nodeLinks[node - 1];
+            }
+            if (node == 0) {
+                return;
+            }
+            if (previous == 0) {
+                heads[slot] = nodeLinks[node - 1];
+            } else {
+                nodeLinks[previous - 1] = nodeLinks[node - 1];
+            }
+            releaseNode(node);
+            sagaIdentifiers.release(sagaIdentifierId);
+            long key = keys[slot];
+            if (heads[slot] == 0) {
+                deleteKey(slot);
+                keyCount--;
+            }
+            associationValues.release((int) (key >>> 32));
+            sagaTypes.release((int) key);
+            size--;
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     /**
      * Clears all the associations.
      */
     public void clear() {
-        mappings.clear();
-    }
-
-    private static final class SagaAssociationValue {
-
-        private final AssociationValue associationValue;
-        private final String sagaType;
-        private final String sagaIdentifier;
-
-        private SagaAssociationValue(AssociationValue associationValue, String sagaType, String sagaIdentifier) {
-            this.associationValue = associationValue;
-            this.sagaType = sagaType;
-            this.sagaIdentifier = sagaIdentifier;
-        }
-
-        public AssociationValue getAssociationValue() {
-            return associationValue;
-        }
-
-        public String getSagaIdentifier() {
-            return sagaIdentifier;
-        }
-
-        public String getKey() {
-            return associationValue.getKey();
-        }
-
-        public Object getValue() {
-            return associationValue.getValue();
-        }
-
-        public String getSagaType() {
-            return sagaType;
+        lock.writeLock().lock();
+        try {
+            associationValues.clear();
+            sagaTypes.clear();
+            sagaIdentifiers.clear();
+            Arrays.fill(heads, 0);
+            keyCount = 0;
+            highestNode = 0;
+            freeNodes = 0;
+            size = 0;
+        } finally {
+            lock.writeLock().unlock();
         }
     }
 
@@ -139,64 +218,125 @@ public class AssociationValueMap {
      * @return <code>true</code> if this Map is empty, <code>false</code> if it contains any associations.
      */
     public boolean isEmpty() {
-        return mappings.isEmpty();
+        return size() == 0;
     }
 
     /**
-     * Returns an approximation of the size of this map. Due to the concurrent nature of this map, size cannot return
-     * an
-     * accurate value.
-     * <p/>
-     * This is not a constant-time operation. The backing store of this map requires full traversal of elements to
-     * calculate this size.
+     * Returns the number of associations in this map. This is a constant-time operation.
      *
-     * @return an approximation of the number of elements in this map
+     * @return the number of associations in this map
      */
     public int size() {
-        return mappings.size();
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
-    private static class AssociationValueComparator implements Comparator<SagaAssociationValue>, Serializable {
+    private int findSlot(String sagaType, AssociationValue associationValue) {
+        if (associationValue == null) {
+            return -1;
+        }
+        int sagaTypeId = sagaTypes.idOf(sagaType);
+        if (sagaTypeId == InternTable.NOT_FOUND) {
+            return -1;
+        }
+        int associationValueId = associationValues.idOf(associationValue);
+        if (associationValueId == InternTable.NOT_FOUND) {
+            return -1;
+        }
+        long key = key(associationValueId, sagaTypeId);
+        final int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (heads[slot] != 0) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
 
-        private static final long serialVersionUID = -8733800489211327001L;
+    private int findNode(int head, int sagaIdentifierId) {
+        if (sagaIdentifierId == InternTable.NOT_FOUND) {
+            return 0;
+        }
+        int node = head;
+        while (node != 0 && nodeSagas[node - 1] != sagaIdentifierId) {
+            node = nodeLinks[node - 1];
+        }
+        return node;
+    }
 
-        @SuppressWarnings({"unchecked"})
-        @Override
-        public int compare(SagaAssociationValue o1, SagaAssociationValue o2) {
-            int value = o1.getKey().compareTo(o2.getKey());
-            if (value == 0 && !nullSafeEquals(o1.getValue(), o2.getValue())) {
-                value = o1.getValue().getClass().getName().compareTo(o2.getValue().getClass().getName());
-            }
-            if (value == 0 && !nullSafeEquals(o1.getValue(), o2.getValue())) {
-                // the objects are of the same class
-                if (o1.getValue() instanceof Comparable) {
-                    value = ((Comparable) o1.getValue()).compareTo(o2.getValue());
-                } else {
-                    value = o1.getValue().hashCode() - o2.getValue().hashCode();
-                    if (value == 0 && o1.getValue() != o2.getValue()) {
-                        value = o1.getValue().toString().compareTo(o2.getValue().toString());
-                    }
-                }
+    private int allocateNode(int sagaIdentifierId) {
+        int node;
+        if (freeNodes != 0) {
+            node = freeNodes;
+            freeNodes = nodeLinks[node - 1];
+        } else {
+            if (highestNode == nodeSagas.length) {
+                nodeSagas = Arrays.copyOf(nodeSagas, nodeSagas.length * 2);
+                nodeLinks = Arrays.copyOf(nodeLinks, nodeLinks.length * 2);
             }
+            node = ++highestNode;
+        }
+        nodeSagas[node - 1] = sagaIdentifierId;
+        return node;
+    }
 
-            if (value == 0 && !nullSafeEquals(o1.getSagaType(), o2.getSagaType())) {
-                if (o1.getSagaType() == null) {
-                    return -1;
-                } else if (o2.getSagaType() == null) {
-                    return 1;
-                }
-                return o1.getSagaType().compareTo(o2.getSagaType());
+    private void releaseNode(int node) {
+        nodeLinks[node - 1] = freeNodes;
+        freeNodes = node;
+    }
+
+    private int insertKey(long key) {
+        final int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (heads[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        return slot;
+    }
+
+    private void deleteKey(int slot) {
+        final int mask = keys.length - 1;
+        // shift back entries that would otherwise no longer be reachable from their home slot
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            if (heads[next] == 0) {
+                break;
             }
+            int home = hash(keys[next]) & mask;
+            if (next > slot ? (home <= slot || home > next) : (home <= slot && home > next)) {
+                keys[slot] = keys[next];
+                heads[slot] = heads[next];
+                slot = next;
+            }
+        }
+        heads[slot] = 0;
+    }
 
-            if (value == 0 && !nullSafeEquals(o1.getSagaIdentifier(), o2.getSagaIdentifier())) {
-                if (o1.getSagaIdentifier() == null) {
-                    return -1;
-                } else if (o2.getSagaIdentifier() == null) {
-                    return 1;
-                }
-                return o1.getSagaIdentifier().compareTo(o2.getSagaIdentifier());
+    private void resize(int newCapacity) {
+        long[] oldKeys = keys;
+        int[] oldHeads = heads;
+        keys = new long[newCapacity];
+        heads = new int[newCapacity];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldHeads[i] != 0) {
+                heads[insertKey(oldKeys[i])] = oldHeads[i];
             }
-            return value;
         }
     }
+
+    private static long key(int associationValueId, int sagaTypeId) {
+        return ((long) associationValueId << 32) | (sagaTypeId & 0xFFFFFFFFL);
+    }
+
+    private static int hash(long key) {
+        return InternTable.spread((int) (key ^ (key >>> 32)) * 31 + (int) key);
+    }
 }
@@ -23,7 +23,9 @@ import org.axonframework.saga.AssociationValue;
 import org.axonframework.saga.Saga;
 import org.axonframework.saga.SagaRepository;
 
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -48,6 +50,9 @@ public class CachingSagaRepository implements SagaRepository {
     /**
      * Initializes an instance delegating to the given <code>delegate</code>, storing associations in the given
      * <code>associationsCache</code> and Saga instances in the given <code>sagaCache</code>.
+     * <p/>
+     * A {@link org.axonframework.cache.BoundedCache} is recommended for both caches, as it holds the instances
+     * without copying them and keeps memory consumption bounded.
      *
      * @param delegate          The repository instance providing access to (persisted) entries
      * @param associationsCache The cache to store association information is
@@ -75,6 +80,27 @@ public class CachingSagaRepository implements SagaRepository {
         return new HashSet<String>(associations);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * Associations are looked up in the cache first. Associations that are not cached are looked up individually
+     * in the delegate repository, to allow the results to be cached per association value.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public Set<String> findAll(Class<? extends Saga> type, Set<AssociationValue> associationValues) {
+        Set<String> sagaIdentifiers = new HashSet<String>();
+        for (AssociationValue associationValue : associationValues) {
+            final String key = cacheKey(associationValue, type.getName());
+            Set<String> associations = associationsCache.get(key);
+            if (associations == null) {
+                associations = feedCache(type, associationValue, key);
+            }
+            sagaIdentifiers.addAll(associations);
+        }
+        return sagaIdentifiers;
+    }
+
     @SuppressWarnings("unchecked")
     private Set<String> feedCache(Class<? extends Saga> type, AssociationValue associationValue, String key) {
         associationsCacheLock.obtainLock(key);
@@ -100,6 +126,27 @@ public class CachingSagaRepository implements SagaRepository {
         return saga;
     }
 
+    @Override
+    public Map<String, Saga> loadAll(Set<String> sagaIdentifiers) {
+        Map<String, Saga> sagas = new HashMap<String, Saga>(sagaIdentifiers.size());
+        Set<String> uncachedIdentifiers = new HashSet<String>();
+        for (String sagaIdentifier : sagaIdentifiers) {
+            Saga saga = sagaCache.get(sagaIdentifier);
+            if (saga == null) {
+                uncachedIdentifiers.add(sagaIdentifier);
+            } else {
+                sagas.put(sagaIdentifier, saga);
+            }
+        }
+        if (!uncachedIdentifiers.isEmpty()) {
+            for (Map.Entry<String, Saga> entry : delegate.loadAll(uncachedIdentifiers).entrySet()) {
+                sagaCache.put(entry.getKey(), entry.getValue());
+                sagas.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return sagas;
+    }
+
     @Override
     public void commit(Saga saga) {
         final String sagaIdentifier = saga.getSagaIdentifier();
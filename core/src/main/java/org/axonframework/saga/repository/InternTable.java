@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.saga.repository;
+
+import java.util.Arrays;
+
+/**
+ * Table that assigns compact integer identifiers to values, allowing data structures to refer to (large numbers of)
+ * values using primitive ints instead of object references. Identifiers are reference counted: a value is removed
+ * from the table when its last reference is released, after which its identifier may be reused.
+ * <p/>
+ * Values are stored in an open addressing hash table using linear probing. This implementation is not thread safe.
+ * Concurrent read access (using {@link #idOf(Object)} and {@link #valueOf(int)}) is safe, as long as no thread is
+ * modifying the table.
+ *
+ * @param <T> The type of value stored in this table
+ * @author agent
+ * @since 2.4
+ */
+final class InternTable<T> {
+
+    /**
+     * The identifier returned for values that are not contained in the table.
+     */
+    static final int NOT_FOUND = -1;
+
+    private Object[] values;
+    private int[] referenceCounts;
+    private int[] freeIds;
+    private int freeIdCount;
+    private int highestId;
+    private int size;
+    private int[] slots;
+
+    /**
+     * Initializes an empty table with capacity for at least the given <code>initialCapacity</code> values before
+     * growing.
+     *
+     * @param initialCapacity The number of values to reserve space for
+     */
+    InternTable(int initialCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(initialCapacity, 8) - 1) << 1;
+        values = new Object[capacity];
+        referenceCounts = new int[capacity];
+        freeIds = new int[16];
+        slots = new int[capacity * 2];
+    }
+
+    /**
+     * Returns the identifier assigned to given <code>value</code>, or {@link #NOT_FOUND} if the value is not contained
+     * in this table.
+     *
+     * @param value The value to find the identifier for
+     * @return the identifier of the value, or {@link #NOT_FOUND}
+     */
+    int idOf(Object value) {
+        final int mask = slots.length - 1;
+        int slot = spread(value.hashCode()) & mask;
+        int entry;
+        while ((entry = slots[slot]) != 0) {
+            if (value.equals(values[entry - 1])) {
+                return entry - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return NOT_FOUND;
+    }
+
+    /**
+     * Returns the identifier of given <code>value</code>, adding the value to this table if it isn't contained yet,
+     * and increments the number of references to it.
+     *
+     * @param value The value to acquire an identifier for
+     * @return the identifier of the value
+     */
+    int acquire(T value) {
+        int id = idOf(value);
+        if (id == NOT_FOUND) {
+            id = nextFreeId();
+            values[id] = value;
+            if ((size + 1) * 2 > slots.length) {
+                resize(slots.length * 2);
+            }
+            insert(id);
+            size++;
+        }
+        referenceCounts[id]++;
+        return id;
+    }
+
+    /**
+     * Releases a reference to the value with given <code>id</code>. When no references remain, the value is removed
+     * from this table.
+     *
+     * @param id The identifier of the value to release
+     */
+    void release(int id) {
+        if (--referenceCounts[id] == 0) {
+            delete(id);
+            values[id] = null;
+            size--;
+            if (freeIdCount == freeIds.length) {
+                freeIds = Arrays.copyOf(freeIds, freeIds.length * 2);
+            }
+            freeIds[freeIdCount++] = id;
+        }
+    }
+
+    /**
+     * Returns the value with given <code>id</code>.
+     *
+     * @param id The identifier of the value
+     * @return the value with given identifier
+     */
+    @SuppressWarnings("unchecked")
+    T valueOf(int id) {
+        return (T) values[id];
+    }
+
+    /**
+     * Returns the number of values contained in this table.
+     *
+     * @return the number of values contained in this table
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Removes all values from this table.
+     */
+    void clear() {
+        Arrays.fill(values, null);
+        Arrays.fill(referenceCounts, 0);
+        Arrays.fill(slots, 0);
+        freeIdCount = 0;
+        highestId = 0;
+        size = 0;
+    }
+
+    private int nextFreeId() {
+        if (freeIdCount > 0) {
+            return freeIds[--freeIdCount];
+        }
+        if (highestId == values.length) {
+            values = Arrays.copyOf(values, values.length * 2);
+            referenceCounts = Arrays.copyOf(referenceCounts, referenceCounts.length * 2);
+        }
+        return highestId++;
+    }
+
+    private void insert(int id) {
+        final int mask = slots.length - 1;
+        int slot = spread(values[id].hashCode()) & mask;
+        while (slots[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = id + 1;
+    }
+
+    private void delete(int id) {
+        final int mask = slots.length - 1;
+        int slot = spread(values[id].hashCode()) & mask;
+        while (slots[slot] != id + 1) {
+            slot = (slot + 1) & mask;
+        }
+        // shift back entries that would otherwise no longer be reachable from their home slot
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            int entry = slots[next];
+            if (entry == 0) {
+                break;
+            }
+            int home = spread(values[entry - 1].hashCode()) & mask;
+            if (next > slot ? (home <= slot || home > next) : (home <= slot && home > next)) {
+                slots[slot] = entry;
+                slot = next;
+            }
+        }
+        slots[slot] = 0;
+    }
+
+    private void resize(int newSlotCount) {
+        slots = new int[newSlotCount];
+        for (int id = 0; id < highestId; id++) {
+            if (values[id] != null) {
+                insert(id);
+            }
+        }
+    }
+
+    /**
+     * Spreads the bits of given <code>hashCode</code>, to reduce clustering in linear probing tables.
+     *
+     * @param hashCode The hash code to spread
+     * @return the spread hash code
+     */
+    static int spread(int hashCode) {
+        int h = hashCode * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -19,14 +19,19 @@ package org.axonframework.saga.repository.inmemory;
 import org.axonframework.saga.AssociationValue;
 import org.axonframework.saga.Saga;
 import org.axonframework.saga.SagaRepository;
+import org.axonframework.saga.repository.AssociationValueMap;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArraySet;
 
 /**
- * SagaRepository implementation that stores all Saga instances in memory.
+ * SagaRepository implementation that stores all Saga instances in memory. Associations are indexed in an {@link
+ * AssociationValueMap}, allowing Sagas to be found without inspecting each of the stored instances.
  *
  * @author Allard Buijze
  * @since 0.7
@@ -34,14 +39,29 @@ import java.util.concurrent.ConcurrentMap;
 public class InMemorySagaRepository implements SagaRepository {
 
     private final ConcurrentMap<String, Saga> managedSagas = new ConcurrentHashMap<String, Saga>();
+    private final AssociationValueMap associationValueMap = new AssociationValueMap();
+    private final Set<Class<?>> knownSagaTypes = new CopyOnWriteArraySet<Class<?>>();
 
     @SuppressWarnings("unchecked")
     @Override
     public Set<String> find(Class<? extends Saga> type, AssociationValue associationValue) {
         Set<String> result = new TreeSet<String>();
-        for (Saga saga : managedSagas.values()) {
-            if (saga.getAssociationValues().contains(associationValue) && type.isInstance(saga)) {
-                result.add(saga.getSagaIdentifier());
+        for (Class<?> sagaType : knownSagaTypes) {
+            if (type.isAssignableFrom(sagaType)) {
+                associationValueMap.findSagas(sagaType.getName(), associationValue, result);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Set<String> findAll(Class<? extends Saga> type, Set<AssociationValue> associationValues) {
+        Set<String> result = new TreeSet<String>();
+        for (Class<?> sagaType : knownSagaTypes) {
+            if (type.isAssignableFrom(sagaType)) {
+                for (AssociationValue associationValue : associationValues) {
+                    associationValueMap.findSagas(sagaType.getName(), associationValue, result);
+                }
             }
         }
         return result;
@@ -53,12 +73,43 @@ public class InMemorySagaRepository implements SagaRepository {
         return managedSagas.get(sagaIdentifier);
     }
 
+    @Override
+    public Map<String, Saga> loadAll(Set<String> sagaIdentifiers) {
+        Map<String, Saga> result = new HashMap<String, Saga>(sagaIdentifiers.size());
+        for (String sagaIdentifier : sagaIdentifiers) {
+            Saga saga = managedSagas.get(sagaIdentifier);
+            if (saga != null) {
+                result.put(sagaIdentifier, saga);
+            }
+        }
+        return result;
+    }
+
     @Override
     public void commit(Saga saga) {
+        final String sagaType = saga.getClass().getName();
+        final String sagaIdentifier = saga.getSagaIdentifier();
         if (!saga.isActive()) {
-            managedSagas.remove(saga.getSagaIdentifier());
+            if (managedSagas.remove(sagaIdentifier) != null) {
+                for (AssociationValue associationValue : saga.getAssociationValues()) {
+                    associationValueMap.remove(associationValue, sagaType, sagaIdentifier);
+                }
+                for (AssociationValue associationValue : saga.getAssociationValues().removedAssociations()) {
+                    associationValueMap.remove(associationValue, sagaType, sagaIdentifier);
+                }
+            }
+        } else if (managedSagas.put(sagaIdentifier, saga) == null) {
+            knownSagaTypes.add(saga.getClass());
+            for (AssociationValue associationValue : saga.getAssociationValues()) {
+                associationValueMap.add(associationValue, sagaType, sagaIdentifier);
+            }
         } else {
-            managedSagas.put(saga.getSagaIdentifier(), saga);
+            for (AssociationValue associationValue : saga.getAssociationValues().addedAssociations()) {
+                associationValueMap.add(associationValue, sagaType, sagaIdentifier);
+            }
+            for (AssociationValue associationValue : saga.getAssociationValues().removedAssociations()) {
+                associationValueMap.remove(associationValue, sagaType, sagaIdentifier);
+            }
         }
         saga.getAssociationValues().commit();
     }
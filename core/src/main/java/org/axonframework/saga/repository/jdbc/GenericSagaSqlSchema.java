@@ -15,6 +15,7 @@
  */
 package org.axonframework.saga.repository.jdbc;
 
+import org.axonframework.saga.AssociationValue;
 import org.axonframework.serializer.SerializedObject;
 import org.axonframework.serializer.SimpleSerializedObject;
 
@@ -22,6 +23,7 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Set;
 
 /**
  * Generic SagaSqlSchema implementation, for use in most databases. This implementation can be overridden to account
@@ -41,6 +43,21 @@ public class GenericSagaSqlSchema implements SagaSqlSchema {
         return preparedStatement;
     }
 
+    @Override
+    public PreparedStatement sql_loadSagas(Connection connection, Set<String> sagaIds) throws SQLException {
+        StringBuilder sql = new StringBuilder("SELECT serializedSaga, sagaType, revision, sagaId FROM SagaEntry "
+                                                      + "WHERE sagaId IN (");
+        for (int i = 0; i < sagaIds.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        PreparedStatement preparedStatement = connection.prepareStatement(sql.append(")").toString());
+        int parameterIndex = 1;
+        for (String sagaId : sagaIds) {
+            preparedStatement.setString(parameterIndex++, sagaId);
+        }
+        return preparedStatement;
+    }
+
     @Override
     public PreparedStatement sql_removeAssocValue(Connection connection, String key, String value, String sagaType,
                                                   String sagaIdentifier) throws SQLException {
@@ -82,6 +99,25 @@ public class GenericSagaSqlSchema implements SagaSqlSchema {
         return preparedStatement;
     }
 
+    @Override
+    public PreparedStatement sql_findAssocSagaIdentifiers(Connection connection, String sagaType,
+                                                          Set<AssociationValue> associationValues)
+            throws SQLException {
+        StringBuilder sql = new StringBuilder("SELECT DISTINCT sagaId FROM AssociationValueEntry "
+                                                      + "WHERE sagaType = ? AND (");
+        for (int i = 0; i < associationValues.size(); i++) {
+            sql.append(i == 0 ? "" : " OR ").append("(associationKey = ? AND associationValue = ?)");
+        }
+        PreparedStatement preparedStatement = connection.prepareStatement(sql.append(")").toString());
+        preparedStatement.setString(1, sagaType);
+        int parameterIndex = 2;
+        for (AssociationValue associationValue : associationValues) {
+            preparedStatement.setString(parameterIndex++, associationValue.getKey());
+            preparedStatement.setString(parameterIndex++, associationValue.getValue());
+        }
+        return preparedStatement;
+    }
+
     @Override
     public PreparedStatement sql_deleteSagaEntry(Connection connection, String sagaIdentifier) throws SQLException {
         final String sql = "DELETE FROM SagaEntry WHERE sagaId = ?";
@@ -154,4 +190,9 @@ public class GenericSagaSqlSchema implements SagaSqlSchema {
                                                   resultSet.getString(2),
                                                   resultSet.getString(3));
     }
+
+    @Override
+    public String readSagaIdentifier(ResultSet resultSet) throws SQLException {
+        return resultSet.getString(4);
+    }
 }
@@ -36,6 +36,8 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 import javax.sql.DataSource;
@@ -129,6 +131,7 @@ public class JdbcSagaRepository extends AbstractSagaRepository {
                 return null;
             }
             Saga loadedSaga = serializer.deserialize(serializedSaga);
+            registerLoadedState(loadedSaga, serializedSaga);
             if (injector != null) {
                 injector.injectResources(loadedSaga);
             }
@@ -145,6 +148,46 @@ public class JdbcSagaRepository extends AbstractSagaRepository {
         }
     }
 
+    @Override
+    public Map<String, Saga> loadAll(Set<String> sagaIdentifiers) {
+        Map<String, Saga> sagas = new HashMap<String, Saga>(sagaIdentifiers.size());
+        if (sagaIdentifiers.isEmpty()) {
+            return sagas;
+        }
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        Connection conn = null;
+        try {
+            conn = connectionProvider.getConnection();
+            statement = sqldef.sql_loadSagas(conn, sagaIdentifiers);
+            resultSet = statement.executeQuery();
+            while (resultSet.next()) {
+                SerializedObject<?> serializedSaga = sqldef.readSerializedSaga(resultSet);
+                Saga loadedSaga = serializer.deserialize(serializedSaga);
+                registerLoadedState(loadedSaga, serializedSaga);
+                if (injector != null) {
+                    injector.injectResources(loadedSaga);
+                }
+                sagas.put(sqldef.readSagaIdentifier(resultSet), loadedSaga);
+            }
+            if (logger.isDebugEnabled()) {
+                logger.debug("Loaded {} out of {} requested sagas", sagas.size(), sagaIdentifiers.size());
+            }
+            return sagas;
+        } catch (SQLException e) {
+            throw new SagaStorageException("Exception while loading Sagas", e);
+        } finally {
+            closeQuietly(statement);
+            closeQuietly(resultSet);
+            closeQuietly(conn);
+        }
+    }
+
+    private void registerLoadedState(Saga saga, SerializedObject<?> serializedSaga) {
+        if (serializedSaga.getData() instanceof byte[]) {
+            registerLoadedState(saga, (byte[]) serializedSaga.getData());
+        }
+    }
 
     @SuppressWarnings({"unchecked"})
     @Override
@@ -222,6 +265,30 @@ public class JdbcSagaRepository extends AbstractSagaRepository {
         }
     }
 
+    @Override
+    protected Set<String> findAssociatedSagaIdentifiers(Class<? extends Saga> type,
+                                                        Set<AssociationValue> associationValues) {
+        ResultSet resultSet = null;
+        PreparedStatement statement = null;
+        Connection conn = null;
+        try {
+            conn = connectionProvider.getConnection();
+            statement = sqldef.sql_findAssocSagaIdentifiers(conn, typeOf(type), associationValues);
+            resultSet = statement.executeQuery();
+            Set<String> result = new TreeSet<String>();
+            while (resultSet.next()) {
+                result.add(resultSet.getString(1));
+            }
+            return result;
+        } catch (SQLException e) {
+            throw new SagaStorageException("Exception while reading saga associations", e);
+        } finally {
+            closeQuietly(statement);
+            closeQuietly(resultSet);
+            closeQuietly(conn);
+        }
+    }
+
     @Override
     protected void deleteSaga(Saga saga) {
         PreparedStatement statement1 = null;
@@ -246,6 +313,10 @@ public class JdbcSagaRepository extends AbstractSagaRepository {
     @Override
     protected void updateSaga(Saga saga) {
         SagaEntry entry = new SagaEntry(saga, serializer);
+        if (!isModified(saga, entry.getSerializedSaga())) {
+            logger.debug("Saga id {} has not been modified. Skipping update.", saga.getSagaIdentifier());
+            return;
+        }
         if (logger.isDebugEnabled()) {
             logger.debug("Updating saga id {} as {}", saga.getSagaIdentifier(), new String(entry.getSerializedSaga(),
                                                                                            Charset.forName("UTF-8")));
@@ -273,6 +344,8 @@ public class JdbcSagaRepository extends AbstractSagaRepository {
         if (updateCount == 0) {
             logger.warn("Expected to be able to update a Saga instance, but no rows were found. Inserting instead.");
             storeSaga(saga);
+        } else {
+            registerStoredState(saga, entry.getSerializedSaga());
         }
     }
 
@@ -290,6 +363,7 @@ public class JdbcSagaRepository extends AbstractSagaRepository {
             statement = sqldef.sql_storeSaga(conn, entry.getSagaId(), entry.getRevision(), entry.getSagaType(),
                                              entry.getSerializedSaga());
             statement.executeUpdate();
+            registerStoredState(saga, entry.getSerializedSaga());
         } catch (SQLException e) {
             throw new SagaStorageException("Exception occurred while attempting to store a Saga Entry", e);
         } finally {
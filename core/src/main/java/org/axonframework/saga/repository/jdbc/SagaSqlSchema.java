@@ -15,12 +15,14 @@
  */
 package org.axonframework.saga.repository.jdbc;
 
+import org.axonframework.saga.AssociationValue;
 import org.axonframework.serializer.SerializedObject;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Set;
 
 /**
  * Interface describing the SQL statements that the JdbcSagaRepository needs to execute against the underlying
@@ -44,6 +46,20 @@ public interface SagaSqlSchema {
      */
     PreparedStatement sql_loadSaga(Connection connection, String sagaId) throws SQLException;
 
+    /**
+     * Creates a PreparedStatement that loads the Sagas with given <code>sagaIds</code>. The result set must contain
+     * the columns expected by {@link #readSerializedSaga(java.sql.ResultSet)}, followed by a column containing the
+     * identifier of the Saga.
+     *
+     * @param connection The connection to create the PreparedStatement for
+     * @param sagaIds    The identifiers of the Sagas to return. Is never empty.
+     * @return a statement, that creates a result set to be processed by {@link #readSerializedSaga(java.sql.ResultSet)}
+     * and {@link #readSagaIdentifier(java.sql.ResultSet)}, when executed
+     *
+     * @throws SQLException when an error occurs creating the PreparedStatement
+     */
+    PreparedStatement sql_loadSagas(Connection connection, Set<String> sagaIds) throws SQLException;
+
     /**
      * Creates a PreparedStatement that removes an association value for given <code>sagaIdentifier</code>, where the
      * association is identified with given <code>key</code> and <code>value</code>.
@@ -91,6 +107,20 @@ public interface SagaSqlSchema {
     PreparedStatement sql_findAssocSagaIdentifiers(Connection connection, String key, String value, String sagaType)
             throws SQLException;
 
+    /**
+     * Creates a PreparedStatement that finds identifiers of Sagas of given <code>sagaType</code> associated with any
+     * of the given <code>associationValues</code>.
+     *
+     * @param connection        The connection to create the PreparedStatement for
+     * @param sagaType          The type of saga to find associations for
+     * @param associationValues The associations to find the sagas for. Is never empty.
+     * @return a PreparedStatement that creates a ResultSet containing only saga identifiers when executed
+     *
+     * @throws SQLException when an error occurs creating the PreparedStatement
+     */
+    PreparedStatement sql_findAssocSagaIdentifiers(Connection connection, String sagaType,
+                                                   Set<AssociationValue> associationValues) throws SQLException;
+
     /**
      * Creates a PreparedStatement that deletes a Saga with given <code>sagaIdentifier</code>.
      *
@@ -178,4 +208,17 @@ public interface SagaSqlSchema {
      * @throws SQLException when an exception occurs reading from the resultSet
      */
     SerializedObject<?> readSerializedSaga(ResultSet resultSet) throws SQLException;
+
+    /**
+     * Reads the identifier of the Saga from the given <code>resultSet</code>, which has been returned by executing
+     * the Statement returned from {@link #sql_loadSagas(java.sql.Connection, java.util.Set)}
+     * <p/>
+     * Note: The implementation must not change the resultSet's cursor position
+     *
+     * @param resultSet The result set to read data from.
+     * @return the identifier of the Saga in the current row of the resultSet
+     *
+     * @throws SQLException when an exception occurs reading from the resultSet
+     */
+    String readSagaIdentifier(ResultSet resultSet) throws SQLException;
 }
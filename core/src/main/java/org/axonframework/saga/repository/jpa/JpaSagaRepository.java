@@ -28,11 +28,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.nio.charset.Charset;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 import javax.persistence.EntityManager;
 import javax.persistence.EntityNotFoundException;
+import javax.persistence.Query;
 
 /**
  * JPA implementation of the Saga Repository. It uses an {@link javax.persistence.EntityManager} to persist the actual
@@ -82,6 +85,7 @@ public class JpaSagaRepository extends AbstractSagaRepository {
         }
         SerializedSaga serializedSaga = serializedSagaList.get(0);
         Saga loadedSaga = serializer.deserialize(serializedSaga);
+        registerLoadedState(loadedSaga, serializedSaga.getData());
         if (injector != null) {
             injector.injectResources(loadedSaga);
         }
@@ -91,6 +95,35 @@ public class JpaSagaRepository extends AbstractSagaRepository {
         return loadedSaga;
     }
 
+    @SuppressWarnings("unchecked")
+    @Override
+    public Map<String, Saga> loadAll(Set<String> sagaIdentifiers) {
+        Map<String, Saga> sagas = new HashMap<String, Saga>(sagaIdentifiers.size());
+        if (sagaIdentifiers.isEmpty()) {
+            return sagas;
+        }
+        EntityManager entityManager = entityManagerProvider.getEntityManager();
+        List<Object[]> entries = (List<Object[]>) entityManager
+                .createQuery("SELECT se.sagaId, se.serializedSaga, se.sagaType, se.revision "
+                                     + "FROM SagaEntry se "
+                                     + "WHERE se.sagaId IN (:sagaIds)")
+                .setParameter("sagaIds", sagaIdentifiers)
+                .getResultList();
+        for (Object[] entry : entries) {
+            Saga loadedSaga = serializer.deserialize(new SerializedSaga((byte[]) entry[1], (String) entry[2],
+                                                                        (String) entry[3]));
+            registerLoadedState(loadedSaga, (byte[]) entry[1]);
+            if (injector != null) {
+                injector.injectResources(loadedSaga);
+            }
+            sagas.put((String) entry[0], loadedSaga);
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("Loaded {} out of {} requested sagas", sagas.size(), sagaIdentifiers.size());
+        }
+        return sagas;
+    }
+
     @SuppressWarnings({"unchecked"})
     @Override
     protected void removeAssociationValue(AssociationValue associationValue, String sagaType, String sagaIdentifier) {
@@ -142,6 +175,31 @@ public class JpaSagaRepository extends AbstractSagaRepository {
         return new TreeSet<String>(entries);
     }
 
+    @SuppressWarnings({"unchecked"})
+    @Override
+    protected Set<String> findAssociatedSagaIdentifiers(Class<? extends Saga> type,
+                                                        Set<AssociationValue> associationValues) {
+        EntityManager entityManager = entityManagerProvider.getEntityManager();
+        StringBuilder sb = new StringBuilder("SELECT ae.sagaId FROM AssociationValueEntry ae "
+                                                     + "WHERE ae.sagaType = :sagaType AND (");
+        for (int i = 0; i < associationValues.size(); i++) {
+            if (i > 0) {
+                sb.append(" OR ");
+            }
+            sb.append("(ae.associationKey = :associationKey").append(i)
+              .append(" AND ae.associationValue = :associationValue").append(i).append(")");
+        }
+        Query query = entityManager.createQuery(sb.append(")").toString())
+                                   .setParameter("sagaType", typeOf(type));
+        int i = 0;
+        for (AssociationValue associationValue : associationValues) {
+            query.setParameter("associationKey" + i, associationValue.getKey())
+                 .setParameter("associationValue" + i, associationValue.getValue());
+            i++;
+        }
+        return new TreeSet<String>((List<String>) query.getResultList());
+    }
+
     @Override
     protected void deleteSaga(Saga saga) {
         EntityManager entityManager = entityManagerProvider.getEntityManager();
@@ -163,6 +221,10 @@ public class JpaSagaRepository extends AbstractSagaRepository {
     protected void updateSaga(Saga saga) {
         EntityManager entityManager = entityManagerProvider.getEntityManager();
         SagaEntry entry = new SagaEntry(saga, serializer);
+        if (!isModified(saga, entry.getSerializedSaga())) {
+            logger.debug("Saga id {} has not been modified. Skipping update.", saga.getSagaIdentifier());
+            return;
+        }
         if (logger.isDebugEnabled()) {
             logger.debug("Updating saga id {} as {}", saga.getSagaIdentifier(), new String(entry.getSerializedSaga(),
                                                                                            Charset.forName("UTF-8")));
@@ -186,6 +248,7 @@ public class JpaSagaRepository extends AbstractSagaRepository {
                 entityManager.flush();
             }
         }
+        registerStoredState(saga, entry.getSerializedSaga());
     }
 
     @Override
@@ -200,6 +263,7 @@ public class JpaSagaRepository extends AbstractSagaRepository {
         if (useExplicitFlush) {
             entityManager.flush();
         }
+        registerStoredState(saga, entry.getSerializedSaga());
     }
 
     /**
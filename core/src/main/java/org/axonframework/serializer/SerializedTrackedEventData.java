@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.serializer;
+
+/**
+ * Interface describing the properties of serialized Domain Event Messages that have been assigned a position in the
+ * global sequence of events of an Event Store. The global index is assigned by the Event Store when the event is
+ * stored, and increases monotonically with each stored event. Note that the index may contain gaps.
+ *
+ * @param <T> The content type of the serialized data
+ * @author agent
+ * @see org.axonframework.eventstore.TrackingEventStore
+ * @since 2.4
+ */
+public interface SerializedTrackedEventData<T> extends SerializedDomainEventData<T> {
+
+    /**
+     * Returns the position of the event in the global sequence of events in the Event Store.
+     *
+     * @return the position of the event in the global sequence of events
+     */
+    long getGlobalIndex();
+}
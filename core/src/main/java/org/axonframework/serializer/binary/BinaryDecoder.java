@@ -0,0 +1,402 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.serializer.binary;
+
+import org.axonframework.common.io.IOUtils;
+import org.axonframework.serializer.SerializationException;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static java.lang.String.format;
+import static org.axonframework.serializer.binary.BinaryFormat.*;
+
+/**
+ * Reads data in the binary format, either into objects of the classes it was written from, or into a tree of {@link
+ * BinaryNode BinaryNodes}. Instances keep track of the classes and objects read so far, and may therefore only be used
+ * to read a single value.
+ *
+ * @author agent
+ * @since 2.4
+ */
+final class BinaryDecoder {
+
+    private static final Map<String, Class<?>> PRIMITIVE_TYPES = new HashMap<String, Class<?>>();
+
+    static {
+        for (Class<?> type : new Class<?>[]{boolean.class, byte.class, short.class, char.class, int.class,
+                long.class, float.class, double.class}) {
+            PRIMITIVE_TYPES.put(type.getName(), type);
+        }
+    }
+
+    private final BinaryInput input;
+    private final SchemaRegistry schemaRegistry;
+    private final TypeLayouts typeLayouts;
+    private final ClassLoader classLoader;
+    private final boolean treeMode;
+    private final List<ClassReference> classReferences = new ArrayList<ClassReference>();
+    private final List<Object> objectReferences = new ArrayList<Object>();
+    private final Class<?> rootType;
+
+    private BinaryDecoder(byte[] data, SchemaRegistry schemaRegistry, TypeLayouts typeLayouts,
+                          ClassLoader classLoader, Class<?> rootType, boolean treeMode) {
+        this.input = new BinaryInput(data);
+        this.schemaRegistry = schemaRegistry;
+        this.typeLayouts = typeLayouts;
+        this.classLoader = classLoader;
+        this.rootType = rootType;
+        this.treeMode = treeMode;
+        if ((input.readByte() & 0xFF) != MAGIC) {
+            throw new SerializationException("The given data is not in the binary serialization format");
+        }
+        int version = input.readByte();
+        if (version != VERSION) {
+            throw new SerializationException("Unsupported version of the binary serialization format: " + version);
+        }
+    }
+
+    /**
+     * Reads the given <code>data</code> into an object. The given <code>rootType</code> is used as the type of the
+     * top-level object, regardless of the class name in the data, as upcasters may have changed the type of the data.
+     *
+     * @param data           The binary data to read
+     * @param rootType       The type of the top-level object
+     * @param schemaRegistry The registry providing the schemas the data was written with
+     * @param typeLayouts    The cache of reflective information about classes
+     * @param classLoader    The class loader to load classes with
+     * @return the object read from the data
+     */
+    public static Object decode(byte[] data, Class<?> rootType, SchemaRegistry schemaRegistry,
+                                TypeLayouts typeLayouts, ClassLoader classLoader) {
+        return new BinaryDecoder(data, schemaRegistry, typeLayouts, classLoader, rootType, false).readValue(rootType);
+    }
+
+    /**
+     * Reads the given <code>data</code> into a tree of {@link BinaryNode BinaryNodes}. The top-level value is
+     * expected to be a node. As classes are not loaded, all schemas the data was written with must be known to the
+     * given <code>schemaRegistry</code>.
+     *
+     * @param data           The binary data to read
+     * @param schemaRegistry The registry providing the schemas the data was written with
+     * @return the tree read from the data
+     */
+    public static BinaryNode decodeTree(byte[] data, SchemaRegistry schemaRegistry) {
+        BinaryDecoder decoder = new BinaryDecoder(data, schemaRegistry, null, null, null, true);
+        Object value = decoder.readValue(null);
+        if (!(value instanceof BinaryNode)) {
+            throw new SerializationException("The binary data does not represent an object, collection or map");
+        }
+        return (BinaryNode) value;
+    }
+
+    /**
+     * Reads the next value. The given <code>expectedType</code>, if known, is used to find the schema of classes
+     * that are unknown to the schema registry.
+     */
+    private Object readValue(Class<?> expectedType) {
+        int tag = input.readByte();
+        switch (tag) {
+            case NULL:
+                return null;
+            case TRUE:
+                return Boolean.TRUE;
+            case FALSE:
+                return Boolean.FALSE;
+            case BYTE:
+                return (byte) input.readByte();
+            case SHORT:
+                return (short) input.readSignedVarInt();
+            case CHAR:
+                return (char) input.readVarInt();
+            case INT:
+                return input.readSignedVarInt();
+            case LONG:
+                return input.readSignedVarLong();
+            case FLOAT:
+                return Float.intBitsToFloat(input.readFixedInt());
+            case DOUBLE:
+                return Double.longBitsToDouble(input.readFixedLong());
+            case STRING:
+                return input.readString();
+            case BYTES:
+                return input.readBytes();
+            case BIG_INTEGER:
+                return new BigInteger(input.readBytes());
+            case BIG_DECIMAL:
+                int scale = input.readSignedVarInt();
+                return new BigDecimal(new BigInteger(input.readBytes()), scale);
+            case BinaryFormat.UUID:
+                return new UUID(input.readFixedLong(), input.readFixedLong());
+            case DATE:
+                return new Date(input.readSignedVarLong());
+            case DATE_TIME:
+                long millis = input.readSignedVarLong();
+                return new DateTime(millis, DateTimeZone.forID(input.readString()));
+            case ENUM:
+                return readEnum(expectedType);
+            case TEXT:
+                return readText(expectedType);
+            case SERIALIZED:
+                byte[] serializedForm = input.readBytes();
+                return treeMode ? BinaryNode.javaSerialized(serializedForm) : javaDeserialize(serializedForm);
+            case REFERENCE:
+                int index = input.readVarInt();
+                if (index >= objectReferences.size()) {
+                    throw new SerializationException("Binary data contains an invalid object reference");
+                }
+                return objectReferences.get(index);
+            case ARRAY:
+                return readArray(expectedType);
+            case COLLECTION:
+                return readCollection(expectedType);
+            case MAP:
+                return readMap(expectedType);
+            case OBJECT:
+                return readObject(expectedType);
+            default:
+                throw new SerializationException("Binary data contains an unknown tag: " + tag);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object readEnum(Class<?> expectedType) {
+        ClassReference reference = readClassReference(expectedType);
+        String name = input.readString();
+        if (treeMode) {
+            return BinaryNode.enumConstant(reference.className, name);
+        }
+        try {
+            return Enum.valueOf((Class<Enum>) reference.type(), name);
+        } catch (IllegalArgumentException e) {
+            throw new SerializationException(format("Enum %s has no constant %s", reference.className, name), e);
+        }
+    }
+
+    private Object readText(Class<?> expectedType) {
+        ClassReference reference = readClassReference(expectedType);
+        String text = input.readString();
+        if (treeMode) {
+            return BinaryNode.text(reference.className, text);
+        }
+        try {
+            Constructor<?> constructor = reference.type().getConstructor(Object.class);
+            return constructor.newInstance(text);
+        } catch (Exception e) { // NOSONAR
+            throw new SerializationException(format("An exception occurred while deserializing an instance of %s",
+                                                    reference.className), e);
+        }
+    }
+
+    private Object readArray(Class<?> expectedType) {
+        ClassReference reference = readClassReference(
+                expectedType != null && expectedType.isArray() ? expectedType.getComponentType() : null);
+        int length = input.readVarInt();
+        if (treeMode) {
+            BinaryNode node = BinaryNode.array(reference.className);
+            objectReferences.add(node);
+            for (int i = 0; i < length; i++) {
+                node.getElements().add(readValue(null));
+            }
+            return node;
+        }
+        Class<?> componentType = reference.type();
+        Object array = Array.newInstance(componentType, length);
+        objectReferences.add(array);
+        for (int i = 0; i < length; i++) {
+            Array.set(array, i, readValue(componentType));
+        }
+        return array;
+    }
+
+    private Object readCollection(Class<?> expectedType) {
+        ClassReference reference = readClassReference(expectedType);
+        int size = input.readVarInt();
+        if (treeMode) {
+            BinaryNode node = BinaryNode.collection(reference.className);
+            objectReferences.add(node);
+            for (int i = 0; i < size; i++) {
+                node.getElements().add(readValue(null));
+            }
+            return node;
+        }
+        Collection<Object> collection = typeLayouts.newCollection(reference.type());
+        objectReferences.add(collection);
+        for (int i = 0; i < size; i++) {
+            collection.add(readValue(null));
+        }
+        return collection;
+    }
+
+    private Object readMap(Class<?> expectedType) {
+        ClassReference reference = readClassReference(expectedType);
+        int size = input.readVarInt();
+        Map<Object, Object> map;
+        Object result;
+        if (treeMode) {
+            BinaryNode node = BinaryNode.map(reference.className);
+            map = node.getEntries();
+            result = node;
+        } else {
+            map = typeLayouts.newMap(reference.type());
+            result = map;
+        }
+        objectReferences.add(result);
+        for (int i = 0; i < size; i++) {
+            Object key = readValue(null);
+            map.put(key, readValue(null));
+        }
+        return result;
+    }
+
+    private Object readObject(Class<?> expectedType) {
+        ClassReference reference = readClassReference(expectedType);
+        ClassSchema schema = reference.schema;
+        if (schema == null) {
+            throw new SerializationException(format("Binary data contains an object of %s, which has no schema",
+                                                    reference.className));
+        }
+        int referenceIndex = objectReferences.size();
+        if (treeMode) {
+            BinaryNode node = BinaryNode.object(reference.className);
+            objectReferences.add(node);
+            int count = input.readVarInt();
+            for (int i = 0; i < count; i++) {
+                int fieldId = input.readVarInt();
+                if (fieldId >= schema.getFieldNames().size()) {
+                    throw new SerializationException(format("Binary data of %s contains unknown field identifier %s",
+                                                            reference.className, fieldId));
+                }
+                node.getFields().put(schema.getFieldNames().get(fieldId), readValue(null));
+            }
+            return node;
+        }
+        Class<?> type;
+        if (referenceIndex == 0 && rootType != null) {
+            type = rootType;
+        } else {
+            type = reference.type();
+        }
+        TypeLayouts.ReadLayout layout = typeLayouts.readLayout(type, schema);
+        Object instance = layout.newInstance();
+        objectReferences.add(instance);
+        int count = input.readVarInt();
+        for (int i = 0; i < count; i++) {
+            int fieldId = input.readVarInt();
+            layout.setField(instance, fieldId, readValue(layout.fieldType(fieldId)));
+        }
+        Object resolved = layout.resolve(instance);
+        objectReferences.set(referenceIndex, resolved);
+        return resolved;
+    }
+
+    private ClassReference readClassReference(Class<?> expectedType) {
+        int index = input.readVarInt();
+        if (index == 0) {
+            ClassReference reference = new ClassReference(resolveSchema(input.readFixedInt(), expectedType));
+            classReferences.add(reference);
+            return reference;
+        } else if (index <= WELL_KNOWN_TYPES.length) {
+            return new ClassReference(WELL_KNOWN_TYPES[index - 1], null);
+        } else if (index - WELL_KNOWN_TYPES.length > classReferences.size()) {
+            throw new SerializationException("Binary data contains an invalid class reference");
+        }
+        return classReferences.get(index - WELL_KNOWN_TYPES.length - 1);
+    }
+
+    /**
+     * Returns the schema with given <code>schemaId</code>. If the registry doesn't know the schema, the current
+     * schema of the given <code>expectedType</code> is used, provided its id matches.
+     */
+    private ClassSchema resolveSchema(int schemaId, Class<?> expectedType) {
+        ClassSchema schema = schemaRegistry.lookup(schemaId);
+        if (schema == null && expectedType != null && !treeMode) {
+            for (ClassSchema candidate : new ClassSchema[]{ClassSchema.forClass(expectedType),
+                    typeLayouts.typeSchema(expectedType)}) {
+                if (candidate.getId() == schemaId) {
+                    schemaRegistry.register(candidate);
+                    return candidate;
+                }
+            }
+        }
+        if (schema == null) {
+            throw new SerializationException(format(
+                    "The schema with id %s that the binary data was written with is unknown. No such schema has been "
+                            + "registered, and the class has changed since.", schemaId));
+        }
+        return schema;
+    }
+
+    private Object javaDeserialize(byte[] serializedForm) {
+        ObjectInputStream ois = null;
+        try {
+            ois = new ObjectInputStream(new ByteArrayInputStream(serializedForm));
+            return ois.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new SerializationException("An error occurred while deserializing: " + e.getMessage(), e);
+        } catch (IOException e) {
+            throw new SerializationException("An error occurred while deserializing: " + e.getMessage(), e);
+        } finally {
+            IOUtils.closeQuietly(ois);
+        }
+    }
+
+    private final class ClassReference {
+
+        private final String className;
+        private final ClassSchema schema;
+        private Class<?> type;
+
+        private ClassReference(ClassSchema schema) {
+            this(schema.getClassName(), schema);
+        }
+
+        private ClassReference(String className, ClassSchema schema) {
+            this.className = className;
+            this.schema = schema;
+        }
+
+        public Class<?> type() {
+            if (type == null) {
+                type = PRIMITIVE_TYPES.get(className);
+                if (type == null) {
+                    try {
+                        type = Class.forName(className, false, classLoader);
+                    } catch (ClassNotFoundException e) {
+                        throw new SerializationException(format("Unable to load class %s", className), e);
+                    }
+                }
+            }
+            return type;
+        }
+    }
+}
@@ -0,0 +1,356 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.serializer.binary;
+
+import org.axonframework.serializer.SerializationException;
+import org.joda.time.DateTime;
+import org.joda.time.chrono.ISOChronology;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static java.lang.String.format;
+import static org.axonframework.serializer.binary.BinaryFormat.*;
+
+/**
+ * Writes objects and {@link BinaryNode} trees in the binary format. Instances keep track of the classes and objects
+ * written so far, and may therefore only be used to write a single value.
+ *
+ * @author agent
+ * @since 2.4
+ */
+final class BinaryEncoder {
+
+    private final SchemaRegistry schemaRegistry;
+    private final TypeLayouts typeLayouts;
+    private final BinaryOutput output = new BinaryOutput(256);
+    private final Map<ClassSchema, Integer> classReferences = new HashMap<ClassSchema, Integer>();
+    private final Map<Object, Integer> objectReferences = new IdentityHashMap<Object, Integer>();
+
+    private BinaryEncoder(SchemaRegistry schemaRegistry, TypeLayouts typeLayouts) {
+        this.schemaRegistry = schemaRegistry;
+        this.typeLayouts = typeLayouts;
+    }
+
+    /**
+     * Writes the given <code>value</code>, which may be a {@link BinaryNode}, in the binary format.
+     *
+     * @param value          The value to write
+     * @param schemaRegistry The registry to register the schemas of written classes with
+     * @param typeLayouts    The cache of reflective information about classes
+     * @return the binary form of the given value
+     */
+    public static byte[] encode(Object value, SchemaRegistry schemaRegistry, TypeLayouts typeLayouts) {
+        BinaryEncoder encoder = new BinaryEncoder(schemaRegistry, typeLayouts);
+        encoder.output.writeByte(MAGIC);
+        encoder.output.writeByte(VERSION);
+        encoder.writeValue(value);
+        return encoder.output.toByteArray();
+    }
+
+    private void writeValue(Object value) {
+        if (value == null) {
+            output.writeByte(NULL);
+        } else if (value instanceof BinaryNode) {
+            writeNode((BinaryNode) value);
+        } else if (value instanceof String) {
+            output.writeByte(STRING);
+            output.writeString((String) value);
+        } else if (value instanceof Integer) {
+            output.writeByte(INT);
+            output.writeSignedVarInt((Integer) value);
+        } else if (value instanceof Long) {
+            output.writeByte(LONG);
+            output.writeSignedVarLong((Long) value);
+        } else if (value instanceof Boolean) {
+            output.writeByte((Boolean) value ? TRUE : FALSE);
+        } else if (value instanceof Double) {
+            output.writeByte(DOUBLE);
+            output.writeFixedLong(Double.doubleToLongBits((Double) value));
+        } else if (value instanceof Float) {
+            output.writeByte(FLOAT);
+            output.writeFixedInt(Float.floatToIntBits((Float) value));
+        } else if (value instanceof Short) {
+            output.writeByte(SHORT);
+            output.writeSignedVarInt((Short) value);
+        } else if (value instanceof Byte) {
+            output.writeByte(BYTE);
+            output.writeByte((Byte) value);
+        } else if (value instanceof Character) {
+            output.writeByte(CHAR);
+            output.writeVarInt((Character) value);
+        } else if (value instanceof byte[]) {
+            output.writeByte(BYTES);
+            output.writeBytes((byte[]) value);
+        } else if (value.getClass() == BigInteger.class) {
+            output.writeByte(BIG_INTEGER);
+            output.writeBytes(((BigInteger) value).toByteArray());
+        } else if (value.getClass() == BigDecimal.class) {
+            output.writeByte(BIG_DECIMAL);
+            output.writeSignedVarInt(((BigDecimal) value).scale());
+            output.writeBytes(((BigDecimal) value).unscaledValue().toByteArray());
+        } else if (value.getClass() == UUID.class) {
+            output.writeByte(BinaryFormat.UUID);
+            output.writeFixedLong(((UUID) value).getMostSignificantBits());
+            output.writeFixedLong(((UUID) value).getLeastSignificantBits());
+        } else if (value.getClass() == Date.class) {
+            output.writeByte(DATE);
+            output.writeSignedVarLong(((Date) value).getTime());
+        } else if (value instanceof Enum) {
+            output.writeByte(ENUM);
+            writeClassReference(((Enum) value).getDeclaringClass());
+            output.writeString(((Enum) value).name());
+        } else if (value.getClass() == DateTime.class
+                && ((DateTime) value).getChronology() instanceof ISOChronology) {
+            output.writeByte(DATE_TIME);
+            output.writeSignedVarLong(((DateTime) value).getMillis());
+            output.writeString(((DateTime) value).getZone().getID());
+        } else if (isTextType(value.getClass())) {
+            output.writeByte(TEXT);
+            writeClassReference(value.getClass());
+            output.writeString(value.toString());
+        } else if (!writeReferenceIfKnown(value)) {
+            writeObjectGraph(value);
+        }
+    }
+
+    private void writeObjectGraph(Object value) {
+        Class<?> type = value.getClass();
+        if (type.isArray()) {
+            registerReference(value);
+            int length = Array.getLength(value);
+            output.writeByte(ARRAY);
+            writeClassReference(type.getComponentType());
+            output.writeVarInt(length);
+            for (int i = 0; i < length; i++) {
+                writeValue(Array.get(value, i));
+            }
+        } else if (value instanceof Collection && isJdkType(type)) {
+            registerReference(value);
+            // copy to protect against concurrent modification changing the size while writing
+            List<?> elements = new ArrayList<Object>((Collection<?>) value);
+            output.writeByte(COLLECTION);
+            writeClassReference(type);
+            output.writeVarInt(elements.size());
+            for (Object element : elements) {
+                writeValue(element);
+            }
+        } else if (value instanceof Map && isJdkType(type)) {
+            registerReference(value);
+            List<Map.Entry<?, ?>> entries = new ArrayList<Map.Entry<?, ?>>(((Map<?, ?>) value).entrySet());
+            output.writeByte(MAP);
+            writeClassReference(type);
+            output.writeVarInt(entries.size());
+            for (Map.Entry<?, ?> entry : entries) {
+                writeValue(entry.getKey());
+                writeValue(entry.getValue());
+            }
+        } else if (isJdkType(type) && value instanceof Serializable) {
+            output.writeByte(SERIALIZED);
+            output.writeBytes(javaSerialize(value));
+        } else {
+            registerReference(value);
+            writeObject(value);
+        }
+    }
+
+    private void writeObject(Object value) {
+        TypeLayouts.WriteLayout layout = typeLayouts.writeLayout(value.getClass());
+        Field[] fields = layout.getFields();
+        Object[] values = new Object[fields.length];
+        int count = 0;
+        for (int i = 0; i < fields.length; i++) {
+            Object fieldValue = readField(fields[i], value);
+            if (!isDefaultValue(fields[i].getType(), fieldValue)) {
+                values[i] = fieldValue;
+                count++;
+            }
+        }
+        output.writeByte(OBJECT);
+        writeSchemaReference(layout.getSchema());
+        output.writeVarInt(count);
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                output.writeVarInt(i);
+                writeValue(values[i]);
+            }
+        }
+    }
+
+    private void writeNode(BinaryNode node) {
+        if (node.getKind() == BinaryNode.Kind.ENUM || node.getKind() == BinaryNode.Kind.TEXT) {
+            output.writeByte(node.getKind() == BinaryNode.Kind.ENUM ? ENUM : TEXT);
+            writeClassReference(node.getTypeName());
+            output.writeString((String) node.getValue());
+            return;
+        } else if (node.getKind() == BinaryNode.Kind.SERIALIZED) {
+            output.writeByte(SERIALIZED);
+            output.writeBytes((byte[]) node.getValue());
+            return;
+        } else if (writeReferenceIfKnown(node)) {
+            return;
+        }
+        registerReference(node);
+        switch (node.getKind()) {
+            case OBJECT:
+                Map<String, Object> fields = new HashMap<String, Object>(node.getFields());
+                fields.values().removeAll(Collections.singleton(null));
+                ClassSchema schema = new ClassSchema(node.getTypeName(), new ArrayList<String>(fields.keySet()));
+                output.writeByte(OBJECT);
+                writeSchemaReference(schema);
+                output.writeVarInt(fields.size());
+                List<String> fieldNames = schema.getFieldNames();
+                for (int i = 0; i < fieldNames.size(); i++) {
+                    output.writeVarInt(i);
+                    writeValue(fields.get(fieldNames.get(i)));
+                }
+                break;
+            case COLLECTION:
+            case ARRAY:
+                output.writeByte(node.getKind() == BinaryNode.Kind.ARRAY ? ARRAY : COLLECTION);
+                writeClassReference(node.getTypeName());
+                output.writeVarInt(node.getElements().size());
+                for (Object element : node.getElements()) {
+                    writeValue(element);
+                }
+                break;
+            case MAP:
+                output.writeByte(MAP);
+                writeClassReference(node.getTypeName());
+                output.writeVarInt(node.getEntries().size());
+                for (Map.Entry<Object, Object> entry : node.getEntries().entrySet()) {
+                    writeValue(entry.getKey());
+                    writeValue(entry.getValue());
+                }
+                break;
+            default:
+                throw new SerializationException("Unsupported node kind: " + node.getKind());
+        }
+    }
+
+    /**
+     * Writes a reference to the given <code>type</code>, whose instances are not written field by field.
+     */
+    private void writeClassReference(Class<?> type) {
+        int wellKnownIndex = wellKnownTypeIndex(type.getName());
+        if (wellKnownIndex >= 0) {
+            output.writeVarInt(wellKnownIndex + 1);
+        } else {
+            writeSchemaReference(typeLayouts.typeSchema(type));
+        }
+    }
+
+    /**
+     * Writes a reference to the type with given <code>typeName</code>, whose instances are not written field by
+     * field.
+     */
+    private void writeClassReference(String typeName) {
+        int wellKnownIndex = wellKnownTypeIndex(typeName);
+        if (wellKnownIndex >= 0) {
+            output.writeVarInt(wellKnownIndex + 1);
+        } else {
+            writeSchemaReference(ClassSchema.forName(typeName));
+        }
+    }
+
+    /**
+     * Writes a reference to the given <code>schema</code>. The first time the schema is written, its id is written
+     * and the schema is registered with the schema registry. Subsequent references refer to that definition.
+     */
+    private void writeSchemaReference(ClassSchema schema) {
+        Integer index = classReferences.get(schema);
+        if (index != null) {
+            output.writeVarInt(WELL_KNOWN_TYPES.length + index);
+            return;
+        }
+        classReferences.put(schema, classReferences.size() + 1);
+        output.writeVarInt(0);
+        output.writeFixedInt(schema.getId());
+        schemaRegistry.register(schema);
+    }
+
+    private boolean writeReferenceIfKnown(Object value) {
+        Integer index = objectReferences.get(value);
+        if (index == null) {
+            return false;
+        }
+        output.writeByte(REFERENCE);
+        output.writeVarInt(index);
+        return true;
+    }
+
+    private void registerReference(Object value) {
+        objectReferences.put(value, objectReferences.size());
+    }
+
+    private static boolean isDefaultValue(Class<?> fieldType, Object value) {
+        if (value == null) {
+            return true;
+        } else if (!fieldType.isPrimitive()) {
+            return false;
+        } else if (value instanceof Boolean) {
+            return !((Boolean) value);
+        } else if (value instanceof Character) {
+            return (Character) value == 0;
+        } else if (value instanceof Float) {
+            return Float.floatToIntBits((Float) value) == 0;
+        } else if (value instanceof Double) {
+            return Double.doubleToLongBits((Double) value) == 0L;
+        }
+        return ((Number) value).longValue() == 0L;
+    }
+
+    private static Object readField(Field field, Object instance) {
+        try {
+            return field.get(instance);
+        } catch (IllegalAccessException e) {
+            throw new SerializationException(format("Unable to read field %s of %s", field.getName(),
+                                                    instance.getClass().getName()), e);
+        }
+    }
+
+    private static byte[] javaSerialize(Object value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            ObjectOutputStream oos = new ObjectOutputStream(bytes);
+            try {
+                oos.writeObject(value);
+            } finally {
+                oos.flush();
+            }
+        } catch (IOException e) {
+            throw new SerializationException("An exception occurred writing serialized data to the output stream", e);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.serializer.binary;
+
+import org.joda.time.DateTime;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Constants describing the binary format written by the {@link BinarySerializer}.
+ * <p/>
+ * Serialized data starts with a {@link #MAGIC} byte and a {@link #VERSION} byte, followed by a single value. Each
+ * value starts with a tag byte describing the type of value, followed by its content. Classes are referred to by a
+ * variable length integer. 0 indicates a new definition follows, consisting of the 4 byte id of the {@link
+ * ClassSchema} registered for the class. Values up to the number of {@link #WELL_KNOWN_TYPES well-known types} refer
+ * to one of those types, which don't need a definition. Higher values refer to the classes defined earlier in the
+ * same data, in the order of their definition. Objects, collections, maps and arrays that occur more than once are
+ * written once, and referred to by their position in the order in which they were first written.
+ *
+ * @author agent
+ * @since 2.4
+ */
+final class BinaryFormat {
+
+    static final int MAGIC = 0xAB;
+    static final int VERSION = 1;
+
+    static final int NULL = 0;
+    static final int TRUE = 1;
+    static final int FALSE = 2;
+    static final int BYTE = 3;
+    static final int SHORT = 4;
+    static final int CHAR = 5;
+    static final int INT = 6;
+    static final int LONG = 7;
+    static final int FLOAT = 8;
+    static final int DOUBLE = 9;
+    static final int STRING = 10;
+    static final int BYTES = 11;
+    static final int BIG_INTEGER = 12;
+    static final int BIG_DECIMAL = 13;
+    static final int UUID = 14;
+    static final int DATE = 15;
+    static final int ENUM = 16;
+    static final int TEXT = 17;
+    static final int OBJECT = 18;
+    static final int COLLECTION = 19;
+    static final int MAP = 20;
+    static final int ARRAY = 21;
+    static final int SERIALIZED = 22;
+    static final int REFERENCE = 23;
+    static final int DATE_TIME = 24;
+
+    /**
+     * The types that are referred to by their position in this list, instead of by the id of their schema. New types
+     * may only be added to the end of the list.
+     */
+    static final String[] WELL_KNOWN_TYPES = {
+            "boolean", "byte", "short", "char", "int", "long", "float", "double",
+            "java.lang.Object", "java.lang.String",
+            "java.util.ArrayList", "java.util.LinkedList", "java.util.HashSet", "java.util.LinkedHashSet",
+            "java.util.TreeSet", "java.util.HashMap", "java.util.LinkedHashMap", "java.util.TreeMap",
+            "java.util.RegularEnumSet", "java.util.JumboEnumSet", "java.util.Collections$EmptyList",
+            "java.util.Collections$EmptySet", "java.util.Collections$EmptyMap", "java.util.Collections$SingletonList",
+            "java.util.Collections$SingletonSet", "java.util.Collections$SingletonMap",
+            "java.util.Collections$UnmodifiableRandomAccessList", "java.util.Collections$UnmodifiableSet",
+            "java.util.Collections$UnmodifiableMap", "java.util.Arrays$ArrayList",
+            "java.util.concurrent.ConcurrentHashMap", "java.util.concurrent.CopyOnWriteArrayList"
+    };
+
+    private static final Map<String, Integer> WELL_KNOWN_TYPE_INDEXES = new HashMap<String, Integer>();
+
+    static {
+        for (int i = 0; i < WELL_KNOWN_TYPES.length; i++) {
+            WELL_KNOWN_TYPE_INDEXES.put(WELL_KNOWN_TYPES[i], i);
+        }
+    }
+
+    private static final Package JODA_TIME_PACKAGE = DateTime.class.getPackage();
+
+    private BinaryFormat() {
+    }
+
+    /**
+     * Returns the position of the type with given <code>className</code> in the {@link #WELL_KNOWN_TYPES}, or -1 if
+     * it is not a well-known type.
+     *
+     * @param className The fully qualified name of the class
+     * @return the position of the type in the well-known types, or -1
+     */
+    static int wellKnownTypeIndex(String className) {
+        Integer index = WELL_KNOWN_TYPE_INDEXES.get(className);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Indicates whether instances of the given <code>type</code> are written using their textual representation.
+     * This is the case for the Joda Time types, except for <code>DateTime</code> instances using the ISO chronology,
+     * which are written as their milliseconds and time zone.
+     *
+     * @param type The type to verify
+     * @return <code>true</code> if instances are written as text, otherwise <code>false</code>
+     */
+    static boolean isTextType(Class<?> type) {
+        return JODA_TIME_PACKAGE.equals(type.getPackage());
+    }
+
+    /**
+     * Indicates whether the given <code>type</code> is part of the JDK. Collections and maps of these types are
+     * written by their contents, other serializable JDK types using Java serialization.
+     *
+     * @param type The type to verify
+     * @return <code>true</code> if the type is part of the JDK, otherwise <code>false</code>
+     */
+    static boolean isJdkType(Class<?> type) {
+        String name = type.getName();
+        return name.startsWith("java.") || name.startsWith("javax.");
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.serializer.binary;
+
+import org.axonframework.serializer.SerializationException;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * Reads primitive values from a byte array, in the encoding written by {@link BinaryOutput}.
+ *
+ * @author agent
+ * @since 2.4
+ */
+final class BinaryInput {
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private final byte[] buffer;
+    private int position;
+
+    /**
+     * Initializes the input to read from the given <code>buffer</code>.
+     *
+     * @param buffer The bytes to read from
+     */
+    BinaryInput(byte[] buffer) {
+        this.buffer = buffer;
+    }
+
+    public int readByte() {
+        ensureAvailable(1);
+        return buffer[position++];
+    }
+
+    public int readVarInt() {
+        int result = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = readByte();
+            result |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new SerializationException("Malformed variable length integer in binary serialized data");
+    }
+
+    public int readSignedVarInt() {
+        int value = readVarInt();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public long readVarLong() {
+        long result = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            int b = readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new SerializationException("Malformed variable length long in binary serialized data");
+    }
+
+    public long readSignedVarLong() {
+        long value = readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public int readFixedInt() {
+        ensureAvailable(4);
+        return ((buffer[position++] & 0xFF) << 24)
+                | ((buffer[position++] & 0xFF) << 16)
+                | ((buffer[position++] & 0xFF) << 8)
+                | (buffer[position++] & 0xFF);
+    }
+
+    public long readFixedLong() {
+        return ((long) readFixedInt() << 32) | (readFixedInt() & 0xFFFFFFFFL);
+    }
+
+    public byte[] readBytes() {
+        int length = readVarInt();
+        ensureAvailable(length);
+        byte[] bytes = Arrays.copyOfRange(buffer, position, position + length);
+        position += length;
+        return bytes;
+    }
+
+    public String readString() {
+        int length = readVarInt();
+        ensureAvailable(length);
+        String value = new String(buffer, position, length, UTF8);
+        position += length;
+        return value;
+    }
+
+    private void ensureAvailable(int bytes) {
+        if (bytes < 0 || position + bytes > buffer.length) {
+            throw new SerializationException("Unexpected end of binary serialized data");
+        }
+    }
+}
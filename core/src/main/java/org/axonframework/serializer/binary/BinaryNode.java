@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.serializer.binary;
+
+import org.axonframework.common.Assert;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tree representation of binary serialized data, allowing upcasters to inspect and modify binary serialized objects
+ * without loading the classes they were written from. Use the converter factory of the {@link BinarySerializer} to
+ * convert between this representation and <code>byte[]</code>.
+ * <p/>
+ * Each node has a {@link Kind} and a type name. Depending on the kind, the node holds its content as fields, elements,
+ * entries, or a single value. Values in a tree are either another node, or one of <code>null</code>, a
+ * <code>String</code>, a boxed primitive, <code>byte[]</code>, <code>BigInteger</code>, <code>BigDecimal</code>,
+ * <code>UUID</code>, <code>java.util.Date</code> or Joda Time <code>DateTime</code> in the ISO chronology. Fields with
+ * a <code>null</code> or default primitive value are not
+ * included in the binary form, and therefore don't appear in the tree.
+ * <p/>
+ * When the same node is referenced multiple times in a tree, the reference is retained in the binary form.
+ *
+ * @author agent
+ * @since 2.4
+ */
+public final class BinaryNode {
+
+    private final Kind kind;
+    private String typeName;
+    private final Map<String, Object> fields;
+    private final List<Object> elements;
+    private final Map<Object, Object> entries;
+    private Object value;
+
+    /**
+     * Creates a node representing an object of type with given <code>typeName</code>. Use {@link #getFields()} to
+     * provide its field values.
+     *
+     * @param typeName The fully qualified class name of the object
+     * @return a node representing an object
+     */
+    public static BinaryNode object(String typeName) {
+        return new BinaryNode(Kind.OBJECT, typeName, null);
+    }
+
+    /**
+     * Creates a node representing a collection of type with given <code>typeName</code>. Use {@link #getElements()}
+     * to provide its elements.
+     *
+     * @param typeName The fully qualified class name of the collection
+     * @return a node representing a collection
+     */
+    public static BinaryNode collection(String typeName) {
+        return new BinaryNode(Kind.COLLECTION, typeName, null);
+    }
+
+    /**
+     * Creates a node representing an array with the component type with given <code>componentTypeName</code>. Use
+     * {@link #getElements()} to provide its elements.
+     *
+     * @param componentTypeName The name of the component type of the array, as returned by {@link Class#getName()}
+     * @return a node representing an array
+     */
+    public static BinaryNode array(String componentTypeName) {
+        return new BinaryNode(Kind.ARRAY, componentTypeName, null);
+    }
+
+    /**
+     * Creates a node representing a map of type with given <code>typeName</code>. Use {@link #getEntries()} to
+     * provide its entries.
+     *
+     * @param typeName The fully qualified class name of the map
+     * @return a node representing a map
+     */
+    public static BinaryNode map(String typeName) {
+        return new BinaryNode(Kind.MAP, typeName, null);
+    }
+
+    /**
+     * Creates a node representing the constant with given <code>name</code> of the enum with given
+     * <code>typeName</code>.
+     *
+     * @param typeName The fully qualified class name of the enum
+     * @param name     The name of the enum constant
+     * @return a node representing an enum constant
+     */
+    public static BinaryNode enumConstant(String typeName, String name) {
+        return new BinaryNode(Kind.ENUM, typeName, name);
+    }
+
+    /**
+     * Creates a node representing an object of type with given <code>typeName</code> that is represented by its
+     * textual form, such as Joda Time instances.
+     *
+     * @param typeName The fully qualified class name of the object
+     * @param text     The textual representation of the object
+     * @return a node representing an object in textual form
+     */
+    public static BinaryNode text(String typeName, String text) {
+        return new BinaryNode(Kind.TEXT, typeName, text);
+    }
+
+    /**
+     * Creates a node representing an object in the Java serialization format.
+     *
+     * @param serializedForm The java serialized form of the object
+     * @return a node representing a java serialized object
+     */
+    public static BinaryNode javaSerialized(byte[] serializedForm) {
+        return new BinaryNode(Kind.SERIALIZED, null, serializedForm);
+    }
+
+    private BinaryNode(Kind kind, String typeName, Object value) {
+        Assert.isTrue(kind == Kind.SERIALIZED || typeName != null, "typeName may not be null");
+        this.kind = kind;
+        this.typeName = typeName;
+        this.value = value;
+        this.fields = kind == Kind.OBJECT ? new LinkedHashMap<String, Object>() : null;
+        this.elements = kind == Kind.COLLECTION || kind == Kind.ARRAY ? new ArrayList<Object>() : null;
+        this.entries = kind == Kind.MAP ? new LinkedHashMap<Object, Object>() : null;
+    }
+
+    /**
+     * Returns the kind of this node.
+     *
+     * @return the kind of this node
+     */
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Returns the name of the type represented by this node. For arrays, this is the name of the component type.
+     *
+     * @return the name of the type represented by this node
+     */
+    public String getTypeName() {
+        return typeName;
+    }
+
+    /**
+     * Changes the name of the type represented by this node.
+     *
+     * @param typeName The fully qualified class name of the type represented by this node
+     */
+    public void setTypeName(String typeName) {
+        Assert.notNull(typeName, "typeName may not be null");
+        this.typeName = typeName;
+    }
+
+    /**
+     * Returns the modifiable map of field values of an {@link Kind#OBJECT} node, in the order in which they were read.
+     *
+     * @return the field values of this object node
+     *
+     * @throws IllegalStateException if this node does not represent an object
+     */
+    public Map<String, Object> getFields() {
+        Assert.state(fields != null, "Only object nodes have fields");
+        return fields;
+    }
+
+    /**
+     * Returns the modifiable list of elements of a {@link Kind#COLLECTION} or {@link Kind#ARRAY} node.
+     *
+     * @return the elements of this node
+     *
+     * @throws IllegalStateException if this node does not represent a collection or array
+     */
+    public List<Object> getElements() {
+        Assert.state(elements != null, "Only collection and array nodes have elements");
+        return elements;
+    }
+
+    /**
+     * Returns the modifiable map of entries of a {@link Kind#MAP} node.
+     *
+     * @return the entries of this map node
+     *
+     * @throws IllegalStateException if this node does not represent a map
+     */
+    public Map<Object, Object> getEntries() {
+        Assert.state(entries != null, "Only map nodes have entries");
+        return entries;
+    }
+
+    /**
+     * Returns the value of an {@link Kind#ENUM}, {@link Kind#TEXT} or {@link Kind#SERIALIZED} node. This is the name
+     * of the constant, the textual representation, or the java serialized form, respectively. Other nodes return
+     * <code>null</code>.
+     *
+     * @return the value of this node
+     */
+    public Object getValue() {
+        return value;
+    }
+
+    /**
+     * Changes the value of an {@link Kind#ENUM}, {@link Kind#TEXT} or {@link Kind#SERIALIZED} node.
+     *
+     * @param value The new value of this node
+     * @see #getValue()
+     */
+    public void setValue(Object value) {
+        Assert.state(kind == Kind.ENUM || kind == Kind.TEXT || kind == Kind.SERIALIZED,
+                     "Only enum, text and serialized nodes have a value");
+        this.value = value;
+    }
+
+    @Override
+    public String toString() {
+        // content is left out, as trees may contain cyclic references
+        return "BinaryNode{" + kind + (typeName == null ? "" : " " + typeName) + "}";
+    }
+
+    /**
+     * The kinds of nodes in a binary tree.
+     */
+    public static enum Kind {
+
+        /**
+         * An object, of which the state is described by the values of its fields.
+         */
+        OBJECT,
+
+        /**
+         * A collection, described by its elements.
+         */
+        COLLECTION,
+
+        /**
+         * An array, described by its elements.
+         */
+        ARRAY,
+
+        /**
+         * A map, described by its entries.
+         */
+        MAP,
+
+        /**
+         * A constant of an enum type.
+         */
+        ENUM,
+
+        /**
+         * An object described by its textual representation.
+         */
+        TEXT,
+
+        /**
+         * An object stored using Java serialization.
+         */
+        SERIALIZED
+    }
+}
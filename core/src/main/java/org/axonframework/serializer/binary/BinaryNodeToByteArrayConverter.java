@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.serializer.binary;
+
+import org.axonframework.serializer.AbstractContentTypeConverter;
+
+/**
+ * ContentTypeConverter implementation that writes a tree of {@link BinaryNode BinaryNodes} in the format of the {@link
+ * BinarySerializer}. The schemas of the objects in the tree are registered with the schema registry, making sure the
+ * result can be read by the serializer.
+ *
+ * @author agent
+ * @since 2.4
+ */
+public class BinaryNodeToByteArrayConverter extends AbstractContentTypeConverter<BinaryNode, byte[]> {
+
+    private final SchemaRegistry schemaRegistry;
+    private final TypeLayouts typeLayouts = new TypeLayouts();
+
+    /**
+     * Initialize the Converter, registering the schemas of the objects it writes with the given
+     * <code>schemaRegistry</code>.
+     *
+     * @param schemaRegistry The registry to register schemas with
+     */
+    public BinaryNodeToByteArrayConverter(SchemaRegistry schemaRegistry) {
+        this.schemaRegistry = schemaRegistry;
+    }
+
+    @Override
+    public Class<BinaryNode> expectedSourceType() {
+        return BinaryNode.class;
+    }
+
+    @Override
+    public Class<byte[]> targetType() {
+        return byte[].class;
+    }
+
+    @Override
+    public byte[] convert(BinaryNode original) {
+        return BinaryEncoder.encode(original, schemaRegistry, typeLayouts);
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.serializer.binary;
+
+import org.axonframework.common.Assert;
+import org.axonframework.serializer.AnnotationRevisionResolver;
+import org.axonframework.serializer.ChainingConverterFactory;
+import org.axonframework.serializer.ConverterFactory;
+import org.axonframework.serializer.RevisionResolver;
+import org.axonframework.serializer.SerializedObject;
+import org.axonframework.serializer.SerializedType;
+import org.axonframework.serializer.Serializer;
+import org.axonframework.serializer.SimpleSerializedObject;
+import org.axonframework.serializer.SimpleSerializedType;
+import org.axonframework.serializer.UnknownSerializedTypeException;
+
+/**
+ * Serializer implementation that writes objects in a compact binary format. Objects are serialized field by field,
+ * like the XStreamSerializer does, but instead of including class names and field names, the serialized form only
+ * contains the id of the {@link ClassSchema} of each class, and each field value is tagged with the identifier of the
+ * field in that schema. The schemas are kept in a {@link SchemaRegistry}.
+ * <p/>
+ * Since the serialized form doesn't contain the class names and field names, it can only be read as long as the
+ * registry is able to provide the schema it was written with. When the registry doesn't know a schema, the current
+ * schema of the expected type (the serialized type, or the declared type of a field or array) is used if its id
+ * matches. In all other cases, including data written with an older version of a class, the schema must be
+ * registered. Using a persistent registry, such as the {@link JdbcSchemaRegistry}, ensures that is always the case.
+ * When reading data written with an older schema, values of fields that no longer exist are ignored, and new fields
+ * keep their default value.
+ * <p/>
+ * Strings, primitives, <code>byte[]</code>, <code>BigInteger</code>, <code>BigDecimal</code>, <code>UUID</code>,
+ * <code>Date</code>, enums, Joda Time types, arrays and JDK collections and maps are written in a dedicated compact
+ * form. The common JDK collection and map types don't need a schema at all. Other JDK types are written using Java
+ * serialization. All other objects are written field by field, without invoking their constructors when they are
+ * read. Objects referenced more than once are written only once, so cyclic references are supported.
+ * <p/>
+ * Upcasters can operate on the serialized form using the {@link BinaryNode} representation, for which this serializer
+ * registers converters with its converter factory.
+ *
+ * @author agent
+ * @since 2.4
+ */
+public class BinarySerializer implements Serializer {
+
+    private final SchemaRegistry schemaRegistry;
+    private final RevisionResolver revisionResolver;
+    private final ConverterFactory converterFactory;
+    private final ClassLoader classLoader;
+    private final TypeLayouts typeLayouts = new TypeLayouts();
+
+    /**
+     * Initialize the serializer using an {@link InMemorySchemaRegistry}. Revisions are resolved using {@link
+     * org.axonframework.serializer.Revision @Revision} annotations on the serialized classes.
+     * <p/>
+     * Note that the in-memory registry loses all schemas when the application stops. After a restart, data can only
+     * be read if each schema it contains is registered explicitly, or is the current schema of the expected type.
+     */
+    public BinarySerializer() {
+        this(new InMemorySchemaRegistry());
+    }
+
+    /**
+     * Initialize the serializer using given <code>schemaRegistry</code> to store the schemas of serialized classes.
+     * Revisions are resolved using {@link org.axonframework.serializer.Revision @Revision} annotations on the
+     * serialized classes.
+     *
+     * @param schemaRegistry The registry to store the schemas of serialized classes in
+     */
+    public BinarySerializer(SchemaRegistry schemaRegistry) {
+        this(schemaRegistry, new AnnotationRevisionResolver(), new ChainingConverterFactory());
+    }
+
+    /**
+     * Initialize the serializer using given <code>schemaRegistry</code> to store the schemas of serialized classes,
+     * given <code>revisionResolver</code> to define the revision of each object to serialize, and given
+     * <code>converterFactory</code> to be used by upcasters.
+     *
+     * @param schemaRegistry   The registry to store the schemas of serialized classes in
+     * @param revisionResolver The strategy to use to resolve the revision of an object
+     * @param converterFactory The factory providing the converter instances for upcasters
+     */
+    public BinarySerializer(SchemaRegistry schemaRegistry, RevisionResolver revisionResolver,
+                            ConverterFactory converterFactory) {
+        this(schemaRegistry, revisionResolver, converterFactory, null);
+    }
+
+    /**
+     * Initialize the serializer using given <code>schemaRegistry</code> to store the schemas of serialized classes,
+     * given <code>revisionResolver</code> to define the revision of each object to serialize, and given
+     * <code>converterFactory</code> to be used by upcasters. Classes are loaded using the given
+     * <code>classLoader</code>.
+     *
+     * @param schemaRegistry   The registry to store the schemas of serialized classes in
+     * @param revisionResolver The strategy to use to resolve the revision of an object
+     * @param converterFactory The factory providing the converter instances for upcasters
+     * @param classLoader      The class loader to load classes with when deserializing
+     */
+    public BinarySerializer(SchemaRegistry schemaRegistry, RevisionResolver revisionResolver,
+                            ConverterFactory converterFactory, ClassLoader classLoader) {
+        Assert.notNull(schemaRegistry, "schemaRegistry may not be null");
+        Assert.notNull(revisionResolver, "revisionResolver may not be null");
+        this.schemaRegistry = schemaRegistry;
+        this.revisionResolver = revisionResolver;
+        this.converterFactory = converterFactory;
+        this.classLoader = classLoader == null ? getClass().getClassLoader() : classLoader;
+        if (converterFactory instanceof ChainingConverterFactory) {
+            registerConverters((ChainingConverterFactory) converterFactory);
+        }
+    }
+
+    /**
+     * Registers converters with the given <code>converterFactory</code> which depend on the actual contents of the
+     * serialized form to be in the binary format.
+     *
+     * @param converterFactory The ChainingConverterFactory instance to register the converters with.
+     */
+    protected void registerConverters(ChainingConverterFactory converterFactory) {
+        converterFactory.registerConverter(new ByteArrayToBinaryNodeConverter(schemaRegistry));
+        converterFactory.registerConverter(new BinaryNodeToByteArrayConverter(schemaRegistry));
+    }
+
+    @Override
+    public <T> SerializedObject<T> serialize(Object object, Class<T> expectedRepresentation) {
+        byte[] serializedBytes = BinaryEncoder.encode(object, schemaRegistry, typeLayouts);
+        T serializedContent = converterFactory.getConverter(byte[].class, expectedRepresentation)
+                                              .convert(serializedBytes);
+        return new SimpleSerializedObject<T>(serializedContent, expectedRepresentation,
+                                             typeForClass(object.getClass()));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * Note that this serializer cannot serialize to a <code>String</code>, as the serialized form is binary.
+     */
+    @Override
+    public <T> boolean canSerializeTo(Class<T> expectedRepresentation) {
+        return !String.class.equals(expectedRepresentation)
+                && converterFactory.hasConverter(byte[].class, expectedRepresentation);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <S, T> T deserialize(SerializedObject<S> serializedObject) {
+        SerializedObject<byte[]> byteSerialized = converterFactory.getConverter(serializedObject.getContentType(),
+                                                                                byte[].class)
+                                                                  .convert(serializedObject);
+        return (T) BinaryDecoder.decode(byteSerialized.getData(), classForType(serializedObject.getType()),
+                                        schemaRegistry, typeLayouts, classLoader);
+    }
+
+    @Override
+    public Class classForType(SerializedType type) throws UnknownSerializedTypeException {
+        try {
+            return classLoader.loadClass(type.getName());
+        } catch (ClassNotFoundException e) {
+            throw new UnknownSerializedTypeException(type, e);
+        }
+    }
+
+    @Override
+    public SerializedType typeForClass(Class type) {
+        return new SimpleSerializedType(type.getName(), revisionResolver.revisionOf(type));
+    }
+
+    @Override
+    public ConverterFactory getConverterFactory() {
+        return converterFactory;
+    }
+
+    /**
+     * Returns the registry in which this serializer keeps the schemas of serialized classes.
+     *
+     * @return the schema registry used by this serializer
+     */
+    public SchemaRegistry getSchemaRegistry() {
+        return schemaRegistry;
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.serializer.binary;
+
+import org.axonframework.serializer.AbstractContentTypeConverter;
+
+/**
+ * ContentTypeConverter implementation that reads data written by the {@link BinarySerializer} into a tree of {@link
+ * BinaryNode BinaryNodes}, allowing upcasters to operate on binary serialized data.
+ *
+ * @author agent
+ * @since 2.4
+ */
+public class ByteArrayToBinaryNodeConverter extends AbstractContentTypeConverter<byte[], BinaryNode> {
+
+    private final SchemaRegistry schemaRegistry;
+
+    /**
+     * Initialize the Converter, using given <code>schemaRegistry</code> to find the class names and field names of
+     * the schemas in the binary data. As the classes are not loaded, the registry must contain all schemas the data
+     * was written with.
+     *
+     * @param schemaRegistry The registry providing the schemas the data was written with
+     */
+    public ByteArrayToBinaryNodeConverter(SchemaRegistry schemaRegistry) {
+        this.schemaRegistry = schemaRegistry;
+    }
+
+    @Override
+    public Class<byte[]> expectedSourceType() {
+        return byte[].class;
+    }
+
+    @Override
+    public Class<BinaryNode> targetType() {
+        return BinaryNode.class;
+    }
+
+    @Override
+    public BinaryNode convert(byte[] original) {
+        return BinaryDecoder.decodeTree(original, schemaRegistry);
+    }
+}
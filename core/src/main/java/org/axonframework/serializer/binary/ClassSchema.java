@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.serializer.binary;
+
+import org.axonframework.common.Assert;
+import org.axonframework.common.digest.Digester;
+
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.axonframework.common.ReflectionUtils.fieldsOf;
+
+/**
+ * Describes the fields of a class, as written by the {@link BinarySerializer}. Fields are ordered by name, and each
+ * field is identified in the binary form by its position in this schema. The schema is identified by an id derived
+ * from the name of the class and the field names, allowing different versions of the same class to be told apart.
+ * The binary form only contains this id, the {@link SchemaRegistry} provides the class name and field names.
+ * <p/>
+ * The id consists of the first 32 bits of an MD5 digest of the class name and field names. Although unlikely, two
+ * schemas may end up with the same id. {@link SchemaRegistry SchemaRegistries} detect this when the second schema is
+ * registered, and refuse to register it.
+ * <p/>
+ * The schema of a class consists of all non-static, non-transient fields declared on that class and its super classes.
+ * When a super class declares a field with the same name as a field in a subclass, the field of the super class is
+ * qualified with the simple name of its declaring class.
+ *
+ * @author agent
+ * @since 2.4
+ */
+public final class ClassSchema implements Serializable {
+
+    private static final long serialVersionUID = 2389547436709810417L;
+
+    private final String className;
+    private final List<String> fieldNames;
+    private final int id;
+
+    /**
+     * Initializes a schema for the class with given <code>className</code>, with given <code>fieldNames</code>. The
+     * field names are sorted to define the identifier of each field.
+     *
+     * @param className  The fully qualified name of the class
+     * @param fieldNames The names of the fields in the class
+     */
+    public ClassSchema(String className, List<String> fieldNames) {
+        Assert.notNull(className, "className may not be null");
+        List<String> sortedNames = new ArrayList<String>(fieldNames);
+        Collections.sort(sortedNames);
+        this.className = className;
+        this.fieldNames = Collections.unmodifiableList(sortedNames);
+        this.id = idOf(className, sortedNames);
+    }
+
+    /**
+     * Creates the schema describing the current structure of the given <code>type</code>.
+     *
+     * @param type The class to create the schema for
+     * @return the schema of the given type
+     */
+    public static ClassSchema forClass(Class<?> type) {
+        return new ClassSchema(type.getName(), Arrays.asList(namesOf(serializableFieldsOf(type))));
+    }
+
+    /**
+     * Creates the schema of a class whose instances are not written field by field, such as enums, collections and
+     * the component type of arrays. Such schemas only identify the class, and have no fields.
+     *
+     * @param className The fully qualified name of the class
+     * @return a schema without fields for the given class
+     */
+    public static ClassSchema forName(String className) {
+        return new ClassSchema(className, Collections.<String>emptyList());
+    }
+
+    /**
+     * Returns the fields of given <code>type</code> that are part of its schema, in no particular order.
+     *
+     * @param type The type to return the fields of
+     * @return the serializable fields of the given type
+     */
+    static List<Field> serializableFieldsOf(Class<?> type) {
+        List<Field> fields = new ArrayList<Field>();
+        for (Field field : fieldsOf(type)) {
+            if (!Modifier.isStatic(field.getModifiers()) && !Modifier.isTransient(field.getModifiers())) {
+                fields.add(field);
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * Returns the name of each of the given <code>fields</code> as used in a schema. Fields are expected in the order
+     * in which {@link org.axonframework.common.ReflectionUtils#fieldsOf(Class)} returns them, so that fields in
+     * subclasses take precedence over fields with the same name in their super classes.
+     *
+     * @param fields The fields to return the names of
+     * @return the schema names of the given fields, in the same order
+     */
+    static String[] namesOf(List<Field> fields) {
+        String[] names = new String[fields.size()];
+        List<String> seen = new ArrayList<String>(fields.size());
+        for (int i = 0; i < names.length; i++) {
+            Field field = fields.get(i);
+            String name = field.getName();
+            if (seen.contains(name)) {
+                name = field.getDeclaringClass().getSimpleName() + "." + name;
+            }
+            seen.add(name);
+            names[i] = name;
+        }
+        return names;
+    }
+
+    private static int idOf(String className, List<String> sortedNames) {
+        // a line break cannot be part of a class or field name
+        StringBuilder names = new StringBuilder(className).append('\n');
+        for (String name : sortedNames) {
+            names.append(name).append('\n');
+        }
+        return (int) Long.parseLong(Digester.md5Hex(names.toString()).substring(0, 8), 16);
+    }
+
+    /**
+     * Returns the fully qualified name of the class described by this schema.
+     *
+     * @return the name of the class described by this schema
+     */
+    public String getClassName() {
+        return className;
+    }
+
+    /**
+     * Returns the names of the fields in this schema, sorted by name. The position of a field in this list is used as
+     * its identifier in the binary form.
+     *
+     * @return the names of the fields in this schema
+     */
+    public List<String> getFieldNames() {
+        return fieldNames;
+    }
+
+    /**
+     * Returns the id of this schema, which identifies the schema in the binary form.
+     *
+     * @return the id of this schema
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Returns the identifier of the field with given <code>fieldName</code>, or -1 if this schema doesn't contain
+     * such field.
+     *
+     * @param fieldName The name of the field
+     * @return the identifier of the field, or -1 if no such field exists
+     */
+    public int idOf(String fieldName) {
+        int index = Collections.binarySearch(fieldNames, fieldName);
+        return index < 0 ? -1 : index;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ClassSchema that = (ClassSchema) o;
+        return className.equals(that.className) && fieldNames.equals(that.fieldNames);
+    }
+
+    @Override
+    public int hashCode() {
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return "ClassSchema{" + className + fieldNames + "}";
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.serializer.binary;
+
+import org.axonframework.serializer.SerializationException;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * SchemaRegistry implementation that keeps all schemas in memory. Schemas are lost when the application stops. The
+ * schema of older versions of a class must therefore be registered explicitly (see {@link #register(ClassSchema)})
+ * before data written with those versions can be read.
+ *
+ * @author agent
+ * @since 2.4
+ */
+public class InMemorySchemaRegistry implements SchemaRegistry {
+
+    private final ConcurrentMap<Integer, ClassSchema> schemas = new ConcurrentHashMap<Integer, ClassSchema>();
+
+    @Override
+    public void register(ClassSchema schema) {
+        ClassSchema registered = schemas.putIfAbsent(schema.getId(), schema);
+        if (registered != null) {
+            assertSameSchema(registered, schema);
+        }
+    }
+
+    @Override
+    public ClassSchema lookup(int schemaId) {
+        return schemas.get(schemaId);
+    }
+
+    /**
+     * Verifies that the given <code>schema</code> describes the same class and fields as the <code>registered</code>
+     * schema with the same id.
+     *
+     * @param registered The schema already registered
+     * @param schema     The schema to register
+     * @throws SerializationException if the schemas describe a different class or different field names
+     */
+    static void assertSameSchema(ClassSchema registered, ClassSchema schema) {
+        if (!registered.equals(schema)) {
+            throw new SerializationException(String.format(
+                    "Cannot register the schema of class %s with fields %s. It has the same id as the registered "
+                            + "schema of class %s with fields %s. Rename one of the fields to resolve the conflict.",
+                    schema.getClassName(), schema.getFieldNames(), registered.getClassName(),
+                    registered.getFieldNames()));
+        }
+    }
+}
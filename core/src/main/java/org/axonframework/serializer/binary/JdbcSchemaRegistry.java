@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.serializer.binary;
+
+import org.axonframework.common.jdbc.ConnectionProvider;
+import org.axonframework.common.jdbc.DataSourceConnectionProvider;
+import org.axonframework.serializer.SerializationException;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.sql.DataSource;
+
+import static org.axonframework.common.jdbc.JdbcUtils.closeQuietly;
+
+/**
+ * SchemaRegistry implementation that stores schemas in a database table using JDBC, making sure data remains readable
+ * after the classes it was written with have changed. By default, the table is called "ClassSchema", and contains a
+ * <code>schemaId</code>, <code>className</code> and <code>fieldNames</code> column. Use {@link #createSchema()} to
+ * create the table.
+ * <p/>
+ * Schemas are cached in memory, so that the database is only accessed for schemas that have not been used before.
+ * Registration must not be part of the transaction storing the serialized data, as a rollback would remove a schema
+ * that is already cached. Therefore, the connection provider should provide connections in auto-commit mode, instead
+ * of connections attached to the current Unit of Work.
+ *
+ * @author agent
+ * @since 2.4
+ */
+public class JdbcSchemaRegistry implements SchemaRegistry {
+
+    private static final String DEFAULT_TABLE_NAME = "ClassSchema";
+    private static final String FIELD_SEPARATOR = ",";
+
+    private final InMemorySchemaRegistry cache = new InMemorySchemaRegistry();
+    private final ConnectionProvider connectionProvider;
+    private final String tableName;
+
+    /**
+     * Initializes a JdbcSchemaRegistry that obtains connections from the given <code>dataSource</code> and stores
+     * schemas in the default table.
+     *
+     * @param dataSource The data source to obtain connections from
+     */
+    public JdbcSchemaRegistry(DataSource dataSource) {
+        this(new DataSourceConnectionProvider(dataSource));
+    }
+
+    /**
+     * Initializes a JdbcSchemaRegistry that obtains connections from the given <code>connectionProvider</code> and
+     * stores schemas in the default table.
+     *
+     * @param connectionProvider The provider to obtain connections from
+     */
+    public JdbcSchemaRegistry(ConnectionProvider connectionProvider) {
+        this(connectionProvider, DEFAULT_TABLE_NAME);
+    }
+
+    /**
+     * Initializes a JdbcSchemaRegistry that obtains connections from the given <code>connectionProvider</code> and
+     * stores schemas in the table with given <code>tableName</code>.
+     *
+     * @param connectionProvider The provider to obtain connections from
+     * @param tableName          The name of the table to store schemas in
+     */
+    public JdbcSchemaRegistry(ConnectionProvider connectionProvider, String tableName) {
+        this.connectionProvider = connectionProvider;
+        this.tableName = tableName;
+    }
+
+    @Override
+    public void register(ClassSchema schema) {
+        if (schema.equals(cache.lookup(schema.getId()))) {
+            return;
+        }
+        ClassSchema stored = fetch(schema.getId());
+        if (stored == null) {
+            insert(schema);
+        } else {
+            InMemorySchemaRegistry.assertSameSchema(stored, schema);
+        }
+        cache.register(schema);
+    }
+
+    @Override
+    public ClassSchema lookup(int schemaId) {
+        ClassSchema schema = cache.lookup(schemaId);
+        if (schema == null) {
+            schema = fetch(schemaId);
+            if (schema != null) {
+                cache.register(schema);
+            }
+        }
+        return schema;
+    }
+
+    private ClassSchema fetch(int schemaId) {
+        Connection connection = null;
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        try {
+            connection = connectionProvider.getConnection();
+            statement = connection.prepareStatement("SELECT className, fieldNames FROM " + tableName
+                                                            + " WHERE schemaId = ?");
+            statement.setInt(1, schemaId);
+            resultSet = statement.executeQuery();
+            if (!resultSet.next()) {
+                return null;
+            }
+            String className = resultSet.getString(1);
+            String fieldNames = resultSet.getString(2);
+            List<String> names = fieldNames == null || fieldNames.isEmpty()
+                    ? new ArrayList<String>()
+                    : Arrays.asList(fieldNames.split(FIELD_SEPARATOR));
+            return new ClassSchema(className, names);
+        } catch (SQLException e) {
+            throw new SerializationException("Exception while attempting to fetch the schema with id " + schemaId, e);
+        } finally {
+            closeQuietly(resultSet);
+            closeQuietly(statement);
+            closeQuietly(connection);
+        }
+    }
+
+    private void insert(ClassSchema schema) {
+        StringBuilder fieldNames = new StringBuilder();
+        for (String fieldName : schema.getFieldNames()) {
+            if (fieldNames.length() > 0) {
+                fieldNames.append(FIELD_SEPARATOR);
+            }
+            fieldNames.append(fieldName);
+        }
+        Connection connection = null;
+        PreparedStatement statement = null;
+        try {
+            connection = connectionProvider.getConnection();
+            statement = connection.prepareStatement("INSERT INTO " + tableName
+                                                            + " (schemaId, className, fieldNames) VALUES (?,?,?)");
+            statement.setInt(1, schema.getId());
+            statement.setString(2, schema.getClassName());
+            statement.setString(3, fieldNames.toString());
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            // another node may have registered the same schema concurrently
+            ClassSchema stored = fetch(schema.getId());
+            if (stored == null) {
+                throw new SerializationException("Exception while attempting to register the schema of class "
+                                                         + schema.getClassName(), e);
+            }
+            InMemorySchemaRegistry.assertSameSchema(stored, schema);
+        } finally {
+            closeQuietly(statement);
+            closeQuietly(connection);
+        }
+    }
+
+    /**
+     * Creates the table to store schemas in.
+     *
+     * @throws SQLException when an error occurs executing SQL statements
+     */
+    public void createSchema() throws SQLException {
+        Connection connection = connectionProvider.getConnection();
+        try {
+            connection.prepareStatement("create table " + tableName + " (\n"
+                                                + "        schemaId integer not null,\n"
+                                                + "        className varchar(255) not null,\n"
+                                                + "        fieldNames varchar(4000),\n"
+                                                + "        primary key (schemaId)\n"
+                                                + "    )").executeUpdate();
+        } finally {
+            closeQuietly(connection);
+        }
+    }
+}
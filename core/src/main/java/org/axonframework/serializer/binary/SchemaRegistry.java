@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.serializer.binary;
+
+/**
+ * Registry of the class schemas used by the {@link BinarySerializer}. Binary serialized objects only contain the id of
+ * the schema of each class, and the identifiers of their fields. The registry provides the class names and field
+ * names needed to read them.
+ * <p/>
+ * The serializer registers the schema of each class it writes. Data is only readable as long as the registry is able
+ * to provide the schema it was written with. Registries that do not survive a restart of the application, such as the
+ * {@link InMemorySchemaRegistry}, can only read data written with an older version of a class if its schema has been
+ * registered explicitly.
+ *
+ * @author agent
+ * @since 2.4
+ */
+public interface SchemaRegistry {
+
+    /**
+     * Registers the given <code>schema</code>. If an equal schema has already been registered, nothing happens.
+     *
+     * @param schema The schema to register
+     * @throws org.axonframework.serializer.SerializationException if a different schema with the same id has been
+     *                                                             registered
+     */
+    void register(ClassSchema schema);
+
+    /**
+     * Returns the schema with given <code>schemaId</code>, or <code>null</code> if no such schema is known.
+     *
+     * @param schemaId The id of the schema
+     * @return the schema, or <code>null</code> if no such schema has been registered
+     */
+    ClassSchema lookup(int schemaId);
+}
@@ -0,0 +1,375 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.serializer.binary;
+
+import org.axonframework.serializer.SerializationException;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.lang.String.format;
+import static org.axonframework.common.ReflectionUtils.ensureAccessible;
+
+/**
+ * Cache of the reflective information the {@link BinarySerializer} needs to read and write instances of a class.
+ *
+ * @author agent
+ * @since 2.4
+ */
+final class TypeLayouts {
+
+    private static final Object UNSAFE;
+    private static final Method ALLOCATE_INSTANCE;
+
+    static {
+        Object unsafe = null;
+        Method allocateInstance = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            unsafe = theUnsafe.get(null);
+            allocateInstance = unsafeClass.getMethod("allocateInstance", Class.class);
+        } catch (Exception e) { // NOSONAR
+            // not available on this JVM. Instances will be created using their no-arg constructor
+        }
+        UNSAFE = unsafe;
+        ALLOCATE_INSTANCE = allocateInstance;
+    }
+
+    private final ConcurrentMap<Class<?>, WriteLayout> writeLayouts = new ConcurrentHashMap<Class<?>, WriteLayout>();
+    private final ConcurrentMap<Class<?>, ConcurrentMap<Integer, ReadLayout>> readLayouts =
+            new ConcurrentHashMap<Class<?>, ConcurrentMap<Integer, ReadLayout>>();
+    private final ConcurrentMap<Class<?>, Constructor<?>> containerConstructors =
+            new ConcurrentHashMap<Class<?>, Constructor<?>>();
+    private final ConcurrentMap<Class<?>, ClassSchema> typeSchemas = new ConcurrentHashMap<Class<?>, ClassSchema>();
+
+    /**
+     * Returns the layout to write instances of given <code>type</code> with.
+     *
+     * @param type The type of object to write
+     * @return the layout describing the current schema of the given type
+     */
+    public WriteLayout writeLayout(Class<?> type) {
+        WriteLayout layout = writeLayouts.get(type);
+        if (layout == null) {
+            layout = new WriteLayout(type);
+            writeLayouts.putIfAbsent(type, layout);
+        }
+        return layout;
+    }
+
+    /**
+     * Returns the layout to read instances of given <code>type</code> with, that have been written using the given
+     * <code>schema</code>.
+     *
+     * @param type   The type of object to read
+     * @param schema The schema the object was written with
+     * @return the layout mapping the fields of the schema to those of the given type
+     */
+    public ReadLayout readLayout(Class<?> type, ClassSchema schema) {
+        ConcurrentMap<Integer, ReadLayout> layoutsOfType = readLayouts.get(type);
+        if (layoutsOfType == null) {
+            layoutsOfType = new ConcurrentHashMap<Integer, ReadLayout>();
+            ConcurrentMap<Integer, ReadLayout> existing = readLayouts.putIfAbsent(type, layoutsOfType);
+            if (existing != null) {
+                layoutsOfType = existing;
+            }
+        }
+        ReadLayout layout = layoutsOfType.get(schema.getId());
+        if (layout == null) {
+            layout = new ReadLayout(type, schema);
+            layoutsOfType.putIfAbsent(schema.getId(), layout);
+        }
+        return layout;
+    }
+
+    /**
+     * Returns the schema without fields identifying the given <code>type</code>, used to refer to classes whose
+     * instances are not written field by field.
+     *
+     * @param type The type to return the schema for
+     * @return the schema identifying the given type
+     * @see ClassSchema#forName(String)
+     */
+    public ClassSchema typeSchema(Class<?> type) {
+        ClassSchema schema = typeSchemas.get(type);
+        if (schema == null) {
+            schema = ClassSchema.forName(type.getName());
+            typeSchemas.putIfAbsent(type, schema);
+        }
+        return schema;
+    }
+
+    /**
+     * Creates a collection of given <code>type</code>, or of a similar type if the given type cannot be instantiated.
+     *
+     * @param type The type of collection written
+     * @return an empty collection
+     */
+    @SuppressWarnings("unchecked")
+    public Collection<Object> newCollection(Class<?> type) {
+        Constructor<?> constructor = containerConstructors.get(type);
+        if (constructor == null) {
+            Class<?> instantiableType;
+            if (isInstantiable(type)) {
+                instantiableType = type;
+            } else if (SortedSet.class.isAssignableFrom(type)) {
+                instantiableType = TreeSet.class;
+            } else if (Set.class.isAssignableFrom(type)) {
+                instantiableType = LinkedHashSet.class;
+            } else {
+                instantiableType = ArrayList.class;
+            }
+            constructor = constructorOf(instantiableType);
+            containerConstructors.putIfAbsent(type, constructor);
+        }
+        return (Collection<Object>) newInstance(constructor);
+    }
+
+    /**
+     * Creates a map of given <code>type</code>, or of a similar type if the given type cannot be instantiated.
+     *
+     * @param type The type of map written
+     * @return an empty map
+     */
+    @SuppressWarnings("unchecked")
+    public Map<Object, Object> newMap(Class<?> type) {
+        Constructor<?> constructor = containerConstructors.get(type);
+        if (constructor == null) {
+            Class<?> instantiableType;
+            if (isInstantiable(type)) {
+                instantiableType = type;
+            } else if (SortedMap.class.isAssignableFrom(type)) {
+                instantiableType = TreeMap.class;
+            } else {
+                instantiableType = LinkedHashMap.class;
+            }
+            constructor = constructorOf(instantiableType);
+            containerConstructors.putIfAbsent(type, constructor);
+        }
+        return (Map<Object, Object>) newInstance(constructor);
+    }
+
+    private static boolean isInstantiable(Class<?> type) {
+        if (!Modifier.isPublic(type.getModifiers()) || Modifier.isAbstract(type.getModifiers())) {
+            return false;
+        }
+        try {
+            type.getConstructor();
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static Constructor<?> constructorOf(Class<?> type) {
+        try {
+            return type.getConstructor();
+        } catch (NoSuchMethodException e) {
+            throw new SerializationException(format("Type %s has no no-arg constructor", type.getName()), e);
+        }
+    }
+
+    private static Object newInstance(Constructor<?> constructor) {
+        try {
+            return constructor.newInstance();
+        } catch (InstantiationException e) {
+            throw new SerializationException("Unable to instantiate " + constructor.getDeclaringClass(), e);
+        } catch (IllegalAccessException e) {
+            throw new SerializationException("Unable to instantiate " + constructor.getDeclaringClass(), e);
+        } catch (InvocationTargetException e) {
+            throw new SerializationException("Unable to instantiate " + constructor.getDeclaringClass(),
+                                             e.getCause());
+        }
+    }
+
+    /**
+     * Describes how to write instances of a class: the schema of the class and the field belonging to each field
+     * identifier in that schema.
+     */
+    static final class WriteLayout {
+
+        private final ClassSchema schema;
+        private final Field[] fields;
+
+        private WriteLayout(Class<?> type) {
+            List<Field> serializableFields = ClassSchema.serializableFieldsOf(type);
+            String[] names = ClassSchema.namesOf(serializableFields);
+            this.schema = new ClassSchema(type.getName(), Arrays.asList(names));
+            this.fields = new Field[names.length];
+            for (int i = 0; i < names.length; i++) {
+                fields[schema.idOf(names[i])] = ensureAccessible(serializableFields.get(i));
+            }
+        }
+
+        public ClassSchema getSchema() {
+            return schema;
+        }
+
+        public Field[] getFields() {
+            return fields;
+        }
+    }
+
+    /**
+     * Describes how to read instances of a class written using a given schema: the field of the class to assign the
+     * value of each field identifier to, and how to create instances.
+     */
+    static final class ReadLayout {
+
+        private final Class<?> type;
+        private final Field[] fields;
+        private final Method readResolve;
+        private final Constructor<?> constructor;
+
+        private ReadLayout(Class<?> type, ClassSchema schema) {
+            this.type = type;
+            List<Field> serializableFields = ClassSchema.serializableFieldsOf(type);
+            List<String> names = Arrays.asList(ClassSchema.namesOf(serializableFields));
+            List<String> schemaNames = schema.getFieldNames();
+            this.fields = new Field[schemaNames.size()];
+            for (int i = 0; i < fields.length; i++) {
+                int index = names.indexOf(schemaNames.get(i));
+                // fields that no longer exist are ignored
+                fields[i] = index < 0 ? null : ensureAccessible(serializableFields.get(index));
+            }
+            this.readResolve = findReadResolve(type);
+            this.constructor = UNSAFE == null ? findNoArgConstructor(type) : null;
+        }
+
+        private static Method findReadResolve(Class<?> type) {
+            Class<?> current = type;
+            while (current != null) {
+                try {
+                    return ensureAccessible(current.getDeclaredMethod("readResolve"));
+                } catch (NoSuchMethodException e) {
+                    current = current.getSuperclass();
+                }
+            }
+            return null;
+        }
+
+        private static Constructor<?> findNoArgConstructor(Class<?> type) {
+            try {
+                return ensureAccessible(type.getDeclaredConstructor());
+            } catch (NoSuchMethodException e) {
+                throw new SerializationException(format("Unable to create instances of %s. It has no no-arg "
+                                                                + "constructor.", type.getName()), e);
+            }
+        }
+
+        /**
+         * Creates a new instance of the type, without invoking any of its constructors if the JVM allows it.
+         *
+         * @return a new instance
+         */
+        public Object newInstance() {
+            if (constructor != null) {
+                return TypeLayouts.newInstance(constructor);
+            }
+            try {
+                return ALLOCATE_INSTANCE.invoke(UNSAFE, type);
+            } catch (IllegalAccessException e) {
+                throw new SerializationException("Unable to instantiate " + type.getName(), e);
+            } catch (InvocationTargetException e) {
+                throw new SerializationException("Unable to instantiate " + type.getName(), e.getCause());
+            }
+        }
+
+        /**
+         * Returns the declared type of the field with given <code>fieldId</code>, or <code>null</code> if the field
+         * doesn't exist in the type anymore.
+         *
+         * @param fieldId The identifier of the field in the schema the instance was written with
+         * @return the declared type of the field, or <code>null</code>
+         */
+        public Class<?> fieldType(int fieldId) {
+            if (fieldId < 0 || fieldId >= fields.length || fields[fieldId] == null) {
+                return null;
+            }
+            return fields[fieldId].getType();
+        }
+
+        /**
+         * Assigns the given <code>value</code> to the field with given <code>fieldId</code> of given
+         * <code>instance</code>. Values of fields that don't exist in the type anymore are ignored.
+         *
+         * @param instance The instance to assign the value to
+         * @param fieldId  The identifier of the field in the schema the instance was written with
+         * @param value    The value to assign
+         */
+        public void setField(Object instance, int fieldId, Object value) {
+            if (fieldId < 0 || fieldId >= fields.length) {
+                throw new SerializationException(format("Binary data of %s contains unknown field identifier %s",
+                                                        type.getName(), fieldId));
+            }
+            Field field = fields[fieldId];
+            if (field == null) {
+                return;
+            }
+            try {
+                field.set(instance, value);
+            } catch (IllegalArgumentException e) {
+                throw new SerializationException(format("Cannot assign value of type %s to field %s of %s",
+                                                        value.getClass().getName(), field.getName(),
+                                                        type.getName()), e);
+            } catch (IllegalAccessException e) {
+                throw new SerializationException(format("Cannot access field %s of %s",
+                                                        field.getName(), type.getName()), e);
+            }
+        }
+
+        /**
+         * Returns the object that should replace the given <code>instance</code>, as defined by its
+         * <code>readResolve</code> method. If the type has no such method, the given instance is returned.
+         *
+         * @param instance The instance that has been read
+         * @return the object to use instead of the given instance
+         */
+        public Object resolve(Object instance) {
+            if (readResolve == null) {
+                return instance;
+            }
+            try {
+                return readResolve.invoke(instance);
+            } catch (IllegalAccessException e) {
+                throw new SerializationException("Unable to invoke readResolve on " + type.getName(), e);
+            } catch (InvocationTargetException e) {
+                throw new SerializationException("Unable to invoke readResolve on " + type.getName(), e.getCause());
+            }
+        }
+    }
+}
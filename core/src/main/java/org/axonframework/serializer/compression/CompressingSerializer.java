@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.serializer.compression;
+
+import org.axonframework.common.Assert;
+import org.axonframework.serializer.ConverterFactory;
+import org.axonframework.serializer.SerializedObject;
+import org.axonframework.serializer.SerializedType;
+import org.axonframework.serializer.Serializer;
+import org.axonframework.serializer.SimpleSerializedObject;
+import org.axonframework.serializer.UnknownSerializedTypeException;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.zip.Deflater;
+
+/**
+ * Serializer that decorates another Serializer, compressing its output when it exceeds a given size. This reduces
+ * the storage and network I/O of large events and snapshots, while small payloads, for which compression yields
+ * little, are stored as is.
+ * <p/>
+ * Compression is only applied when serializing to a <code>byte[]</code> or <code>InputStream</code>. Compressed data
+ * is marked with a header, which allows data written before compression was enabled to be read without any migration.
+ * Serialized types are left untouched, so that existing upcasters keep matching. Upcaster chains should be created
+ * using this serializer (or its {@link #getConverterFactory() converter factory}), which decompresses data before
+ * converting it into the representation an upcaster expects.
+ *
+ * @author agent
+ * @since 2.4
+ */
+public class CompressingSerializer implements Serializer {
+
+    /**
+     * The default minimum size, in bytes, of serialized data before it is compressed.
+     */
+    public static final int DEFAULT_THRESHOLD = 1024;
+
+    private final Serializer delegate;
+    private final int threshold;
+    private final int compressionLevel;
+    private final DecompressingConverterFactory converterFactory;
+
+    /**
+     * Initializes the CompressingSerializer, compressing the output of the given <code>delegate</code> when it is
+     * larger than {@link #DEFAULT_THRESHOLD} bytes.
+     *
+     * @param delegate The serializer performing the actual serialization
+     */
+    public CompressingSerializer(Serializer delegate) {
+        this(delegate, DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Initializes the CompressingSerializer, compressing the output of the given <code>delegate</code> when it is at
+     * least <code>threshold</code> bytes. Compression favors speed over compression ratio.
+     *
+     * @param delegate  The serializer performing the actual serialization
+     * @param threshold The minimum size, in bytes, of serialized data before it is compressed
+     */
+    public CompressingSerializer(Serializer delegate, int threshold) {
+        this(delegate, threshold, Deflater.BEST_SPEED);
+    }
+
+    /**
+     * Initializes the CompressingSerializer, compressing the output of the given <code>delegate</code> with given
+     * <code>compressionLevel</code> when it is at least <code>threshold</code> bytes.
+     *
+     * @param delegate         The serializer performing the actual serialization
+     * @param threshold        The minimum size, in bytes, of serialized data before it is compressed
+     * @param compressionLevel The Deflate compression level (0-9), see {@link Deflater}
+     */
+    public CompressingSerializer(Serializer delegate, int threshold, int compressionLevel) {
+        Assert.notNull(delegate, "delegate may not be null");
+        Assert.isTrue(threshold >= 0, "threshold may not be negative");
+        Assert.isTrue(compressionLevel >= Deflater.NO_COMPRESSION && compressionLevel <= Deflater.BEST_COMPRESSION,
+                      "compressionLevel must be between 0 and 9");
+        this.delegate = delegate;
+        this.threshold = threshold;
+        this.compressionLevel = compressionLevel;
+        this.converterFactory = new DecompressingConverterFactory(delegate.getConverterFactory());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> SerializedObject<T> serialize(Object object, Class<T> expectedRepresentation) {
+        if (byte[].class.equals(expectedRepresentation)) {
+            return (SerializedObject<T>) compress(delegate.serialize(object, byte[].class));
+        } else if (InputStream.class.equals(expectedRepresentation)) {
+            SerializedObject<byte[]> serialized = compress(delegate.serialize(object, byte[].class));
+            return (SerializedObject<T>) new SimpleSerializedObject<InputStream>(
+                    new ByteArrayInputStream(serialized.getData()), InputStream.class, serialized.getType());
+        }
+        return delegate.serialize(object, expectedRepresentation);
+    }
+
+    @Override
+    public <T> boolean canSerializeTo(Class<T> expectedRepresentation) {
+        return delegate.canSerializeTo(expectedRepresentation);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <S, T> T deserialize(SerializedObject<S> serializedObject) {
+        if (byte[].class.equals(serializedObject.getContentType())) {
+            return delegate.deserialize(decompress((SerializedObject<byte[]>) serializedObject));
+        } else if (InputStream.class.isAssignableFrom(serializedObject.getContentType())) {
+            SerializedObject<byte[]> bytes = converterFactory.getConverter(serializedObject.getContentType(),
+                                                                           byte[].class)
+                                                             .convert(serializedObject);
+            return delegate.deserialize(bytes);
+        }
+        return delegate.deserialize(serializedObject);
+    }
+
+    @Override
+    public Class classForType(SerializedType type) throws UnknownSerializedTypeException {
+        return delegate.classForType(type);
+    }
+
+    @Override
+    public SerializedType typeForClass(Class type) {
+        return delegate.typeForClass(type);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * The returned factory decompresses compressed data before converting it.
+     */
+    @Override
+    public ConverterFactory getConverterFactory() {
+        return converterFactory;
+    }
+
+    private SerializedObject<byte[]> compress(SerializedObject<byte[]> serialized) {
+        byte[] data = serialized.getData();
+        if (data.length < threshold || data.length == 0) {
+            return serialized;
+        }
+        byte[] compressed = DeflateCompression.compress(data, compressionLevel);
+        if (compressed.length >= data.length) {
+            return serialized;
+        }
+        return new SimpleSerializedObject<byte[]>(compressed, byte[].class, serialized.getType());
+    }
+
+    private SerializedObject<byte[]> decompress(SerializedObject<byte[]> serialized) {
+        if (!DeflateCompression.isCompressed(serialized.getData())) {
+            return serialized;
+        }
+        return new SimpleSerializedObject<byte[]>(DeflateCompression.decompress(serialized.getData()), byte[].class,
+                                                  serialized.getType());
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.serializer.compression;
+
+import org.axonframework.serializer.AbstractContentTypeConverter;
+import org.axonframework.serializer.ContentTypeConverter;
+
+/**
+ * ContentTypeConverter that decompresses data written by the {@link CompressingSerializer} before handing it to
+ * another converter. The source data is first converted to a byte array. If that array carries a compression header,
+ * it is decompressed. Uncompressed data is passed on as is, which allows compressed and uncompressed entries to be
+ * mixed in the same event store.
+ *
+ * @param <S> The type of data this converter accepts
+ * @param <T> The type of data this converter produces
+ * @author agent
+ * @since 2.4
+ */
+public class DecompressingConverter<S, T> extends AbstractContentTypeConverter<S, T> {
+
+    private final ContentTypeConverter<S, byte[]> sourceConverter;
+    private final ContentTypeConverter<byte[], T> targetConverter;
+
+    /**
+     * Initializes a converter that uses the given <code>sourceConverter</code> to obtain the (possibly compressed)
+     * bytes from the source data, and the given <code>targetConverter</code> to convert the decompressed bytes to the
+     * target type.
+     *
+     * @param sourceConverter The converter providing the byte array representation of the source data
+     * @param targetConverter The converter converting decompressed bytes to the target type
+     */
+    public DecompressingConverter(ContentTypeConverter<S, byte[]> sourceConverter,
+                                  ContentTypeConverter<byte[], T> targetConverter) {
+        this.sourceConverter = sourceConverter;
+        this.targetConverter = targetConverter;
+    }
+
+    @Override
+    public Class<S> expectedSourceType() {
+        return sourceConverter.expectedSourceType();
+    }
+
+    @Override
+    public Class<T> targetType() {
+        return targetConverter.targetType();
+    }
+
+    @Override
+    public T convert(S original) {
+        byte[] bytes = sourceConverter.convert(original);
+        if (DeflateCompression.isCompressed(bytes)) {
+            bytes = DeflateCompression.decompress(bytes);
+        }
+        return targetConverter.convert(bytes);
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.serializer.compression;
+
+import org.axonframework.common.Assert;
+import org.axonframework.serializer.ContentTypeConverter;
+import org.axonframework.serializer.ConverterFactory;
+
+import java.io.InputStream;
+
+/**
+ * ConverterFactory that decorates another factory, making sure that compressed data is decompressed before it is
+ * converted. Conversions from <code>byte[]</code> or <code>InputStream</code> data will transparently decompress the
+ * data if it was compressed by the {@link CompressingSerializer}. Other conversions are delegated as is.
+ * <p/>
+ * Upcaster chains that use this factory (for example by creating them with the {@link CompressingSerializer}) will
+ * therefore see the decompressed content. Note that upcasters that expect a <code>byte[]</code> representation do not
+ * trigger a conversion, and will receive the data as stored.
+ *
+ * @author agent
+ * @since 2.4
+ */
+public class DecompressingConverterFactory implements ConverterFactory {
+
+    private final ConverterFactory delegate;
+
+    /**
+     * Initializes the factory, delegating the actual conversion to the given <code>delegate</code>.
+     *
+     * @param delegate The factory providing the converters for the decompressed data
+     */
+    public DecompressingConverterFactory(ConverterFactory delegate) {
+        Assert.notNull(delegate, "delegate may not be null");
+        this.delegate = delegate;
+    }
+
+    @Override
+    public <S, T> boolean hasConverter(Class<S> sourceContentType, Class<T> targetContentType) {
+        if (mayContainCompressedData(sourceContentType)) {
+            return delegate.hasConverter(sourceContentType, byte[].class)
+                    && delegate.hasConverter(byte[].class, targetContentType);
+        }
+        return delegate.hasConverter(sourceContentType, targetContentType);
+    }
+
+    @Override
+    public <S, T> ContentTypeConverter<S, T> getConverter(Class<S> sourceContentType, Class<T> targetContentType) {
+        if (mayContainCompressedData(sourceContentType)) {
+            return new DecompressingConverter<S, T>(delegate.getConverter(sourceContentType, byte[].class),
+                                                    delegate.getConverter(byte[].class, targetContentType));
+        }
+        return delegate.getConverter(sourceContentType, targetContentType);
+    }
+
+    /**
+     * Returns the factory this factory delegates to.
+     *
+     * @return the factory this factory delegates to
+     */
+    public ConverterFactory getDelegate() {
+        return delegate;
+    }
+
+    private boolean mayContainCompressedData(Class<?> contentType) {
+        return byte[].class.equals(contentType) || InputStream.class.isAssignableFrom(contentType);
+    }
+}
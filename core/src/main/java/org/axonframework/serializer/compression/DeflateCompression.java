@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.serializer.compression;
+
+import org.axonframework.serializer.SerializationException;
+
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Utility that compresses and decompresses byte arrays using the JDK's Deflate implementation. Compressed data is
+ * prefixed with a header, which allows compressed and uncompressed data to be told apart when reading.
+ * <p/>
+ * The header starts with the bytes <code>0xC7 0x5A</code>, which never occur at the start of a valid UTF-8 string
+ * (and therefore never at the start of an XML or JSON document), nor at the start of the Java or binary serialized
+ * form. It is followed by a format byte and the length of the uncompressed data as a 4 byte integer. The remainder
+ * is a zlib stream, which includes a checksum of the uncompressed data.
+ *
+ * @author agent
+ * @since 2.4
+ */
+final class DeflateCompression {
+
+    private static final byte MAGIC_1 = (byte) 0xC7;
+    private static final byte MAGIC_2 = (byte) 0x5A;
+    private static final byte FORMAT_DEFLATE = 0x01;
+    private static final int HEADER_LENGTH = 7;
+
+    private DeflateCompression() {
+        // utility class
+    }
+
+    /**
+     * Indicates whether the given <code>data</code> starts with the header of compressed data.
+     *
+     * @param data The data to inspect
+     * @return <code>true</code> if the data is compressed, otherwise <code>false</code>
+     */
+    static boolean isCompressed(byte[] data) {
+        return data != null && data.length > HEADER_LENGTH
+                && data[0] == MAGIC_1 && data[1] == MAGIC_2 && data[2] == FORMAT_DEFLATE;
+    }
+
+    /**
+     * Compresses the given <code>data</code> using the given <code>compressionLevel</code>. The returned array
+     * includes the header.
+     *
+     * @param data             The data to compress
+     * @param compressionLevel The Deflate compression level, see {@link Deflater}
+     * @return the compressed data, including header
+     */
+    static byte[] compress(byte[] data, int compressionLevel) {
+        Deflater deflater = new Deflater(compressionLevel);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            byte[] buffer = new byte[HEADER_LENGTH + Math.max(64, data.length / 2)];
+            int length = HEADER_LENGTH;
+            while (!deflater.finished()) {
+                if (length == buffer.length) {
+                    byte[] newBuffer = new byte[buffer.length * 2];
+                    System.arraycopy(buffer, 0, newBuffer, 0, length);
+                    buffer = newBuffer;
+                }
+                length += deflater.deflate(buffer, length, buffer.length - length);
+            }
+            buffer[0] = MAGIC_1;
+            buffer[1] = MAGIC_2;
+            buffer[2] = FORMAT_DEFLATE;
+            buffer[3] = (byte) (data.length >>> 24);
+            buffer[4] = (byte) (data.length >>> 16);
+            buffer[5] = (byte) (data.length >>> 8);
+            buffer[6] = (byte) data.length;
+            byte[] result = new byte[length];
+            System.arraycopy(buffer, 0, result, 0, length);
+            return result;
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Decompresses the given <code>data</code>, which must have been compressed using {@link #compress(byte[],
+     * int)}.
+     *
+     * @param data The compressed data, including header
+     * @return the uncompressed data
+     *
+     * @throws SerializationException if the data is not valid compressed data
+     */
+    static byte[] decompress(byte[] data) {
+        if (!isCompressed(data)) {
+            throw new SerializationException("Cannot decompress data. It does not start with a compression header.");
+        }
+        int originalLength = ((data[3] & 0xFF) << 24) | ((data[4] & 0xFF) << 16)
+                | ((data[5] & 0xFF) << 8) | (data[6] & 0xFF);
+        if (originalLength < 0) {
+            throw new SerializationException("Cannot decompress data. The header contains an invalid length.");
+        }
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data, HEADER_LENGTH, data.length - HEADER_LENGTH);
+            byte[] result = new byte[originalLength];
+            byte[] overflow = new byte[1];
+            int length = 0;
+            while (!inflater.finished()) {
+                int inflated = length < originalLength
+                        ? inflater.inflate(result, length, originalLength - length)
+                        : inflater.inflate(overflow);
+                if (length == originalLength && inflated > 0) {
+                    throw new SerializationException("Cannot decompress data. The decompressed data is longer "
+                                                             + "than the length in its header.");
+                }
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new SerializationException("Cannot decompress data. The compressed data is truncated.");
+                }
+                length += inflated;
+            }
+            if (length != originalLength) {
+                throw new SerializationException("Cannot decompress data. The length of the decompressed data "
+                                                         + "does not match the length in its header.");
+            }
+            return result;
+        } catch (DataFormatException e) {
+            throw new SerializationException("Cannot decompress data. The compressed data is corrupt.", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
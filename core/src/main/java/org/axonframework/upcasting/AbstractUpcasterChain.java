@@ -22,24 +22,34 @@ import org.axonframework.serializer.ContentTypeConverter;
 import org.axonframework.serializer.ConverterFactory;
 import org.axonframework.serializer.SerializedObject;
 import org.axonframework.serializer.SerializedType;
+import org.axonframework.serializer.SimpleSerializedType;
 
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static java.util.Collections.singletonList;
 
 /**
  * Abstract implementation of the UpcasterChain interface. This implementation takes care of the iterative process and
  * provides utility functions to convert content types.
+ * <p/>
+ * For each distinct serialized type (name and revision) the chain determines only once which of its upcasters are
+ * able to upcast it. Objects of a type that none of the upcasters accept are returned without passing through the
+ * chain. Note that the upcasters are copied at construction time. Changes to the list afterwards are not reflected
+ * in the chain.
  *
  * @author Allard Buijze
  * @since 2.0
  */
 public abstract class AbstractUpcasterChain implements UpcasterChain {
 
-    private final List<Upcaster> upcasters;
+    private static final int[] NO_ROUTE = new int[0];
+
+    private final Upcaster[] upcasters;
     private final ConverterFactory converterFactory;
+    private final ConcurrentMap<SerializedType, int[]> routes = new ConcurrentHashMap<SerializedType, int[]>();
 
     /**
      * Initializes the UpcasterChain with given <code>upcasters</code> and a {@link ChainingConverterFactory} to
@@ -59,17 +69,18 @@ public abstract class AbstractUpcasterChain implements UpcasterChain {
      */
     protected AbstractUpcasterChain(ConverterFactory converterFactory, List<Upcaster> upcasters) {
         Assert.notNull(converterFactory, "converterFactory may not be null");
-        this.upcasters = upcasters;
+        this.upcasters = upcasters.toArray(new Upcaster[upcasters.size()]);
         this.converterFactory = converterFactory;
     }
 
     @Override
     public List<SerializedObject> upcast(SerializedObject serializedObject, UpcastingContext upcastingContext) {
-        if (upcasters.isEmpty()) {
+        if (upcasters.length == 0 || routeFor(serializedObject.getType()).length == 0) {
             return singletonList(serializedObject);
         }
-        Iterator<Upcaster> upcasterIterator = upcasters.iterator();
-        return upcastInternal(singletonList(serializedObject), upcasterIterator, upcastingContext);
+        List<SerializedObject> upcastObjects = new ArrayList<SerializedObject>();
+        upcastInternal(serializedObject, 0, upcastingContext, upcastObjects);
+        return upcastObjects;
     }
 
     /**
@@ -112,29 +123,81 @@ public abstract class AbstractUpcasterChain implements UpcasterChain {
                                                               List<SerializedType> targetTypes,
                                                               UpcastingContext context);
 
+    /**
+     * Upcasts the given <code>serializedObject</code> using the upcasters in this chain, starting at the upcaster
+     * with given <code>fromIndex</code>. The objects resulting from the last applicable upcaster are added to the
+     * given <code>upcastObjects</code>, in the order in which they were produced.
+     *
+     * @param serializedObject The object to upcast
+     * @param fromIndex        The index of the first upcaster in the chain to consider
+     * @param context          The container of properties of the Domain Event Message being upcast
+     * @param upcastObjects    The list to add the fully upcast objects to
+     */
     @SuppressWarnings("unchecked")
-    private List<SerializedObject> upcastInternal(List<SerializedObject> serializedObjects,
-                                                  Iterator<Upcaster> upcasterIterator,
-                                                  UpcastingContext context) {
-        if (!upcasterIterator.hasNext()) {
-            return serializedObjects;
+    private void upcastInternal(SerializedObject serializedObject, int fromIndex, UpcastingContext context,
+                                List<SerializedObject> upcastObjects) {
+        final SerializedType type = serializedObject.getType();
+        int upcasterIndex = nextUpcaster(routeFor(type), fromIndex);
+        if (upcasterIndex < 0) {
+            upcastObjects.add(serializedObject);
+            return;
         }
-        List<SerializedObject> upcastObjects = new ArrayList<SerializedObject>();
-        Upcaster<?> currentUpcaster = upcasterIterator.next();
-        for (SerializedObject serializedObject : serializedObjects) {
-            if (currentUpcaster.canUpcast(serializedObject.getType())) {
-                List<SerializedType> upcastTypes;
-                if (currentUpcaster instanceof ExtendedUpcaster) {
-                    upcastTypes = ((ExtendedUpcaster) currentUpcaster).upcast(serializedObject.getType(),
-                                                                              serializedObject);
-                } else {
-                    upcastTypes = currentUpcaster.upcast(serializedObject.getType());
-                }
-                upcastObjects.addAll(doUpcast(currentUpcaster, serializedObject, upcastTypes, context));
-            } else {
-                upcastObjects.add(serializedObject);
+        Upcaster<?> currentUpcaster = upcasters[upcasterIndex];
+        List<SerializedType> upcastTypes;
+        if (currentUpcaster instanceof ExtendedUpcaster) {
+            upcastTypes = ((ExtendedUpcaster) currentUpcaster).upcast(type, serializedObject);
+        } else {
+            upcastTypes = currentUpcaster.upcast(type);
+        }
+        for (SerializedObject upcastObject : doUpcast(currentUpcaster, serializedObject, upcastTypes, context)) {
+            upcastInternal(upcastObject, upcasterIndex + 1, context, upcastObjects);
+        }
+    }
+
+    private static int nextUpcaster(int[] route, int fromIndex) {
+        for (int upcasterIndex : route) {
+            if (upcasterIndex >= fromIndex) {
+                return upcasterIndex;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the indices, in ascending order, of the upcasters in this chain that are able to upcast objects of the
+     * given <code>type</code>. The route is computed on first use and cached for subsequent lookups.
+     *
+     * @param type The serialized type to find the applicable upcasters for
+     * @return the indices of the upcasters that can upcast the given type
+     */
+    private int[] routeFor(SerializedType type) {
+        SerializedType key = type instanceof SimpleSerializedType
+                ? type
+                : new SimpleSerializedType(type.getName(), type.getRevision());
+        int[] route = routes.get(key);
+        if (route == null) {
+            route = computeRoute(key);
+            int[] existing = routes.putIfAbsent(key, route);
+            if (existing != null) {
+                route = existing;
             }
         }
-        return upcastInternal(upcastObjects, upcasterIterator, context);
+        return route;
+    }
+
+    private int[] computeRoute(SerializedType type) {
+        int[] candidates = new int[upcasters.length];
+        int count = 0;
+        for (int i = 0; i < upcasters.length; i++) {
+            if (upcasters[i].canUpcast(type)) {
+                candidates[count++] = i;
+            }
+        }
+        if (count == 0) {
+            return NO_ROUTE;
+        }
+        int[] route = new int[count];
+        System.arraycopy(candidates, 0, route, 0, count);
+        return route;
     }
 }
@@ -0,0 +1,319 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.cache;
+
+import org.junit.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author agent
+ */
+public class BoundedCacheTest {
+
+    private BoundedCache testSubject;
+    private Cache.EntryListener mockListener;
+
+    @Before
+    public void setUp() {
+        mockListener = mock(Cache.EntryListener.class);
+        testSubject = new BoundedCache(100);
+        testSubject.registerCacheEntryListener(mockListener);
+    }
+
+    @Test
+    public void testPutAndGet() {
+        testSubject.put("key", "value");
+        testSubject.put("key", "value2");
+
+        assertEquals("value2", testSubject.get("key"));
+        assertTrue(testSubject.containsKey("key"));
+        assertNull(testSubject.get("other"));
+        assertFalse(testSubject.putIfAbsent("key", "value3"));
+        assertTrue(testSubject.putIfAbsent("other", "value3"));
+
+        verify(mockListener).onEntryCreated("key", "value");
+        verify(mockListener).onEntryUpdated("key", "value2");
+        verify(mockListener).onEntryRead("key", "value2");
+        verify(mockListener).onEntryCreated("other", "value3");
+    }
+
+    @Test
+    public void testRemove() {
+        testSubject.put("key", "value");
+
+        assertTrue(testSubject.remove("key"));
+        assertFalse(testSubject.remove("key"));
+
+        assertFalse(testSubject.containsKey("key"));
+        verify(mockListener, times(1)).onEntryRemoved("key");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullValuesNotSupported() {
+        testSubject.put("key", null);
+    }
+
+    @Test
+    public void testSizeIsBounded() {
+        for (int i = 0; i < 1000; i++) {
+            testSubject.put(i, "value");
+            assertTrue(testSubject.size() <= 100);
+        }
+
+        assertEquals(100, testSubject.size());
+        assertEquals(900, testSubject.getStatistics().getEvictionCount());
+        verify(mockListener, times(900)).onEntryExpired(any());
+    }
+
+    @Test
+    public void testFrequentlyUsedEntriesSurviveScan() {
+        for (int i = 0; i < 50; i++) {
+            testSubject.put("hot" + i, "value");
+        }
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 50; i++) {
+                assertNotNull(testSubject.get("hot" + i));
+            }
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            testSubject.put("cold" + i, "value");
+        }
+
+        for (int i = 0; i < 50; i++) {
+            assertTrue("Expected frequently used entry to be retained: hot" + i,
+                       testSubject.containsKey("hot" + i));
+        }
+    }
+
+    @Test
+    public void testWeightIsBounded() {
+        testSubject = new BoundedCache(100, new BoundedCache.Weigher() {
+            @Override
+            public int weigh(Object key, Object value) {
+                return value.toString().length();
+            }
+        });
+
+        for (int i = 0; i < 50; i++) {
+            testSubject.put(i, "0123456789");
+        }
+
+        assertEquals(10, testSubject.size());
+    }
+
+    @Test
+    public void testEntriesExpireAfterAccess() throws InterruptedException {
+        testSubject.setExpireAfterAccess(50, TimeUnit.MILLISECONDS);
+        testSubject.put("key", "value");
+        testSubject.put("other", "value");
+        assertEquals("value", testSubject.get("key"));
+
+        Thread.sleep(100);
+
+        assertNull(testSubject.get("key"));
+        assertFalse(testSubject.containsKey("other"));
+        testSubject.cleanUp();
+        assertEquals(0, testSubject.size());
+        assertEquals(2, testSubject.getStatistics().getExpirationCount());
+        verify(mockListener).onEntryExpired("key");
+        verify(mockListener).onEntryExpired("other");
+    }
+
+    @Test
+    public void testStatistics() {
+        testSubject.put("key", "value");
+
+        testSubject.get("key");
+        testSubject.get("key");
+        testSubject.get("key");
+        testSubject.get("other");
+        testSubject.put("other", "value");
+
+        CacheStatistics statistics = testSubject.getStatistics();
+        assertEquals(3, statistics.getHitCount());
+        assertEquals(1, statistics.getMissCount());
+        assertEquals(0.75, statistics.getHitRate(), 0.0001);
+        assertEquals(1, statistics.getLoadCount());
+        assertTrue(statistics.getAverageLoadPenaltyMillis() >= 0);
+
+        statistics.reset();
+        assertEquals(0, statistics.getHitCount());
+        assertEquals(1D, statistics.getHitRate(), 0.0001);
+    }
+
+    @Test
+    public void testUpdateOfExpiredEntryReportedAsExpiredAndCreated() throws InterruptedException {
+        testSubject.setExpireAfterAccess(50, TimeUnit.MILLISECONDS);
+        testSubject.put("key", "value");
+
+        Thread.sleep(100);
+        testSubject.put("key", "value2");
+
+        assertEquals("value2", testSubject.get("key"));
+        assertEquals(1, testSubject.size());
+        assertEquals(1, testSubject.getStatistics().getExpirationCount());
+        verify(mockListener).onEntryCreated("key", "value");
+        verify(mockListener).onEntryExpired("key");
+        verify(mockListener).onEntryCreated("key", "value2");
+        verify(mockListener, never()).onEntryUpdated(any(), any());
+    }
+
+    @Test
+    public void testUpdateAppliesNewWeight() {
+        testSubject = new BoundedCache(100, new BoundedCache.Weigher() {
+            @Override
+            public int weigh(Object key, Object value) {
+                return value.toString().length();
+            }
+        });
+        testSubject.registerCacheEntryListener(mockListener);
+        for (int i = 0; i < 10; i++) {
+            testSubject.put(i, "0123456789");
+        }
+
+        testSubject.put(0, "01234567890123456789");
+
+        assertEquals(9, testSubject.size());
+        assertEquals(1, testSubject.getStatistics().getEvictionCount());
+        verify(mockListener).onEntryUpdated(0, "01234567890123456789");
+        verify(mockListener).onEntryExpired(any());
+    }
+
+    @Test
+    public void testUpdatedEntriesKeepTheirFrequency() {
+        for (int i = 0; i < 50; i++) {
+            testSubject.put("hot" + i, "value");
+        }
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 50; i++) {
+                assertNotNull(testSubject.get("hot" + i));
+            }
+        }
+        for (int i = 0; i < 50; i++) {
+            testSubject.put("hot" + i, "value2");
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            testSubject.put("cold" + i, "value");
+        }
+
+        for (int i = 0; i < 50; i++) {
+            assertEquals("value2", testSubject.get("hot" + i));
+        }
+    }
+
+    @Test
+    public void testListenersConsistentWithContentsUnderConcurrentWrites() throws Exception {
+        testSubject = new BoundedCache(50);
+        final ConcurrentMap<Object, AtomicInteger> balance = new ConcurrentHashMap<Object, AtomicInteger>();
+        testSubject.registerCacheEntryListener(new Cache.EntryListenerAdapter() {
+            @Override
+            public void onEntryCreated(Object key, Object value) {
+                counterFor(key).incrementAndGet();
+            }
+
+            @Override
+            public void onEntryExpired(Object key) {
+                counterFor(key).decrementAndGet();
+            }
+
+            @Override
+            public void onEntryRemoved(Object key) {
+                counterFor(key).decrementAndGet();
+            }
+
+            private AtomicInteger counterFor(Object key) {
+                balance.putIfAbsent(key, new AtomicInteger());
+                return balance.get(key);
+            }
+        });
+        final int threadCount = 8;
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        final List<Throwable> failures = new CopyOnWriteArrayList<Throwable>();
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int t = 0; t < threadCount; t++) {
+            final int threadId = t;
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        startLatch.await();
+                        for (int i = 0; i < 10000; i++) {
+                            // each thread writes its own keys, so the last value written to a key is known
+                            String key = threadId + "-" + (i % 20);
+                            if (i % 7 == 0) {
+                                testSubject.remove(key);
+                            } else {
+                                testSubject.put(key, i);
+                            }
+                            testSubject.get(threadId + "-" + (i % 3));
+                        }
+                    } catch (Throwable e) {
+                        failures.add(e);
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        startLatch.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        testSubject.cleanUp();
+
+        assertTrue("Unexpected failures: " + failures, failures.isEmpty());
+        assertTrue(testSubject.size() <= 50);
+        int cachedEntries = 0;
+        for (int t = 0; t < threadCount; t++) {
+            for (int k = 0; k < 20; k++) {
+                String key = t + "-" + k;
+                boolean cached = testSubject.containsKey(key);
+                int expectedBalance = cached ? 1 : 0;
+                assertEquals("Listener notifications do not match contents for " + key,
+                             expectedBalance, balance.containsKey(key) ? balance.get(key).get() : 0);
+                if (cached) {
+                    cachedEntries++;
+                    assertEquals(lastWrite(k), testSubject.<String, Integer>get(key));
+                }
+            }
+        }
+        assertEquals(cachedEntries, testSubject.size());
+    }
+
+    private Integer lastWrite(int keyIndex) {
+        for (int i = 9999; i >= 0; i--) {
+            if (i % 20 == keyIndex && i % 7 != 0) {
+                return i;
+            }
+        }
+        return null;
+    }
+}
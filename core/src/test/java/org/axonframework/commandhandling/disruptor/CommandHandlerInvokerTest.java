@@ -95,6 +95,40 @@ public class CommandHandlerInvokerTest {
         verify(mockEventStore, never()).readEvents(anyString(), eq(aggregateIdentifier));
     }
 
+    @Test
+    public void testSecondLoadFromRepositoryUsesFirstLevelCache() throws Throwable {
+        final Repository<StubAggregate> repository = testSubject.createRepository(
+                new GenericAggregateFactory<StubAggregate>(StubAggregate.class), eventStreamDecorator);
+        when(mockCommandHandler.handle(eq(mockCommandMessage), isA(UnitOfWork.class))).thenAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocationOnMock) throws Throwable {
+                return repository.load(aggregateIdentifier);
+            }
+        });
+        when(mockEventStore.readEvents(anyString(), anyObject()))
+                .thenReturn(new SimpleDomainEventStream(
+                        new GenericDomainEventMessage(aggregateIdentifier, 0, aggregateIdentifier)));
+        testSubject.onEvent(commandHandlingEntry, 0, true);
+        CommandHandlingEntry secondEntry = new CommandHandlingEntry(false);
+        secondEntry.reset(mockCommandMessage, mockCommandHandler, 0, 0, 0, null,
+                          Collections.<CommandHandlerInterceptor>emptyList(),
+                          Collections.<CommandHandlerInterceptor>emptyList());
+        testSubject.onEvent(secondEntry, 1, true);
+
+        assertSame(commandHandlingEntry.getResult(), secondEntry.getResult());
+        verify(mockCache, times(1)).get(aggregateIdentifier);
+        verify(mockEventStore, times(1)).readEvents(anyString(), eq(aggregateIdentifier));
+        assertEquals(1, testSubject.getFirstLevelCacheHitCount());
+        assertEquals(1, testSubject.getFirstLevelCacheMissCount());
+
+        DisruptorCommandBusStatistics statistics =
+                new DisruptorCommandBusStatistics(null, new CommandHandlerInvoker[]{testSubject});
+        assertEquals(1, statistics.getFirstLevelCacheHitCount());
+        assertEquals(1, statistics.getFirstLevelCacheMissCount());
+        assertEquals(0, statistics.getFirstLevelCacheEvictionCount());
+        assertArrayEquals(new long[]{1}, statistics.getFirstLevelCacheHitCountPerSegment());
+    }
+
     @Test
     public void testAddToRepositoryAddsInCache() throws Throwable {
         final Repository<StubAggregate> repository = testSubject.createRepository(
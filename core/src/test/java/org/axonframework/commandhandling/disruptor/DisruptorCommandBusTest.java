@@ -262,6 +262,29 @@ public class DisruptorCommandBusTest {
         verify(mockCallback, times(10)).onFailure(isA(RuntimeException.class));
     }
 
+    @SuppressWarnings("unchecked")
+    @Test(timeout = 10000)
+    public void testAggregatesBlacklistedAndRecoveredOnError_WithGroupCommit() throws Throwable {
+        CommandHandlerInterceptor mockInterceptor = mock(CommandHandlerInterceptor.class);
+        ExecutorService customExecutor = Executors.newCachedThreadPool();
+        mockTransactionManager = mock(TransactionManager.class);
+        when(mockTransactionManager.startTransaction()).thenReturn(new Object());
+
+        CommandCallback mockCallback = dispatchCommands(mockInterceptor,
+                                                        customExecutor,
+                                                        new GenericCommandMessage<ErrorCommand>(
+                                                                new ErrorCommand(aggregateIdentifier)),
+                                                        true);
+
+        assertFalse(customExecutor.awaitTermination(250, TimeUnit.MILLISECONDS));
+        customExecutor.shutdown();
+        assertTrue(customExecutor.awaitTermination(5, TimeUnit.SECONDS));
+        verify(mockCallback, times(990)).onSuccess(any());
+        verify(mockCallback, times(10)).onFailure(isA(RuntimeException.class));
+        // every failed group commit is followed by a transaction per entry in the group
+        verify(mockTransactionManager, atLeast(10)).rollbackTransaction(any());
+    }
+
     @Test
     public void testSerializationOptimization() {
         final DisruptorConfiguration configuration = new DisruptorConfiguration();
@@ -343,6 +366,12 @@ public class DisruptorCommandBusTest {
     private CommandCallback dispatchCommands(CommandHandlerInterceptor mockInterceptor, ExecutorService customExecutor,
                                              GenericCommandMessage<ErrorCommand> errorCommand)
             throws Throwable {
+        return dispatchCommands(mockInterceptor, customExecutor, errorCommand, false);
+    }
+
+    private CommandCallback dispatchCommands(CommandHandlerInterceptor mockInterceptor, ExecutorService customExecutor,
+                                             GenericCommandMessage<ErrorCommand> errorCommand, boolean groupCommit)
+            throws Throwable {
         inMemoryEventStore.storedEvents.clear();
         testSubject = new DisruptorCommandBus(
                 inMemoryEventStore, eventBus,
@@ -355,6 +384,7 @@ public class DisruptorCommandBusTest {
                                             .setInvokerThreadCount(2)
                                             .setPublisherThreadCount(3)
                                             .setTransactionManager(mockTransactionManager)
+                                            .setGroupCommitEnabled(groupCommit)
         );
         testSubject.subscribe(StubCommand.class.getName(), stubHandler);
         testSubject.subscribe(CreateCommand.class.getName(), stubHandler);
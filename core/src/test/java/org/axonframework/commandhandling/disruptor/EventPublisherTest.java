@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.commandhandling.disruptor;
+
+import org.axonframework.cache.Cache;
+import org.axonframework.commandhandling.CommandHandler;
+import org.axonframework.commandhandling.CommandHandlerInterceptor;
+import org.axonframework.commandhandling.CommandMessage;
+import org.axonframework.commandhandling.GenericCommandMessage;
+import org.axonframework.commandhandling.RollbackOnUncheckedExceptionConfiguration;
+import org.axonframework.common.DirectExecutor;
+import org.axonframework.domain.DomainEventMessage;
+import org.axonframework.domain.DomainEventStream;
+import org.axonframework.domain.EventMessage;
+import org.axonframework.eventhandling.EventBus;
+import org.axonframework.eventsourcing.EventSourcedAggregateRoot;
+import org.axonframework.eventsourcing.EventStreamDecorator;
+import org.axonframework.eventsourcing.GenericAggregateFactory;
+import org.axonframework.eventstore.EventStore;
+import org.axonframework.repository.Repository;
+import org.axonframework.testutils.MockException;
+import org.axonframework.unitofwork.TransactionManager;
+import org.axonframework.unitofwork.UnitOfWork;
+import org.junit.*;
+import org.mockito.internal.stubbing.answers.*;
+import org.mockito.invocation.*;
+import org.mockito.stubbing.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author agent
+ */
+public class EventPublisherTest {
+
+    private static final String POISONED_AGGREGATE = "poisoned";
+
+    private EventStore mockEventStore;
+    private EventBus mockEventBus;
+    private TransactionManager mockTransactionManager;
+    private CommandHandlerInvoker commandHandlerInvoker;
+    private Repository<CommandHandlerInvokerTest.StubAggregate> repository;
+    private CommandHandler<Object> commandHandler;
+    private EventPublisher testSubject;
+    private long sequence;
+
+    @SuppressWarnings("unchecked")
+    @Before
+    public void setUp() throws Throwable {
+        mockEventStore = mock(EventStore.class);
+        mockEventBus = mock(EventBus.class);
+        mockTransactionManager = mock(TransactionManager.class);
+        when(mockTransactionManager.startTransaction()).thenAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                return new Object();
+            }
+        });
+        commandHandlerInvoker = new CommandHandlerInvoker(mockEventStore, mock(Cache.class), 0);
+        EventStreamDecorator eventStreamDecorator = mock(EventStreamDecorator.class);
+        when(eventStreamDecorator.decorateForAppend(anyString(), any(EventSourcedAggregateRoot.class),
+                                                    any(DomainEventStream.class)))
+                .thenAnswer(new ReturnsArgumentAt(2));
+        repository = commandHandlerInvoker.createRepository(
+                new GenericAggregateFactory<CommandHandlerInvokerTest.StubAggregate>(
+                        CommandHandlerInvokerTest.StubAggregate.class), eventStreamDecorator);
+        commandHandler = mock(CommandHandler.class);
+        when(commandHandler.handle(isA(CommandMessage.class), isA(UnitOfWork.class))).thenAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                String aggregateIdentifier = (String) ((CommandMessage) invocation.getArguments()[0]).getPayload();
+                CommandHandlerInvokerTest.StubAggregate aggregate =
+                        new CommandHandlerInvokerTest.StubAggregate(aggregateIdentifier);
+                aggregate.doSomething();
+                repository.add(aggregate);
+                return aggregateIdentifier;
+            }
+        });
+        testSubject = new EventPublisher(mockEventStore, mockEventBus, DirectExecutor.INSTANCE,
+                                         mockTransactionManager, new RollbackOnUncheckedExceptionConfiguration(),
+                                         0, true);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testBatchIsStoredInSingleTransaction() throws Exception {
+        List<BlacklistDetectingCallback> callbacks = new ArrayList<BlacklistDetectingCallback>();
+        publishBatch(callbacks, "a", "b", "c");
+
+        verify(mockTransactionManager, times(1)).startTransaction();
+        verify(mockTransactionManager, times(1)).commitTransaction(any());
+        verify(mockTransactionManager, never()).rollbackTransaction(any());
+        verify(mockEventStore, times(1)).appendEvents(anyString(), any(DomainEventStream.class));
+        verify(mockEventBus, times(3)).publish(isA(EventMessage.class));
+        for (BlacklistDetectingCallback callback : callbacks) {
+            verify(callback).onSuccess(any());
+            verify(callback, never()).onFailure(any(Throwable.class));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testPoisonedEntryOnlyBlacklistsItsOwnAggregate() throws Exception {
+        doAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                DomainEventStream events = (DomainEventStream) invocation.getArguments()[1];
+                while (events.hasNext()) {
+                    DomainEventMessage event = events.next();
+                    if (POISONED_AGGREGATE.equals(event.getAggregateIdentifier())) {
+                        throw new MockException();
+                    }
+                }
+                return null;
+            }
+        }).when(mockEventStore).appendEvents(anyString(), any(DomainEventStream.class));
+
+        List<BlacklistDetectingCallback> callbacks = new ArrayList<BlacklistDetectingCallback>();
+        publishBatch(callbacks, "a", POISONED_AGGREGATE, "b");
+
+        // the failed group commit is rolled back, after which each entry is committed in its own transaction
+        verify(mockTransactionManager, times(4)).startTransaction();
+        verify(mockTransactionManager, times(2)).commitTransaction(any());
+        verify(mockTransactionManager, times(2)).rollbackTransaction(any());
+        verify(mockEventStore, times(4)).appendEvents(anyString(), any(DomainEventStream.class));
+        verify(callbacks.get(0)).onSuccess(any());
+        verify(callbacks.get(1)).onFailure(isA(AggregateBlacklistedException.class));
+        verify(callbacks.get(2)).onSuccess(any());
+
+        List<BlacklistDetectingCallback> nextCallbacks = new ArrayList<BlacklistDetectingCallback>();
+        publishBatch(nextCallbacks, "a", POISONED_AGGREGATE);
+
+        verify(nextCallbacks.get(0)).onSuccess(any());
+        verify(nextCallbacks.get(1)).onFailure(isA(AggregateStateCorruptedException.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void publishBatch(List<BlacklistDetectingCallback> callbacks, String... aggregateIdentifiers)
+            throws Exception {
+        List<CommandHandlingEntry> entries = new ArrayList<CommandHandlingEntry>();
+        for (String aggregateIdentifier : aggregateIdentifiers) {
+            BlacklistDetectingCallback callback = mock(BlacklistDetectingCallback.class);
+            when(callback.hasDelegate()).thenReturn(true);
+            callbacks.add(callback);
+            CommandHandlingEntry entry = new CommandHandlingEntry(false);
+            entry.reset(GenericCommandMessage.asCommandMessage(aggregateIdentifier), commandHandler, 0, 0, 0,
+                        callback, Collections.<CommandHandlerInterceptor>emptyList(),
+                        Collections.<CommandHandlerInterceptor>emptyList());
+            commandHandlerInvoker.onEvent(entry, sequence, true);
+            entries.add(entry);
+        }
+        for (int i = 0; i < entries.size(); i++) {
+            testSubject.onEvent(entries.get(i), sequence++, i == entries.size() - 1);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package org.axonframework.commandhandling.disruptor;
+
+import org.junit.*;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ */
+public class FirstLevelCacheTest {
+
+    @Test
+    public void testGetReturnsStoredValue() {
+        FirstLevelCache<Object> testSubject = new FirstLevelCache<Object>(0, false);
+        Object value = new Object();
+        testSubject.put("id", value);
+
+        assertSame(value, testSubject.get("id"));
+        assertNull(testSubject.get("other"));
+        assertEquals(1, testSubject.getHitCount());
+        assertEquals(1, testSubject.getMissCount());
+    }
+
+    @Test
+    public void testRemoveDeletesEntry() {
+        FirstLevelCache<Object> testSubject = new FirstLevelCache<Object>(0, false);
+        Object value = new Object();
+        testSubject.put("id", value);
+
+        assertTrue(testSubject.remove("id"));
+        assertFalse(testSubject.remove("id"));
+        assertNull(testSubject.get("id"));
+        assertEquals(0, testSubject.size());
+    }
+
+    @Test
+    public void testBoundedCacheEvictsLeastRecentlyUsedEntry() {
+        FirstLevelCache<Object> testSubject = new FirstLevelCache<Object>(2, true);
+        Object value1 = new Object();
+        Object value2 = new Object();
+        Object value3 = new Object();
+        testSubject.put("id1", value1);
+        testSubject.put("id2", value2);
+        testSubject.get("id1");
+        testSubject.put("id3", value3);
+
+        assertEquals(2, testSubject.size());
+        assertEquals(1, testSubject.getEvictionCount());
+        assertSame(value1, testSubject.get("id1"));
+        assertNull(testSubject.get("id2"));
+        assertSame(value3, testSubject.get("id3"));
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.common.annotation;
+
+import org.axonframework.domain.GenericEventMessage;
+import org.axonframework.eventhandling.annotation.EventHandler;
+import org.junit.*;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent
+ */
+public class MethodMessageHandlerTest {
+
+    private MethodMessageHandlerInspector inspector;
+
+    @Before
+    public void setUp() {
+        inspector = MethodMessageHandlerInspector.getInstance(
+                PublicHandler.class, EventHandler.class,
+                ClasspathParameterResolverFactory.forClass(PublicHandler.class), true);
+    }
+
+    @Test
+    public void testPublicHandlerMethodIsInvokedThroughGeneratedAccessor() throws Exception {
+        PublicHandler target = new PublicHandler();
+        MethodMessageHandler handler = inspector.findHandlerMethod(new GenericEventMessage<Object>("hello"));
+
+        assertEquals("handleString", handler.getMethodName());
+        assertTrue(handler.isUsingGeneratedInvoker());
+        assertEquals("hello", handler.invoke(target, new GenericEventMessage<Object>("hello")));
+        assertEquals(Collections.<Object>singletonList("hello"), target.invocations);
+    }
+
+    @Test
+    public void testNonPublicHandlerMethodIsInvokedThroughReflection() throws Exception {
+        MethodMessageHandlerInspector privateInspector = MethodMessageHandlerInspector.getInstance(
+                PrivateHandler.class, EventHandler.class,
+                ClasspathParameterResolverFactory.forClass(PrivateHandler.class), true);
+        PrivateHandler target = new PrivateHandler();
+        MethodMessageHandler handler = privateInspector.findHandlerMethod(new GenericEventMessage<Object>(1L));
+
+        assertFalse(handler.isUsingGeneratedInvoker());
+        handler.invoke(target, new GenericEventMessage<Object>(1L));
+        assertEquals(1, target.invocationCount);
+    }
+
+    @Test
+    public void testExceptionsFromGeneratedAccessorAreWrapped() throws Exception {
+        MethodMessageHandler handler = inspector.findHandlerMethod(new GenericEventMessage<Object>(1));
+        assertTrue(handler.isUsingGeneratedInvoker());
+        try {
+            handler.invoke(new PublicHandler(), new GenericEventMessage<Object>(1));
+            fail("Expected exception");
+        } catch (InvocationTargetException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test
+    public void testResolutionCacheStillEvaluatesMessageProperties() throws Exception {
+        PublicHandler target = new PublicHandler();
+        MethodMessageHandler withoutMetaData = inspector.findHandlerMethod(new GenericEventMessage<Object>(1.5d));
+        MethodMessageHandler withMetaData = inspector.findHandlerMethod(
+                new GenericEventMessage<Object>(1.5d, Collections.singletonMap("key", "value")));
+
+        assertNull(withoutMetaData);
+        assertEquals("handleDoubleWithMetaData", withMetaData.getMethodName());
+        assertNull(inspector.findHandlerMethod(new GenericEventMessage<Object>(new Object())));
+        assertNull(inspector.findHandlerMethod(new GenericEventMessage<Object>(new Object())));
+        withMetaData.invoke(target, new GenericEventMessage<Object>(1.5d, Collections.singletonMap("key", "value")));
+        assertEquals(Collections.<Object>singletonList("value"), target.invocations);
+    }
+
+    public static class PublicHandler {
+
+        private final List<Object> invocations = new ArrayList<Object>();
+
+        @EventHandler
+        public String handleString(String event) {
+            invocations.add(event);
+            return event;
+        }
+
+        @EventHandler
+        public void handleInteger(Integer event) {
+            throw new IllegalStateException("Mock");
+        }
+
+        @EventHandler
+        public void handleDoubleWithMetaData(Double event,
+                                             @org.axonframework.common.annotation.MetaData(value = "key",
+                                                                                            required = true)
+                                             String value) {
+            invocations.add(value);
+        }
+    }
+
+    private static class PrivateHandler {
+
+        private int invocationCount;
+
+        @EventHandler
+        private void handle(Long event) {
+            invocationCount++;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.common.lock;
+
+import org.junit.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent
+ */
+public class StripedIdentifierBasedLockTest {
+
+    @Test
+    public void testLockIsReentrant() {
+        StripedIdentifierBasedLock lock = new StripedIdentifierBasedLock();
+
+        assertFalse(lock.hasLock("id"));
+        lock.obtainLock("id");
+        lock.obtainLock("id");
+        assertTrue(lock.hasLock("id"));
+
+        lock.releaseLock("id");
+        assertTrue(lock.hasLock("id"));
+        lock.releaseLock("id");
+        assertFalse(lock.hasLock("id"));
+    }
+
+    @Test
+    public void testStripeCountRoundedUpToPowerOfTwo() {
+        assertEquals(8, new StripedIdentifierBasedLock(5, false).getStripeCount());
+        assertEquals(1, new StripedIdentifierBasedLock(1, false).getStripeCount());
+    }
+
+    @Test(expected = IllegalLockUsageException.class)
+    public void testReleaseWithoutLockIsRejected() {
+        new StripedIdentifierBasedLock().releaseLock("id");
+    }
+
+    @Test(timeout = 5000)
+    public void testLockBlocksOtherThreadsUntilReleased() throws InterruptedException {
+        final StripedIdentifierBasedLock lock = new StripedIdentifierBasedLock(16, false);
+        final CountDownLatch obtained = new CountDownLatch(1);
+        lock.obtainLock("id");
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                lock.obtainLock("id");
+                obtained.countDown();
+                lock.releaseLock("id");
+            }
+        });
+        thread.start();
+
+        assertFalse(obtained.await(100, TimeUnit.MILLISECONDS));
+        lock.releaseLock("id");
+        assertTrue(obtained.await(1, TimeUnit.SECONDS));
+        thread.join();
+    }
+
+    @Test(timeout = 5000)
+    public void testDeadlockDetected_TwoThreadsInVector() throws InterruptedException {
+        final StripedIdentifierBasedLock lock = new StripedIdentifierBasedLock(1024, true);
+        final AtomicBoolean deadlockInThread = new AtomicBoolean(false);
+        lock.obtainLock("id2");
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                lock.obtainLock("id1");
+                try {
+                    lock.obtainLock("id2");
+                    lock.releaseLock("id2");
+                } catch (DeadlockException e) {
+                    deadlockInThread.set(true);
+                } finally {
+                    lock.releaseLock("id1");
+                }
+            }
+        });
+        thread.start();
+        // the thread is timed waiting once it has registered itself as waiting for the lock on id2
+        while (thread.getState() != Thread.State.TIMED_WAITING) {
+            Thread.sleep(10);
+        }
+
+        try {
+            lock.obtainLock("id1");
+            lock.releaseLock("id1");
+            assertTrue("Expected the deadlock to be detected in one of the threads", deadlockInThread.get());
+        } catch (DeadlockException e) {
+            // this is ok!
+        } finally {
+            lock.releaseLock("id2");
+        }
+        thread.join();
+    }
+}
@@ -78,4 +78,31 @@ public class SimpleClusterTest {
 
         verify(eventListener).handle(event);
     }
+
+    @Test
+    public void testPublishEventWithPayloadTypeRouting() {
+        EventListener routedListener = mock(EventListener.class,
+                                            withSettings().extraInterfaces(EventPayloadTypeSupport.class));
+        when(((EventPayloadTypeSupport) routedListener).supportsPayloadType(String.class)).thenReturn(true);
+        testSubject.setPayloadTypeRoutingEnabled(true);
+        testSubject.subscribe(eventListener);
+        testSubject.subscribe(routedListener);
+
+        EventMessage stringEvent = new GenericEventMessage<Object>("string");
+        EventMessage otherEvent = new GenericEventMessage<Object>(new Object());
+        testSubject.publish(stringEvent, otherEvent);
+        testSubject.publish(new GenericEventMessage<Object>(new Object()));
+
+        verify(eventListener).handle(stringEvent);
+        verify(eventListener).handle(otherEvent);
+        verify(routedListener).handle(stringEvent);
+        verify(routedListener, never()).handle(otherEvent);
+        // routes are cached per payload type
+        verify((EventPayloadTypeSupport) routedListener, times(1)).supportsPayloadType(Object.class);
+
+        testSubject.unsubscribe(eventListener);
+        EventMessage thirdEvent = new GenericEventMessage<Object>(new Object());
+        testSubject.publish(thirdEvent);
+        verify(eventListener, never()).handle(thirdEvent);
+    }
 }
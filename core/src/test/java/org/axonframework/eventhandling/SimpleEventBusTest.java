@@ -63,6 +63,25 @@ public class SimpleEventBusTest {
         verify(listener3, times(2)).handle(isA(EventMessage.class));
     }
 
+    @Test
+    public void testEventIsOnlyDispatchedToInterestedListenersWithPayloadTypeRouting() {
+        EventListener routedListener = mock(EventListener.class,
+                                            withSettings().extraInterfaces(EventPayloadTypeSupport.class));
+        when(((EventPayloadTypeSupport) routedListener).supportsPayloadType(String.class)).thenReturn(true);
+        SimpleEventBus eventBus = new SimpleEventBus();
+        eventBus.setPayloadTypeRoutingEnabled(true);
+        eventBus.subscribe(listener1);
+        eventBus.subscribe(routedListener);
+
+        eventBus.publish(newEvent());
+        eventBus.publish(new GenericEventMessage<Object>("string"));
+        eventBus.unsubscribe(routedListener);
+        eventBus.publish(new GenericEventMessage<Object>("string"));
+
+        verify(listener1, times(3)).handle(isA(EventMessage.class));
+        verify(routedListener, times(1)).handle(isA(EventMessage.class));
+    }
+
     private EventMessage newEvent() {
         return new GenericEventMessage<Object>(new Object());
     }
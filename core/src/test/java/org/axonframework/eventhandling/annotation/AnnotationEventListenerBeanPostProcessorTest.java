@@ -24,6 +24,7 @@ import org.axonframework.domain.StubAggregate;
 import org.axonframework.domain.StubDomainEvent;
 import org.axonframework.eventhandling.EventBus;
 import org.axonframework.eventhandling.EventListener;
+import org.axonframework.eventhandling.EventPayloadTypeSupport;
 import org.junit.*;
 import org.springframework.context.ApplicationContext;
 
@@ -91,6 +92,15 @@ public class AnnotationEventListenerBeanPostProcessorTest {
         assertEquals(1, annotatedEventListener.getInvocationCount());
     }
 
+    @Test
+    public void testPayloadTypeSupportRedirectsToAdapter() {
+        Object result1 = testSubject.postProcessBeforeInitialization(new SyncEventListener(), "beanName");
+        Object postProcessedBean = testSubject.postProcessAfterInitialization(result1, "beanName");
+
+        assertTrue(postProcessedBean instanceof EventPayloadTypeSupport);
+        assertTrue(((EventPayloadTypeSupport) postProcessedBean).supportsPayloadType(FailingEvent.class));
+    }
+
     @Test
     public void testPostProcessedBeanNotProcessedAgain() {
         Object result1 = testSubject.postProcessBeforeInitialization(new SyncEventListener(), "beanName");
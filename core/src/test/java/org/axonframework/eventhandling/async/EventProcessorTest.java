@@ -28,6 +28,7 @@ import org.axonframework.unitofwork.TransactionManager;
 import org.junit.*;
 import org.mockito.*;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
@@ -176,6 +177,87 @@ public class EventProcessorTest {
         inOrder.verify(mockTransactionManager).commitTransaction(any());
     }
 
+    @Test
+    public void testEventProcessingInBatches() {
+        ExecutorService mockExecutorService = mock(ExecutorService.class);
+        final MockEventListener listener = new MockEventListener();
+        testSubject = new EventProcessor(mockExecutorService, new NullShutdownCallback(),
+                                         new DefaultErrorHandler(RetryPolicy.retryAfter(500, TimeUnit.MILLISECONDS)),
+                                         new DefaultUnitOfWorkFactory(mockTransactionManager),
+                                         Collections.<EventListener>singleton(listener),
+                                         multiplexingEventProcessingMonitor, 2, 0);
+        for (int i = 0; i < 5; i++) {
+            testSubject.scheduleEvent(new GenericEventMessage<StubDomainEvent>(new StubDomainEvent()));
+        }
+
+        testSubject.run();
+
+        assertEquals(5, listener.handledEvents.size());
+        verify(mockTransactionManager, times(3)).startTransaction();
+        verify(mockTransactionManager, times(3)).commitTransaction(any());
+        verify(mockTransactionManager, never()).rollbackTransaction(any());
+    }
+
+    @Test
+    public void testEventProcessingInBatches_FailedBatchProcessedIndividually() {
+        ExecutorService mockExecutorService = mock(ExecutorService.class);
+        final MockEventListener listener = new MockEventListener();
+        ErrorHandler errorHandler = spy(new DefaultErrorHandler(RetryPolicy.skip()));
+        testSubject = new EventProcessor(mockExecutorService, new NullShutdownCallback(), errorHandler,
+                                         new DefaultUnitOfWorkFactory(mockTransactionManager),
+                                         Collections.<EventListener>singleton(listener),
+                                         multiplexingEventProcessingMonitor, 3, 0);
+        EventMessage<StubDomainEvent> event1 = new GenericEventMessage<StubDomainEvent>(new StubDomainEvent());
+        EventMessage<StubDomainEvent> event2 = new GenericEventMessage<StubDomainEvent>(new StubDomainEvent());
+        EventMessage<StubDomainEvent> event3 = new GenericEventMessage<StubDomainEvent>(new StubDomainEvent());
+        testSubject.scheduleEvent(event1);
+        testSubject.scheduleEvent(event2);
+        testSubject.scheduleEvent(event3);
+        listener.failOnEvent = 2;
+
+        testSubject.run();
+
+        // the batch fails on event2, after which event1 is processed in its own unit of work. The error handler
+        // decided to skip event2, so it isn't handled again.
+        assertEquals(Arrays.<EventMessage<?>>asList(event1, event2, event1, event3), listener.handledEvents);
+        verify(errorHandler, times(1)).handleError(isA(MockException.class), eq(event2), eq(listener));
+        verify(eventProcessingMonitor).onEventProcessingFailed(eq(Collections.<EventMessage>singletonList(event2)),
+                                                               isA(MockException.class));
+        verify(mockTransactionManager, times(3)).startTransaction();
+        verify(mockTransactionManager, times(2)).commitTransaction(any());
+        verify(mockTransactionManager, times(1)).rollbackTransaction(any());
+    }
+
+    @Test
+    public void testEventProcessingInBatches_FailedBatchRetriedAfterWaitTime() {
+        ScheduledExecutorService mockExecutorService = mock(ScheduledExecutorService.class);
+        final MockEventListener listener = new MockEventListener();
+        ErrorHandler errorHandler = spy(new DefaultErrorHandler(RetryPolicy.retryAfter(100, TimeUnit.MILLISECONDS)));
+        testSubject = new EventProcessor(mockExecutorService, new NullShutdownCallback(), errorHandler,
+                                         new DefaultUnitOfWorkFactory(mockTransactionManager),
+                                         Collections.<EventListener>singleton(listener),
+                                         multiplexingEventProcessingMonitor, 3, 0);
+        EventMessage<StubDomainEvent> event1 = new GenericEventMessage<StubDomainEvent>(new StubDomainEvent());
+        EventMessage<StubDomainEvent> event2 = new GenericEventMessage<StubDomainEvent>(new StubDomainEvent());
+        EventMessage<StubDomainEvent> event3 = new GenericEventMessage<StubDomainEvent>(new StubDomainEvent());
+        testSubject.scheduleEvent(event1);
+        testSubject.scheduleEvent(event2);
+        testSubject.scheduleEvent(event3);
+        listener.failOnEvent = 2;
+
+        testSubject.run();
+
+        assertEquals(Arrays.<EventMessage<?>>asList(event1, event2), listener.handledEvents);
+        verify(mockExecutorService).schedule(eq(testSubject), gt(50L), eq(TimeUnit.MILLISECONDS));
+        // since the scheduler is a mock, we simulate the execution:
+        testSubject.run();
+
+        assertEquals(Arrays.<EventMessage<?>>asList(event1, event2, event1, event2, event3), listener.handledEvents);
+        verify(errorHandler, times(1)).handleError(any(Throwable.class), any(EventMessage.class),
+                                                   any(EventListener.class));
+        verify(eventProcessingMonitor, never()).onEventProcessingFailed(anyList(), any(Throwable.class));
+    }
+
     private MockEventListener executeEventProcessing(RetryPolicy policy) {
         ExecutorService mockExecutorService = mock(ExecutorService.class);
         final MockEventListener listener = new MockEventListener();
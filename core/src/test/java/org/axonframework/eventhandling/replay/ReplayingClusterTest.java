@@ -17,6 +17,7 @@
 package org.axonframework.eventhandling.replay;
 
 import org.axonframework.domain.DomainEventMessage;
+import org.axonframework.domain.EventMessage;
 import org.axonframework.domain.GenericDomainEventMessage;
 import org.axonframework.domain.GenericEventMessage;
 import org.axonframework.eventhandling.Cluster;
@@ -27,6 +28,8 @@ import org.axonframework.eventhandling.EventListener;
 import org.axonframework.eventhandling.SimpleCluster;
 import org.axonframework.eventhandling.annotation.AnnotationEventListenerAdapter;
 import org.axonframework.eventhandling.annotation.EventHandler;
+import org.axonframework.eventhandling.async.SequencingPolicy;
+import org.axonframework.eventhandling.async.SequentialPerAggregatePolicy;
 import org.axonframework.eventstore.EventVisitor;
 import org.axonframework.eventstore.jpa.criteria.JpaCriteriaBuilder;
 import org.axonframework.eventstore.management.Criteria;
@@ -40,9 +43,14 @@ import org.mockito.stubbing.*;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
@@ -379,6 +387,146 @@ public class ReplayingClusterTest {
         inOrder.verify(mockTransactionManager, never()).startTransaction();
     }
 
+    @Test(timeout = 10000)
+    public void testParallelReplay_OrderPreservedPerAggregate() throws Exception {
+        final List<DomainEventMessage> events = new ArrayList<DomainEventMessage>();
+        for (int seq = 0; seq < 20; seq++) {
+            for (int aggregate = 0; aggregate < 5; aggregate++) {
+                events.add(new GenericDomainEventMessage<String>("aggregate" + aggregate, seq, "payload"));
+            }
+        }
+        doAnswer(new Answer() {
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                EventVisitor visitor = (EventVisitor) invocation.getArguments()[0];
+                for (DomainEventMessage message : events) {
+                    visitor.doWithEvent(message);
+                }
+                return null;
+            }
+        }).when(mockEventStore).visitEvents(isA(EventVisitor.class));
+        final Map<Object, List<Long>> handledSequenceNumbers = new ConcurrentHashMap<Object, List<Long>>();
+        testSubject.subscribe(new EventListener() {
+            @Override
+            public void handle(EventMessage event) {
+                DomainEventMessage domainEvent = (DomainEventMessage) event;
+                List<Long> sequenceNumbers = handledSequenceNumbers.get(domainEvent.getAggregateIdentifier());
+                if (sequenceNumbers == null) {
+                    sequenceNumbers = new CopyOnWriteArrayList<Long>();
+                    handledSequenceNumbers.put(domainEvent.getAggregateIdentifier(), sequenceNumbers);
+                }
+                sequenceNumbers.add(domainEvent.getSequenceNumber());
+            }
+        });
+        ExecutorService executor = Executors.newCachedThreadPool();
+        testSubject.setParallelReplay(3, executor, new SequentialPerAggregatePolicy());
+
+        testSubject.startReplay();
+        executor.shutdown();
+
+        assertEquals(5, handledSequenceNumbers.size());
+        for (List<Long> sequenceNumbers : handledSequenceNumbers.values()) {
+            assertEquals(20, sequenceNumbers.size());
+            for (int i = 0; i < sequenceNumbers.size(); i++) {
+                assertEquals(Long.valueOf(i), sequenceNumbers.get(i));
+            }
+        }
+        long total = 0;
+        long[] progress = testSubject.getReplayProgress();
+        assertEquals(3, progress.length);
+        for (long segmentProgress : progress) {
+            total += segmentProgress;
+        }
+        assertEquals(100, total);
+        verify(mockMessageHandler, times(100)).releaseMessage(eq(delegateCluster), isA(DomainEventMessage.class));
+        verify(mockMessageHandler).processBacklog(delegateCluster);
+        // one transaction for reading, and one for each segment
+        verify(mockTransactionManager, times(4)).startTransaction();
+        verify(mockTransactionManager, times(4)).commitTransaction(anyObject());
+        assertFalse(testSubject.isInReplayMode());
+    }
+
+    @Test(timeout = 10000)
+    public void testParallelReplay_SegmentFailureAbortsReplay() throws Exception {
+        doAnswer(new Answer() {
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                EventVisitor visitor = (EventVisitor) invocation.getArguments()[0];
+                for (DomainEventMessage message : messages) {
+                    visitor.doWithEvent(message);
+                }
+                return null;
+            }
+        }).when(mockEventStore).visitEvents(isA(EventVisitor.class));
+        final Map<Thread, Object> transactions = new ConcurrentHashMap<Thread, Object>();
+        when(mockTransactionManager.startTransaction()).thenAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                Object tx = new Object();
+                transactions.put(Thread.currentThread(), tx);
+                return tx;
+            }
+        });
+        final CountDownLatch otherSegmentStarted = new CountDownLatch(1);
+        final CountDownLatch failingSegmentRolledBack = new CountDownLatch(1);
+        final AtomicReference<Object> failingTransaction = new AtomicReference<Object>();
+        doAnswer(new Answer() {
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                if (invocation.getArguments()[0] == failingTransaction.get()) {
+                    failingSegmentRolledBack.countDown();
+                }
+                return null;
+            }
+        }).when(mockTransactionManager).rollbackTransaction(anyObject());
+        doAnswer(new Answer() {
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                assertTrue(otherSegmentStarted.await(5, TimeUnit.SECONDS));
+                failingTransaction.set(transactions.get(Thread.currentThread()));
+                throw new MockException();
+            }
+        }).when(delegateCluster).publish(messages.get(5));
+        // keep the other segment busy until the failing one has rolled back, so it cannot complete before that
+        doAnswer(new Answer() {
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                otherSegmentStarted.countDown();
+                assertTrue(failingSegmentRolledBack.await(5, TimeUnit.SECONDS));
+                return null;
+            }
+        }).when(delegateCluster).publish(messages.get(0));
+        ExecutorService executor = Executors.newCachedThreadPool();
+        // events with an even sequence number go to segment 0, the others to segment 1
+        testSubject.setParallelReplay(2, executor, new SequencingPolicy<EventMessage>() {
+            @Override
+            public Object getSequenceIdentifierFor(EventMessage event) {
+                return (int) (((DomainEventMessage) event).getSequenceNumber() % 2);
+            }
+        });
+
+        try {
+            testSubject.startReplay();
+            fail("Expected exception");
+        } catch (ReplayFailedException e) {
+            // expected
+        } finally {
+            executor.shutdown();
+        }
+
+        verify(mockMessageHandler, never()).processBacklog(delegateCluster);
+        verify(mockMessageHandler).onReplayFailed(eq(delegateCluster), isA(Throwable.class));
+        // one transaction for reading, and one for each segment
+        verify(mockTransactionManager, times(3)).startTransaction();
+        assertNotNull(failingTransaction.get());
+        verify(mockTransactionManager).rollbackTransaction(failingTransaction.get());
+        // the other segment was aborted after its first event, and the reading transaction is rolled back too
+        assertArrayEquals(new long[]{1, 2}, testSubject.getReplayProgress());
+        verify(mockTransactionManager, times(3)).rollbackTransaction(anyObject());
+        verify(mockTransactionManager, never()).commitTransaction(anyObject());
+        assertFalse(testSubject.isInReplayMode());
+    }
+
     interface ReplayAwareListener extends ReplayAware, EventListener {
 
     }
@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.eventhandling.tracking;
+
+import org.axonframework.domain.EventMessage;
+import org.axonframework.domain.GenericDomainEventMessage;
+import org.axonframework.eventhandling.EventListener;
+import org.axonframework.eventhandling.SimpleCluster;
+import org.axonframework.eventstore.TrackedEvent;
+import org.axonframework.eventstore.TrackingEventStore;
+import org.axonframework.testutils.MockException;
+import org.axonframework.unitofwork.TransactionManager;
+import org.junit.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author agent
+ */
+public class TrackingEventProcessorTest {
+
+    private StubTrackingEventStore eventStore;
+    private InMemoryTokenStore tokenStore;
+    private TransactionManager transactionManager;
+    private List<EventMessage> handledEvents;
+    private SimpleCluster cluster;
+    private TrackingEventProcessor testSubject;
+
+    @Before
+    public void setUp() {
+        eventStore = new StubTrackingEventStore();
+        tokenStore = new InMemoryTokenStore();
+        transactionManager = mock(TransactionManager.class);
+        when(transactionManager.startTransaction()).thenReturn(new Object());
+        handledEvents = new CopyOnWriteArrayList<EventMessage>();
+        cluster = new SimpleCluster("test");
+        cluster.subscribe(new EventListener() {
+            @Override
+            public void handle(EventMessage event) {
+                handledEvents.add(event);
+            }
+        });
+        testSubject = new TrackingEventProcessor("processor", eventStore, cluster, tokenStore, transactionManager);
+        testSubject.setBatchSize(2);
+    }
+
+    @After
+    public void tearDown() {
+        testSubject.stop();
+    }
+
+    @Test
+    public void testEventsProcessedInBatches() {
+        eventStore.append(1, 2, 3);
+
+        assertEquals(2, testSubject.processNextBatch());
+        assertEquals(Long.valueOf(2), tokenStore.fetchToken("processor"));
+        assertEquals(1, testSubject.processNextBatch());
+        assertEquals(Long.valueOf(3), tokenStore.fetchToken("processor"));
+        assertEquals(0, testSubject.processNextBatch());
+
+        assertEquals(3, handledEvents.size());
+        assertEquals(3, testSubject.getLastProcessedIndex());
+        verify(transactionManager, times(2)).commitTransaction(any());
+    }
+
+    @Test
+    public void testGapNotPassedBeforeTimeout() {
+        testSubject.setBatchSize(10);
+        eventStore.append(1, 2, 4);
+
+        assertEquals(2, testSubject.processNextBatch());
+        assertEquals(0, testSubject.processNextBatch());
+        assertEquals(2, testSubject.getLastProcessedIndex());
+
+        testSubject.setGapTimeout(0, TimeUnit.MILLISECONDS);
+        assertEquals(1, testSubject.processNextBatch());
+        assertEquals(4, testSubject.getLastProcessedIndex());
+    }
+
+    @Test
+    public void testFailedBatchIsRolledBackAndRetried() {
+        eventStore.append(1, 2);
+        cluster.subscribe(new EventListener() {
+            private boolean failed;
+
+            @Override
+            public void handle(EventMessage event) {
+                if (!failed) {
+                    failed = true;
+                    throw new MockException();
+                }
+            }
+        });
+
+        try {
+            testSubject.processNextBatch();
+            fail("Expected exception to be propagated");
+        } catch (MockException e) {
+            // expected
+        }
+        verify(transactionManager).rollbackTransaction(any());
+        assertNull(tokenStore.fetchToken("processor"));
+        assertEquals(-1, testSubject.getLastProcessedIndex());
+
+        assertEquals(2, testSubject.processNextBatch());
+        assertEquals(Long.valueOf(2), tokenStore.fetchToken("processor"));
+    }
+
+    @Test(timeout = 10000)
+    public void testProcessingResumesFromStoredToken() throws InterruptedException {
+        eventStore.append(1, 2, 3, 4, 5);
+        tokenStore.storeToken("processor", 3);
+        testSubject.setPollInterval(10, TimeUnit.MILLISECONDS);
+
+        testSubject.start();
+        while (testSubject.getLastProcessedIndex() < 5) {
+            Thread.sleep(10);
+        }
+        testSubject.stop();
+
+        assertFalse(testSubject.isRunning());
+        assertEquals(2, handledEvents.size());
+        assertEquals(4L, ((GenericDomainEventMessage) handledEvents.get(0)).getSequenceNumber());
+        assertEquals(5L, ((GenericDomainEventMessage) handledEvents.get(1)).getSequenceNumber());
+    }
+
+    @Test(timeout = 10000)
+    public void testCreatedThreadReleasedOnStop() throws InterruptedException {
+        final List<Thread> processingThreads = new CopyOnWriteArrayList<Thread>();
+        cluster.subscribe(new EventListener() {
+            @Override
+            public void handle(EventMessage event) {
+                processingThreads.add(Thread.currentThread());
+            }
+        });
+        eventStore.append(1);
+        testSubject.setPollInterval(10, TimeUnit.MILLISECONDS);
+
+        testSubject.start();
+        while (testSubject.getLastProcessedIndex() < 1) {
+            Thread.sleep(10);
+        }
+        testSubject.stop();
+
+        Thread firstThread = processingThreads.get(0);
+        firstThread.join();
+        assertFalse(firstThread.isAlive());
+
+        // after a restart, events are processed in a new thread
+        eventStore.append(2);
+        testSubject.start();
+        while (testSubject.getLastProcessedIndex() < 2) {
+            Thread.sleep(10);
+        }
+        assertEquals(2, processingThreads.size());
+        assertNotSame(firstThread, processingThreads.get(1));
+    }
+
+    private static class StubTrackingEventStore implements TrackingEventStore {
+
+        private final List<TrackedEvent> events = new CopyOnWriteArrayList<TrackedEvent>();
+
+        public void append(long... globalIndexes) {
+            for (long globalIndex : globalIndexes) {
+                events.add(new TrackedEvent(globalIndex, new GenericDomainEventMessage<String>(
+                        "aggregate", globalIndex, "payload" + globalIndex)));
+            }
+        }
+
+        @Override
+        public List<TrackedEvent> readEvents(long lastGlobalIndex, int maxEntries) {
+            List<TrackedEvent> result = new ArrayList<TrackedEvent>();
+            for (TrackedEvent event : events) {
+                if (event.getGlobalIndex() > lastGlobalIndex && result.size() < maxEntries) {
+                    result.add(event);
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.eventsourcing;
+
+import org.axonframework.cache.Cache;
+import org.axonframework.common.DirectExecutor;
+import org.axonframework.domain.DomainEventMessage;
+import org.axonframework.domain.GenericDomainEventMessage;
+import org.axonframework.domain.SimpleDomainEventStream;
+import org.axonframework.domain.StubAggregate;
+import org.axonframework.domain.StubDomainEvent;
+import org.axonframework.eventstore.EventStore;
+import org.axonframework.eventstore.EventStreamNotFoundException;
+import org.axonframework.eventstore.EventVisitor;
+import org.axonframework.eventstore.management.Criteria;
+import org.axonframework.eventstore.management.CriteriaBuilder;
+import org.axonframework.eventstore.management.EventStoreManagement;
+import org.axonframework.eventstore.management.Property;
+import org.axonframework.testutils.MockException;
+import org.junit.*;
+import org.mockito.invocation.*;
+import org.mockito.stubbing.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author agent
+ */
+public class AggregatePreloaderTest {
+
+    private EventStore eventStore;
+    private Cache cache;
+    private AggregatePreloader<StubAggregate> testSubject;
+
+    @Before
+    public void setUp() {
+        eventStore = mock(EventStore.class, withSettings().extraInterfaces(EventStoreManagement.class));
+        cache = mock(Cache.class);
+        when(cache.putIfAbsent(any(), any())).thenReturn(true);
+        testSubject = new AggregatePreloader<StubAggregate>(
+                new GenericAggregateFactory<StubAggregate>(StubAggregate.class), eventStore, cache,
+                DirectExecutor.INSTANCE);
+        testSubject.setBatchSize(2);
+    }
+
+    @Test
+    public void testPreloadAggregatesByIdentifier() {
+        when(eventStore.readEvents("StubAggregate", "id1")).thenReturn(new SimpleDomainEventStream(event("id1", 0)));
+        when(eventStore.readEvents("StubAggregate", "id2")).thenReturn(new SimpleDomainEventStream(
+                event("id2", 0), event("id2", 1)));
+        when(eventStore.readEvents("StubAggregate", "id3")).thenThrow(new EventStreamNotFoundException("id3"));
+        when(eventStore.readEvents("StubAggregate", "id4")).thenThrow(new MockException());
+
+        assertEquals(2, testSubject.preload(Arrays.asList("id1", "id2", "id3", "id4")));
+
+        verify(cache).putIfAbsent(eq("id1"), isA(StubAggregate.class));
+        verify(cache).putIfAbsent(eq("id2"), isA(StubAggregate.class));
+        verify(cache, never()).putIfAbsent(eq("id3"), any());
+        assertEquals(2, testSubject.getPreloadedCount());
+        assertEquals(1, testSubject.getFailedCount());
+    }
+
+    @Test
+    public void testAggregatesAlreadyCachedAreNotCounted() {
+        when(eventStore.readEvents("StubAggregate", "id1")).thenReturn(new SimpleDomainEventStream(event("id1", 0)));
+        when(cache.putIfAbsent(eq("id1"), any())).thenReturn(false);
+
+        assertEquals(0, testSubject.preloadAggregates(Collections.singletonList("id1")));
+        assertEquals(0, testSubject.getPreloadedCount());
+    }
+
+    @Test
+    public void testPreloadAggregatesByCriteria() {
+        EventStoreManagement management = (EventStoreManagement) eventStore;
+        CriteriaBuilder criteriaBuilder = mock(CriteriaBuilder.class);
+        Property typeProperty = mock(Property.class);
+        Criteria typeCriteria = mock(Criteria.class);
+        Criteria givenCriteria = mock(Criteria.class);
+        final Criteria combinedCriteria = mock(Criteria.class);
+        when(management.newCriteriaBuilder()).thenReturn(criteriaBuilder);
+        when(criteriaBuilder.property("type")).thenReturn(typeProperty);
+        when(typeProperty.is("StubAggregate")).thenReturn(typeCriteria);
+        when(typeCriteria.and(givenCriteria)).thenReturn(combinedCriteria);
+        doAnswer(new Answer() {
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                EventVisitor visitor = (EventVisitor) invocation.getArguments()[1];
+                visitor.doWithEvent(event("id1", 0));
+                visitor.doWithEvent(event("id2", 0));
+                visitor.doWithEvent(event("id1", 1));
+                return null;
+            }
+        }).when(management).visitEvents(same(combinedCriteria), isA(EventVisitor.class));
+        when(eventStore.readEvents("StubAggregate", "id1")).thenReturn(new SimpleDomainEventStream(
+                event("id1", 0), event("id1", 1)));
+        when(eventStore.readEvents("StubAggregate", "id2")).thenReturn(new SimpleDomainEventStream(event("id2", 0)));
+
+        assertEquals(2, testSubject.preload(givenCriteria));
+
+        verify(eventStore, times(1)).readEvents("StubAggregate", "id1");
+        verify(eventStore, times(1)).readEvents("StubAggregate", "id2");
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testPreloadByCriteriaRequiresEventStoreManagement() {
+        new AggregatePreloader<StubAggregate>(new GenericAggregateFactory<StubAggregate>(StubAggregate.class),
+                                              mock(EventStore.class), cache, DirectExecutor.INSTANCE).preloadAll();
+    }
+
+    private static DomainEventMessage event(String aggregateIdentifier, long sequenceNumber) {
+        return new GenericDomainEventMessage<StubDomainEvent>(aggregateIdentifier, sequenceNumber,
+                                                              new StubDomainEvent());
+    }
+}
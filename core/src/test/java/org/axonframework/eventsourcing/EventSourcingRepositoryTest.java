@@ -16,6 +16,9 @@
 
 package org.axonframework.eventsourcing;
 
+import org.axonframework.common.jdbc.ConnectionProvider;
+import org.axonframework.common.jdbc.DataSourceConnectionProvider;
+import org.axonframework.common.jdbc.UnitOfWorkAwareConnectionProviderWrapper;
 import org.axonframework.domain.DomainEventMessage;
 import org.axonframework.domain.DomainEventStream;
 import org.axonframework.domain.EventMessage;
@@ -26,23 +29,33 @@ import org.axonframework.domain.SimpleDomainEventStream;
 import org.axonframework.domain.StubDomainEvent;
 import org.axonframework.eventhandling.EventBus;
 import org.axonframework.eventstore.EventStore;
+import org.axonframework.eventstore.ReadAheadSupport;
 import org.axonframework.eventstore.SnapshotEventStore;
+import org.axonframework.eventstore.jdbc.DefaultEventEntryStore;
+import org.axonframework.eventstore.jdbc.GenericEventSqlSchema;
+import org.axonframework.eventstore.jdbc.JdbcEventStore;
 import org.axonframework.repository.ConflictingAggregateVersionException;
 import org.axonframework.unitofwork.CurrentUnitOfWork;
 import org.axonframework.unitofwork.DefaultUnitOfWork;
 import org.axonframework.unitofwork.UnitOfWork;
 import org.hamcrest.BaseMatcher;
 import org.hamcrest.Description;
+import org.hsqldb.jdbc.JDBCDataSource;
 import org.junit.*;
 import org.mockito.*;
 import org.mockito.invocation.*;
 import org.mockito.stubbing.*;
 
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
@@ -105,6 +118,94 @@ public class EventSourcingRepositoryTest {
         assertEquals(0, aggregate.getUncommittedEventCount());
     }
 
+    @Test
+    public void testLoadAggregate_EventsPrefetchedInSeparateThread() {
+        UUID identifier = UUID.randomUUID();
+        List<DomainEventMessage> events = new ArrayList<DomainEventMessage>();
+        for (int i = 0; i < 100; i++) {
+            events.add(new GenericDomainEventMessage<String>(identifier, (long) i, "Mock contents"));
+        }
+        mockEventStore = mock(SnapshotEventStore.class, withSettings().extraInterfaces(ReadAheadSupport.class));
+        when(((ReadAheadSupport) mockEventStore).isReadAheadSupported()).thenReturn(true);
+        when(mockEventStore.readEvents("test", identifier)).thenReturn(new SimpleDomainEventStream(events));
+        testSubject = new EventSourcingRepository<TestAggregate>(stubAggregateFactory, mockEventStore);
+        ExecutorService executor = Executors.newCachedThreadPool();
+        testSubject.setPrefetchExecutor(executor);
+        testSubject.setDeserializationExecutor(executor);
+        testSubject.setPrefetchBufferSize(10);
+
+        try {
+            TestAggregate aggregate = testSubject.load(identifier, null);
+
+            assertEquals(events, aggregate.getHandledEvents());
+            assertEquals(Long.valueOf(99), aggregate.getVersion());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testLoadAggregate_JdbcEventStoreReadsAheadWhenEnabled() throws Exception {
+        JDBCDataSource dataSource = new JDBCDataSource();
+        dataSource.setUrl("jdbc:hsqldb:mem:readAheadEnabled");
+        JdbcEventStore eventStore = createJdbcEventStore(new DataSourceConnectionProvider(dataSource));
+        eventStore.setReadAheadSupported(true);
+        CountingExecutor executor = new CountingExecutor();
+
+        try {
+            assertLoadedWithPrefetchExecutor(eventStore, executor);
+            assertTrue("Expected events to be read in another thread", executor.executedTasks.get() > 0);
+        } finally {
+            dataSource.getConnection().createStatement().execute("SHUTDOWN");
+        }
+    }
+
+    @Test
+    public void testLoadAggregate_JdbcEventStoreDoesNotReadAheadByDefault() throws Exception {
+        JDBCDataSource dataSource = new JDBCDataSource();
+        dataSource.setUrl("jdbc:hsqldb:mem:readAheadDisabled");
+        JdbcEventStore eventStore = createJdbcEventStore(
+                new UnitOfWorkAwareConnectionProviderWrapper(new DataSourceConnectionProvider(dataSource)));
+        CountingExecutor executor = new CountingExecutor();
+
+        try {
+            assertLoadedWithPrefetchExecutor(eventStore, executor);
+            assertEquals(0, executor.executedTasks.get());
+        } finally {
+            dataSource.getConnection().createStatement().execute("SHUTDOWN");
+        }
+    }
+
+    private JdbcEventStore createJdbcEventStore(ConnectionProvider connectionProvider) throws SQLException {
+        DefaultEventEntryStore<byte[]> eventEntryStore =
+                new DefaultEventEntryStore<byte[]>(connectionProvider, new GenericEventSqlSchema<byte[]>());
+        eventEntryStore.createSchema();
+        JdbcEventStore eventStore = new JdbcEventStore(eventEntryStore);
+        eventStore.setBatchSize(10);
+        return eventStore;
+    }
+
+    private void assertLoadedWithPrefetchExecutor(JdbcEventStore eventStore, Executor executor) {
+        UUID identifier = UUID.randomUUID();
+        List<DomainEventMessage> events = new ArrayList<DomainEventMessage>();
+        for (int i = 0; i < 100; i++) {
+            events.add(new GenericDomainEventMessage<String>(identifier, (long) i, "Mock contents"));
+        }
+        eventStore.appendEvents("test", new SimpleDomainEventStream(events));
+        testSubject = new EventSourcingRepository<TestAggregate>(stubAggregateFactory, eventStore);
+        testSubject.setPrefetchExecutor(executor);
+        testSubject.setPrefetchBufferSize(10);
+
+        TestAggregate aggregate = testSubject.load(identifier, null);
+
+        assertEquals(100, aggregate.getHandledEvents().size());
+        for (int i = 0; i < 100; i++) {
+            DomainEventMessage event = (DomainEventMessage) aggregate.getHandledEvents().get(i);
+            assertEquals(i, event.getSequenceNumber());
+            assertEquals("Mock contents", event.getPayload());
+        }
+    }
+
     @Test
     public void testLoad_FirstEventIsSnapshot() {
         UUID identifier = UUID.randomUUID();
@@ -306,6 +407,17 @@ public class EventSourcingRepositoryTest {
         inOrder.verify(decorator2.lastSpy).next();
     }
 
+    private static class CountingExecutor implements Executor {
+
+        private final AtomicInteger executedTasks = new AtomicInteger();
+
+        @Override
+        public void execute(Runnable command) {
+            executedTasks.incrementAndGet();
+            new Thread(command).start();
+        }
+    }
+
     private static class StubAggregateFactory extends AbstractAggregateFactory<TestAggregate> {
 
         @Override
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.eventsourcing;
+
+import org.axonframework.domain.DomainEventMessage;
+import org.axonframework.domain.DomainEventStream;
+import org.axonframework.domain.GenericDomainEventMessage;
+import org.axonframework.domain.SimpleDomainEventStream;
+import org.axonframework.testutils.MockException;
+import org.junit.*;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author agent
+ */
+public class PrefetchingDomainEventStreamTest {
+
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testEventsAreReturnedInOrder() throws Exception {
+        List<DomainEventMessage> events = createEvents(50);
+        PrefetchingDomainEventStream testSubject = new PrefetchingDomainEventStream(
+                new SimpleDomainEventStream(events), executor, executor, 4);
+
+        for (DomainEventMessage expected : events) {
+            assertTrue(testSubject.hasNext());
+            assertSame(expected, testSubject.peek());
+            assertSame(expected, testSubject.next());
+        }
+        assertFalse(testSubject.hasNext());
+        assertNull(testSubject.peek());
+        testSubject.close();
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testNextOnExhaustedStream() {
+        PrefetchingDomainEventStream testSubject = new PrefetchingDomainEventStream(
+                new SimpleDomainEventStream(), executor, null, 4);
+
+        testSubject.next();
+    }
+
+    @Test
+    public void testReadFailureIsPropagatedToConsumer() {
+        DomainEventStream delegate = mock(DomainEventStream.class, withSettings().extraInterfaces(Closeable.class));
+        DomainEventMessage event = createEvents(1).get(0);
+        when(delegate.hasNext()).thenReturn(true);
+        when(delegate.next()).thenReturn(event).thenThrow(new MockException());
+        PrefetchingDomainEventStream testSubject = new PrefetchingDomainEventStream(delegate, executor, null, 4);
+
+        assertSame(event, testSubject.next());
+        try {
+            testSubject.hasNext();
+            fail("Expected exception to be propagated");
+        } catch (MockException e) {
+            // expected
+        }
+    }
+
+    @Test(timeout = 5000)
+    public void testCloseStopsReaderAndClosesDelegate() throws Exception {
+        DomainEventStream delegate = mock(DomainEventStream.class, withSettings().extraInterfaces(Closeable.class));
+        DomainEventMessage event = createEvents(1).get(0);
+        when(delegate.hasNext()).thenReturn(true);
+        when(delegate.next()).thenReturn(event);
+        PrefetchingDomainEventStream testSubject = new PrefetchingDomainEventStream(delegate, executor, null, 2);
+
+        assertSame(event, testSubject.next());
+        testSubject.close();
+
+        verify((Closeable) delegate).close();
+    }
+
+    private List<DomainEventMessage> createEvents(int count) {
+        List<DomainEventMessage> events = new ArrayList<DomainEventMessage>();
+        for (int i = 0; i < count; i++) {
+            events.add(new GenericDomainEventMessage<String>("aggregate", i, "payload"));
+        }
+        return events;
+    }
+}
@@ -22,10 +22,12 @@ import org.axonframework.common.annotation.FixedValueParameterResolver;
 import org.axonframework.common.annotation.MultiParameterResolverFactory;
 import org.axonframework.common.annotation.ParameterResolver;
 import org.axonframework.common.annotation.ParameterResolverFactory;
+import org.axonframework.domain.DomainEventMessage;
 import org.axonframework.domain.DomainEventStream;
 import org.axonframework.domain.GenericDomainEventMessage;
 import org.axonframework.domain.SimpleDomainEventStream;
 import org.axonframework.eventsourcing.AbstractEventSourcedAggregateRoot;
+import org.axonframework.eventsourcing.IncompatibleAggregateException;
 import org.axonframework.serializer.SerializedObject;
 import org.axonframework.serializer.xml.XStreamSerializer;
 import org.axonframework.unitofwork.CurrentUnitOfWork;
@@ -38,7 +40,9 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import javax.persistence.Id;
 
@@ -183,6 +187,41 @@ public class AbstractAnnotatedAggregateRootTest {
         assertEquals(0, ((Collection) ReflectionUtils.getFieldValue(field, testSubject)).size());
     }
 
+    @Test
+    public void testEventsRoutedToTargetEntitiesOnly() {
+        RoutingAggregateRoot aggregate = new RoutingAggregateRoot();
+        aggregate.addLine("1");
+        aggregate.addLine("2");
+        aggregate.changeLine("2");
+        aggregate.doSomethingUnrelated();
+
+        assertEquals(0, aggregate.linesById.get("1").receivedEvents);
+        assertEquals(1, aggregate.linesById.get("2").receivedEvents);
+        assertEquals(0, aggregate.lines.get(0).receivedEvents);
+        assertEquals(1, aggregate.lines.get(1).receivedEvents);
+
+        // events without a target identifier are propagated to all entities
+        aggregate.changeLine(null);
+        assertEquals(1, aggregate.linesById.get("1").receivedEvents);
+        assertEquals(2, aggregate.linesById.get("2").receivedEvents);
+        assertEquals(1, aggregate.lines.get(0).receivedEvents);
+        assertEquals(2, aggregate.lines.get(1).receivedEvents);
+    }
+
+    @Test(expected = IncompatibleAggregateException.class)
+    public void testEventTargetPropertyOnCollectionRequiresEntityId() {
+        new AbstractAnnotatedAggregateRoot() {
+            @AggregateIdentifier
+            private final String identifier = "id";
+            @EventSourcedMember(eventTargetProperty = "lineId")
+            private final List<LineEntity> lines = new ArrayList<LineEntity>();
+
+            {
+                apply(new RootOnlyEvent());
+            }
+        };
+    }
+
     private static class LateIdentifiedAggregate extends AbstractAnnotatedAggregateRoot {
 
         @AggregateIdentifier
@@ -279,6 +318,92 @@ public class AbstractAnnotatedAggregateRootTest {
         }
     }
 
+    private static class RoutingAggregateRoot extends AbstractAnnotatedAggregateRoot {
+
+        @AggregateIdentifier
+        private final String identifier = "routing";
+        @EventSourcedMember(filterByPayloadType = true, eventTargetProperty = "lineId")
+        private final Map<String, LineEntity> linesById = new HashMap<String, LineEntity>();
+        @EventSourcedMember(filterByPayloadType = true, eventTargetProperty = "lineId", entityId = "lineId")
+        private final List<LineEntity> lines = new ArrayList<LineEntity>();
+
+        public void addLine(String lineId) {
+            apply(new LineAddedEvent(lineId));
+        }
+
+        public void changeLine(String lineId) {
+            apply(new LineChangedEvent(lineId));
+        }
+
+        public void doSomethingUnrelated() {
+            apply(new RootOnlyEvent());
+        }
+
+        @EventSourcingHandler
+        public void on(LineAddedEvent event) {
+            linesById.put(event.getLineId(), new LineEntity(event.getLineId()));
+            lines.add(new LineEntity(event.getLineId()));
+        }
+
+        @EventSourcingHandler
+        public void on(RootOnlyEvent event) {
+        }
+    }
+
+    private static class LineEntity extends AbstractAnnotatedEntity {
+
+        private final String lineId;
+        private int receivedEvents;
+
+        private LineEntity(String lineId) {
+            this.lineId = lineId;
+        }
+
+        public String getLineId() {
+            return lineId;
+        }
+
+        @Override
+        public void handleRecursively(DomainEventMessage event) {
+            receivedEvents++;
+            super.handleRecursively(event);
+        }
+
+        @EventSourcingHandler
+        public void on(LineChangedEvent event) {
+        }
+    }
+
+    private static class LineAddedEvent {
+
+        private final String lineId;
+
+        private LineAddedEvent(String lineId) {
+            this.lineId = lineId;
+        }
+
+        public String getLineId() {
+            return lineId;
+        }
+    }
+
+    private static class LineChangedEvent {
+
+        private final String lineId;
+
+        private LineChangedEvent(String lineId) {
+            this.lineId = lineId;
+        }
+
+        public String getLineId() {
+            return lineId;
+        }
+    }
+
+    private static class RootOnlyEvent {
+
+    }
+
     private static class StubDomainEvent implements Serializable {
 
         private static final long serialVersionUID = 834667054977749990L;
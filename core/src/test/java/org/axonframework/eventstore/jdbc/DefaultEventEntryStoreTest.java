@@ -5,11 +5,14 @@ import org.axonframework.domain.GenericDomainEventMessage;
 import org.axonframework.eventstore.jdbc.criteria.JdbcCriteria;
 import org.axonframework.eventstore.jdbc.criteria.JdbcCriteriaBuilder;
 import org.axonframework.eventstore.jdbc.criteria.ParameterRegistry;
+import org.axonframework.eventstore.jpa.SimpleSerializedDomainEventData;
 import org.axonframework.serializer.SerializedDomainEventData;
 import org.axonframework.serializer.SerializedMetaData;
+import org.axonframework.serializer.SerializedTrackedEventData;
 import org.axonframework.serializer.SimpleSerializedObject;
 import org.axonframework.serializer.SimpleSerializedType;
 import org.hsqldb.jdbc.JDBCDataSource;
+import org.joda.time.DateTime;
 import org.junit.*;
 
 import java.sql.Connection;
@@ -21,6 +24,8 @@ import java.util.Iterator;
 import java.util.List;
 
 import static org.junit.Assert.*;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.Mockito.*;
 
 /**
  * @author Kristian Rosenvold
@@ -42,7 +47,7 @@ public class DefaultEventEntryStoreTest {
         dataSource.setUrl("jdbc:hsqldb:mem:test");
 
         connection = dataSource.getConnection();
-        testSubject = new DefaultEventEntryStore(dataSource, new GenericEventSqlSchema());
+        testSubject = new DefaultEventEntryStore(dataSource, new HsqlEventSqlSchema());
 		testSubject.createSchema();
     }
 
@@ -67,6 +72,41 @@ public class DefaultEventEntryStoreTest {
         assertFalse( actual.hasNext());
     }
 
+    @Test
+    public void persistEventsInBatch() throws SQLException {
+        deleteCurrentPersistentEvents();
+        DomainEventMessage first = new GenericDomainEventMessage(aggregateIdentifier, 122, "apayload");
+        DomainEventMessage second = new GenericDomainEventMessage(aggregateIdentifier, 123, "apayload2");
+        testSubject.persistEvents(aggregateType, Arrays.asList(toEntry(first), toEntry(second)));
+
+        final Iterator<? extends SerializedDomainEventData> actual = testSubject.fetchAggregateStream(aggregateType, aggregateIdentifier, 1, 1);
+
+        checkSame(first, actual.next());
+        checkSame(second, actual.next());
+        assertFalse(actual.hasNext());
+    }
+
+    @Test
+    public void persistEventsOneByOneWhenSchemaDoesNotSupportBatches() throws SQLException {
+        deleteCurrentPersistentEvents();
+        EventSqlSchema<byte[]> nonBatchingSchema = mock(EventSqlSchema.class,
+                                                        delegatesTo(new HsqlEventSqlSchema<byte[]>()));
+        testSubject = new DefaultEventEntryStore(dataSource, nonBatchingSchema);
+        DomainEventMessage first = new GenericDomainEventMessage(aggregateIdentifier, 122, "apayload");
+        DomainEventMessage second = new GenericDomainEventMessage(aggregateIdentifier, 123, "apayload2");
+        testSubject.persistEvents(aggregateType, Arrays.asList(toEntry(first), toEntry(second)));
+
+        verify(nonBatchingSchema, times(2)).sql_insertDomainEventEntry(any(Connection.class), anyString(),
+                                                                      anyString(), anyLong(), any(DateTime.class),
+                                                                      anyString(), anyString(),
+                                                                      any(byte[].class), any(byte[].class),
+                                                                      eq(aggregateType));
+        final Iterator<? extends SerializedDomainEventData> actual = testSubject.fetchAggregateStream(aggregateType, aggregateIdentifier, 1, 1);
+        checkSame(first, actual.next());
+        checkSame(second, actual.next());
+        assertFalse(actual.hasNext());
+    }
+
     private void deleteCurrentPersistentEvents() throws SQLException {
         connection.createStatement().execute("delete from DomainEventEntry");
     }
@@ -189,6 +229,38 @@ public class DefaultEventEntryStoreTest {
         assertFalse(iterator.hasNext());
     }
 
+    @Test
+    public void fetchFromGlobalIndexReturnsEventsInInsertionOrder() throws SQLException {
+        deleteCurrentPersistentEvents();
+        DomainEventMessage first = new GenericDomainEventMessage("agg2", 5, "apayload");
+        testSubject.persistEvent(aggregateType, first, getPayload(), getMetaData());
+        DomainEventMessage second = new GenericDomainEventMessage(aggregateIdentifier, 0, "apayload2");
+        DomainEventMessage third = new GenericDomainEventMessage(aggregateIdentifier, 1, "apayload3");
+        testSubject.persistEvents(aggregateType, Arrays.asList(toEntry(second), toEntry(third)));
+
+        List<? extends SerializedTrackedEventData> all = testSubject.fetchFromGlobalIndex(-1, 10);
+        assertEquals(3, all.size());
+        checkSame(first, all.get(0));
+        checkSame(second, all.get(1));
+        checkSame(third, all.get(2));
+        assertTrue(all.get(0).getGlobalIndex() < all.get(1).getGlobalIndex());
+        assertTrue(all.get(1).getGlobalIndex() < all.get(2).getGlobalIndex());
+
+        List<? extends SerializedTrackedEventData> next = testSubject.fetchFromGlobalIndex(all.get(0).getGlobalIndex(),
+                                                                                           1);
+        assertEquals(1, next.size());
+        checkSame(second, next.get(0));
+
+        assertTrue(testSubject.fetchFromGlobalIndex(all.get(2).getGlobalIndex(), 10).isEmpty());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void fetchFromGlobalIndexFailsWhenSchemaHasNoGlobalIndex() {
+        testSubject = new DefaultEventEntryStore(dataSource, new GenericEventSqlSchema());
+
+        testSubject.fetchFromGlobalIndex(-1, 10);
+    }
+
     private void checkSame(DomainEventMessage expected, SerializedDomainEventData actual) {
         assertNotNull(actual);
         assertEquals(expected.getAggregateIdentifier(), actual.getAggregateIdentifier());
@@ -198,6 +270,13 @@ public class DefaultEventEntryStoreTest {
         assertEquals("[B", actual.getPayload().getContentType().getName());
     }
 
+    private static SerializedDomainEventData<byte[]> toEntry(DomainEventMessage event) {
+        return new SimpleSerializedDomainEventData<byte[]>(event.getIdentifier(),
+                                                           event.getAggregateIdentifier().toString(),
+                                                           event.getSequenceNumber(), event.getTimestamp(),
+                                                           getPayload(), getMetaData());
+    }
+
     private static SerializedMetaData<byte[]> getMetaData() {
         return new SerializedMetaData<byte[]>("Meta is meta".getBytes(), byte[].class);
     }
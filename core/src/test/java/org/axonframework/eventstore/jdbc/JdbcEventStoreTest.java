@@ -36,6 +36,7 @@ import org.joda.time.DateTimeUtils;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentMatcher;
 import org.mockito.Matchers;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
@@ -396,6 +397,33 @@ public class JdbcEventStoreTest {
                         "Mock contents", MetaData.emptyInstance())));
     }
 
+    @Test(expected = ConcurrencyException.class)
+    @Transactional
+    public void testStoreDuplicateEventInBatch_WithSqlExceptionTranslator() {
+        testSubject.appendEvents("test", new SimpleDomainEventStream(
+                new GenericDomainEventMessage<String>("123", 1L,
+                        "Mock contents", MetaData.emptyInstance())));
+        testSubject.appendEvents("test", new SimpleDomainEventStream(
+                new GenericDomainEventMessage<String>("123", 0L,
+                        "Mock contents", MetaData.emptyInstance()),
+                new GenericDomainEventMessage<String>("123", 1L,
+                        "Mock contents", MetaData.emptyInstance())));
+    }
+
+    @Test
+    public void testStoreEventsInBatchesOfBatchSize() throws SQLException {
+        testSubject.setBatchSize(3);
+        testSubject.appendEvents("test", aggregate1.getUncommittedEvents());
+
+        assertEquals((long) aggregate1.getUncommittedEventCount(), queryLong());
+        DomainEventStream events = testSubject.readEvents("test", aggregate1.getIdentifier());
+        long expectedSequenceNumber = 0;
+        while (events.hasNext()) {
+            assertEquals(expectedSequenceNumber++, events.next().getSequenceNumber());
+        }
+        assertEquals((long) aggregate1.getUncommittedEventCount(), expectedSequenceNumber);
+    }
+
     @DirtiesContext
     @Test
     @Transactional
@@ -419,6 +447,30 @@ public class JdbcEventStoreTest {
     }
 
 
+    @SuppressWarnings("unchecked")
+    @DirtiesContext
+    @Test
+    @Transactional
+    public void testBatchingEventEntryStoreReceivesEventsInBatch() {
+        BatchingEventEntryStore<String> eventEntryStore = mock(BatchingEventEntryStore.class);
+        when(eventEntryStore.getDataType()).thenReturn(String.class);
+        testSubject = new JdbcEventStore(eventEntryStore);
+        testSubject.appendEvents("test", new SimpleDomainEventStream(
+                new GenericDomainEventMessage<String>(UUID.randomUUID(), (long) 0,
+                        "Mock contents", MetaData.emptyInstance()),
+                new GenericDomainEventMessage<String>(UUID.randomUUID(), (long) 0,
+                        "Mock contents", MetaData.emptyInstance())));
+        verify(eventEntryStore).persistEvents(eq("test"), argThat(new ArgumentMatcher<List>() {
+            @Override
+            public boolean matches(Object argument) {
+                return ((List) argument).size() == 2;
+            }
+        }));
+        verify(eventEntryStore, never()).persistEvent(anyString(), any(DomainEventMessage.class),
+                Matchers.<SerializedObject>any(),
+                Matchers.<SerializedObject>any());
+    }
+
     @SuppressWarnings({"PrimitiveArrayArgumentToVariableArgMethod", "unchecked"})
     @DirtiesContext
     @Test
@@ -25,8 +25,10 @@ import org.axonframework.domain.MetaData;
 import org.axonframework.domain.SimpleDomainEventStream;
 import org.axonframework.eventsourcing.annotation.AbstractAnnotatedAggregateRoot;
 import org.axonframework.eventsourcing.annotation.EventSourcingHandler;
+import org.axonframework.eventstore.EventStoreException;
 import org.axonframework.eventstore.EventStreamNotFoundException;
 import org.axonframework.eventstore.EventVisitor;
+import org.axonframework.eventstore.TrackedEvent;
 import org.axonframework.eventstore.management.CriteriaBuilder;
 import org.axonframework.repository.ConcurrencyException;
 import org.axonframework.serializer.ChainingConverterFactory;
@@ -531,6 +533,89 @@ public class JpaEventStoreTest {
         verify(eventVisitor, times(100)).doWithEvent(isA(DomainEventMessage.class));
     }
 
+    @Test
+    @Transactional
+    public void testVisitAllEvents_ClearBetweenBatches() {
+        DefaultEventEntryStore<byte[]> eventEntryStore = new DefaultEventEntryStore<byte[]>();
+        eventEntryStore.setClearBetweenBatches(true);
+        testSubject = new JpaEventStore(new SimpleEntityManagerProvider(entityManager), eventEntryStore);
+        testSubject.setBatchSize(10);
+        testSubject.appendEvents("test", new SimpleDomainEventStream(createDomainEvents(25)));
+        final DomainEventEntry otherEntry = new DomainEventEntry(
+                "other", new GenericDomainEventMessage<String>("otherAggregate", 0, "payload"),
+                new DateTime(2000, 1, 1, 0, 0, 0, 0),
+                new SimpleSerializedObject<byte[]>("data".getBytes(), byte[].class, "type", null),
+                new SimpleSerializedObject<byte[]>("meta".getBytes(), byte[].class, "type", null));
+        final List<DomainEventMessage> visited = new ArrayList<DomainEventMessage>();
+
+        testSubject.visitEvents(new EventVisitor() {
+            @Override
+            public void doWithEvent(DomainEventMessage domainEvent) {
+                if (visited.isEmpty()) {
+                    entityManager.persist(otherEntry);
+                }
+                visited.add(domainEvent);
+            }
+        });
+
+        assertEquals(25, visited.size());
+        assertFalse("Expected entity to be detached", entityManager.contains(otherEntry));
+        assertEquals(1, entityManager.createQuery("SELECT e FROM DomainEventEntry e WHERE e.type = 'other'")
+                                     .getResultList().size());
+    }
+
+    @Test
+    @Transactional
+    public void testVisitAllEvents_BatchByGlobalIndex() {
+        DefaultEventEntryStore<byte[]> eventEntryStore = new DefaultEventEntryStore<byte[]>();
+        eventEntryStore.setBatchByGlobalIndex(true);
+        testSubject = new JpaEventStore(new SimpleEntityManagerProvider(entityManager), eventEntryStore);
+        testSubject.setBatchSize(10);
+        testSubject.appendEvents("test", new SimpleDomainEventStream(createDomainEvents(25)));
+        entityManager.flush();
+        // assign the global index in reverse order, to tell it apart from the order of the timestamps
+        entityManager.createNativeQuery("UPDATE DomainEventEntry SET globalIndex = 100 - sequenceNumber")
+                     .executeUpdate();
+        entityManager.clear();
+        final List<DomainEventMessage> visited = new ArrayList<DomainEventMessage>();
+
+        testSubject.visitEvents(new EventVisitor() {
+            @Override
+            public void doWithEvent(DomainEventMessage domainEvent) {
+                visited.add(domainEvent);
+            }
+        });
+
+        assertEquals(25, visited.size());
+        for (int t = 0; t < visited.size(); t++) {
+            assertEquals(24 - t, visited.get(t).getSequenceNumber());
+        }
+    }
+
+    @Test
+    @Transactional
+    public void testVisitAllEvents_BatchByGlobalIndexFallsBackWhenIndexMissing() {
+        DefaultEventEntryStore<byte[]> eventEntryStore = new DefaultEventEntryStore<byte[]>();
+        eventEntryStore.setBatchByGlobalIndex(true);
+        testSubject = new JpaEventStore(new SimpleEntityManagerProvider(entityManager), eventEntryStore);
+        testSubject.setBatchSize(10);
+        testSubject.appendEvents("test", new SimpleDomainEventStream(createDomainEvents(25)));
+        entityManager.flush();
+        final List<DomainEventMessage> visited = new ArrayList<DomainEventMessage>();
+
+        testSubject.visitEvents(new EventVisitor() {
+            @Override
+            public void doWithEvent(DomainEventMessage domainEvent) {
+                visited.add(domainEvent);
+            }
+        });
+
+        assertEquals(25, visited.size());
+        for (int t = 0; t < visited.size(); t++) {
+            assertEquals(t, visited.get(t).getSequenceNumber());
+        }
+    }
+
     @Test
     @Transactional
     public void testVisitAllEvents_IncludesUnknownEventType() throws Exception {
@@ -863,6 +948,56 @@ public class JpaEventStoreTest {
         assertFalse(eventStream.hasNext());
     }
 
+    @Test
+    @Transactional
+    public void testReadEventsByGlobalIndex() {
+        testSubject = new JpaEventStore(new SimpleEntityManagerProvider(entityManager),
+                                        new DefaultEventEntryStore<byte[]>());
+        testSubject.appendEvents("test", aggregate1.getUncommittedEvents());
+        entityManager.flush();
+        assignGlobalIndexes();
+
+        List<TrackedEvent> firstBatch = testSubject.readEvents(-1, 4);
+        assertEquals(4, firstBatch.size());
+        for (int t = 0; t < firstBatch.size(); t++) {
+            assertEquals(t + 1, firstBatch.get(t).getGlobalIndex());
+            assertEquals(t, firstBatch.get(t).getMessage().getSequenceNumber());
+        }
+
+        List<TrackedEvent> secondBatch = testSubject.readEvents(firstBatch.get(3).getGlobalIndex(), 100);
+        assertEquals(6, secondBatch.size());
+        assertEquals(4, secondBatch.get(0).getMessage().getSequenceNumber());
+        assertTrue(testSubject.readEvents(secondBatch.get(5).getGlobalIndex(), 100).isEmpty());
+    }
+
+    @Test
+    @Transactional
+    public void testReadEventsByGlobalIndex_FailsWhenDatabaseDoesNotAssignIndex() {
+        testSubject = new JpaEventStore(new SimpleEntityManagerProvider(entityManager),
+                                        new DefaultEventEntryStore<byte[]>());
+        assertTrue(testSubject.readEvents(-1, 10).isEmpty());
+
+        testSubject.appendEvents("test", aggregate1.getUncommittedEvents());
+        entityManager.flush();
+
+        try {
+            testSubject.readEvents(-1, 10);
+            fail("Expected an exception, as the entries have no global index");
+        } catch (EventStoreException e) {
+            assertTrue("Wrong message: " + e.getMessage(), e.getMessage().contains("global index"));
+        }
+    }
+
+    /**
+     * Simulates the database assigning the global index on insert, as Hibernate's generated schema doesn't define an
+     * identity column for it.
+     */
+    private void assignGlobalIndexes() {
+        entityManager.createNativeQuery("UPDATE DomainEventEntry SET globalIndex = sequenceNumber + 1")
+                     .executeUpdate();
+        entityManager.clear();
+    }
+
     private List<DomainEventMessage<StubStateChangedEvent>> createDomainEvents(int numberOfEvents) {
         List<DomainEventMessage<StubStateChangedEvent>> events = new ArrayList<DomainEventMessage<StubStateChangedEvent>>();
         final Object aggregateIdentifier = UUID.randomUUID();
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.eventstore.management;
+
+import org.axonframework.domain.DomainEventMessage;
+import org.axonframework.domain.DomainEventStream;
+import org.axonframework.domain.GenericDomainEventMessage;
+import org.axonframework.eventstore.EventStore;
+import org.axonframework.eventstore.EventStoreException;
+import org.axonframework.eventstore.EventVisitor;
+import org.junit.*;
+import org.mockito.invocation.*;
+import org.mockito.stubbing.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author agent
+ */
+public class EventStoreMigratorTest {
+
+    private EventStoreManagement source;
+    private RecordingEventStore target;
+    private List<DomainEventMessage> sourceEvents;
+    private EventStoreMigrator testSubject;
+
+    @Before
+    public void setUp() {
+        source = mock(EventStoreManagement.class, RETURNS_DEEP_STUBS);
+        Criteria criteria = mock(Criteria.class);
+        when(source.newCriteriaBuilder().property("type").is("Aggregate")).thenReturn(criteria);
+        sourceEvents = Arrays.<DomainEventMessage>asList(new GenericDomainEventMessage<String>("a", 0, "a0"),
+                                                         new GenericDomainEventMessage<String>("b", 0, "b0"),
+                                                         new GenericDomainEventMessage<String>("a", 1, "a1"),
+                                                         new GenericDomainEventMessage<String>("c", 0, "c0"),
+                                                         new GenericDomainEventMessage<String>("b", 1, "b1"));
+        doAnswer(new Answer() {
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                EventVisitor visitor = (EventVisitor) invocation.getArguments()[1];
+                for (DomainEventMessage event : sourceEvents) {
+                    visitor.doWithEvent(event);
+                }
+                return null;
+            }
+        }).when(source).visitEvents(same(criteria), isA(EventVisitor.class));
+        target = new RecordingEventStore();
+        testSubject = new EventStoreMigrator(source, target);
+        testSubject.setBatchSize(2);
+        testSubject.setThreadCount(2);
+    }
+
+    @Test
+    public void testEventsOfEachAggregateAppendedInOrder() {
+        MigrationProgressListener listener = mock(MigrationProgressListener.class);
+        testSubject.setProgressListener(listener);
+
+        assertEquals(5, testSubject.migrate("Aggregate"));
+
+        assertEquals(Arrays.asList("a0", "a1"), target.payloadsOf("a"));
+        assertEquals(Arrays.asList("b0", "b1"), target.payloadsOf("b"));
+        assertEquals(Arrays.asList("c0"), target.payloadsOf("c"));
+        verify(listener).onCheckpoint(eq("Aggregate"), eq(2L), eq(2L), anyLong());
+        verify(listener).onCheckpoint(eq("Aggregate"), eq(4L), eq(4L), anyLong());
+        verify(listener).onCheckpoint(eq("Aggregate"), eq(5L), eq(5L), anyLong());
+    }
+
+    @Test
+    public void testMigrationResumedFromCheckpoint() {
+        assertEquals(3, testSubject.migrate("Aggregate", 2));
+
+        assertEquals(Arrays.asList("a1"), target.payloadsOf("a"));
+        assertEquals(Arrays.asList("b1"), target.payloadsOf("b"));
+        assertEquals(Arrays.asList("c0"), target.payloadsOf("c"));
+    }
+
+    @Test
+    public void testMigrationStopsWhenAppendingFails() {
+        MigrationProgressListener listener = mock(MigrationProgressListener.class);
+        testSubject.setProgressListener(listener);
+        target.failOn = "c";
+
+        try {
+            testSubject.migrate("Aggregate");
+            fail("Expected exception");
+        } catch (EventStoreException e) {
+            assertTrue(e.getMessage().contains("after checkpoint 2"));
+        }
+
+        verify(listener).onCheckpoint(eq("Aggregate"), eq(2L), eq(2L), anyLong());
+        verifyNoMoreInteractions(listener);
+        assertTrue(target.payloadsOf("c").isEmpty());
+    }
+
+    private static class RecordingEventStore implements EventStore {
+
+        private final Map<Object, List<String>> appended = new ConcurrentHashMap<Object, List<String>>();
+        private volatile String failOn;
+
+        @Override
+        public void appendEvents(String type, DomainEventStream events) {
+            assertEquals("Aggregate", type);
+            while (events.hasNext()) {
+                DomainEventMessage event = events.next();
+                if (event.getAggregateIdentifier().equals(failOn)) {
+                    throw new IllegalStateException("Mock failure");
+                }
+                List<String> payloads = appended.get(event.getAggregateIdentifier());
+                if (payloads == null) {
+                    payloads = new CopyOnWriteArrayList<String>();
+                    appended.put(event.getAggregateIdentifier(), payloads);
+                }
+                payloads.add((String) event.getPayload());
+            }
+        }
+
+        @Override
+        public DomainEventStream readEvents(String type, Object identifier) {
+            throw new UnsupportedOperationException();
+        }
+
+        private List<String> payloadsOf(String aggregateIdentifier) {
+            List<String> payloads = appended.get(aggregateIdentifier);
+            return payloads == null ? new ArrayList<String>() : new ArrayList<String>(payloads);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.monitoring;
+
+import org.junit.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent
+ */
+public class HistogramTest {
+
+    private Histogram testSubject;
+
+    @Before
+    public void setUp() {
+        testSubject = new Histogram();
+    }
+
+    @Test
+    public void testEmptyHistogramReturnsZero() {
+        assertEquals(0, testSubject.getCount());
+        assertEquals(0, testSubject.getMaxValue());
+        assertEquals(0, testSubject.getMean(), 0);
+        assertEquals(0, testSubject.getValueAtPercentile(99));
+    }
+
+    @Test
+    public void testSmallValuesAreRecordedExactly() {
+        for (int i = 1; i <= 50; i++) {
+            testSubject.recordValue(i);
+        }
+
+        assertEquals(50, testSubject.getCount());
+        assertEquals(25.5, testSubject.getMean(), 0.001);
+        assertEquals(25, testSubject.getValueAtPercentile(50));
+        assertEquals(50, testSubject.getValueAtPercentile(100));
+        assertEquals(1, testSubject.getValueAtPercentile(0));
+    }
+
+    @Test
+    public void testLargeValuesAreRecordedWithinPrecision() {
+        for (long i = 1; i <= 100000; i++) {
+            testSubject.recordValue(i * 1000);
+        }
+
+        assertPercentile(50000000, testSubject.getValueAtPercentile(50));
+        assertPercentile(99000000, testSubject.getValueAtPercentile(99));
+        assertPercentile(99900000, testSubject.getValueAtPercentile(99.9));
+        assertEquals(100000000, testSubject.getMaxValue());
+        assertEquals(100000000, testSubject.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testNegativeValuesAreRecordedAsZero() {
+        testSubject.recordValue(-10);
+
+        assertEquals(1, testSubject.getCount());
+        assertEquals(0, testSubject.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testExtremeValuesAreRecorded() {
+        testSubject.recordValue(Long.MAX_VALUE);
+
+        assertEquals(Long.MAX_VALUE, testSubject.getMaxValue());
+        assertEquals(Long.MAX_VALUE, testSubject.getValueAtPercentile(50));
+    }
+
+    @Test
+    public void testReset() {
+        testSubject.recordValue(100);
+        testSubject.reset();
+
+        assertEquals(0, testSubject.getCount());
+        assertEquals(0, testSubject.getTotal());
+        assertEquals(0, testSubject.getMaxValue());
+        assertEquals(0, testSubject.getValueAtPercentile(50));
+    }
+
+    @Test(timeout = 10000)
+    public void testConcurrentRecording() throws InterruptedException {
+        final int threads = 4;
+        final int valuesPerThread = 100000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < threads; t++) {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    for (int i = 0; i < valuesPerThread; i++) {
+                        testSubject.recordValue(i);
+                    }
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(threads * valuesPerThread, testSubject.getCount());
+        assertEquals(valuesPerThread - 1, testSubject.getMaxValue());
+        assertEquals((long) threads * valuesPerThread * (valuesPerThread - 1) / 2, testSubject.getTotal());
+    }
+
+    private void assertPercentile(long expected, long actual) {
+        assertTrue("Expected " + actual + " to be within 3% of " + expected,
+                   Math.abs(actual - expected) <= expected * 0.03);
+    }
+}
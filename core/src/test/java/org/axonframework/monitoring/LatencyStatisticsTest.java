@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.monitoring;
+
+import org.junit.*;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent
+ */
+public class LatencyStatisticsTest {
+
+    private LatencyStatistics testSubject;
+
+    @Before
+    public void setUp() {
+        testSubject = new LatencyStatistics();
+    }
+
+    @Test
+    public void testLatenciesAreReportedPerNameInMillis() {
+        testSubject.recordLatency("b", 2000000);
+        testSubject.recordLatency("a", 1000000);
+        testSubject.recordLatency("a", 3000000);
+
+        assertEquals(Arrays.asList("a", "b"), testSubject.getNames());
+        assertEquals(Long.valueOf(2), testSubject.getCounts().get("a"));
+        assertEquals(2.0, testSubject.getMeanLatencyMillis().get("a"), 0.0001);
+        assertEquals(3.0, testSubject.getMaxLatencyMillis().get("a"), 0.0001);
+        assertEquals(2.0, testSubject.getMedianLatencyMillis().get("b"), 0.1);
+        assertEquals(3.0, testSubject.getLatencyMillisAtPercentile("a", 99), 0.1);
+        assertEquals(0, testSubject.getLatencyMillisAtPercentile("unknown", 99), 0);
+        assertTrue(testSubject.getThroughputPerSecond().get("a") > 0);
+    }
+
+    @Test
+    public void testHistogramForReturnsSameInstance() {
+        assertSame(testSubject.histogramFor("a"), testSubject.histogramFor("a"));
+    }
+
+    @Test
+    public void testReset() {
+        testSubject.recordLatency("a", 1000000);
+        testSubject.reset();
+
+        assertEquals(Long.valueOf(0), testSubject.getCounts().get("a"));
+        assertEquals(0, testSubject.getPercentile99LatencyMillis().get("a"), 0);
+    }
+}
@@ -20,16 +20,21 @@ import org.apache.commons.collections.set.ListOrderedSet;
 import org.axonframework.domain.EventMessage;
 import org.axonframework.domain.GenericEventMessage;
 import org.axonframework.eventhandling.EventBus;
+import org.axonframework.repository.LockManager;
+import org.axonframework.repository.StripedLockManager;
 import org.axonframework.saga.annotation.AssociationValuesImpl;
 import org.axonframework.testutils.MockException;
 import org.axonframework.unitofwork.DefaultUnitOfWork;
 import org.axonframework.unitofwork.UnitOfWork;
 import org.junit.*;
+import org.mockito.InOrder;
 import org.mockito.invocation.*;
 import org.mockito.stubbing.*;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -66,16 +71,15 @@ public class SagaManagerTest {
         when(mockSaga1.getSagaIdentifier()).thenReturn("saga1");
         when(mockSaga2.getSagaIdentifier()).thenReturn("saga2");
         when(mockSaga3.getSagaIdentifier()).thenReturn("saga3");
-        when(mockSagaRepository.load("saga1")).thenReturn(mockSaga1);
-        when(mockSagaRepository.load("saga2")).thenReturn(mockSaga2);
-        when(mockSagaRepository.load("saga3")).thenReturn(mockSaga3);
+        when(mockSagaRepository.loadAll(anySetOf(String.class)))
+                .thenAnswer(new LoadSagas(mockSaga1, mockSaga2, mockSaga3));
         associationValue = new AssociationValue("association", "value");
         for (Saga saga : setOf(mockSaga1, mockSaga2, mockSaga3)) {
             final AssociationValuesImpl associationValues = new AssociationValuesImpl();
             associationValues.add(associationValue);
             when(saga.getAssociationValues()).thenReturn(associationValues);
         }
-        when(mockSagaRepository.find(isA(Class.class), eq(associationValue)))
+        when(mockSagaRepository.findAll(isA(Class.class), eq(singleton(associationValue))))
                 .thenReturn(setOf("saga1", "saga2", "saga3"));
         sagaCreationPolicy = SagaCreationPolicy.NONE;
 
@@ -147,7 +151,7 @@ public class SagaManagerTest {
     public synchronized void testAccessToSagaWhileInCreation() throws InterruptedException {
         when(mockSagaFactory.createSaga(isA(Class.class))).thenReturn(mockSaga1);
         reset(mockSagaRepository);
-        when(mockSagaRepository.find(isA(Class.class), isA(AssociationValue.class)))
+        when(mockSagaRepository.findAll(isA(Class.class), anySetOf(AssociationValue.class)))
                 .thenReturn(Collections.<String>emptySet())
                 .thenReturn(singleton("saga1"));
 
@@ -175,7 +179,35 @@ public class SagaManagerTest {
         verify(mockSagaRepository).add(mockSaga1);
         verify(mockSagaRepository, times(19)).commit(mockSaga1);
 
-        verify(mockSagaRepository, never()).load("saga1");
+        verify(mockSagaRepository, never()).loadAll(anySetOf(String.class));
+    }
+
+    @Test
+    public void testSagasLoadedInSingleBatch() {
+        EventMessage event = new GenericEventMessage<Object>(new Object());
+        testSubject.handle(event);
+
+        verify(mockSagaRepository).findAll(Saga.class, singleton(associationValue));
+        verify(mockSagaRepository).loadAll(setOf("saga1", "saga2", "saga3"));
+        verify(mockSagaRepository, never()).find(isA(Class.class), isA(AssociationValue.class));
+        verify(mockSagaRepository, never()).load(isA(String.class));
+    }
+
+    @Test
+    public void testSagaAccessSynchronizedUsingConfiguredLockManager() {
+        LockManager lockManager = spy(new StripedLockManager());
+        testSubject.setLockManager(lockManager);
+        EventMessage event = new GenericEventMessage<Object>(new Object());
+        testSubject.handle(event);
+
+        InOrder inOrder = inOrder(lockManager, mockSaga1);
+        inOrder.verify(lockManager).obtainLock("saga1");
+        inOrder.verify(mockSaga1).handle(event);
+        inOrder.verify(lockManager).releaseLock("saga1");
+        verify(lockManager).obtainLock("saga2");
+        verify(lockManager).releaseLock("saga2");
+        verify(lockManager).obtainLock("saga3");
+        verify(lockManager).releaseLock("saga3");
     }
 
 
@@ -184,6 +216,27 @@ public class SagaManagerTest {
         return ListOrderedSet.decorate(Arrays.asList(items));
     }
 
+    private static class LoadSagas implements Answer<Map<String, Saga>> {
+
+        private final Saga[] sagas;
+
+        private LoadSagas(Saga... sagas) {
+            this.sagas = sagas;
+        }
+
+        @Override
+        public Map<String, Saga> answer(InvocationOnMock invocation) throws Throwable {
+            Set<?> sagaIdentifiers = (Set<?>) invocation.getArguments()[0];
+            Map<String, Saga> loadedSagas = new HashMap<String, Saga>();
+            for (Saga saga : sagas) {
+                if (sagaIdentifiers.contains(saga.getSagaIdentifier())) {
+                    loadedSagas.put(saga.getSagaIdentifier(), saga);
+                }
+            }
+            return loadedSagas;
+        }
+    }
+
     private class TestableAbstractSagaManager extends AbstractSagaManager {
 
         private TestableAbstractSagaManager(SagaRepository sagaRepository, SagaFactory sagaFactory,
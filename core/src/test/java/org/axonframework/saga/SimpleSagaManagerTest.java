@@ -24,10 +24,13 @@ import org.junit.*;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 import static java.util.Collections.singleton;
+import static java.util.Collections.singletonMap;
 import static org.mockito.AdditionalMatchers.*;
 import static org.mockito.Mockito.*;
 
@@ -55,11 +58,11 @@ public class SimpleSagaManagerTest {
         saga1 = mock(Saga.class);
         when(saga1.getSagaIdentifier()).thenReturn("saga1");
         sagasFromRepository.add("saga1");
-        when(repository.load("saga1")).thenReturn(saga1);
+        when(repository.loadAll(singleton("saga1"))).thenReturn(singletonMap("saga1", saga1));
         associationValue = new AssociationValue("key", "val");
         when(associationValueResolver.extractAssociationValues(isA(EventMessage.class)))
                 .thenReturn(singleton(associationValue));
-        when(repository.find(eq(Saga.class), eq(associationValue))).thenReturn(sagasFromRepository);
+        when(repository.findAll(eq(Saga.class), eq(singleton(associationValue)))).thenReturn(sagasFromRepository);
         Saga sagaFromFactory = mock(Saga.class);
         when(sagaFromFactory.getSagaIdentifier()).thenReturn("sagaFromFactory");
         final AssociationValuesImpl associationValues = new AssociationValuesImpl();
@@ -83,7 +86,7 @@ public class SimpleSagaManagerTest {
         activate(saga1);
         testSubject.handle(event);
 
-        verify(repository).load("saga1");
+        verify(repository).loadAll(singleton("saga1"));
         verify(repository).commit(saga1);
         verify(repository, never()).add(isA(Saga.class));
         verify(repository, never()).commit(not(eq(saga1)));
@@ -99,11 +102,12 @@ public class SimpleSagaManagerTest {
     @SuppressWarnings("unchecked")
     @Test
     public void testSagaOptionallyCreatedOnEvent_NoSagaFound() {
-        when(repository.find(isA(Class.class), isA(AssociationValue.class))).thenReturn(Collections.<String>emptySet());
+        when(repository.findAll(isA(Class.class), anySetOf(AssociationValue.class)))
+                .thenReturn(Collections.<String>emptySet());
         testSubject.setEventsToOptionallyCreateNewSagasFor(Arrays.<Class<?>>asList(Object.class));
         testSubject.handle(event);
 
-        verify(repository, never()).load("saga1");
+        verify(repository, never()).loadAll(anySetOf(String.class));
         verify(repository).add(isA(Saga.class));
         verify(repository, never()).commit(not(eq(saga1)));
     }
@@ -125,10 +129,12 @@ public class SimpleSagaManagerTest {
         when(saga2.getSagaIdentifier()).thenReturn("saga2");
         activate(saga1);
         activate(saga2);
-        when(repository.find(isA(Class.class), isA(AssociationValue.class)))
+        when(repository.findAll(isA(Class.class), anySetOf(AssociationValue.class)))
                 .thenReturn(new HashSet<String>(Arrays.asList("saga1", "saga2")));
-        when(repository.load("saga1")).thenReturn(saga1);
-        when(repository.load("saga2")).thenReturn(saga2);
+        Map<String, Saga> loadedSagas = new HashMap<String, Saga>();
+        loadedSagas.put("saga1", saga1);
+        loadedSagas.put("saga2", saga2);
+        when(repository.loadAll(new HashSet<String>(Arrays.asList("saga1", "saga2")))).thenReturn(loadedSagas);
 
         testSubject.handle(event);
         verify(saga1, times(1)).handle(event);
@@ -23,6 +23,7 @@ import org.axonframework.domain.EventMessage;
 import org.axonframework.eventhandling.EventBus;
 import org.axonframework.eventhandling.EventProcessingMonitor;
 import org.axonframework.saga.Saga;
+import org.axonframework.saga.SagaRepository;
 import org.axonframework.saga.repository.inmemory.InMemorySagaRepository;
 import org.junit.*;
 import org.mockito.internal.stubbing.answers.*;
@@ -113,6 +114,37 @@ public class AsyncAnnotatedSagaManagerTest {
         assertEquals("Incorrect live saga count", 0, sagaRepository.getLiveSagas());
     }
 
+    @Test
+    public void testWriteBehind_SagaUpdatesCoalescedUntilStop() throws InterruptedException {
+        // a mock rather than a spy, as the in-memory repository implements add() by invoking commit()
+        final SagaRepository mockRepository = mock(SagaRepository.class);
+        testSubject.setSagaRepository(mockRepository);
+        testSubject.setProcessorCount(1);
+        testSubject.setWriteBehindInterval(60000);
+        testSubject.start();
+        for (EventMessage message : createSimpleLifeCycle("one", "two", false)) {
+            testSubject.handle(message);
+        }
+        testSubject.stop();
+        executorService.shutdown();
+        assertTrue("Service refused to stop in 1 second", executorService.awaitTermination(1, TimeUnit.SECONDS));
+        // stopping drains all events first, so a single add without any commit proves that no end-of-batch
+        // persisted the saga before it ended
+        verify(mockRepository, times(1)).add(isA(Saga.class));
+        verify(mockRepository, never()).commit(isA(Saga.class));
+    }
+
+    @Test(timeout = 10000)
+    public void testWriteBehind_SagasPersistedAfterIntervalWithoutNewEvents() throws InterruptedException {
+        testSubject.setWriteBehindInterval(100);
+        testSubject.start();
+        testSubject.handle(asEventMessage(new ForceCreateNewEvent("one")));
+        while (sagaRepository.getKnownSagas() == 0) {
+            Thread.sleep(10);
+        }
+        assertEquals("Incorrect live saga count", 1, sagaRepository.getLiveSagas());
+    }
+
     @Test(timeout = 10000, expected = AxonConfigurationException.class)
     public void testThreadPoolExecutorHasTooSmallCorePoolSize() throws InterruptedException {
         testSubject.setStartTimeout(100);
@@ -20,6 +20,8 @@ import org.axonframework.saga.AssociationValue;
 import org.junit.*;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
@@ -74,6 +76,51 @@ public class AssociationValueMapTest {
         assertEquals("Wrong item count", 0, testSubject.size());
     }
 
+    @Test
+    public void testFindSagasIntoProvidedCollection() {
+        testSubject.add(av("a"), "T", "1");
+        testSubject.add(av("a"), "T", "2");
+        testSubject.add(av("a"), "Y", "3");
+        testSubject.add(av("b"), "T", "4");
+
+        List<String> results = new ArrayList<String>();
+        assertEquals(2, testSubject.findSagas("T", av("a"), results));
+        assertEquals(0, testSubject.findSagas("T", av("c"), results));
+        assertEquals(0, testSubject.findSagas("Z", av("a"), results));
+        assertEquals(1, testSubject.findSagas("Y", av("a"), results));
+
+        assertEquals(3, results.size());
+        assertTrue(results.containsAll(Arrays.asList("1", "2", "3")));
+    }
+
+    @Test
+    public void testAssociationsCanBeAddedAfterRemoval() {
+        for (int t = 0; t < 1000; t++) {
+            testSubject.add(av("value-" + t), "T", "saga-" + t);
+        }
+        for (int t = 0; t < 1000; t += 2) {
+            testSubject.remove(av("value-" + t), "T", "saga-" + t);
+        }
+        for (int t = 0; t < 1000; t += 2) {
+            testSubject.add(av("value-" + t), "T", "other-" + t);
+        }
+
+        assertEquals(1000, testSubject.size());
+        for (int t = 0; t < 1000; t++) {
+            String expected = (t % 2 == 0 ? "other-" : "saga-") + t;
+            assertEquals(Collections.singleton(expected), testSubject.findSagas("T", av("value-" + t)));
+        }
+    }
+
+    @Test
+    public void testNullAssociationValueIsIgnored() {
+        testSubject.add(null, "T", "1");
+        testSubject.remove(null, "T", "1");
+
+        assertTrue(testSubject.isEmpty());
+        assertTrue(testSubject.findSagas("T", null).isEmpty());
+    }
+
     private AssociationValue av(String value) {
         return new AssociationValue("key", value);
     }
@@ -28,9 +28,11 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Set;
 
 import static java.util.Collections.singleton;
+import static java.util.Collections.singletonMap;
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
@@ -132,6 +134,23 @@ public class CachingSagaRepositoryTest {
         verify(associationsCache, never()).put(any(), any());
     }
 
+    @Test
+    public void testOnlyUncachedSagasLoadedFromDelegate() {
+        final StubSaga cachedSaga = new StubSaga("cached");
+        final StubSaga uncachedSaga = new StubSaga("uncached");
+        testSubject.add(cachedSaga);
+        reset(sagaCache);
+        when(repository.loadAll(singleton("uncached"))).thenReturn(singletonMap("uncached", (Saga) uncachedSaga));
+
+        Map<String, Saga> actual = testSubject.loadAll(new HashSet<String>(Arrays.asList("cached", "uncached")));
+
+        assertSame(cachedSaga, actual.get("cached"));
+        assertSame(uncachedSaga, actual.get("uncached"));
+        verify(repository).loadAll(singleton("uncached"));
+        verify(repository, never()).load(anyString());
+        verify(sagaCache).put("uncached", uncachedSaga);
+    }
+
     @Test
     public void testCommitDelegatedAfterAddingToCache() {
         final StubSaga saga = new StubSaga("id");
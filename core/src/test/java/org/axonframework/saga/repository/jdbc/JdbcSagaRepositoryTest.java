@@ -13,9 +13,12 @@ import org.junit.*;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
+import static java.util.Arrays.asList;
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
@@ -100,6 +103,48 @@ public class JdbcSagaRepositoryTest {
         assertTrue("Didn't expect any sagas", actual.isEmpty());
     }
 
+    @Test
+    public void testFindAndLoadMultipleSagasAtOnce() {
+        StubSaga saga1 = new StubSaga("test1");
+        StubSaga saga2 = new StubSaga("test2");
+        MyOtherTestSaga otherTestSaga = new MyOtherTestSaga("test3");
+        saga1.registerAssociationValue(new AssociationValue("key", "value1"));
+        saga2.registerAssociationValue(new AssociationValue("key", "value2"));
+        otherTestSaga.registerAssociationValue(new AssociationValue("key", "value1"));
+        repository.add(saga1);
+        repository.add(saga2);
+        repository.add(otherTestSaga);
+
+        Set<String> actual = repository.findAll(StubSaga.class, new HashSet<AssociationValue>(asList(
+                new AssociationValue("key", "value1"), new AssociationValue("key", "value2"),
+                new AssociationValue("key", "value3"))));
+        assertEquals(new HashSet<String>(asList("test1", "test2")), actual);
+
+        Map<String, Saga> loaded = repository.loadAll(new HashSet<String>(asList("test1", "test2", "unknown")));
+        assertEquals(2, loaded.size());
+        assertEquals("test1", loaded.get("test1").getSagaIdentifier());
+        assertEquals("test2", loaded.get("test2").getSagaIdentifier());
+    }
+
+    @Test
+    public void testUnmodifiedSagaIsNotUpdated() throws SQLException {
+        HsqlSagaSqlSchema sqlSchema = spy(new HsqlSagaSqlSchema());
+        repository = new JdbcSagaRepository(dataSource, sqlSchema);
+        StubSaga saga = new StubSaga("test1");
+        saga.registerAssociationValue(new AssociationValue("key", "value"));
+        repository.add(saga);
+
+        Saga loaded = repository.load("test1");
+        repository.commit(loaded);
+        verify(sqlSchema, never()).sql_updateSaga(any(Connection.class), anyString(), any(byte[].class),
+                                                  anyString(), anyString());
+
+        ((StubSaga) loaded).registerAssociationValue(new AssociationValue("key", "other"));
+        repository.commit(loaded);
+        verify(sqlSchema).sql_updateSaga(any(Connection.class), eq("test1"), any(byte[].class),
+                                         anyString(), anyString());
+    }
+
     @Test
     public void testLoadSaga_NotFound() {
         assertNull(repository.load("123456"));
@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.serializer.binary;
+
+import org.axonframework.domain.MetaData;
+import org.axonframework.serializer.SerializationException;
+import org.axonframework.serializer.SerializedObject;
+import org.axonframework.serializer.SimpleSerializedObject;
+import org.axonframework.serializer.xml.XStreamSerializer;
+import org.joda.time.DateTime;
+import org.junit.*;
+
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent
+ */
+public class BinarySerializerTest {
+
+    private BinarySerializer testSubject;
+
+    @Before
+    public void setUp() {
+        testSubject = new BinarySerializer();
+    }
+
+    @Test
+    public void testCanSerializeToByteArrayAndInputStreamButNotString() {
+        assertTrue(testSubject.canSerializeTo(byte[].class));
+        assertTrue(testSubject.canSerializeTo(InputStream.class));
+        assertTrue(testSubject.canSerializeTo(BinaryNode.class));
+        assertFalse(testSubject.canSerializeTo(String.class));
+    }
+
+    @Test
+    public void testSerializeAndDeserializeObject() {
+        StubEvent event = new StubEvent("name", 42);
+
+        SerializedObject<byte[]> serialized = testSubject.serialize(event, byte[].class);
+        StubEvent actual = testSubject.deserialize(serialized);
+
+        assertEquals(StubEvent.class.getName(), serialized.getType().getName());
+        assertEquals("name", actual.name);
+        assertEquals(42, actual.count);
+        assertEquals(Integer.valueOf(0), actual.boxedZero);
+        assertEquals(event.tags, actual.tags);
+        assertEquals(event.properties, actual.properties);
+        assertEquals(Status.ACTIVE, actual.status);
+        assertArrayEquals(event.numbers, actual.numbers);
+        assertEquals(EnumSet.of(Status.INACTIVE), actual.statuses);
+        assertEquals(event.amount, actual.amount);
+        assertEquals(event.identifier, actual.identifier);
+        assertEquals(event.date, actual.date);
+        assertEquals(event.timestamp, actual.timestamp);
+        assertEquals("super", actual.superField);
+        assertNull(actual.transientField);
+    }
+
+    @Test
+    public void testSerializeAndDeserializeCyclicReferences() {
+        StubEvent event = new StubEvent("name", 1);
+
+        StubEvent actual = testSubject.deserialize(testSubject.serialize(event, byte[].class));
+
+        assertSame(actual, actual.child.parent);
+    }
+
+    @Test
+    public void testEmptyMetaDataIsResolvedToSingleInstance() {
+        MetaData metaData = MetaData.from(Collections.singletonMap("key", (Object) "value"));
+
+        assertEquals(metaData, testSubject.deserialize(testSubject.serialize(metaData, byte[].class)));
+        assertSame(MetaData.emptyInstance(),
+                   testSubject.deserialize(testSubject.serialize(MetaData.emptyInstance(), byte[].class)));
+    }
+
+    @Test
+    public void testSerializedFormIsSmallerThanXStreamForm() {
+        StubEvent event = new StubEvent("name", 42);
+
+        int binarySize = testSubject.serialize(event, byte[].class).getData().length;
+        int xmlSize = new XStreamSerializer().serialize(event, byte[].class).getData().length;
+
+        assertTrue("Expected binary form to be at least 3 times smaller. Binary: " + binarySize + ", xml: " + xmlSize,
+                   binarySize * 3 < xmlSize);
+    }
+
+    @Test
+    public void testReadUnchangedClassesWithoutRegisteredSchemas() {
+        StubEvent event = new StubEvent("name", 42);
+        SerializedObject<byte[]> serialized = testSubject.serialize(event, byte[].class);
+
+        // a new registry doesn't know the schemas, but the expected types of the values haven't changed
+        StubEvent actual = new BinarySerializer().deserialize(serialized);
+
+        assertEquals("name", actual.name);
+        assertEquals(Status.ACTIVE, actual.status);
+        assertEquals(EnumSet.of(Status.INACTIVE), actual.statuses);
+        assertEquals(event.timestamp, actual.timestamp);
+        assertSame(actual, actual.child.parent);
+    }
+
+    @Test
+    public void testReadDataWrittenWithOlderRegisteredSchema() {
+        SerializedObject<byte[]> serialized = testSubject.serialize(new VersionOne(), byte[].class);
+
+        VersionTwo actual = testSubject.deserialize(new SimpleSerializedObject<byte[]>(
+                serialized.getData(), byte[].class, VersionTwo.class.getName(), null));
+
+        assertEquals("value", actual.retained);
+        assertEquals(0, actual.added);
+    }
+
+    @Test(expected = SerializationException.class)
+    public void testReadDataWrittenWithUnknownSchemaFails() {
+        SerializedObject<byte[]> serialized = testSubject.serialize(new VersionOne(), byte[].class);
+
+        new BinarySerializer().deserialize(new SimpleSerializedObject<byte[]>(
+                serialized.getData(), byte[].class, VersionTwo.class.getName(), null));
+    }
+
+    @Test
+    public void testUpcastUsingBinaryNode() {
+        SerializedObject<byte[]> serialized = testSubject.serialize(new VersionOne(), byte[].class);
+        BinaryNode node = testSubject.getConverterFactory().getConverter(byte[].class, BinaryNode.class)
+                                     .convert(serialized.getData());
+
+        assertEquals(VersionOne.class.getName(), node.getTypeName());
+        assertEquals("value", node.getFields().get("retained"));
+        node.setTypeName(VersionTwo.class.getName());
+        node.getFields().put("added", node.getFields().remove("removed"));
+        byte[] upcasted = testSubject.getConverterFactory().getConverter(BinaryNode.class, byte[].class)
+                                     .convert(node);
+
+        VersionTwo actual = testSubject.deserialize(new SimpleSerializedObject<byte[]>(
+                upcasted, byte[].class, VersionTwo.class.getName(), null));
+        assertEquals("value", actual.retained);
+        assertEquals(5, actual.added);
+    }
+
+    @Test
+    public void testBinaryNodeRoundTripPreservesReferences() {
+        SerializedObject<byte[]> serialized = testSubject.serialize(new StubEvent("name", 1), byte[].class);
+        BinaryNode node = testSubject.getConverterFactory().getConverter(byte[].class, BinaryNode.class)
+                                     .convert(serialized.getData());
+        byte[] written = testSubject.getConverterFactory().getConverter(BinaryNode.class, byte[].class)
+                                    .convert(node);
+
+        StubEvent actual = testSubject.deserialize(new SimpleSerializedObject<byte[]>(
+                written, byte[].class, serialized.getType()));
+        assertEquals("name", actual.name);
+        assertSame(actual, actual.child.parent);
+    }
+
+    private static enum Status {
+        ACTIVE, INACTIVE
+    }
+
+    private static class SuperType {
+
+        protected String superField = "super";
+    }
+
+    private static class StubEvent extends SuperType {
+
+        private final String name;
+        private final int count;
+        private final Integer boxedZero = 0;
+        private final List<String> tags = new ArrayList<String>(Arrays.asList("first", "second"));
+        private final Map<String, Object> properties = new HashMap<String, Object>();
+        private final Status status = Status.ACTIVE;
+        private final int[] numbers = {1, 2, -3};
+        private final Set<Status> statuses = EnumSet.of(Status.INACTIVE);
+        private final BigDecimal amount = new BigDecimal("12.345");
+        private final UUID identifier = UUID.randomUUID();
+        private final Date date = new Date();
+        private final DateTime timestamp = new DateTime();
+        private final Child child;
+        private transient String transientField = "transient";
+
+        private StubEvent(String name, int count) {
+            this.name = name;
+            this.count = count;
+            this.properties.put("long", 1L);
+            this.properties.put("null", null);
+            this.child = new Child(this);
+        }
+    }
+
+    private static class Child {
+
+        private final StubEvent parent;
+
+        private Child(StubEvent parent) {
+            this.parent = parent;
+        }
+    }
+
+    private static class VersionOne {
+
+        private String retained = "value";
+        private int removed = 5;
+    }
+
+    private static class VersionTwo {
+
+        private String retained;
+        private int added;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.serializer.binary;
+
+import org.axonframework.common.jdbc.DataSourceConnectionProvider;
+import org.axonframework.serializer.SerializationException;
+import org.hsqldb.jdbc.JDBCDataSource;
+import org.junit.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent
+ */
+public class JdbcSchemaRegistryTest {
+
+    private Connection connection;
+    private JDBCDataSource dataSource;
+    private JdbcSchemaRegistry testSubject;
+
+    @Before
+    public void setUp() throws SQLException {
+        dataSource = new JDBCDataSource();
+        dataSource.setUrl("jdbc:hsqldb:mem:schemas");
+        connection = dataSource.getConnection();
+        testSubject = new JdbcSchemaRegistry(new DataSourceConnectionProvider(dataSource));
+        testSubject.createSchema();
+    }
+
+    @After
+    public void tearDown() throws SQLException {
+        connection.createStatement().execute("SHUTDOWN");
+        connection.close();
+    }
+
+    @Test
+    public void testRegisteredSchemaIsReadByOtherRegistry() {
+        ClassSchema schema = new ClassSchema("com.example.Event", Arrays.asList("name", "count"));
+        testSubject.register(schema);
+
+        JdbcSchemaRegistry otherRegistry = new JdbcSchemaRegistry(dataSource);
+        assertEquals(schema, otherRegistry.lookup(schema.getId()));
+        assertNull(otherRegistry.lookup(schema.getId() + 1));
+        // registering the same schema again is allowed
+        otherRegistry.register(new ClassSchema("com.example.Event", Arrays.asList("count", "name")));
+    }
+
+    @Test
+    public void testRegisteringSchemaWithIdOfOtherSchemaFails() throws SQLException {
+        ClassSchema schema = new ClassSchema("com.example.Event", Arrays.asList("name", "count"));
+        // simulate another version of the class that happens to have the same id
+        PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO ClassSchema (schemaId, className, fieldNames) VALUES (?,?,?)");
+        statement.setInt(1, schema.getId());
+        statement.setString(2, "com.example.Event");
+        statement.setString(3, "identifier,name");
+        statement.executeUpdate();
+
+        try {
+            testSubject.register(schema);
+            fail("Expected the conflicting schema to be rejected");
+        } catch (SerializationException e) {
+            assertTrue(e.getMessage().contains("same id"));
+        }
+    }
+}
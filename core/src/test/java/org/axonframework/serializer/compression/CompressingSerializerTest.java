@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.serializer.compression;
+
+import org.axonframework.serializer.SerializationException;
+import org.axonframework.serializer.SerializedObject;
+import org.axonframework.serializer.SimpleSerializedObject;
+import org.axonframework.serializer.xml.XStreamSerializer;
+import org.dom4j.Document;
+import org.junit.*;
+
+import java.io.InputStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent
+ */
+public class CompressingSerializerTest {
+
+    private XStreamSerializer delegate;
+    private CompressingSerializer testSubject;
+
+    @Before
+    public void setUp() {
+        delegate = new XStreamSerializer();
+        testSubject = new CompressingSerializer(delegate, 512);
+    }
+
+    @Test
+    public void testSmallPayloadIsNotCompressed() {
+        StubEvent event = new StubEvent("small");
+
+        SerializedObject<byte[]> serialized = testSubject.serialize(event, byte[].class);
+
+        assertArrayEquals(delegate.serialize(event, byte[].class).getData(), serialized.getData());
+        assertEquals("small", ((StubEvent) testSubject.deserialize(serialized)).value);
+    }
+
+    @Test
+    public void testLargePayloadIsCompressed() {
+        StubEvent event = new StubEvent(largeValue());
+
+        SerializedObject<byte[]> serialized = testSubject.serialize(event, byte[].class);
+        byte[] uncompressed = delegate.serialize(event, byte[].class).getData();
+
+        assertTrue(DeflateCompression.isCompressed(serialized.getData()));
+        assertTrue(serialized.getData().length < uncompressed.length / 4);
+        assertEquals(delegate.typeForClass(StubEvent.class), serialized.getType());
+        assertEquals(event.value, ((StubEvent) testSubject.deserialize(serialized)).value);
+    }
+
+    @Test
+    public void testSerializeAndDeserializeUsingInputStream() {
+        StubEvent event = new StubEvent(largeValue());
+
+        SerializedObject<InputStream> serialized = testSubject.serialize(event, InputStream.class);
+
+        assertEquals(event.value, ((StubEvent) testSubject.deserialize(serialized)).value);
+    }
+
+    @Test
+    public void testUncompressedDataRemainsReadable() {
+        StubEvent event = new StubEvent(largeValue());
+
+        SerializedObject<byte[]> serialized = delegate.serialize(event, byte[].class);
+
+        assertEquals(event.value, ((StubEvent) testSubject.deserialize(serialized)).value);
+    }
+
+    @Test
+    public void testConverterFactoryDecompressesDataForUpcasters() {
+        SerializedObject<byte[]> serialized = testSubject.serialize(new StubEvent(largeValue()), byte[].class);
+
+        Document document = testSubject.getConverterFactory().getConverter(byte[].class, Document.class)
+                                       .convert(serialized.getData());
+
+        assertEquals(largeValue(), document.getRootElement().elementText("value"));
+    }
+
+    @Test(expected = SerializationException.class)
+    public void testCorruptCompressedDataIsRejected() {
+        byte[] data = testSubject.serialize(new StubEvent(largeValue()), byte[].class).getData();
+        byte[] truncated = new byte[data.length / 2];
+        System.arraycopy(data, 0, truncated, 0, truncated.length);
+
+        testSubject.deserialize(new SimpleSerializedObject<byte[]>(truncated, byte[].class,
+                                                                  delegate.typeForClass(StubEvent.class)));
+    }
+
+    private static String largeValue() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            sb.append("repeating content ").append(i % 10).append(' ');
+        }
+        return sb.toString();
+    }
+
+    private static class StubEvent {
+
+        private final String value;
+
+        private StubEvent(String value) {
+            this.value = value;
+        }
+    }
+}
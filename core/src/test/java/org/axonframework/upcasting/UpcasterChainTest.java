@@ -149,6 +149,28 @@ public abstract class UpcasterChainTest {
         verifyZeroInteractions(converterFactory);
     }
 
+    @Test
+    public void testApplicableUpcastersResolvedOncePerType() {
+        Upcaster mockUpcaster12 = new StubUpcaster<byte[]>(intermediate1.getType(), intermediate2, byte[].class);
+        Upcaster mockUpcasterFake = mock(Upcaster.class, "Fake upcaster");
+
+        final ConverterFactory converterFactory = mock(ConverterFactory.class);
+        UpcasterChain chain = createUpcasterChain(converterFactory, mockUpcaster12, mockUpcasterFake);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(object2.getType(), chain.upcast(object1, upcastingContext).get(0).getType());
+            List<SerializedObject> unmatched = chain.upcast(object3, upcastingContext);
+            assertEquals(1, unmatched.size());
+            assertSame(object3, unmatched.get(0));
+        }
+
+        verify(mockUpcasterFake).canUpcast(object1.getType());
+        verify(mockUpcasterFake).canUpcast(object2.getType());
+        verify(mockUpcasterFake).canUpcast(object3.getType());
+        verify(mockUpcasterFake, never()).upcast(isA(SerializedType.class));
+        verifyZeroInteractions(converterFactory);
+    }
+
     protected abstract UpcasterChain createUpcasterChain(ConverterFactory converterFactory, Upcaster... upcasters);
 
     private class MockIntermediateRepresentation implements SerializedObject {
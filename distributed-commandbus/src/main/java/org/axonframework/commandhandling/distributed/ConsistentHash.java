@@ -16,6 +16,7 @@
 
 package org.axonframework.commandhandling.distributed;
 
+import org.axonframework.common.AxonConfigurationException;
 import org.axonframework.common.digest.Digester;
 
 import java.io.Externalizable;
@@ -23,10 +24,17 @@ import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.io.StringWriter;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedMap;
@@ -40,6 +48,10 @@ import java.util.TreeSet;
  * <p/>
  * Each node contains a Set of supported Commands (as a set of the fully qualified names of payload types). When
  * performing a lookup for a given command, only nodes that support the payload type of the command are eligible.
+ * <p/>
+ * For fast lookups, the ring keeps a separate sorted array of hash positions for each supported command type,
+ * containing only the segments of nodes supporting that type. The positions are the first 64 bits of the MD5 hashes
+ * of the segments, which makes the routing of a key identical to that of a lookup on the full hashes.
  *
  * @author Allard Buijze
  * @since 2.0
@@ -48,8 +60,21 @@ public class ConsistentHash implements Externalizable {
 
     private static final long serialVersionUID = 799974496899291960L;
 
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+    private static final ThreadLocal<MessageDigest> MD5 = new ThreadLocal<MessageDigest>() {
+        @Override
+        protected MessageDigest initialValue() {
+            try {
+                return MessageDigest.getInstance("MD5");
+            } catch (NoSuchAlgorithmException e) {
+                throw new AxonConfigurationException("This environment doesn't support the MD5 hashing algorithm", e);
+            }
+        }
+    };
+
     private static final ConsistentHash EMPTY = new ConsistentHash(new TreeMap<String, Member>());
     private final SortedMap<String, Member> hashToMember;
+    private volatile Map<String, Ring> rings;
 
     /**
      * Returns an instance of an empty Ring, which can be used to add members.
@@ -73,6 +98,7 @@ public class ConsistentHash implements Externalizable {
 
     private ConsistentHash(SortedMap<String, Member> hashed) {
         hashToMember = hashed;
+        rings = buildRings(hashed);
     }
 
     /**
@@ -128,27 +154,51 @@ public class ConsistentHash implements Externalizable {
      * @return The node name for the given <code>item</code>, or <code>null</code> if not found
      */
     public String getMember(String item, String commandType) {
-        String hash = Digester.md5Hex(item);
-        SortedMap<String, Member> tailMap = hashToMember.tailMap(hash);
-        Iterator<Map.Entry<String, Member>> tailIterator = tailMap.entrySet().iterator();
-        Member foundMember = findSuitableMember(commandType, tailIterator);
-        if (foundMember == null) {
-            // if the tail doesn't have a member, we should start back at the head
-            Iterator<Map.Entry<String, Member>> headIterator = hashToMember.headMap(hash).entrySet().iterator();
-            foundMember = findSuitableMember(commandType, headIterator);
+        Ring ring = rings.get(commandType);
+        if (ring == null) {
+            return null;
         }
-        return foundMember == null ? null : foundMember.name();
+        return ring.memberAt(position(item));
     }
 
-    private Member findSuitableMember(String commandType, Iterator<Map.Entry<String, Member>> iterator) {
-        Member foundMember = null;
-        while (iterator.hasNext() && foundMember == null) {
-            Map.Entry<String, Member> entry = iterator.next();
-            if (entry.getValue().supportedCommands().contains(commandType)) {
-                foundMember = entry.getValue();
+    private static Map<String, Ring> buildRings(SortedMap<String, Member> hashToMember) {
+        Map<String, List<Map.Entry<String, Member>>> segmentsPerCommand =
+                new HashMap<String, List<Map.Entry<String, Member>>>();
+        for (Map.Entry<String, Member> entry : hashToMember.entrySet()) {
+            for (String commandType : entry.getValue().supportedCommands()) {
+                List<Map.Entry<String, Member>> segments = segmentsPerCommand.get(commandType);
+                if (segments == null) {
+                    segments = new ArrayList<Map.Entry<String, Member>>();
+                    segmentsPerCommand.put(commandType, segments);
+                }
+                segments.add(entry);
             }
         }
-        return foundMember;
+        Map<String, Ring> rings = new HashMap<String, Ring>(segmentsPerCommand.size());
+        for (Map.Entry<String, List<Map.Entry<String, Member>>> entry : segmentsPerCommand.entrySet()) {
+            rings.put(entry.getKey(), new Ring(entry.getValue()));
+        }
+        return rings;
+    }
+
+    /**
+     * Returns the position on the ring of the given <code>item</code>, which is the first 64 bits of its MD5 hash.
+     * The sign bit is flipped, so that the signed order of positions is the order of the hexadecimal hashes.
+     */
+    private static long position(String item) {
+        byte[] hash = MD5.get().digest(item.getBytes(UTF8));
+        long position = 0;
+        for (int i = 0; i < 8; i++) {
+            position = (position << 8) | (hash[i] & 0xFF);
+        }
+        return position ^ Long.MIN_VALUE;
+    }
+
+    private static long position(Map.Entry<String, Member> segment) {
+        String hexHash = segment.getKey();
+        long position = (Long.parseLong(hexHash.substring(0, 8), 16) << 32)
+                | Long.parseLong(hexHash.substring(8, 16), 16);
+        return position ^ Long.MIN_VALUE;
     }
 
     @Override
@@ -232,6 +282,7 @@ public class ConsistentHash implements Externalizable {
                 hashToMember.put(key, node);
             }
         }
+        rings = buildRings(hashToMember);
     }
 
     /**
@@ -243,6 +294,34 @@ public class ConsistentHash implements Externalizable {
         return Collections.unmodifiableSet(new HashSet<Member>(hashToMember.values()));
     }
 
+    /**
+     * The segments of the members supporting a single command type, ordered by their position on the ring.
+     */
+    private static final class Ring {
+
+        private final long[] positions;
+        private final String[] memberNames;
+
+        private Ring(List<Map.Entry<String, Member>> segments) {
+            positions = new long[segments.size()];
+            memberNames = new String[segments.size()];
+            for (int i = 0; i < positions.length; i++) {
+                Map.Entry<String, Member> segment = segments.get(i);
+                positions[i] = position(segment);
+                memberNames[i] = segment.getValue().name();
+            }
+        }
+
+        private String memberAt(long position) {
+            int index = Arrays.binarySearch(positions, position);
+            if (index < 0) {
+                index = -index - 1;
+            }
+            // positions beyond the last segment wrap around to the first
+            return memberNames[index == positions.length ? 0 : index];
+        }
+    }
+
     /**
      * Represents a member in a consistently hashed cluster. A member is identified by its name, supports a number of
      * commands and can have any number of segments (a.k.a buckets).
@@ -0,0 +1,269 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.commandhandling.distributed.jgroups;
+
+import org.axonframework.common.AxonThreadFactory;
+import org.jgroups.Address;
+import org.jgroups.JChannel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends messages using the compact wire protocol of the {@link JGroupsConnector}. Messages for the same destination
+ * are written into a bundle, which is sent when the linger time has passed since the first message was added, or
+ * when it exceeds the maximum bundle size. With a linger time of 0, each message is sent immediately in a bundle of
+ * its own.
+ * <p/>
+ * Each destination has its own session, holding the dictionary of Strings written to that destination. When a bundle
+ * cannot be sent, the session is discarded, and a new one, with a new session identifier, is started.
+ * <p/>
+ * When a bundle is sent by the thread sending a message, a failure to send it is reported to that thread by
+ * throwing the exception. The {@link FailureHandler} is notified of any other commands awaiting a reply in that
+ * bundle. Failures to send bundles after the linger time can only be reported to the FailureHandler, and are logged
+ * otherwise.
+ *
+ * @author agent
+ * @since 2.4
+ */
+final class CompactMessageSender {
+
+    private static final Logger logger = LoggerFactory.getLogger(CompactMessageSender.class);
+
+    private static final int MAX_BUNDLE_SIZE = 32 * 1024;
+
+    private final JChannel channel;
+    private final long lingerTime;
+    private final FailureHandler failureHandler;
+    private final ScheduledExecutorService flushScheduler;
+    private final ConcurrentMap<Address, Session> sessions = new ConcurrentHashMap<Address, Session>();
+    private final Random sessionIds = new Random();
+
+    /**
+     * Initializes a sender that sends bundles through given <code>channel</code>, waiting at most
+     * <code>lingerTime</code> milliseconds for other messages to add to a bundle. The given
+     * <code>failureHandler</code> is notified of commands in bundles that could not be sent.
+     *
+     * @param channel        The channel to send bundles with
+     * @param lingerTime     The number of milliseconds to wait for additional messages
+     * @param failureHandler The handler to notify of commands that could not be sent
+     */
+    CompactMessageSender(JChannel channel, long lingerTime, FailureHandler failureHandler) {
+        this.channel = channel;
+        this.lingerTime = lingerTime;
+        this.failureHandler = failureHandler;
+        if (lingerTime > 0) {
+            flushScheduler = Executors.newSingleThreadScheduledExecutor(
+                    new DaemonThreadFactory(new AxonThreadFactory("JGroupsConnector-bundler")));
+        } else {
+            flushScheduler = null;
+        }
+    }
+
+    /**
+     * Sends the given <code>message</code> to given <code>destination</code>.
+     *
+     * @param destination The member to send the message to
+     * @param message     The message to send
+     * @throws Exception when the bundle containing the message was sent immediately, and sending it failed
+     */
+    void send(Address destination, DispatchMessage message) throws Exception {
+        while (!sessionFor(destination).write(MessageBundle.DISPATCH_MESSAGE, message,
+                                              message.getCommandIdentifier(), message.isExpectReply())) {
+            // the session was closed after a failure. The next attempt uses a new session
+        }
+    }
+
+    /**
+     * Sends the given <code>message</code> to given <code>destination</code>.
+     *
+     * @param destination The member to send the message to
+     * @param message     The message to send
+     * @throws Exception when the bundle containing the message was sent immediately, and sending it failed
+     */
+    void send(Address destination, ReplyMessage message) throws Exception {
+        while (!sessionFor(destination).write(MessageBundle.REPLY_MESSAGE, message,
+                                              message.getCommandIdentifier(), false)) {
+            // the session was closed after a failure. The next attempt uses a new session
+        }
+    }
+
+    /**
+     * Discards the sessions of all destinations except the given <code>members</code>. Pending messages for those
+     * destinations are discarded as well.
+     *
+     * @param members The addresses of the current members
+     */
+    void retainSessions(Collection<Address> members) {
+        sessions.keySet().retainAll(members);
+    }
+
+    /**
+     * Sends all pending bundles and stops the scheduler that sends bundles after the linger time.
+     */
+    void shutdown() {
+        if (flushScheduler != null) {
+            flushScheduler.shutdown();
+        }
+        for (Session session : sessions.values()) {
+            session.run();
+        }
+    }
+
+    private Session sessionFor(Address destination) {
+        Session session = sessions.get(destination);
+        if (session == null) {
+            Session newSession = new Session(destination, sessionIds.nextLong());
+            session = sessions.putIfAbsent(destination, newSession);
+            if (session == null) {
+                session = newSession;
+            }
+        }
+        return session;
+    }
+
+    /**
+     * Interface describing the component that is notified of commands that could not be sent.
+     */
+    interface FailureHandler {
+
+        /**
+         * Invoked when a bundle containing commands that await a reply could not be sent.
+         *
+         * @param commandIdentifiers The identifiers of the commands awaiting a reply
+         * @param cause              The exception that occurred while sending the bundle
+         */
+        void onSendFailure(List<String> commandIdentifiers, Exception cause);
+    }
+
+    private final class Session implements Runnable {
+
+        private final Address destination;
+        private final long sessionId;
+        private final CompactWireFormat.Encoder encoder = new CompactWireFormat.Encoder();
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(buffer);
+        private List<String> commandsAwaitingReply = new ArrayList<String>();
+        private boolean flushScheduled;
+        private boolean closed;
+
+        private Session(Address destination, long sessionId) {
+            this.destination = destination;
+            this.sessionId = sessionId;
+        }
+
+        private synchronized boolean write(byte messageType, Object message, String commandIdentifier,
+                                           boolean awaitsReply) throws Exception {
+            if (closed) {
+                return false;
+            }
+            try {
+                out.writeByte(messageType);
+                if (messageType == MessageBundle.DISPATCH_MESSAGE) {
+                    ((DispatchMessage) message).writeCompact(out, encoder);
+                } else {
+                    ((ReplyMessage) message).writeCompact(out, encoder);
+                }
+            } catch (IOException e) {
+                // cannot happen when writing to a byte array
+                throw new IllegalStateException("Failed to write message to bundle", e);
+            }
+            if (awaitsReply) {
+                commandsAwaitingReply.add(commandIdentifier);
+            }
+            String ownCommand = awaitsReply ? commandIdentifier : null;
+            if (flushScheduler == null || buffer.size() >= MAX_BUNDLE_SIZE) {
+                flush(ownCommand);
+            } else if (!flushScheduled) {
+                try {
+                    flushScheduler.schedule(this, lingerTime, TimeUnit.MILLISECONDS);
+                    flushScheduled = true;
+                } catch (RejectedExecutionException e) {
+                    // the sender has been shut down
+                    flush(ownCommand);
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public synchronized void run() {
+            try {
+                flush(null);
+            } catch (Exception e) {
+                logger.warn("Failed to send bundle of messages to {}.", destination, e);
+            }
+        }
+
+        /**
+         * Sends the pending bundle. If that fails, the exception is thrown, and the FailureHandler is notified of all
+         * commands awaiting a reply, except the given <code>ownCommand</code>, which is reported by the exception.
+         */
+        private void flush(String ownCommand) throws Exception {
+            flushScheduled = false;
+            if (buffer.size() == 0) {
+                return;
+            }
+            MessageBundle bundle = new MessageBundle(sessionId, buffer.toByteArray());
+            List<String> sentCommands = commandsAwaitingReply;
+            buffer.reset();
+            commandsAwaitingReply = new ArrayList<String>();
+            try {
+                channel.send(destination, bundle);
+            } catch (Exception e) {
+                // the receiver has not seen the dictionary entries in this bundle. Start over with a new session.
+                closed = true;
+                sessions.remove(destination, this);
+                sentCommands.remove(ownCommand);
+                if (!sentCommands.isEmpty()) {
+                    failureHandler.onSendFailure(sentCommands, e);
+                }
+                throw e;
+            }
+        }
+    }
+
+    private static final class DaemonThreadFactory implements ThreadFactory {
+
+        private final ThreadFactory delegate;
+
+        private DaemonThreadFactory(ThreadFactory delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = delegate.newThread(r);
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.commandhandling.distributed.jgroups;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Utility methods for the compact wire protocol of the {@link JGroupsConnector}. Lengths and dictionary references
+ * are written as variable length integers, and identifiers in the canonical UUID format are written as two longs.
+ * <p/>
+ * Strings that are expected to repeat, such as command names and payload types, are written using a dictionary that
+ * is scoped to a single sender and receiver. The first time a sender writes a String to a receiver, it is written in
+ * full, together with a newly assigned reference. Subsequent occurrences only contain the reference. This requires
+ * messages between two members to be delivered in the order in which they were sent, which JGroups guarantees for
+ * regular (non-OOB) messages.
+ *
+ * @author agent
+ * @since 2.4
+ */
+final class CompactWireFormat {
+
+    private static final int UUID_LENGTH = 36;
+    private static final byte STRING_IDENTIFIER = 0;
+    private static final byte UUID_IDENTIFIER = 1;
+
+    private CompactWireFormat() {
+    }
+
+    /**
+     * Writes the given non-negative <code>value</code> using 7 bits per byte.
+     *
+     * @param out   The output to write to
+     * @param value The value to write
+     * @throws IOException when an error occurs writing to the output
+     */
+    static void writeVarInt(DataOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    /**
+     * Reads a value written using {@link #writeVarInt(java.io.DataOutput, int)}.
+     *
+     * @param in The input to read from
+     * @return the value read
+     *
+     * @throws IOException when an error occurs reading from the input
+     */
+    static int readVarInt(DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = in.readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable length integer");
+    }
+
+    /**
+     * Writes the given <code>data</code>, prefixed with its length.
+     *
+     * @param out  The output to write to
+     * @param data The bytes to write
+     * @throws IOException when an error occurs writing to the output
+     */
+    static void writeBytes(DataOutput out, byte[] data) throws IOException {
+        writeVarInt(out, data.length);
+        out.write(data);
+    }
+
+    /**
+     * Reads bytes written using {@link #writeBytes(java.io.DataOutput, byte[])}.
+     *
+     * @param in The input to read from
+     * @return the bytes read
+     *
+     * @throws IOException when an error occurs reading from the input
+     */
+    static byte[] readBytes(DataInput in) throws IOException {
+        byte[] data = new byte[readVarInt(in)];
+        in.readFully(data);
+        return data;
+    }
+
+    /**
+     * Writes the given <code>identifier</code>. Identifiers in the canonical (lower case) UUID format are written as
+     * 17 bytes. Other identifiers are written as UTF String.
+     *
+     * @param out        The output to write to
+     * @param identifier The identifier to write
+     * @throws IOException when an error occurs writing to the output
+     */
+    static void writeIdentifier(DataOutput out, String identifier) throws IOException {
+        UUID uuid = asUUID(identifier);
+        if (uuid == null) {
+            out.writeByte(STRING_IDENTIFIER);
+            out.writeUTF(identifier);
+        } else {
+            out.writeByte(UUID_IDENTIFIER);
+            out.writeLong(uuid.getMostSignificantBits());
+            out.writeLong(uuid.getLeastSignificantBits());
+        }
+    }
+
+    /**
+     * Reads an identifier written using {@link #writeIdentifier(java.io.DataOutput, String)}.
+     *
+     * @param in The input to read from
+     * @return the identifier read
+     *
+     * @throws IOException when an error occurs reading from the input
+     */
+    static String readIdentifier(DataInput in) throws IOException {
+        if (in.readByte() == UUID_IDENTIFIER) {
+            return new UUID(in.readLong(), in.readLong()).toString();
+        }
+        return in.readUTF();
+    }
+
+    private static UUID asUUID(String identifier) {
+        if (identifier.length() != UUID_LENGTH || identifier.charAt(8) != '-' || identifier.charAt(13) != '-'
+                || identifier.charAt(18) != '-' || identifier.charAt(23) != '-') {
+            return null;
+        }
+        try {
+            UUID uuid = UUID.fromString(identifier);
+            // only accept identifiers that are restored exactly as they were
+            return uuid.toString().equals(identifier) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * The dictionary of Strings written by a sender to a single receiver.
+     */
+    static final class Encoder {
+
+        private final Map<String, Integer> references = new HashMap<String, Integer>();
+
+        /**
+         * Writes the given <code>value</code>, which may be <code>null</code>. Values written before are replaced by
+         * a reference.
+         *
+         * @param out   The output to write to
+         * @param value The value to write
+         * @throws IOException when an error occurs writing to the output
+         */
+        void writeString(DataOutput out, String value) throws IOException {
+            if (value == null) {
+                writeVarInt(out, 0);
+                return;
+            }
+            Integer reference = references.get(value);
+            if (reference != null) {
+                writeVarInt(out, (reference + 1) << 1);
+            } else {
+                reference = references.size();
+                references.put(value, reference);
+                writeVarInt(out, ((reference + 1) << 1) | 1);
+                out.writeUTF(value);
+            }
+        }
+    }
+
+    /**
+     * The dictionary of Strings received by a receiver from a single sender.
+     */
+    static final class Decoder {
+
+        private final List<String> values = new ArrayList<String>();
+
+        /**
+         * Reads a value written by an {@link Encoder}.
+         *
+         * @param in The input to read from
+         * @return the value read
+         *
+         * @throws IOException when an error occurs reading from the input, or when the input refers to an unknown
+         *                     value
+         */
+        String readString(DataInput in) throws IOException {
+            int header = readVarInt(in);
+            if (header == 0) {
+                return null;
+            }
+            int reference = (header >>> 1) - 1;
+            if ((header & 1) != 0) {
+                String value = in.readUTF();
+                if (reference != values.size()) {
+                    throw new IOException("Dictionary out of sync. Expected definition of reference "
+                                                  + values.size() + ", but got " + reference);
+                }
+                values.add(value);
+                return value;
+            }
+            if (reference >= values.size()) {
+                throw new IOException("Dictionary out of sync. Unknown reference " + reference);
+            }
+            return values.get(reference);
+        }
+    }
+}
@@ -46,6 +46,7 @@ import static org.axonframework.serializer.MessageSerializer.serializePayload;
 public class DispatchMessage implements Streamable, Externalizable {
 
     private static final long serialVersionUID = -8792911964758889674L;
+    private static final byte[] NO_META_DATA = new byte[0];
 
     private String commandName;
     private String commandIdentifier;
@@ -72,14 +73,32 @@ public class DispatchMessage implements Streamable, Externalizable {
      * @param expectReply    whether or not the sender is waiting for a reply.
      */
     public DispatchMessage(CommandMessage<?> commandMessage, Serializer serializer, boolean expectReply) {
+        this(commandMessage, serializer, expectReply, false);
+    }
+
+    /**
+     * Initialized a DispatchMessage for the given <code>commandMessage</code>, to be serialized using given
+     * <code>serializer</code>. When <code>omitEmptyMetaData</code> is <code>true</code>, empty meta data is not
+     * serialized at all. Only the compact wire protocol supports messages without serialized meta data.
+     *
+     * @param commandMessage    The message to send to the remote segment
+     * @param serializer        The serialize to serialize the message payload and metadata with
+     * @param expectReply       whether or not the sender is waiting for a reply.
+     * @param omitEmptyMetaData whether to skip serialization of empty meta data
+     */
+    DispatchMessage(CommandMessage<?> commandMessage, Serializer serializer, boolean expectReply,
+                    boolean omitEmptyMetaData) {
         this.commandIdentifier = commandMessage.getIdentifier();
         this.expectReply = expectReply;
         SerializedObject<byte[]> payload = serializePayload(commandMessage, serializer, byte[].class);
-        SerializedObject<byte[]> metaData = serializeMetaData(commandMessage, serializer, byte[].class);
         payloadType = payload.getType().getName();
         payloadRevision = payload.getType().getRevision();
         serializedPayload = payload.getData();
-        serializedMetaData = metaData.getData();
+        if (omitEmptyMetaData && commandMessage.getMetaData().isEmpty()) {
+            serializedMetaData = NO_META_DATA;
+        } else {
+            serializedMetaData = serializeMetaData(commandMessage, serializer, byte[].class).getData();
+        }
         commandName = commandMessage.getCommandName();
     }
 
@@ -103,8 +122,13 @@ public class DispatchMessage implements Streamable, Externalizable {
                                                                                          byte[].class,
                                                                                          payloadType,
                                                                                          payloadRevision));
-        final MetaData metaData = (MetaData) serializer.deserialize(new SerializedMetaData<byte[]>(serializedMetaData,
-                                                                                                   byte[].class));
+        final MetaData metaData;
+        if (serializedMetaData.length == 0) {
+            metaData = MetaData.emptyInstance();
+        } else {
+            metaData = (MetaData) serializer.deserialize(new SerializedMetaData<byte[]>(serializedMetaData,
+                                                                                        byte[].class));
+        }
         return new GenericCommandMessage<Object>(commandIdentifier, commandName, payload, metaData);
     }
 
@@ -146,6 +170,45 @@ public class DispatchMessage implements Streamable, Externalizable {
         in.readFully(serializedMetaData);
     }
 
+    /**
+     * Writes this message using the compact wire protocol. Repeating Strings are written using the dictionary of
+     * given <code>encoder</code>.
+     *
+     * @param out     The output to write to
+     * @param encoder The dictionary of the receiver of this message
+     * @throws IOException when an error occurs writing to the output
+     */
+    void writeCompact(DataOutput out, CompactWireFormat.Encoder encoder) throws IOException {
+        encoder.writeString(out, commandName);
+        CompactWireFormat.writeIdentifier(out, commandIdentifier);
+        out.writeBoolean(expectReply);
+        encoder.writeString(out, payloadType);
+        encoder.writeString(out, payloadRevision);
+        CompactWireFormat.writeBytes(out, serializedPayload);
+        CompactWireFormat.writeBytes(out, serializedMetaData);
+    }
+
+    /**
+     * Reads a message written using {@link #writeCompact(java.io.DataOutput, CompactWireFormat.Encoder)}.
+     *
+     * @param in      The input to read from
+     * @param decoder The dictionary of the sender of the message
+     * @return the message read
+     *
+     * @throws IOException when an error occurs reading from the input
+     */
+    static DispatchMessage readCompact(DataInput in, CompactWireFormat.Decoder decoder) throws IOException {
+        DispatchMessage message = new DispatchMessage();
+        message.commandName = decoder.readString(in);
+        message.commandIdentifier = CompactWireFormat.readIdentifier(in);
+        message.expectReply = in.readBoolean();
+        message.payloadType = decoder.readString(in);
+        message.payloadRevision = decoder.readString(in);
+        message.serializedPayload = CompactWireFormat.readBytes(in);
+        message.serializedMetaData = CompactWireFormat.readBytes(in);
+        return message;
+    }
+
     @Override
     public void writeExternal(ObjectOutput out) throws IOException {
         writeTo(out);
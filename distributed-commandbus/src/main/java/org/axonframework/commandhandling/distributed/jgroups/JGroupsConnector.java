@@ -39,6 +39,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.ArrayList;
@@ -65,6 +66,11 @@ import java.util.concurrent.TimeUnit;
  * of sections on the consistent hash ring a node will receive. The more nodes on the ring, the bigger the relative
  * load a member receives. Using a higher number of hashes will also result in a more evenly distribution of load over
  * the different members.
+ * <p/>
+ * Optionally, messages between members are sent using a compact wire protocol (see {@link
+ * #setCompactProtocol(boolean)}). This protocol writes repeating Strings, such as command names and payload types,
+ * only once per pair of members, and allows small messages to the same member to be sent together in a single
+ * bundle.
  *
  * @author Allard Buijze
  * @since 2.0
@@ -84,6 +90,11 @@ public class JGroupsConnector implements CommandBusConnector {
     private final Set<String> supportedCommandNames = new CopyOnWriteArraySet<String>();
     private volatile int currentLoadFactor;
     private final JGroupsConnector.MessageReceiver messageReceiver;
+    private final ConcurrentMap<Address, InboundSession> inboundSessions =
+            new ConcurrentHashMap<Address, InboundSession>();
+    private volatile boolean compactProtocol;
+    private volatile long lingerTime;
+    private volatile CompactMessageSender compactSender;
 
     /**
      * Initializes the Connector using given resources. The <code>channel</code> is used to connect this connector to
@@ -125,6 +136,9 @@ public class JGroupsConnector implements CommandBusConnector {
         Assert.isTrue(channel.getReceiver() == null || channel.getReceiver() == messageReceiver,
                       "The given channel already has a receiver configured. "
                               + "Has the channel been reused with other Connectors?");
+        if (compactProtocol && compactSender == null) {
+            compactSender = new CompactMessageSender(channel, lingerTime, new CallbackFailureHandler());
+        }
         try {
             channel.setReceiver(messageReceiver);
             if (channel.isConnected() && !clusterName.equals(channel.getClusterName())) {
@@ -140,11 +154,24 @@ public class JGroupsConnector implements CommandBusConnector {
             sendMembershipUpdate(null);
         } catch (Exception e) {
             joinedCondition.markJoined(false);
-            channel.disconnect();
+            disconnect();
             throw new ConnectionFailedException("Failed to connect to JGroupsConnectorFactoryBean", e);
         }
     }
 
+    /**
+     * Disconnects this member from the cluster. When the compact protocol is used, messages that are waiting to be
+     * sent in a bundle are sent first.
+     */
+    public synchronized void disconnect() {
+        CompactMessageSender sender = compactSender;
+        compactSender = null;
+        if (sender != null) {
+            sender.shutdown();
+        }
+        channel.disconnect();
+    }
+
     private void sendMembershipUpdate(Address dest) throws MembershipUpdateFailedException {
         try {
             if (channel.isConnected()) {
@@ -196,7 +223,13 @@ public class JGroupsConnector implements CommandBusConnector {
         }
         Address dest = getAddress(destination);
         callbacks.put(commandMessage.getIdentifier(), new MemberAwareCommandCallback<R>(dest, callback));
-        channel.send(dest, new DispatchMessage(commandMessage, serializer, true));
+        try {
+            sendDispatchMessage(dest, commandMessage, true);
+        } catch (Exception e) {
+            // the caller reports the failure to the callback
+            callbacks.remove(commandMessage.getIdentifier());
+            throw e;
+        }
     }
 
     @Override
@@ -207,7 +240,26 @@ public class JGroupsConnector implements CommandBusConnector {
             throw new CommandDispatchException("No node known to accept " + commandMessage.getCommandName());
         }
         Address dest = getAddress(destination);
-        channel.send(dest, new DispatchMessage(commandMessage, serializer, false));
+        sendDispatchMessage(dest, commandMessage, false);
+    }
+
+    private void sendDispatchMessage(Address dest, CommandMessage<?> commandMessage, boolean expectReply)
+            throws Exception {
+        CompactMessageSender sender = compactSender;
+        if (sender != null) {
+            sender.send(dest, new DispatchMessage(commandMessage, serializer, expectReply, true));
+        } else {
+            channel.send(dest, new DispatchMessage(commandMessage, serializer, expectReply));
+        }
+    }
+
+    private void sendReplyMessage(Address dest, ReplyMessage replyMessage) throws Exception {
+        CompactMessageSender sender = compactSender;
+        if (sender != null) {
+            sender.send(dest, replyMessage);
+        } else {
+            channel.send(dest, replyMessage);
+        }
     }
 
     @Override
@@ -238,6 +290,39 @@ public class JGroupsConnector implements CommandBusConnector {
         throw new IllegalArgumentException("Given node doesn't seem to be a member of the DistributedCommandBus");
     }
 
+    /**
+     * Sets whether messages are sent using the compact wire protocol. In this protocol, command names, payload types
+     * and revisions are sent only once to each member, and then referred to by number. Lengths are written as
+     * variable length integers, and UUID identifiers are written in their 16 byte binary form. Empty meta data is not
+     * serialized at all.
+     * <p/>
+     * All members of the cluster must use the same protocol. This setting must be provided before connecting.
+     * Defaults to <code>false</code>.
+     *
+     * @param compactProtocol whether to use the compact wire protocol
+     */
+    public void setCompactProtocol(boolean compactProtocol) {
+        this.compactProtocol = compactProtocol;
+    }
+
+    /**
+     * Sets the number of milliseconds the compact wire protocol waits for more messages to the same member before
+     * sending them together in a single bundle. Higher values reduce the number of network messages, at the cost of
+     * additional latency. This setting has no effect unless the compact protocol is enabled, and must be provided
+     * before connecting.
+     * <p/>
+     * Defaults to 0, meaning each message is sent immediately.
+     * <p/>
+     * Note that with a linger time, messages are sent asynchronously. Failure to send a command that expects a
+     * reply is reported to its callback, but failure to send any other message can only be logged.
+     *
+     * @param lingerTime The time to wait for more messages, in milliseconds
+     */
+    public void setLingerTime(long lingerTime) {
+        Assert.isTrue(lingerTime >= 0, "lingerTime may not be negative");
+        this.lingerTime = lingerTime;
+    }
+
     /**
      * Returns the consistent hash on which current assignment of commands to nodes is being executed.
      *
@@ -307,6 +392,11 @@ public class JGroupsConnector implements CommandBusConnector {
                 }
             }
             if (!view.equals(currentView)) {
+                inboundSessions.keySet().retainAll(view.getMembers());
+                CompactMessageSender sender = compactSender;
+                if (sender != null) {
+                    sender.retainSessions(view.getMembers());
+                }
                 for (Address member : view.getMembers()) {
                     if ((currentView == null || !currentView.containsMember(member))
                             && !member.equals(channel.getAddress())) {
@@ -336,6 +426,33 @@ public class JGroupsConnector implements CommandBusConnector {
                 processDispatchMessage(msg, (DispatchMessage) message);
             } else if (message instanceof ReplyMessage) {
                 processReplyMessage((ReplyMessage) message);
+            } else if (message instanceof MessageBundle) {
+                processMessageBundle(msg, (MessageBundle) message);
+            }
+        }
+
+        private void processMessageBundle(Message msg, MessageBundle bundle) {
+            InboundSession session = inboundSessions.get(msg.getSrc());
+            if (session == null || session.sessionId != bundle.getSessionId()) {
+                session = new InboundSession(bundle.getSessionId());
+                inboundSessions.put(msg.getSrc(), session);
+            }
+            List<Object> messages;
+            try {
+                // the dictionary is built up in the order in which the sender wrote the messages
+                synchronized (session) {
+                    messages = bundle.readMessages(session.decoder);
+                }
+            } catch (IOException e) {
+                logger.error("Unable to read bundle of messages from {}.", msg.getSrc(), e);
+                return;
+            }
+            for (Object message : messages) {
+                if (message instanceof DispatchMessage) {
+                    processDispatchMessage(msg, (DispatchMessage) message);
+                } else {
+                    processReplyMessage((ReplyMessage) message);
+                }
             }
         }
 
@@ -351,7 +468,7 @@ public class JGroupsConnector implements CommandBusConnector {
                 if (message.isExpectReply()) {
                     final String commandIdentifier = message.getCommandIdentifier();
                     try {
-                        channel.send(msg.getSrc(), new ReplyMessage(commandIdentifier, null, e, serializer));
+                        sendReplyMessage(msg.getSrc(), new ReplyMessage(commandIdentifier, null, e, serializer));
                     } catch (Exception errorInReply) {
                         logger.error("Unable to notify sender of failure to read message with id '{}'."
                                              + "description of reading failure ", commandIdentifier, e);
@@ -408,9 +525,9 @@ public class JGroupsConnector implements CommandBusConnector {
             @Override
             public void onSuccess(Object result) {
                 try {
-                    channel.send(msg.getSrc(), new ReplyMessage(commandMessage.getIdentifier(),
-                                                                result,
-                                                                null, serializer));
+                    sendReplyMessage(msg.getSrc(), new ReplyMessage(commandMessage.getIdentifier(),
+                                                                    result,
+                                                                    null, serializer));
                 } catch (Exception e) {
                     logger.error("Unable to send reply to command [name: {}, id: {}]. ",
                                  new Object[]{commandMessage.getCommandName(),
@@ -422,9 +539,9 @@ public class JGroupsConnector implements CommandBusConnector {
             @Override
             public void onFailure(Throwable cause) {
                 try {
-                    channel.send(msg.getSrc(), new ReplyMessage(commandMessage.getIdentifier(),
-                                                                null,
-                                                                cause, serializer));
+                    sendReplyMessage(msg.getSrc(), new ReplyMessage(commandMessage.getIdentifier(),
+                                                                    null,
+                                                                    cause, serializer));
                 } catch (Exception e) {
                     logger.error("Unable to send reply:", e);
                 }
@@ -440,6 +557,30 @@ public class JGroupsConnector implements CommandBusConnector {
         return memberNames;
     }
 
+    private static final class InboundSession {
+
+        private final long sessionId;
+        private final CompactWireFormat.Decoder decoder = new CompactWireFormat.Decoder();
+
+        private InboundSession(long sessionId) {
+            this.sessionId = sessionId;
+        }
+    }
+
+    private class CallbackFailureHandler implements CompactMessageSender.FailureHandler {
+
+        @Override
+        public void onSendFailure(List<String> commandIdentifiers, Exception cause) {
+            for (String commandIdentifier : commandIdentifiers) {
+                MemberAwareCommandCallback callback = callbacks.remove(commandIdentifier);
+                if (callback != null) {
+                    callback.onFailure(new CommandDispatchException(
+                            "Failed to send command to its destination: " + cause.getMessage(), cause));
+                }
+            }
+        }
+    }
+
     private static final class JoinCondition {
 
         private final CountDownLatch joinCountDown = new CountDownLatch(1);
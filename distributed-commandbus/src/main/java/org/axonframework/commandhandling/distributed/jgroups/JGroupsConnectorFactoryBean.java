@@ -55,6 +55,8 @@ public class JGroupsConnectorFactoryBean implements FactoryBean, InitializingBea
     private ApplicationContext applicationContext;
     private List<CommandHandlerInterceptor> interceptors;
     private long joinTimeout = -1;
+    private boolean compactProtocol;
+    private long lingerTime;
 
     @Override
     public Object getObject() throws Exception {
@@ -91,6 +93,8 @@ public class JGroupsConnectorFactoryBean implements FactoryBean, InitializingBea
             channel.setName(channelName);
         }
         connector = new JGroupsConnector(channel, clusterName, localSegment, serializer);
+        connector.setCompactProtocol(compactProtocol);
+        connector.setLingerTime(lingerTime);
     }
 
     /**
@@ -180,6 +184,28 @@ public class JGroupsConnectorFactoryBean implements FactoryBean, InitializingBea
         this.loadFactor = loadFactor;
     }
 
+    /**
+     * Sets whether messages are sent using the compact wire protocol. All members of the cluster must use the same
+     * setting. Defaults to <code>false</code>.
+     *
+     * @param compactProtocol whether to use the compact wire protocol
+     * @see JGroupsConnector#setCompactProtocol(boolean)
+     */
+    public void setCompactProtocol(boolean compactProtocol) {
+        this.compactProtocol = compactProtocol;
+    }
+
+    /**
+     * Sets the number of milliseconds to wait for more messages to the same member before sending them as a single
+     * bundle. Only applies when the compact protocol is used. Defaults to 0.
+     *
+     * @param lingerTime The time to wait for more messages, in milliseconds
+     * @see JGroupsConnector#setLingerTime(long)
+     */
+    public void setLingerTime(long lingerTime) {
+        this.lingerTime = lingerTime;
+    }
+
     @Override
     public void start() {
         try {
@@ -196,6 +222,7 @@ public class JGroupsConnectorFactoryBean implements FactoryBean, InitializingBea
 
     @Override
     public void stop() {
+        connector.disconnect();
         channel.close();
     }
 
@@ -211,6 +238,7 @@ public class JGroupsConnectorFactoryBean implements FactoryBean, InitializingBea
 
     @Override
     public void stop(Runnable callback) {
+        connector.disconnect();
         channel.close();
         callback.run();
     }
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.commandhandling.distributed.jgroups;
+
+import org.jgroups.util.Streamable;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JGroups message that carries one or more {@link DispatchMessage DispatchMessages} and {@link ReplyMessage
+ * ReplyMessages} written using the compact wire protocol. Messages in a bundle refer to the dictionary of the session
+ * between the sender and the receiver of the bundle. A new session identifier indicates that the sender has started
+ * a new dictionary.
+ *
+ * @author agent
+ * @since 2.4
+ */
+public class MessageBundle implements Streamable, Externalizable {
+
+    private static final long serialVersionUID = -1386254235375858236L;
+
+    static final byte DISPATCH_MESSAGE = 1;
+    static final byte REPLY_MESSAGE = 2;
+
+    private long sessionId;
+    private byte[] data;
+
+    /**
+     * Default constructor required by the {@link Streamable} and {@link Externalizable} interfaces. Do not use
+     * directly.
+     */
+    @SuppressWarnings("UnusedDeclaration")
+    public MessageBundle() {
+    }
+
+    /**
+     * Initializes a bundle containing the given <code>data</code>, written in the session with given
+     * <code>sessionId</code>.
+     *
+     * @param sessionId The identifier of the session the messages were written in
+     * @param data      The messages, in compact wire format
+     */
+    MessageBundle(long sessionId, byte[] data) {
+        this.sessionId = sessionId;
+        this.data = data;
+    }
+
+    /**
+     * Returns the identifier of the session the messages in this bundle were written in.
+     *
+     * @return the identifier of the session the messages in this bundle were written in
+     */
+    public long getSessionId() {
+        return sessionId;
+    }
+
+    /**
+     * Reads the messages contained in this bundle, using the dictionary of given <code>decoder</code>. The returned
+     * list contains DispatchMessage and ReplyMessage instances, in the order in which they were written.
+     *
+     * @param decoder The dictionary of the session the messages were written in
+     * @return the messages in this bundle
+     *
+     * @throws IOException when the bundle cannot be read
+     */
+    List<Object> readMessages(CompactWireFormat.Decoder decoder) throws IOException {
+        List<Object> messages = new ArrayList<Object>();
+        ByteArrayInputStream bytes = new ByteArrayInputStream(data);
+        DataInputStream in = new DataInputStream(bytes);
+        while (bytes.available() > 0) {
+            byte type = in.readByte();
+            if (type == DISPATCH_MESSAGE) {
+                messages.add(DispatchMessage.readCompact(in, decoder));
+            } else if (type == REPLY_MESSAGE) {
+                messages.add(ReplyMessage.readCompact(in, decoder));
+            } else {
+                throw new IOException("Unknown message type in bundle: " + type);
+            }
+        }
+        return messages;
+    }
+
+    @Override
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeLong(sessionId);
+        CompactWireFormat.writeBytes(out, data);
+    }
+
+    @Override
+    public void readFrom(DataInput in) throws IOException {
+        sessionId = in.readLong();
+        data = CompactWireFormat.readBytes(in);
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        writeTo(out);
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException {
+        readFrom(in);
+    }
+}
@@ -168,6 +168,45 @@ public class ReplyMessage implements Streamable, Externalizable {
         }
     }
 
+    /**
+     * Writes this message using the compact wire protocol. Repeating Strings are written using the dictionary of
+     * given <code>encoder</code>.
+     *
+     * @param out     The output to write to
+     * @param encoder The dictionary of the receiver of this message
+     * @throws IOException when an error occurs writing to the output
+     */
+    void writeCompact(DataOutput out, CompactWireFormat.Encoder encoder) throws IOException {
+        CompactWireFormat.writeIdentifier(out, commandIdentifier);
+        out.writeBoolean(success);
+        encoder.writeString(out, resultType);
+        if (resultType != null) {
+            encoder.writeString(out, resultRevision);
+            CompactWireFormat.writeBytes(out, serializedResult);
+        }
+    }
+
+    /**
+     * Reads a message written using {@link #writeCompact(java.io.DataOutput, CompactWireFormat.Encoder)}.
+     *
+     * @param in      The input to read from
+     * @param decoder The dictionary of the sender of the message
+     * @return the message read
+     *
+     * @throws IOException when an error occurs reading from the input
+     */
+    static ReplyMessage readCompact(DataInput in, CompactWireFormat.Decoder decoder) throws IOException {
+        ReplyMessage message = new ReplyMessage();
+        message.commandIdentifier = CompactWireFormat.readIdentifier(in);
+        message.success = in.readBoolean();
+        message.resultType = decoder.readString(in);
+        if (message.resultType != null) {
+            message.resultRevision = decoder.readString(in);
+            message.serializedResult = CompactWireFormat.readBytes(in);
+        }
+        return message;
+    }
+
     @Override
     public void writeExternal(ObjectOutput out) throws IOException {
         writeTo(out);
@@ -16,6 +16,7 @@
 
 package org.axonframework.commandhandling.distributed;
 
+import org.axonframework.common.digest.Digester;
 import org.junit.*;
 
 import java.io.ByteArrayInputStream;
@@ -27,7 +28,10 @@ import java.io.ObjectOutputStream;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
 import static java.util.Collections.singleton;
 import static org.junit.Assert.*;
@@ -108,6 +112,48 @@ public class ConsistentHashTest {
         assertEquals("Node3", testSubject.getMember("int-value4", "int"));
     }
 
+    @Test
+    public void testGetMemberForUnsupportedCommandType() {
+        assertNull(testSubject.getMember("value1", "long"));
+        assertNull(ConsistentHash.emptyRing().getMember("value1", "String"));
+    }
+
+    @Test
+    public void testRoutingIdenticalToLookupOnFullHashes() {
+        ConsistentHash ring = ConsistentHash.emptyRing();
+        for (int t = 0; t < 10; t++) {
+            Set<String> commands = new HashSet<String>(Arrays.asList("cmd" + (t % 3), "cmd" + (t % 4)));
+            ring = ring.withAdditionalNode("Node" + t, 10 + t, commands);
+        }
+        SortedMap<String, ConsistentHash.Member> fullHashes = new TreeMap<String, ConsistentHash.Member>();
+        for (ConsistentHash.Member member : ring.getMembers()) {
+            for (String hash : member.hashes()) {
+                fullHashes.put(hash, member);
+            }
+        }
+
+        for (int t = 0; t < 1000; t++) {
+            String item = "item" + t;
+            String commandType = "cmd" + (t % 4);
+            assertEquals(lookup(fullHashes, item, commandType), ring.getMember(item, commandType));
+        }
+    }
+
+    private String lookup(SortedMap<String, ConsistentHash.Member> ring, String item, String commandType) {
+        String hash = Digester.md5Hex(item);
+        for (Map.Entry<String, ConsistentHash.Member> entry : ring.tailMap(hash).entrySet()) {
+            if (entry.getValue().supportedCommands().contains(commandType)) {
+                return entry.getValue().name();
+            }
+        }
+        for (Map.Entry<String, ConsistentHash.Member> entry : ring.headMap(hash).entrySet()) {
+            if (entry.getValue().supportedCommands().contains(commandType)) {
+                return entry.getValue().name();
+            }
+        }
+        return null;
+    }
+
     @Test
     public void testRemoveNodes() {
         testSubject = testSubject.withExclusively(Arrays.asList("Node1", "Node2"));
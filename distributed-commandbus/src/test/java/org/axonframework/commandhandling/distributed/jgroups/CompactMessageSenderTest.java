@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.commandhandling.distributed.jgroups;
+
+import org.axonframework.commandhandling.CommandMessage;
+import org.axonframework.commandhandling.GenericCommandMessage;
+import org.axonframework.serializer.JavaSerializer;
+import org.axonframework.serializer.Serializer;
+import org.jgroups.Address;
+import org.jgroups.JChannel;
+import org.junit.*;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author agent
+ */
+public class CompactMessageSenderTest {
+
+    private JChannel mockChannel;
+    private Address destination;
+    private CompactMessageSender.FailureHandler failureHandler;
+    private Serializer serializer;
+    private CompactMessageSender testSubject;
+
+    @Before
+    public void setUp() {
+        mockChannel = mock(JChannel.class);
+        destination = mock(Address.class);
+        failureHandler = mock(CompactMessageSender.FailureHandler.class);
+        serializer = new JavaSerializer();
+    }
+
+    @After
+    public void tearDown() {
+        if (testSubject != null) {
+            testSubject.shutdown();
+        }
+    }
+
+    @Test
+    public void testMessagesSentImmediatelyWithoutLingerTime() throws Exception {
+        testSubject = new CompactMessageSender(mockChannel, 0, failureHandler);
+        CommandMessage<String> command1 = new GenericCommandMessage<String>("first");
+        CommandMessage<String> command2 = new GenericCommandMessage<String>("second");
+
+        testSubject.send(destination, dispatchMessage(command1, true));
+        testSubject.send(destination, dispatchMessage(command2, false));
+
+        List<MessageBundle> bundles = captureBundles(2);
+        assertEquals(bundles.get(0).getSessionId(), bundles.get(1).getSessionId());
+        CompactWireFormat.Decoder decoder = new CompactWireFormat.Decoder();
+        assertCommands(bundles.get(0).readMessages(decoder), command1);
+        assertCommands(bundles.get(1).readMessages(decoder), command2);
+    }
+
+    @Test
+    public void testMessagesBundledUntilLingerTimePassed() throws Exception {
+        testSubject = new CompactMessageSender(mockChannel, 100, failureHandler);
+        CommandMessage<String> command1 = new GenericCommandMessage<String>("first");
+        CommandMessage<String> command2 = new GenericCommandMessage<String>("second");
+
+        testSubject.send(destination, dispatchMessage(command1, true));
+        testSubject.send(destination, dispatchMessage(command2, false));
+        verify(mockChannel, never()).send(any(Address.class), isA(MessageBundle.class));
+
+        ArgumentCaptor<MessageBundle> captor = ArgumentCaptor.forClass(MessageBundle.class);
+        verify(mockChannel, timeout(2000)).send(same(destination), captor.capture());
+        assertCommands(captor.getValue().readMessages(new CompactWireFormat.Decoder()), command1, command2);
+    }
+
+    @Test
+    public void testBundleSentWhenMaximumSizeIsReached() throws Exception {
+        testSubject = new CompactMessageSender(mockChannel, 60000, failureHandler);
+        CommandMessage<String> command1 = new GenericCommandMessage<String>(largePayload());
+        CommandMessage<String> command2 = new GenericCommandMessage<String>(largePayload());
+
+        testSubject.send(destination, dispatchMessage(command1, false));
+        verify(mockChannel, never()).send(any(Address.class), isA(MessageBundle.class));
+        testSubject.send(destination, dispatchMessage(command2, false));
+
+        List<MessageBundle> bundles = captureBundles(1);
+        assertCommands(bundles.get(0).readMessages(new CompactWireFormat.Decoder()), command1, command2);
+    }
+
+    @Test
+    public void testShutdownSendsPendingBundles() throws Exception {
+        testSubject = new CompactMessageSender(mockChannel, 60000, failureHandler);
+        CommandMessage<String> command = new GenericCommandMessage<String>("first");
+        testSubject.send(destination, dispatchMessage(command, false));
+
+        testSubject.shutdown();
+
+        List<MessageBundle> bundles = captureBundles(1);
+        assertCommands(bundles.get(0).readMessages(new CompactWireFormat.Decoder()), command);
+    }
+
+    @Test
+    public void testSendFailureReportedToCallerAndFailureHandler() throws Exception {
+        Exception failure = new Exception("Mock");
+        doThrow(failure).when(mockChannel).send(any(Address.class), isA(MessageBundle.class));
+        testSubject = new CompactMessageSender(mockChannel, 60000, failureHandler);
+        CommandMessage<String> pending = new GenericCommandMessage<String>("pending");
+        CommandMessage<String> withoutReply = new GenericCommandMessage<String>("no reply expected");
+        CommandMessage<String> sending = new GenericCommandMessage<String>(largePayload() + largePayload());
+        testSubject.send(destination, dispatchMessage(pending, true));
+        testSubject.send(destination, dispatchMessage(withoutReply, false));
+
+        try {
+            testSubject.send(destination, dispatchMessage(sending, true));
+            fail("Expected the failure to be reported to the sending thread");
+        } catch (Exception e) {
+            assertSame(failure, e);
+        }
+        verify(failureHandler).onSendFailure(Collections.singletonList(pending.getIdentifier()), failure);
+        verifyNoMoreInteractions(failureHandler);
+    }
+
+    @Test
+    public void testScheduledSendFailureReportedToFailureHandler() throws Exception {
+        Exception failure = new Exception("Mock");
+        doThrow(failure).when(mockChannel).send(any(Address.class), isA(MessageBundle.class));
+        testSubject = new CompactMessageSender(mockChannel, 10, failureHandler);
+        CommandMessage<String> command1 = new GenericCommandMessage<String>("first");
+        CommandMessage<String> command2 = new GenericCommandMessage<String>("second");
+
+        testSubject.send(destination, dispatchMessage(command1, true));
+        testSubject.send(destination, dispatchMessage(command2, true));
+
+        verify(failureHandler, timeout(2000)).onSendFailure(
+                Arrays.asList(command1.getIdentifier(), command2.getIdentifier()), failure);
+    }
+
+    @Test
+    public void testNewSessionStartedAfterSendFailure() throws Exception {
+        doThrow(new Exception("Mock")).doNothing()
+                                      .when(mockChannel).send(any(Address.class), isA(MessageBundle.class));
+        testSubject = new CompactMessageSender(mockChannel, 0, failureHandler);
+        CommandMessage<String> command1 = new GenericCommandMessage<String>("first");
+        CommandMessage<String> command2 = new GenericCommandMessage<String>("second");
+
+        try {
+            testSubject.send(destination, dispatchMessage(command1, true));
+            fail("Expected an exception");
+        } catch (Exception e) {
+            assertEquals("Mock", e.getMessage());
+        }
+        testSubject.send(destination, dispatchMessage(command2, true));
+
+        List<MessageBundle> bundles = captureBundles(2);
+        assertFalse("Expected a new session after failure",
+                    bundles.get(0).getSessionId() == bundles.get(1).getSessionId());
+        // the receiver never saw the failed bundle, so the new session must not refer to its dictionary
+        assertCommands(bundles.get(1).readMessages(new CompactWireFormat.Decoder()), command2);
+        verifyZeroInteractions(failureHandler);
+    }
+
+    private DispatchMessage dispatchMessage(CommandMessage<?> command, boolean expectReply) {
+        return new DispatchMessage(command, serializer, expectReply, true);
+    }
+
+    private List<MessageBundle> captureBundles(int expectedCount) throws Exception {
+        ArgumentCaptor<MessageBundle> captor = ArgumentCaptor.forClass(MessageBundle.class);
+        verify(mockChannel, times(expectedCount)).send(same(destination), captor.capture());
+        return captor.getAllValues();
+    }
+
+    private void assertCommands(List<Object> messages, CommandMessage<?>... expected) {
+        assertEquals(expected.length, messages.size());
+        for (int i = 0; i < expected.length; i++) {
+            DispatchMessage actual = (DispatchMessage) messages.get(i);
+            assertEquals(expected[i].getIdentifier(), actual.getCommandIdentifier());
+            assertEquals(expected[i].getPayload(), actual.getCommandMessage(serializer).getPayload());
+        }
+    }
+
+    private static String largePayload() {
+        char[] chars = new char[20 * 1024];
+        Arrays.fill(chars, 'x');
+        return new String(chars);
+    }
+}
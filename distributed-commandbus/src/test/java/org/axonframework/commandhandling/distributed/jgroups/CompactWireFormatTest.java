@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2010-2014. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.commandhandling.distributed.jgroups;
+
+import org.axonframework.commandhandling.CommandMessage;
+import org.axonframework.commandhandling.GenericCommandMessage;
+import org.axonframework.domain.MetaData;
+import org.axonframework.serializer.JavaSerializer;
+import org.axonframework.serializer.Serializer;
+import org.junit.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent
+ */
+public class CompactWireFormatTest {
+
+    private Serializer serializer;
+    private CompactWireFormat.Encoder encoder;
+    private CompactWireFormat.Decoder decoder;
+
+    @Before
+    public void setUp() {
+        serializer = new JavaSerializer();
+        encoder = new CompactWireFormat.Encoder();
+        decoder = new CompactWireFormat.Decoder();
+    }
+
+    @Test
+    public void testVarIntRoundTrip() throws IOException {
+        int[] values = {0, 1, 127, 128, 16383, 16384, Integer.MAX_VALUE};
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (int value : values) {
+            CompactWireFormat.writeVarInt(out, value);
+        }
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        for (int value : values) {
+            assertEquals(value, CompactWireFormat.readVarInt(in));
+        }
+        assertEquals(0, in.available());
+    }
+
+    @Test
+    public void testIdentifiersRoundTrip() throws IOException {
+        String uuid = UUID.randomUUID().toString();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        CompactWireFormat.writeIdentifier(out, uuid);
+        assertEquals("UUID identifiers should be written in binary form", 17, bytes.size());
+        CompactWireFormat.writeIdentifier(out, "not-a-uuid");
+        CompactWireFormat.writeIdentifier(out, uuid.toUpperCase());
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        assertEquals(uuid, CompactWireFormat.readIdentifier(in));
+        assertEquals("not-a-uuid", CompactWireFormat.readIdentifier(in));
+        assertEquals(uuid.toUpperCase(), CompactWireFormat.readIdentifier(in));
+    }
+
+    @Test
+    public void testRepeatedStringsWrittenOnce() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        encoder.writeString(out, "java.lang.String");
+        int sizeAfterFirst = bytes.size();
+        encoder.writeString(out, "java.lang.String");
+        encoder.writeString(out, null);
+        encoder.writeString(out, "other");
+
+        assertEquals("Expected a single byte for the reference and the null value",
+                     1 + 1 + (1 + 2 + "other".length()), bytes.size() - sizeAfterFirst);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        assertEquals("java.lang.String", decoder.readString(in));
+        assertEquals("java.lang.String", decoder.readString(in));
+        assertNull(decoder.readString(in));
+        assertEquals("other", decoder.readString(in));
+    }
+
+    @Test(expected = IOException.class)
+    public void testUnknownReferenceIsRejected() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        encoder.writeString(out, "value");
+        encoder.writeString(out, "value");
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        in.skipBytes(1 + 2 + "value".length());
+        new CompactWireFormat.Decoder().readString(in);
+    }
+
+    @Test
+    public void testMessagesInBundleRoundTrip() throws IOException {
+        CommandMessage<String> command1 = new GenericCommandMessage<String>("first");
+        CommandMessage<String> command2 = new GenericCommandMessage<String>(
+                "second", Collections.<String, Object>singletonMap("key", "value"));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(MessageBundle.DISPATCH_MESSAGE);
+        new DispatchMessage(command1, serializer, true, true).writeCompact(out, encoder);
+        out.writeByte(MessageBundle.REPLY_MESSAGE);
+        new ReplyMessage(command1.getIdentifier(), "result", null, serializer).writeCompact(out, encoder);
+        out.writeByte(MessageBundle.DISPATCH_MESSAGE);
+        new DispatchMessage(command2, serializer, false, true).writeCompact(out, encoder);
+
+        List<Object> messages = new MessageBundle(42L, bytes.toByteArray()).readMessages(decoder);
+        assertEquals(3, messages.size());
+
+        DispatchMessage dispatch1 = (DispatchMessage) messages.get(0);
+        assertTrue(dispatch1.isExpectReply());
+        assertEquals(command1.getIdentifier(), dispatch1.getCommandIdentifier());
+        CommandMessage<?> actual1 = dispatch1.getCommandMessage(serializer);
+        assertEquals(command1.getCommandName(), actual1.getCommandName());
+        assertEquals("first", actual1.getPayload());
+        assertSame(MetaData.emptyInstance(), actual1.getMetaData());
+
+        ReplyMessage reply = (ReplyMessage) messages.get(1);
+        assertTrue(reply.isSuccess());
+        assertEquals(command1.getIdentifier(), reply.getCommandIdentifier());
+        assertEquals("result", reply.getReturnValue(serializer));
+
+        DispatchMessage dispatch2 = (DispatchMessage) messages.get(2);
+        assertFalse(dispatch2.isExpectReply());
+        CommandMessage<?> actual2 = dispatch2.getCommandMessage(serializer);
+        assertEquals("second", actual2.getPayload());
+        assertEquals("value", actual2.getMetaData().get("key"));
+    }
+}
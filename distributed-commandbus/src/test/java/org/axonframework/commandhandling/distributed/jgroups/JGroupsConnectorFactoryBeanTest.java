@@ -82,6 +82,7 @@ public class JGroupsConnectorFactoryBeanTest {
             }
         });
 
+        verify(mockConnector).disconnect();
         verify(mockChannel).close();
     }
 
@@ -113,6 +114,7 @@ public class JGroupsConnectorFactoryBeanTest {
             }
         });
 
+        verify(mockConnector).disconnect();
         verify(mockChannel).close();
     }
 
@@ -119,6 +119,58 @@ public class JGroupsConnectorTest {
         assertNotEquals(connector1.getNodeName(), connector2.getNodeName());
     }
 
+    @Test(timeout = 30000)
+    public void testConnectAndDispatchMessages_CompactProtocol() throws Exception {
+        final AtomicInteger counter1 = new AtomicInteger(0);
+        final AtomicInteger counter2 = new AtomicInteger(0);
+        connector1.setCompactProtocol(true);
+        connector1.setLingerTime(5);
+        connector2.setCompactProtocol(true);
+        connector2.setLingerTime(5);
+
+        connector1.subscribe(String.class.getName(), new CountingCommandHandler(counter1));
+        connector1.connect(20);
+        assertTrue("Expected connector 1 to connect within 10 seconds", connector1.awaitJoined(10, TimeUnit.SECONDS));
+
+        connector2.subscribe(String.class.getName(), new CountingCommandHandler(counter2));
+        connector2.connect(80);
+        assertTrue("Connector 2 failed to connect", connector2.awaitJoined());
+
+        waitForConnectorSync();
+
+        List<FutureCallback> callbacks = new ArrayList<FutureCallback>();
+        for (int t = 0; t < 100; t++) {
+            FutureCallback<Object> callback = new FutureCallback<Object>();
+            String message = "message" + t;
+            if ((t & 1) == 0) {
+                connector1.send(message, new GenericCommandMessage<Object>(message), callback);
+            } else {
+                connector2.send(message, new GenericCommandMessage<Object>(message), callback);
+            }
+            callbacks.add(callback);
+        }
+        for (FutureCallback callback : callbacks) {
+            assertEquals("The Reply!", callback.get());
+        }
+        assertEquals(100, counter1.get() + counter2.get());
+
+        // messages awaiting the linger time must be sent when disconnecting
+        int sent = 0;
+        for (int t = 0; sent < 10; t++) {
+            String routingKey = "key" + t;
+            if (connector2.getNodeName().equals(
+                    connector1.getConsistentHash().getMember(routingKey, String.class.getName()))) {
+                connector1.send(routingKey, new GenericCommandMessage<Object>("message" + t));
+                sent++;
+            }
+        }
+        int expectedOnNode2 = counter2.get() + 10;
+        connector1.disconnect();
+        while (counter2.get() < expectedOnNode2) {
+            Thread.sleep(10);
+        }
+    }
+
     @Test(expected = ConnectionFailedException.class, timeout = 30000)
     public void testRingsProperlySynchronized_ChannelAlreadyConnectedToOtherCluster() throws Exception {
         channel1.connect("other");
@@ -25,6 +25,7 @@ import org.axonframework.domain.DomainEventStream;
 import org.axonframework.eventstore.EventStreamNotFoundException;
 import org.axonframework.eventstore.EventVisitor;
 import org.axonframework.eventstore.PartialStreamSupport;
+import org.axonframework.eventstore.ReadAheadSupport;
 import org.axonframework.eventstore.SnapshotEventStore;
 import org.axonframework.eventstore.management.Criteria;
 import org.axonframework.eventstore.management.EventStoreManagement;
@@ -56,7 +57,8 @@ import javax.annotation.PostConstruct;
  * @author Jettro Coenradie
  * @since 2.0 (in incubator since 0.7)
  */
-public class MongoEventStore implements SnapshotEventStore, EventStoreManagement, UpcasterAware, PartialStreamSupport {
+public class MongoEventStore implements SnapshotEventStore, EventStoreManagement, UpcasterAware, PartialStreamSupport,
+        ReadAheadSupport {
 
     private static final Logger logger = LoggerFactory.getLogger(MongoEventStore.class);
 
@@ -244,6 +246,19 @@ public class MongoEventStore implements SnapshotEventStore, EventStoreManagement
         this.upcasterChain = upcasterChain;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * Each event stream is backed by its own cursor, which obtains connections from the thread-safe connection pool
+     * of the Mongo driver. Event streams may therefore always be read in another thread.
+     *
+     * @return <code>true</code>
+     */
+    @Override
+    public boolean isReadAheadSupported() {
+        return true;
+    }
+
     private class CursorBackedDomainEventStream implements DomainEventStream, Closeable {
 
         private Iterator<DomainEventMessage> messagesToReturn = Collections.<DomainEventMessage>emptyList().iterator();
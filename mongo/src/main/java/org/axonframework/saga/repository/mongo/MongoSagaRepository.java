@@ -16,6 +16,7 @@
 
 package org.axonframework.saga.repository.mongo;
 
+import com.mongodb.BasicDBList;
 import com.mongodb.BasicDBObject;
 import com.mongodb.DBCursor;
 import com.mongodb.DBObject;
@@ -27,6 +28,8 @@ import org.axonframework.saga.repository.AbstractSagaRepository;
 import org.axonframework.serializer.JavaSerializer;
 import org.axonframework.serializer.Serializer;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 
@@ -64,12 +67,39 @@ public class MongoSagaRepository extends AbstractSagaRepository {
         }
         SagaEntry sagaEntry = new SagaEntry(dbSaga);
         Saga loadedSaga = sagaEntry.getSaga(serializer);
+        registerLoadedState(loadedSaga, sagaEntry.getSerializedSaga());
         if (injector != null) {
             injector.injectResources(loadedSaga);
         }
         return loadedSaga;
     }
 
+    @Override
+    public Map<String, Saga> loadAll(Set<String> sagaIdentifiers) {
+        Map<String, Saga> sagas = new HashMap<String, Saga>(sagaIdentifiers.size());
+        if (sagaIdentifiers.isEmpty()) {
+            return sagas;
+        }
+        BasicDBList identifiers = new BasicDBList();
+        identifiers.addAll(sagaIdentifiers);
+        DBCursor dbCursor = mongoTemplate.sagaCollection().find(
+                new BasicDBObject("sagaIdentifier", new BasicDBObject("$in", identifiers)));
+        try {
+            while (dbCursor.hasNext()) {
+                SagaEntry sagaEntry = new SagaEntry(dbCursor.next());
+                Saga loadedSaga = sagaEntry.getSaga(serializer);
+                registerLoadedState(loadedSaga, sagaEntry.getSerializedSaga());
+                if (injector != null) {
+                    injector.injectResources(loadedSaga);
+                }
+                sagas.put(loadedSaga.getSagaIdentifier(), loadedSaga);
+            }
+        } finally {
+            dbCursor.close();
+        }
+        return sagas;
+    }
+
     @Override
     protected Set<String> findAssociatedSagaIdentifiers(Class<? extends Saga> type, AssociationValue associationValue) {
         final BasicDBObject value = associationValueQuery(type, associationValue);
@@ -82,6 +112,25 @@ public class MongoSagaRepository extends AbstractSagaRepository {
         return found;
     }
 
+    @Override
+    protected Set<String> findAssociatedSagaIdentifiers(Class<? extends Saga> type,
+                                                        Set<AssociationValue> associationValues) {
+        BasicDBList dbAssociations = new BasicDBList();
+        for (AssociationValue associationValue : associationValues) {
+            dbAssociations.add(new BasicDBObject("key", associationValue.getKey())
+                                       .append("value", associationValue.getValue()));
+        }
+        final BasicDBObject query = new BasicDBObject("sagaType", typeOf(type))
+                .append("associations", new BasicDBObject("$in", dbAssociations));
+
+        DBCursor dbCursor = mongoTemplate.sagaCollection().find(query, new BasicDBObject("sagaIdentifier", 1));
+        Set<String> found = new TreeSet<String>();
+        while (dbCursor.hasNext()) {
+            found.add((String) dbCursor.next().get("sagaIdentifier"));
+        }
+        return found;
+    }
+
     private BasicDBObject associationValueQuery(Class<? extends Saga> type, AssociationValue associationValue) {
         final BasicDBObject value = new BasicDBObject();
         value.put("sagaType", typeOf(type));
@@ -107,9 +156,13 @@ public class MongoSagaRepository extends AbstractSagaRepository {
     @Override
     protected void updateSaga(Saga saga) {
         SagaEntry sagaEntry = new SagaEntry(saga, serializer);
+        if (!isModified(saga, sagaEntry.getSerializedSaga())) {
+            return;
+        }
         mongoTemplate.sagaCollection().findAndModify(
                 SagaEntry.queryByIdentifier(saga.getSagaIdentifier()),
                 sagaEntry.asDBObject());
+        registerStoredState(saga, sagaEntry.getSerializedSaga());
     }
 
     @Override
@@ -117,6 +170,7 @@ public class MongoSagaRepository extends AbstractSagaRepository {
         SagaEntry sagaEntry = new SagaEntry(saga, serializer);
         DBObject sagaObject = sagaEntry.asDBObject();
         mongoTemplate.sagaCollection().save(sagaObject);
+        registerStoredState(saga, sagaEntry.getSerializedSaga());
     }
 
     @Override
@@ -95,6 +95,15 @@ public class SagaEntry {
                                                                                 sagaType, ""));
     }
 
+    /**
+     * Returns the serialized form of the Saga.
+     *
+     * @return the serialized form of the Saga
+     */
+    public byte[] getSerializedSaga() {
+        return serializedSaga; //NOSONAR
+    }
+
     /**
      * Returns the Mongo Document representing the Saga provided in this entry.
      *
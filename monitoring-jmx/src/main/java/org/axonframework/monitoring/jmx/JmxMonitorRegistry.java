@@ -21,6 +21,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.lang.management.ManagementFactory;
+import java.util.Hashtable;
 import javax.management.InstanceAlreadyExistsException;
 import javax.management.MBeanRegistrationException;
 import javax.management.MBeanServer;
@@ -53,8 +54,27 @@ public final class JmxMonitorRegistry extends MonitorRegistry {
      */
     @Override
     public void registerBean(Object mBean, Class<?> componentType) {
+        register(mBean, objectNameFor(componentType));
+    }
+
+    /**
+     * Attempts to register the given <code>mBean</code> as an MBean with the default MBeanServer, using an ObjectName
+     * containing both the simple name of the given <code>componentType</code> and the given <code>name</code>. If
+     * registration fails, no exceptions are thrown. Instead, failure is logged and silently accepted.
+     *
+     * @param mBean         The instance to register as MBean. Note that this instance needs to be MBean compliant.
+     *                      Otherwise, registration fails silently.
+     * @param componentType The type of component that the monitoring bean provides information for
+     * @param name          The name of the monitoring bean
+     */
+    @Override
+    public void registerBean(Object mBean, Class<?> componentType, String name) {
+        register(mBean, objectNameFor(componentType, name));
+    }
+
+    private void register(Object mBean, ObjectName objectName) {
         try {
-            mBeanServer.registerMBean(new StandardMBean(mBean, null, true), objectNameFor(componentType));
+            mBeanServer.registerMBean(new StandardMBean(mBean, null, true), objectName);
         } catch (InstanceAlreadyExistsException e) {
             logger.warn("Object {} has already been registered as an MBean", mBean);
         } catch (MBeanRegistrationException e) {
@@ -76,4 +96,30 @@ public final class JmxMonitorRegistry extends MonitorRegistry {
             throw new IllegalStateException("This JVM doesn't seem to accept perfectly normal ObjectNames");
         }
     }
+
+    private ObjectName objectNameFor(Class<?> clazz, String name) {
+        try {
+            Hashtable<String, String> properties = new Hashtable<String, String>();
+            properties.put("type", clazz.getSimpleName());
+            properties.put("name", quoteIfRequired(name));
+            ObjectName objectName = new ObjectName("org.axonframework", properties);
+            int i = 1;
+            while (!mBeanServer.queryMBeans(objectName, null).isEmpty()) {
+                properties.put("name", quoteIfRequired(name + "_" + i++));
+                objectName = new ObjectName("org.axonframework", properties);
+            }
+            return objectName;
+        } catch (MalformedObjectNameException e) {
+            throw new IllegalStateException("Unable to create an ObjectName for MBean with name " + name, e);
+        }
+    }
+
+    private String quoteIfRequired(String value) {
+        for (char c : value.toCharArray()) {
+            if (c == ',' || c == '=' || c == ':' || c == '"' || c == '*' || c == '?' || c == '\\' || c == '\n') {
+                return ObjectName.quote(value);
+            }
+        }
+        return value;
+    }
 }
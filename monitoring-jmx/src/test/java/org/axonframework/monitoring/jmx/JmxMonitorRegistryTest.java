@@ -16,6 +16,7 @@
 
 package org.axonframework.monitoring.jmx;
 
+import org.axonframework.eventhandling.SimpleCluster;
 import org.axonframework.eventhandling.SimpleEventBus;
 import org.junit.*;
 
@@ -50,6 +51,21 @@ public class JmxMonitorRegistryTest {
         assertEquals(2, mbeans.size());
     }
 
+    @Test
+    public void testRegisterNamedBean() throws Exception {
+        new SimpleCluster("test:cluster");
+        new SimpleCluster("test:cluster");
+
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        ObjectName expectedName = new ObjectName("org.axonframework:type=SimpleCluster,name="
+                                                         + ObjectName.quote("test:cluster"));
+        ObjectName expectedSecondName = new ObjectName("org.axonframework:type=SimpleCluster,name="
+                                                               + ObjectName.quote("test:cluster_1"));
+        assertTrue(mBeanServer.isRegistered(expectedName));
+        assertTrue(mBeanServer.isRegistered(expectedSecondName));
+        assertEquals(0, ((String[]) mBeanServer.getAttribute(expectedName, "Names")).length);
+    }
+
     @MXBean
     public static class Some implements SomeMBean {
 